@@ -49,6 +49,7 @@ import spoon.support.compiler.FileSystemFolder;
 import spoon.support.compiler.VirtualFile;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 import spoon.support.gui.SpoonModelTree;
+import spoon.support.util.PerformanceRecorder;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -402,6 +403,14 @@ public class Launcher implements SpoonAPI {
 			opt2.setRequired(false);
 			jsap.registerParameter(opt2);
 
+			// Performance metrics
+			opt2 = new FlaggedOption("metrics");
+			opt2.setLongFlag("metrics");
+			opt2.setHelp("Writes the performance metrics of the phases of Spoon (time, element counts, allocated memory) as JSON to the given file.");
+			opt2.setStringParser(FileStringParser.getParser());
+			opt2.setRequired(false);
+			jsap.registerParameter(opt2);
+
 			// Disable checks.
 			sw1 = new Switch("disable-model-self-checks");
 			sw1.setShortFlag('a');
@@ -439,6 +448,9 @@ public class Launcher implements SpoonAPI {
 		environment.setCommentEnabled(jsapActualArgs.getBoolean("enable-comments"));
 		environment.setShouldCompile(jsapActualArgs.getBoolean("compile"));
 		environment.setSelfChecks(jsapActualArgs.getBoolean("disable-model-self-checks"));
+		if (jsapActualArgs.getFile("metrics") != null) {
+			environment.setPerformanceListener(new PerformanceRecorder());
+		}
 
 		String outputString = jsapActualArgs.getString("output-type");
 		OutputType outputType = OutputType.fromString(outputString);
@@ -682,6 +694,10 @@ public class Launcher implements SpoonAPI {
 		t = System.currentTimeMillis();
 
 		env.debugMessage("program spooning done in " + (t - tstart) + " ms");
+		if (jsapActualArgs != null && jsapActualArgs.getFile("metrics") != null
+				&& env.getPerformanceListener() instanceof PerformanceRecorder) {
+			((PerformanceRecorder) env.getPerformanceListener()).writeJson(jsapActualArgs.getFile("metrics"));
+		}
 		env.reportEnd();
 
 	}
@@ -32,9 +32,18 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Create a Spoon launcher from a maven pom file
@@ -42,6 +51,20 @@ import java.util.Set;
 public class MavenLauncher extends Launcher {
 	private String m2RepositoryPath;
 	private SOURCE_TYPE sourceType;
+	private InheritanceModel model;
+
+	/**
+	 * pom file of a library -> its transitive dependencies, so that each library pom is read once
+	 */
+	private final Map<File, List<File>> libraryDependencies = new HashMap<>();
+	/**
+	 * pom files of the libraries whose dependencies are being read, the outermost first
+	 */
+	private final List<File> librariesInProgress = new ArrayList<>();
+	/**
+	 * index in librariesInProgress of the outermost library reached again by a cycle of dependencies, or -1
+	 */
+	private int cycleStart = -1;
 
 	/**
 	 * The type of source to consider in the model
@@ -74,7 +97,6 @@ public class MavenLauncher extends Launcher {
 			throw new SpoonException(mavenProject + " does not exist.");
 		}
 
-		InheritanceModel model;
 		try {
 			model = readPOM(mavenProject, null);
 		} catch (Exception e) {
@@ -113,6 +135,156 @@ public class MavenLauncher extends Launcher {
 		this.getEnvironment().setComplianceLevel(model.getSourceVersion());
 	}
 
+	/**
+	 * Builds one model per module of the project, instead of one model of all the modules.
+	 * A module is built after the modules it depends on, and the modules which do not depend
+	 * on each other are built in parallel.
+	 * The classpath of a module contains its dependencies, and the compiled classes (target/classes)
+	 * of the modules of the project it depends on, or their source directories if they are not compiled,
+	 * with their own dependencies.
+	 * The launchers of the modules have a default environment, with the compliance level of the module.
+	 *
+	 * @param threads the maximum number of modules built at the same time
+	 * @return "groupId:artifactId" of each module -> the launcher which has built the model of the module, in build order
+	 */
+	public Map<String, Launcher> buildModuleModels(int threads) {
+		if (threads < 1) {
+			throw new SpoonException("The number of threads must be positive, but was " + threads);
+		}
+		Map<String, InheritanceModel> modules = new LinkedHashMap<>();
+		model.collectModules(modules);
+		List<InheritanceModel> buildOrder = new ArrayList<>();
+		Set<InheritanceModel> visiting = new HashSet<>();
+		for (InheritanceModel module : modules.values()) {
+			sortModules(module, modules, visiting, buildOrder);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			Map<InheritanceModel, CompletableFuture<Launcher>> builds = new HashMap<>();
+			for (InheritanceModel module : buildOrder) {
+				// the classpath is resolved in this thread, the cache of the library dependencies is not thread-safe
+				Launcher launcher = createModuleLauncher(module, modules);
+				List<CompletableFuture<Launcher>> upstreamBuilds = new ArrayList<>();
+				for (InheritanceModel upstream : module.getReactorDependencies(modules)) {
+					upstreamBuilds.add(builds.get(upstream));
+				}
+				builds.put(module, CompletableFuture.allOf(upstreamBuilds.toArray(new CompletableFuture[0])).thenApplyAsync(v -> {
+					launcher.buildModel();
+					return launcher;
+				}, executor));
+			}
+			Map<String, Launcher> result = new LinkedHashMap<>();
+			for (InheritanceModel module : buildOrder) {
+				try {
+					result.put(module.getKey(), builds.get(module).join());
+				} catch (CompletionException e) {
+					throw new SpoonException("Unable to build the model of the module " + module.getKey(), e.getCause());
+				}
+			}
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * adds `module` to `buildOrder` after the modules it depends on
+	 */
+	private void sortModules(InheritanceModel module, Map<String, InheritanceModel> modules, Set<InheritanceModel> visiting, List<InheritanceModel> buildOrder) {
+		if (buildOrder.contains(module)) {
+			return;
+		}
+		if (!visiting.add(module)) {
+			throw new SpoonException("Cyclic dependency between the modules of the project: " + module.getKey());
+		}
+		for (InheritanceModel upstream : module.getReactorDependencies(modules)) {
+			sortModules(upstream, modules, visiting, buildOrder);
+		}
+		visiting.remove(module);
+		buildOrder.add(module);
+	}
+
+	private Launcher createModuleLauncher(InheritanceModel module, Map<String, InheritanceModel> modules) {
+		Launcher launcher = new Launcher();
+		Set<File> classpath = new LinkedHashSet<>(module.getModuleDependencies(false));
+		if (SOURCE_TYPE.APP_SOURCE == sourceType || SOURCE_TYPE.ALL_SOURCE == sourceType) {
+			for (File sourceDirectory : module.getModuleSourceDirectories()) {
+				launcher.addInputResource(sourceDirectory.getAbsolutePath());
+			}
+		} else {
+			// the tests depend on the main code of their module
+			classpath.addAll(module.getOutput());
+		}
+		if (SOURCE_TYPE.TEST_SOURCE == sourceType || SOURCE_TYPE.ALL_SOURCE == sourceType) {
+			for (File sourceDirectory : module.getModuleTestDirectories()) {
+				launcher.addInputResource(sourceDirectory.getAbsolutePath());
+			}
+		}
+		addUpstreamClasspath(module, modules, new HashSet<>(), classpath);
+		String[] paths = new String[classpath.size()];
+		int i = 0;
+		for (File file : classpath) {
+			paths[i++] = file.getAbsolutePath();
+		}
+		launcher.getModelBuilder().setSourceClasspath(paths);
+		launcher.getEnvironment().setComplianceLevel(module.getSourceVersion());
+		// set when a dependency is not found in the local repository
+		launcher.getEnvironment().setNoClasspath(getEnvironment().getNoClasspath());
+		return launcher;
+	}
+
+	/**
+	 * adds the output and the dependencies of the modules which `module` depends on, transitively
+	 */
+	private void addUpstreamClasspath(InheritanceModel module, Map<String, InheritanceModel> modules, Set<InheritanceModel> visited, Set<File> classpath) {
+		for (InheritanceModel upstream : module.getReactorDependencies(modules)) {
+			if (visited.add(upstream)) {
+				classpath.addAll(upstream.getOutput());
+				classpath.addAll(upstream.getModuleDependencies(true));
+				addUpstreamClasspath(upstream, modules, visited, classpath);
+			}
+		}
+	}
+
+	/**
+	 * @param pomFile the pom of a library in the local repository
+	 * @return the transitive dependencies of the library, read once per pom
+	 */
+	private List<File> getLibraryDependencies(File pomFile) {
+		List<File> dependencies = libraryDependencies.get(pomFile);
+		if (dependencies != null) {
+			return dependencies;
+		}
+		int index = librariesInProgress.indexOf(pomFile);
+		if (index >= 0) {
+			// a cycle in the dependencies of the libraries ends here, the dependencies of the pom are added by its first read
+			if (cycleStart < 0 || index < cycleStart) {
+				cycleStart = index;
+			}
+			return Collections.emptyList();
+		}
+		index = librariesInProgress.size();
+		librariesInProgress.add(pomFile);
+		dependencies = Collections.emptyList();
+		try {
+			InheritanceModel dependencyModel = readPOM(pomFile.getPath(), null);
+			if (dependencyModel != null) {
+				dependencies = dependencyModel.getDependencies(true);
+			}
+		} catch (Exception ignore) {
+			// ignore the dependencies of the dependency
+		} finally {
+			librariesInProgress.remove(index);
+		}
+		if (cycleStart < 0 || cycleStart >= index) {
+			// the dependencies are complete: no cycle is open, or the open cycles end at this pom
+			cycleStart = -1;
+			libraryDependencies.put(pomFile, dependencies);
+		}
+		return dependencies;
+	}
+
 	/**
 	 * Extract the information from the pom
 	 * @param path the path to the pom
@@ -182,6 +354,18 @@ public class MavenLauncher extends Launcher {
 		 * @return the list of source directories
 		 */
 		public List<File> getSourceDirectories() {
+			List<File> output = getModuleSourceDirectories();
+			for (InheritanceModel module : modules) {
+				output.addAll(module.getSourceDirectories());
+			}
+			return output;
+		}
+
+		/**
+		 * Get the list of source directories of this module, without the ones of its sub modules
+		 * @return the list of source directories
+		 */
+		List<File> getModuleSourceDirectories() {
 			List<File> output = new ArrayList<>();
 			String sourcePath = null;
 
@@ -200,9 +384,6 @@ public class MavenLauncher extends Launcher {
 			if (generatedSource.exists()) {
 				output.add(generatedSource);
 			}
-			for (InheritanceModel module : modules) {
-				output.addAll(module.getSourceDirectories());
-			}
 			return output;
 		}
 
@@ -211,6 +392,18 @@ public class MavenLauncher extends Launcher {
 		 * @return the list of test directories
 		 */
 		public List<File> getTestDirectories() {
+			List<File> output = getModuleTestDirectories();
+			for (InheritanceModel module : modules) {
+				output.addAll(module.getTestDirectories());
+			}
+			return output;
+		}
+
+		/**
+		 * Get the list of test directories of this module, without the ones of its sub modules
+		 * @return the list of test directories
+		 */
+		List<File> getModuleTestDirectories() {
 			List<File> output = new ArrayList<>();
 			String sourcePath = null;
 
@@ -229,9 +422,6 @@ public class MavenLauncher extends Launcher {
 			if (generatedSource.exists()) {
 				output.add(generatedSource);
 			}
-			for (InheritanceModel module : modules) {
-				output.addAll(module.getTestDirectories());
-			}
 			return output;
 		}
 
@@ -252,6 +442,20 @@ public class MavenLauncher extends Launcher {
 		 * @return the list of  dependencies
 		 */
 		public List<File> getDependencies(boolean isLib) {
+			Set<File> output = getModuleDependencies(isLib);
+			for (InheritanceModel module : modules) {
+				output.addAll(module.getDependencies(isLib));
+			}
+			return new ArrayList<>(output);
+		}
+
+		/**
+		 * Get the dependencies of this module available in the local maven repository, without the ones of its sub modules
+		 *
+		 * @param isLib: If false take dependency of the main project; if true, take dependencies of a library of the project
+		 * @return the set of dependencies
+		 */
+		Set<File> getModuleDependencies(boolean isLib) {
 			Set<File> output = new HashSet<>();
 
 			// add the parent has a dependency
@@ -310,22 +514,109 @@ public class MavenLauncher extends Launcher {
 						getEnvironment().setNoClasspath(true);
 					}
 
-					try {
-						InheritanceModel dependencyModel = readPOM(Paths.get(depPath.toString(), fileName + ".pom").toString(), null);
-						output.addAll(dependencyModel.getDependencies(true));
-					} catch (Exception ignore) {
-						// ignore the dependencies of the dependency
-					}
+					output.addAll(getLibraryDependencies(Paths.get(depPath.toString(), fileName + ".pom").toFile()));
 				} else {
 					// if the a dependency is not found, uses the no classpath mode
 					getEnvironment().setNoClasspath(true);
 				}
 			}
+			return output;
+		}
 
+		/**
+		 * Adds this module and its sub modules which are not aggregators ("pom" packaging) to `output`
+		 * @param output "groupId:artifactId" -> module
+		 */
+		void collectModules(Map<String, InheritanceModel> output) {
+			if (!"pom".equals(model.getPackaging())) {
+				output.put(getKey(), this);
+			}
 			for (InheritanceModel module : modules) {
-				output.addAll(module.getDependencies(isLib));
+				module.collectModules(output);
 			}
-			return new ArrayList<>(output);
+		}
+
+		/**
+		 * @return "groupId:artifactId" of this module, the group id being inherited from the parent
+		 */
+		String getKey() {
+			return getGroupId() + ":" + model.getArtifactId();
+		}
+
+		private String getGroupId() {
+			if (model.getGroupId() == null && model.getParent() != null) {
+				return model.getParent().getGroupId();
+			}
+			return model.getGroupId();
+		}
+
+		/**
+		 * @param modules "groupId:artifactId" -> the modules of the project
+		 * @return the modules of the project this module depends on
+		 */
+		List<InheritanceModel> getReactorDependencies(Map<String, InheritanceModel> modules) {
+			List<InheritanceModel> output = new ArrayList<>();
+			for (Dependency dependency : model.getDependencies()) {
+				if ("test".equals(dependency.getScope()) && SOURCE_TYPE.APP_SOURCE == sourceType) {
+					continue;
+				}
+				String groupId = "${project.groupId}".equals(dependency.getGroupId()) ? getGroupId() : dependency.getGroupId();
+				InheritanceModel module = modules.get(groupId + ":" + dependency.getArtifactId());
+				if (module != null && module != this && !output.contains(module)) {
+					output.add(module);
+				}
+			}
+			return output;
+		}
+
+		/**
+		 * @return the compiled classes of this module, in the output directory of its pom resolved against its directory,
+		 * if they exist, else its source directories
+		 */
+		List<File> getOutput() {
+			String buildPath = null;
+			String outputPath = null;
+			Build build = model.getBuild();
+			if (build != null) {
+				buildPath = build.getDirectory();
+				outputPath = build.getOutputDirectory();
+			}
+			File buildDirectory = buildPath != null ? resolvePath(buildPath, null) : new File(directory, "target");
+			File output = outputPath != null ? resolvePath(outputPath, buildDirectory) : new File(buildDirectory, "classes");
+			if (output.exists()) {
+				return Collections.singletonList(output);
+			}
+			return getModuleSourceDirectories();
+		}
+
+		/**
+		 * Expands the variables of a path of the pom, and resolves it against the directory of the module
+		 * @param buildDirectory the value of ${project.build.directory}, or null if it is not known
+		 */
+		private File resolvePath(String path, File buildDirectory) {
+			StringBuilder expanded = new StringBuilder();
+			int from = 0;
+			int start;
+			while ((start = path.indexOf("${", from)) >= 0) {
+				int end = path.indexOf('}', start);
+				if (end < 0) {
+					break;
+				}
+				String key = path.substring(start + 2, end);
+				String value;
+				if (buildDirectory != null && "project.build.directory".equals(key)) {
+					value = buildDirectory.getPath();
+				} else if ("basedir".equals(key) || "project.basedir".equals(key)) {
+					value = directory.getPath();
+				} else {
+					value = getProperty(key);
+				}
+				expanded.append(path, from, start).append(value != null ? value : path.substring(start, end + 1));
+				from = end + 1;
+			}
+			expanded.append(path.substring(from));
+			File file = new File(expanded.toString());
+			return file.isAbsolute() ? file : new File(directory, expanded.toString());
 		}
 
 		/**
@@ -27,6 +27,7 @@ import spoon.processing.ProcessorProperties;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtMethod;
 import spoon.support.OutputDestinationHandler;
+import spoon.support.util.PerformanceListener;
 
 import java.io.File;
 import java.nio.charset.Charset;
@@ -365,6 +366,50 @@ public interface Environment {
 	 */
 	void setModelChangeListener(FineModelChangeListener modelChangeListener);
 
+	/**
+	 * get the listener of the performance metrics of the phases of Spoon, or null if the phases are not measured.
+	 */
+	PerformanceListener getPerformanceListener();
+
+	/**
+	 * set the listener of the performance metrics of the phases of Spoon. null (the default) disables the measures.
+	 */
+	void setPerformanceListener(PerformanceListener performanceListener);
+
+	/**
+	 * @return true if {@link CtElement#toString()} computes the imports of the printed element in auto-import mode (the default).
+	 */
+	boolean isToStringImportsEnabled();
+
+	/**
+	 * set whether {@link CtElement#toString()} computes the imports of the printed element in auto-import mode.
+	 * If false, the types are printed with their qualified names, which is faster.
+	 */
+	void setToStringImportsEnabled(boolean toStringImportsEnabled);
+
+	/**
+	 * @return the maximum number of strings returned by {@link CtElement#toString()} which are cached per model, 0 if they are not cached.
+	 */
+	int getToStringCacheSize();
+
+	/**
+	 * set the maximum number of strings returned by {@link CtElement#toString()} which are cached per model. 0 (the default) disables the cache.
+	 * The cached strings are discarded when the model changes.
+	 */
+	void setToStringCacheSize(int toStringCacheSize);
+
+	/**
+	 * @return true if the type, field and executable references of the model are indexed by the referenced name,
+	 * so that the usages of a declaration are found without scanning the whole model.
+	 */
+	boolean isReferenceIndexEnabled();
+
+	/**
+	 * set whether the type, field and executable references of the model are indexed by the referenced name. false by default.
+	 * The index is built the first time it is used, then kept up to date with the changes of the model.
+	 */
+	void setReferenceIndexEnabled(boolean referenceIndexEnabled);
+
 	/**
 	 * Get the encoding used inside the project
 	 */
@@ -18,7 +18,9 @@ package spoon.refactoring;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import spoon.SpoonException;
 import spoon.reflect.code.CtAnnotationFieldAccess;
@@ -33,6 +35,7 @@ import spoon.reflect.code.CtVariableRead;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtParameter;
+import spoon.reflect.declaration.CtTypeMember;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.reference.CtParameterReference;
 import spoon.reflect.visitor.CtAbstractVisitor;
@@ -40,6 +43,7 @@ import spoon.reflect.visitor.chain.CtConsumer;
 import spoon.reflect.visitor.filter.AllMethodsSameSignatureFunction;
 import spoon.reflect.visitor.filter.ExecutableReferenceFilter;
 import spoon.reflect.visitor.filter.ParameterReferenceFunction;
+import spoon.support.util.ReferenceIndex;
 
 /**
  * Removes target {@link CtParameter} from the parent target {@link CtExecutable}
@@ -161,7 +165,7 @@ public class CtParameterRemoveRefactoring implements CtRefactoring {
 		}
 		//all the invocations, which belongs to same inheritance tree
 		final List<CtInvocation<?>> invocations = new ArrayList<>();
-		target.getFactory().getModel().filterChildren(execRefFilter).forEach(new CtConsumer<CtExecutableReference<?>>() {
+		CtConsumer<CtExecutableReference<?>> consumer = new CtConsumer<CtExecutableReference<?>>() {
 			@Override
 			public void accept(CtExecutableReference<?> t) {
 				CtElement parent = t.getParent();
@@ -169,10 +173,34 @@ public class CtParameterRemoveRefactoring implements CtRefactoring {
 					invocations.add((CtInvocation<?>) parent);
 				} //else ignore other hits, which are not in context of invocation
 			}
-		});
+		};
+		ReferenceIndex index = ReferenceIndex.of(target.getFactory());
+		if (index != null && areTypeMembers(getTargetExecutables())) {
+			//the references to lambdas are not indexed by name, the other ones are found in the index
+			Set<CtExecutableReference<?>> found = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (CtExecutable<?> exec : getTargetExecutables()) {
+				String declaringType = ((CtTypeMember) exec).getDeclaringType().getQualifiedName();
+				for (CtExecutableReference<?> execRef : index.getExecutableReferences(declaringType, exec.getSimpleName())) {
+					if (execRefFilter.matches(execRef) && found.add(execRef)) {
+						consumer.accept(execRef);
+					}
+				}
+			}
+		} else {
+			target.getFactory().getModel().filterChildren(execRefFilter).forEach(consumer);
+		}
 		targetInvocations = Collections.unmodifiableList(invocations);
 	}
 
+	private static boolean areTypeMembers(List<CtExecutable<?>> executables) {
+		for (CtExecutable<?> exec : executables) {
+			if (!(exec instanceof CtTypeMember)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private void checkAllExecutables() {
 		for (CtExecutable<?> executable : getTargetExecutables()) {
 			checkExecutable(executable);
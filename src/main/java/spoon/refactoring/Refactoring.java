@@ -21,6 +21,7 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.util.ReferenceIndex;
 
 import java.util.List;
 
@@ -42,7 +43,8 @@ public final class Refactoring {
 
 		final String typeQFN = type.getQualifiedName();
 
-		final List<CtTypeReference<?>> references = Query.getElements(type.getFactory(), new TypeFilter<CtTypeReference<?>>(CtTypeReference.class) {
+		ReferenceIndex index = ReferenceIndex.of(type.getFactory());
+		final List<CtTypeReference<?>> references = index != null ? index.getTypeReferences(typeQFN) : Query.getElements(type.getFactory(), new TypeFilter<CtTypeReference<?>>(CtTypeReference.class) {
 			@Override
 			public boolean matches(CtTypeReference<?> reference) {
 				String refFQN = reference.getQualifiedName();
@@ -16,6 +16,7 @@
  */
 package spoon.reflect;
 
+import spoon.compiler.Environment;
 import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtModule;
@@ -31,6 +32,10 @@ import spoon.reflect.visitor.chain.CtQuery;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.QueueProcessingManager;
 import spoon.support.reflect.declaration.CtPackageImpl;
+import spoon.support.util.PrintedStringCache;
+import spoon.support.util.QualifiedNameIndex;
+import spoon.support.util.ReferenceIndex;
+import spoon.support.util.TypeHierarchyIndex;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -87,6 +92,17 @@ public class CtModelImpl implements CtModel {
 
 	private final CtModule unnamedModule;
 
+	private transient volatile QualifiedNameIndex qualifiedNameIndex;
+
+	private transient volatile TypeHierarchyIndex typeHierarchyIndex;
+
+	private transient volatile PrintedStringCache printedStringCache;
+
+	private transient volatile ReferenceIndex referenceIndex;
+
+	// true while the indexes are not used nor updated, see suspendIndexes()
+	private transient volatile boolean indexesSuspended;
+
 	public CtModelImpl(Factory f) {
 		this.unnamedModule = new ModuleFactory.CtUnnamedModule();
 		this.unnamedModule.setFactory(f);
@@ -100,8 +116,131 @@ public class CtModelImpl implements CtModel {
 	}
 
 
+	/**
+	 * Discards the indexes of this model, which are then not used nor updated until {@link #resumeIndexes()} is called.
+	 * It is used while several threads change the model, see {@link spoon.support.ParallelProcessingManager},
+	 * as an index built by one thread would scan the types changed by the other threads.
+	 */
+	public synchronized void suspendIndexes() {
+		indexesSuspended = true;
+		qualifiedNameIndex = null;
+		typeHierarchyIndex = null;
+		referenceIndex = null;
+	}
+
+	/**
+	 * Uses the indexes of this model again after {@link #suspendIndexes()}. They are built again when they are used.
+	 */
+	public void resumeIndexes() {
+		indexesSuspended = false;
+	}
+
+	/**
+	 * @return the index of the types and packages of this model, which is kept up to date with the changes of the model,
+	 * or null while the indexes are suspended by {@link #suspendIndexes()}
+	 */
+	public QualifiedNameIndex getQualifiedNameIndex() {
+		if (indexesSuspended) {
+			return null;
+		}
+		QualifiedNameIndex index = qualifiedNameIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = qualifiedNameIndex;
+				if (index == null) {
+					index = new QualifiedNameIndex();
+					qualifiedNameIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return the index of the type hierarchy of this model, which is kept up to date with the changes of the model,
+	 * or null while the indexes are suspended by {@link #suspendIndexes()}
+	 */
+	public TypeHierarchyIndex getTypeHierarchyIndex() {
+		if (indexesSuspended) {
+			return null;
+		}
+		TypeHierarchyIndex index = typeHierarchyIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = typeHierarchyIndex;
+				if (index == null) {
+					index = new TypeHierarchyIndex(this);
+					typeHierarchyIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @return the cache of the strings printed by {@link spoon.reflect.declaration.CtElement#toString()}
+	 */
+	public PrintedStringCache getPrintedStringCache() {
+		PrintedStringCache cache = printedStringCache;
+		if (cache == null) {
+			synchronized (this) {
+				cache = printedStringCache;
+				if (cache == null) {
+					cache = new PrintedStringCache();
+					printedStringCache = cache;
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * @return the cache of the strings printed by {@link spoon.reflect.declaration.CtElement#toString()},
+	 * or null if it has not been created by {@link #getPrintedStringCache()}
+	 */
+	public PrintedStringCache getCreatedPrintedStringCache() {
+		return printedStringCache;
+	}
+
+	/**
+	 * @return the index of the references of this model, or null if it is not enabled by
+	 * {@link spoon.compiler.Environment#isReferenceIndexEnabled()} or while the indexes are suspended by {@link #suspendIndexes()}
+	 */
+	public ReferenceIndex getReferenceIndex() {
+		if (indexesSuspended) {
+			return null;
+		}
+		Environment environment = getUnnamedModule().getFactory().getEnvironment();
+		if (!environment.isReferenceIndexEnabled()) {
+			if (referenceIndex != null) {
+				//the index is not updated while it is disabled
+				referenceIndex = null;
+			}
+			return null;
+		}
+		ReferenceIndex index = referenceIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = referenceIndex;
+				if (index == null) {
+					index = new ReferenceIndex(this);
+					referenceIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
 	@Override
 	public Collection<CtType<?>> getAllTypes() {
+		QualifiedNameIndex index = getQualifiedNameIndex();
+		if (index != null) {
+			return new ArrayList<>(index.getAllTypes(this::collectAllTypes));
+		}
+		return collectAllTypes();
+	}
+
+	private List<CtType<?>> collectAllTypes() {
 		final List<CtType<?>> result = new ArrayList<>();
 		getAllPackages().forEach(ctPackage -> {
 			result.addAll(ctPackage.getTypes());
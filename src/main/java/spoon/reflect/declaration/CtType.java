@@ -195,6 +195,8 @@ public interface CtType<T> extends CtNamedElement, CtTypeInformation, CtTypeMemb
 
 	/**
 	 * Compiles and replace all the code snippets that are found in this type.
+	 * The snippets are compiled together in the context of this type, so they can use its fields
+	 * and the parameters and local variables which are visible where they are.
 	 *
 	 * @see CtCodeSnippet
 	 * @see spoon.reflect.code.CtCodeSnippetExpression
@@ -19,6 +19,7 @@ package spoon.reflect.factory;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.reference.CtPackageReference;
+import spoon.support.util.QualifiedNameIndex;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -135,6 +136,14 @@ public class PackageFactory extends SubFactory implements Serializable {
 		if (qualifiedName.contains(CtType.INNERTTYPE_SEPARATOR)) {
 			throw new RuntimeException("Invalid package name " + qualifiedName);
 		}
+		QualifiedNameIndex index = QualifiedNameIndex.of(factory);
+		if (index != null) {
+			return index.getPackage(qualifiedName, this::resolve);
+		}
+		return resolve(qualifiedName);
+	}
+
+	private CtPackage resolve(String qualifiedName) {
 		StringTokenizer token = new StringTokenizer(qualifiedName, CtPackage.PACKAGE_SEPARATOR);
 		CtPackage current = factory.getModel().getRootPackage();
 		if (token.hasMoreElements()) {
@@ -39,10 +39,12 @@ import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.DefaultCoreFactory;
 import spoon.support.SpoonClassNotFoundException;
 import spoon.support.StandardEnvironment;
+import spoon.support.util.QualifiedNameIndex;
 import spoon.support.visitor.ClassTypingContext;
 import spoon.support.visitor.GenericTypeAdapter;
 import spoon.support.visitor.MethodTypingContext;
 import spoon.support.visitor.java.JavaReflectionTreeBuilder;
+import spoon.support.visitor.java.ShadowTypeCache;
 
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -50,11 +52,11 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static spoon.testing.utils.ModelUtils.createFactory;
 
@@ -98,7 +100,9 @@ public class TypeFactory extends SubFactory {
 	public final CtTypeReference<Map> MAP = createReference(Map.class);
 	public final CtTypeReference<Enum> ENUM = createReference(Enum.class);
 
-	private final Map<Class<?>, CtType<?>> shadowCache = new HashMap<>();
+	private final Map<Class<?>, CtType<?>> shadowCache = new ConcurrentHashMap<>();
+
+	private transient Factory shadowFactory;
 
 	/**
 	 * Returns a reference on the null type (type of null).
@@ -417,8 +421,16 @@ public class TypeFactory extends SubFactory {
 	 *
 	 * @return a found type or null if does not exist
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> CtType<T> get(final String qualifiedName) {
+		QualifiedNameIndex index = QualifiedNameIndex.of(factory);
+		if (index != null) {
+			return index.getType(qualifiedName, this::resolve);
+		}
+		return resolve(qualifiedName);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CtType<T> resolve(final String qualifiedName) {
 		int inertTypeIndex = qualifiedName.lastIndexOf(CtType.INNERTTYPE_SEPARATOR);
 		if (inertTypeIndex > 0) {
 			String s = qualifiedName.substring(0, inertTypeIndex);
@@ -520,32 +532,67 @@ public class TypeFactory extends SubFactory {
 	public <T> CtType<T> get(Class<?> cl) {
 		final CtType<T> aType = get(cl.getName());
 		if (aType == null) {
-			final CtType<T> shadowClass = (CtType<T>) this.shadowCache.get(cl);
+			CtType<?> shadowClass = this.shadowCache.get(cl);
 			if (shadowClass == null) {
-				CtType<T> newShadowClass;
-				try {
-					newShadowClass = new JavaReflectionTreeBuilder(createFactory()).scan((Class<T>) cl);
-				} catch (Throwable e) {
-					throw new SpoonClassNotFoundException("cannot create shadow class: " + cl.getName(), e);
+				shadowClass = createShadowClass(cl);
+				CtType<?> previous = this.shadowCache.putIfAbsent(cl, shadowClass);
+				if (previous != null) {
+					shadowClass = previous;
 				}
-				newShadowClass.setFactory(factory);
-				newShadowClass.accept(new CtScanner() {
-					@Override
-					public void scan(CtElement element) {
-						if (element != null) {
-							element.setFactory(factory);
-						}
-					}
-				});
-				this.shadowCache.put(cl, newShadowClass);
-				return newShadowClass;
-			} else {
-				return shadowClass;
 			}
+			return (CtType<T>) shadowClass;
 		}
 		return aType;
 	}
 
+	/**
+	 * Creates the shadow type of the class in this factory, by copying the type cached by {@link ShadowTypeCache}.
+	 */
+	private CtType<?> createShadowClass(Class<?> cl) {
+		CtType<?> newShadowClass;
+		if (cl.getEnclosingClass() != null) {
+			// the nested types are taken from the shadow type of the enclosing type
+			CtType<?> nestedType = get(cl.getEnclosingClass()).getNestedType(cl.getSimpleName());
+			if (nestedType != null) {
+				return nestedType;
+			}
+			// the enclosing type is in the model, but not this nested type
+			try {
+				newShadowClass = new JavaReflectionTreeBuilder(createFactory()).scan(cl);
+			} catch (Throwable e) {
+				throw new SpoonClassNotFoundException("cannot create shadow class: " + cl.getName(), e);
+			}
+		} else {
+			newShadowClass = ShadowTypeCache.getShared().get(cl).clone();
+			if (!cl.isPrimitive()) {
+				// primitive types are not in a package
+				getShadowPackage(cl.getPackage() == null ? "" : cl.getPackage().getName()).addType(newShadowClass);
+			}
+		}
+		newShadowClass.setFactory(factory);
+		// all the elements of the copy are moved to this factory, not only the direct children of the type
+		newShadowClass.accept(new CtScanner() {
+			@Override
+			public void scan(CtElement element) {
+				if (element != null) {
+					element.setFactory(factory);
+				}
+				super.scan(element);
+			}
+		});
+		return newShadowClass;
+	}
+
+	/**
+	 * @return the package of the shadow types, out of the model of this factory
+	 */
+	private synchronized CtPackage getShadowPackage(String qualifiedName) {
+		if (shadowFactory == null) {
+			shadowFactory = createFactory();
+		}
+		return shadowFactory.Package().getOrCreate(qualifiedName);
+	}
+
 	/**
 	 * Gets the declaring type name for a given Java qualified name.
 	 */
@@ -18,9 +18,7 @@ package spoon.reflect.meta.impl;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 import spoon.SpoonException;
@@ -36,8 +34,6 @@ public class RoleHandlerHelper {
 	private RoleHandlerHelper() {
 	}
 
-	private static Map<Class<?>, List<RoleHandler>> roleHandlersByClass = new HashMap<>();
-
 	@SuppressWarnings("unchecked")
 	private static final List<RoleHandler>[] roleHandlers = new List[CtRole.values().length];
 	static {
@@ -49,6 +45,39 @@ public class RoleHandlerHelper {
 		}
 	}
 
+	/**
+	 * The handlers of a class, indexed by the ordinal of their role, null if the class has not the role.
+	 * They are computed once per class, and {@link ClassValue} is thread-safe.
+	 */
+	private static final ClassValue<RoleHandler[]> roleHandlersTable = new ClassValue<RoleHandler[]>() {
+		@Override
+		protected RoleHandler[] computeValue(Class<?> targetClass) {
+			RoleHandler[] handlers = new RoleHandler[roleHandlers.length];
+			for (int i = 0; i < roleHandlers.length; i++) {
+				for (RoleHandler ctRoleHandler : roleHandlers[i]) {
+					if (ctRoleHandler.getTargetType().isAssignableFrom(targetClass)) {
+						handlers[i] = ctRoleHandler;
+						break;
+					}
+				}
+			}
+			return handlers;
+		}
+	};
+
+	private static final ClassValue<List<RoleHandler>> roleHandlersByClass = new ClassValue<List<RoleHandler>>() {
+		@Override
+		protected List<RoleHandler> computeValue(Class<?> targetClass) {
+			List<RoleHandler> handlers = new ArrayList<>();
+			for (RoleHandler roleHandler : roleHandlersTable.get(targetClass)) {
+				if (roleHandler != null) {
+					handlers.add(roleHandler);
+				}
+			}
+			return Collections.unmodifiableList(handlers);
+		}
+	};
+
 	/**
 	 * @param targetClass the class of the to be manipulated node
 	 * @param role defines the to be manipulated attribute
@@ -70,13 +99,7 @@ public class RoleHandlerHelper {
 	 * or returns null if such role doesn't exist on the `targetClass`
 	 */
 	public static RoleHandler getOptionalRoleHandler(Class<? extends CtElement> targetClass, CtRole role) {
-		List<RoleHandler> handlers = roleHandlers[role.ordinal()];
-		for (RoleHandler ctRoleHandler : handlers) {
-			if (ctRoleHandler.getTargetType().isAssignableFrom(targetClass)) {
-				return ctRoleHandler;
-			}
-		}
-		return null;
+		return roleHandlersTable.get(targetClass)[role.ordinal()];
 	}
 
 	/**
@@ -84,19 +107,7 @@ public class RoleHandlerHelper {
 	 * @return all {@link RoleHandler}s available for the `targetClass`
 	 */
 	public static List<RoleHandler> getRoleHandlers(Class<? extends CtElement> targetClass) {
-		List<RoleHandler> handlers = roleHandlersByClass.get(targetClass);
-		if (handlers == null) {
-			List<RoleHandler> modifiableHandlers = new ArrayList<>();
-			for (CtRole role : CtRole.values()) {
-				RoleHandler roleHandler = getOptionalRoleHandler(targetClass, role);
-				if (roleHandler != null) {
-					modifiableHandlers.add(roleHandler);
-				}
-			}
-			handlers = Collections.unmodifiableList(modifiableHandlers);
-			roleHandlersByClass.put(targetClass, handlers);
-		}
-		return handlers;
+		return roleHandlersByClass.get(targetClass);
 	}
 
 	/**
@@ -121,6 +121,8 @@ import spoon.reflect.reference.CtWildcardReference;
 import spoon.reflect.visitor.PrintingContext.Writable;
 import spoon.reflect.visitor.filter.PotentialVariableDeclarationFunction;
 import spoon.reflect.visitor.printer.CommentOffset;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PhaseMetrics.Phase;
 
 import java.lang.annotation.Annotation;
 import java.util.Collection;
@@ -1942,15 +1944,49 @@ public class DefaultJavaPrettyPrinter implements CtVisitor, PrettyPrinter {
 		return this.getResult();
 	}
 
+	/**
+	 * Prints the given element alone, as done by {@link CtElement#toString()}.
+	 * The printer is reset first, so that it can be reused to print several elements.
+	 *
+	 * @param computeImports if true, the imports of the element are computed first (in auto-import mode only),
+	 * so that the imported types are printed with their simple names
+	 * @return the printed element
+	 */
+	public String printElement(CtElement element, boolean computeImports) {
+		reset();
+		// we do not want to compute imports of a CtImport as it may change the print of a reference
+		if (computeImports && !(element instanceof CtImport)) {
+			computeImports(element);
+		}
+		scan(element);
+		return getResult();
+	}
+
+	/**
+	 * @return the environment of this printer
+	 */
+	public Environment getEnvironment() {
+		return env;
+	}
+
 	@Override
 	public String getResult() {
 		return printer.getPrinterHelper().toString();
 	}
 
-	private void reset() {
+	/**
+	 * Resets this printer: the printed text and the imports are discarded and the printer no longer refers to the printed elements.
+	 * The import scanner is kept as long as the auto-import mode of the environment does not change.
+	 */
+	public void reset() {
 		printer.reset();
-		context = new PrintingContext();
-		if (env.isAutoImports()) {
+		context.reset();
+		sourceCompilationUnit = null;
+		imports.clear();
+		Class<?> importsContextClass = env.isAutoImports() ? ImportScannerImpl.class : MinimalImportScanner.class;
+		if (importsContext != null && importsContext.getClass() == importsContextClass) {
+			((ImportScannerImpl) importsContext).reset();
+		} else if (env.isAutoImports()) {
 			this.importsContext = new ImportScannerImpl();
 		} else {
 			this.importsContext = new MinimalImportScanner();
@@ -1968,9 +2004,11 @@ public class DefaultJavaPrettyPrinter implements CtVisitor, PrettyPrinter {
 			imports.addAll(sourceCompilationUnit.getImports());
 		}
 
+		PerformanceMeasure measure = PerformanceMeasure.start(env, Phase.IMPORT_COMPUTATION, types.isEmpty() ? null : types.get(0).getQualifiedName());
 		for (CtType<?> t : types) {
 			imports.addAll(computeImports(t));
 		}
+		measure.stop(imports.size());
 		elementPrinterHelper.writeHeader(types, imports);
 		for (CtType<?> t : types) {
 			scan(t);
@@ -228,6 +228,19 @@ public class ImportScannerImpl extends CtScanner implements ImportScanner {
 		}
 	}
 
+	/**
+	 * Discards the computed imports, so that this scanner can compute the imports of another element.
+	 * The names found in java.lang are kept, as they do not depend on the model.
+	 */
+	void reset() {
+		classImports.clear();
+		fieldImports.clear();
+		methodImports.clear();
+		targetType = null;
+		fieldAndMethodsNames.clear();
+		exploredReferences.clear();
+	}
+
 	private boolean isThereAnotherClassWithSameNameInAnotherPackage(CtTypeReference<?> ref) {
 		for (CtTypeReference typeref : this.exploredReferences) {
 			if (typeref.getSimpleName().equals(ref.getSimpleName()) && !typeref.getQualifiedName().equals(ref.getQualifiedName())) {
@@ -21,6 +21,7 @@ import spoon.reflect.cu.CompilationUnit;
 import spoon.reflect.cu.position.NoSourcePosition;
 import spoon.reflect.declaration.CtElement;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -41,9 +42,9 @@ public class PrinterHelper {
 	private Environment env;
 
 	/**
-	 * The string buffer in which the code is generated.
+	 * The string builder in which the code is generated.
 	 */
-	private final StringBuffer sbf = new StringBuffer();
+	private final StringBuilder sbf = new StringBuilder();
 
 	/**
 	 * Number of tabs when we print the source code.
@@ -63,9 +64,14 @@ public class PrinterHelper {
 	private int column = 1;
 
 	/**
-	 * Mapping for line numbers.
+	 * The value of {@link #lineNumberMapping} for the lines which are not mapped.
 	 */
-	private Map<Integer, Integer> lineNumberMapping = new HashMap<>();
+	private static final int UNMAPPED_LINE = Integer.MIN_VALUE;
+
+	/**
+	 * Mapping for line numbers: printed line -> source line, or {@link #UNMAPPED_LINE}.
+	 */
+	private int[] lineNumberMapping = newLineNumberMapping(64);
 
 	/*
 	 * each writeln() sets this to true.
@@ -91,23 +97,43 @@ public class PrinterHelper {
 		line = 1;
 		column = 1;
 		shouldWriteTabs = true;
-		//create new map, because clients keeps reference to it
-		lineNumberMapping = new HashMap<>();
+		lastCharWasCR = false;
+		Arrays.fill(lineNumberMapping, UNMAPPED_LINE);
 	}
 
 	/**
 	 * Outputs a string.
+	 * The characters between the line separators are appended at once, as done by {@link #write(char)}.
 	 */
 	public PrinterHelper write(String s) {
 		if (s != null) {
 			int len = s.length();
+			int start = 0;
 			for (int i = 0; i < len; i++) {
-				write(s.charAt(i));
+				char c = s.charAt(i);
+				if (c == '\r' || c == '\n') {
+					writeChars(s, start, i);
+					write(c);
+					start = i + 1;
+				}
 			}
+			writeChars(s, start, len);
 		}
 		return this;
 	}
 
+	/**
+	 * Outputs the characters of `s` from `start` to `end` (excluded), which are not line separators.
+	 */
+	private void writeChars(String s, int start, int end) {
+		if (start < end) {
+			autoWriteTabs();
+			sbf.append(s, start, end);
+			column += end - start;
+			lastCharWasCR = false;
+		}
+	}
+
 	/**
 	 * Outputs a char.
 	 */
@@ -213,7 +239,7 @@ public class PrinterHelper {
 		String ls = lineSeparator;
 		int i = sbf.length() - ls.length();
 		boolean hasWhite = false;
-		while (i > 0 && !ls.equals(sbf.substring(i, i + ls.length()))) {
+		while (i > 0 && !isLineSeparatorAt(i)) {
 			if (!isWhite(sbf.charAt(i))) {
 				return false;
 			}
@@ -229,6 +255,16 @@ public class PrinterHelper {
 		return true;
 	}
 
+	private boolean isLineSeparatorAt(int index) {
+		String ls = lineSeparator;
+		for (int i = 0; i < ls.length(); i++) {
+			if (sbf.charAt(index + i) != ls.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private boolean isWhite(char c) {
 		return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r');
 	}
@@ -260,7 +296,7 @@ public class PrinterHelper {
 	}
 
 	public void undefineLine() {
-		if (lineNumberMapping.get(line) == null) {
+		if (line >= lineNumberMapping.length || lineNumberMapping[line] == UNMAPPED_LINE) {
 			putLineNumberMapping(0);
 		}
 	}
@@ -275,11 +311,31 @@ public class PrinterHelper {
 	}
 
 	public void putLineNumberMapping(int valueLine) {
-		lineNumberMapping.put(this.line, valueLine);
+		if (line >= lineNumberMapping.length) {
+			int[] newMapping = newLineNumberMapping(Math.max(line + 1, lineNumberMapping.length * 2));
+			System.arraycopy(lineNumberMapping, 0, newMapping, 0, lineNumberMapping.length);
+			lineNumberMapping = newMapping;
+		}
+		lineNumberMapping[line] = valueLine;
 	}
 
+	private static int[] newLineNumberMapping(int size) {
+		int[] mapping = new int[size];
+		Arrays.fill(mapping, UNMAPPED_LINE);
+		return mapping;
+	}
+
+	/**
+	 * @return the mapping of the lines printed since the last {@link #reset()}: printed line -> source line
+	 */
 	public Map<Integer, Integer> getLineNumberMapping() {
-		return Collections.unmodifiableMap(lineNumberMapping);
+		Map<Integer, Integer> result = new HashMap<>();
+		for (int i = 0; i < lineNumberMapping.length; i++) {
+			if (lineNumberMapping[i] != UNMAPPED_LINE) {
+				result.put(i, lineNumberMapping[i]);
+			}
+		}
+		return Collections.unmodifiableMap(result);
 	}
 
 	@Override
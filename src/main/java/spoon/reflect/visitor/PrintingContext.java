@@ -135,6 +135,17 @@ public class PrintingContext {
 
 	CtType<?> currentTopLevel;
 
+	/**
+	 * Resets the state of this context, so that it no longer refers to the printed elements.
+	 */
+	void reset() {
+		state = 0;
+		currentThis.clear();
+		elementStack.clear();
+		parenthesedExpression.clear();
+		currentTopLevel = null;
+	}
+
 	@Override
 	public String toString() {
 		return "context.ignoreGenerics: " + ignoreGenerics() + "\n";
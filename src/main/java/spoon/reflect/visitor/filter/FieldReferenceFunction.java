@@ -22,6 +22,7 @@ import spoon.reflect.declaration.CtField;
 import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.visitor.chain.CtConsumableFunction;
 import spoon.reflect.visitor.chain.CtConsumer;
+import spoon.support.util.ReferenceIndex;
 
 /**
  * This Query expects a {@link CtField} as input
@@ -57,6 +58,17 @@ public class FieldReferenceFunction implements CtConsumableFunction<CtElement> {
 			} else {
 				throw new SpoonException("The input of FieldReferenceFunction must be a CtField but is " + fieldOrScope.getClass().getSimpleName());
 			}
+			ReferenceIndex index = ReferenceIndex.of(field.getFactory());
+			if (index != null && field.getDeclaringType() != null) {
+				//the candidates are found by name in the index of the whole model
+				DirectReferenceFilter<CtFieldReference<?>> filter = new DirectReferenceFilter<>(field.getReference());
+				for (CtFieldReference<?> reference : index.getFieldReferences(field.getDeclaringType().getQualifiedName(), field.getSimpleName())) {
+					if (filter.matches(reference)) {
+						outputConsumer.accept(reference);
+					}
+				}
+				return;
+			}
 			scope = field.getFactory().getModel().getUnnamedModule();
 		} else {
 			scope = fieldOrScope;
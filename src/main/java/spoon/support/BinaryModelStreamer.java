@@ -0,0 +1,839 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import spoon.compiler.Environment;
+import spoon.reflect.ModelStreamer;
+import spoon.reflect.cu.CompilationUnit;
+import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtImport;
+import spoon.reflect.declaration.CtModifiable;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.CtTypeInformation;
+import spoon.reflect.declaration.ModifierKind;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.factory.FactoryImpl;
+import spoon.reflect.factory.ModuleFactory;
+import spoon.reflect.meta.ContainerKind;
+import spoon.reflect.meta.RoleHandler;
+import spoon.reflect.meta.impl.RoleHandlerHelper;
+import spoon.reflect.path.CtRole;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.reflect.CtExtendedModifier;
+import spoon.support.reflect.cu.position.BodyHolderSourcePositionImpl;
+import spoon.support.reflect.cu.position.DeclarationSourcePositionImpl;
+import spoon.support.reflect.cu.position.PartialSourcePositionImpl;
+import spoon.support.reflect.cu.position.SourcePositionImpl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class provides a compact binary implementation of the model streamer.
+ *
+ * Contrary to {@link SerializationModelStreamer}, the factory is not serialized:
+ * the elements are written role by role, as given by {@link CtScanner} for the children
+ * and by the {@link RoleHandler}s of the metamodel for the other attributes.
+ * The strings, the class names and the line separator positions are written once,
+ * and an element which is reachable through several roles is written once too.
+ * When loading, the elements are created in a new factory, so they do not need
+ * to be attached to it afterwards.
+ *
+ * The metadata of the elements ({@link CtElement#getMetadata(String)}) are not saved.
+ */
+public class BinaryModelStreamer implements ModelStreamer {
+
+	private static final int MAGIC = 0x53504f4e;
+
+	private static final int VERSION = 2;
+
+	// tags of the values of the attributes
+	private static final int NULL = 0;
+	private static final int STRING = 1;
+	private static final int BOOLEAN = 2;
+	private static final int BYTE = 3;
+	private static final int SHORT = 4;
+	private static final int CHARACTER = 5;
+	private static final int INTEGER = 6;
+	private static final int LONG = 7;
+	private static final int FLOAT = 8;
+	private static final int DOUBLE = 9;
+	private static final int ENUM = 10;
+	private static final int SET = 11;
+	private static final int LIST = 12;
+	private static final int SERIALIZED = 13;
+
+	// kinds of source positions
+	private static final int NO_POSITION = 0;
+	private static final int POSITION = 1;
+	private static final int DECLARATION_POSITION = 2;
+	private static final int BODY_HOLDER_POSITION = 3;
+	private static final int PARTIAL_POSITION = 4;
+
+	/**
+	 * Default constructor.
+	 */
+	public BinaryModelStreamer() {
+	}
+
+	public void save(Factory f, OutputStream out) throws IOException {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(out));
+		new Encoder(output).writeFactory(f);
+		output.flush();
+	}
+
+	public Factory load(InputStream in) throws IOException {
+		DataInputStream input = new DataInputStream(new BufferedInputStream(in));
+		Factory factory = new FactoryImpl(new DefaultCoreFactory(), new StandardEnvironment());
+		new Decoder(input, factory).readFactory();
+		return factory;
+	}
+
+	/**
+	 * @return true if the value of the given role is saved as an attribute of the element
+	 * and not as a child.
+	 */
+	private static boolean isAttribute(CtElement element, RoleHandler handler) {
+		if (CtElement.class.isAssignableFrom(handler.getValueClass()) || handler.getRole() == CtRole.POSITION) {
+			return false;
+		}
+		if (handler.getRole() == CtRole.MODIFIER) {
+			// the modifiers of a type reference are computed from its declaration
+			// and the ones of a modifiable element are saved with their implicitness
+			return !(element instanceof CtModifiable) && handler.getTargetType() != CtTypeInformation.class;
+		}
+		return true;
+	}
+
+	/**
+	 * Collects the direct children of an element, with their role.
+	 */
+	private static class ChildCollector extends CtScanner {
+		final List<CtRole> roles = new ArrayList<>();
+		final List<String> keys = new ArrayList<>();
+		final List<CtElement> children = new ArrayList<>();
+
+		void collect(CtElement element) {
+			roles.clear();
+			keys.clear();
+			children.clear();
+			if (element instanceof ModuleFactory.CtUnnamedModule) {
+				// the unnamed module also visits all the other modules
+				visitCtModule((CtModule) element);
+			} else {
+				element.accept(this);
+			}
+		}
+
+		void removeRole(CtRole role) {
+			for (int i = roles.size() - 1; i >= 0; i--) {
+				if (roles.get(i) == role) {
+					roles.remove(i);
+					keys.remove(i);
+					children.remove(i);
+				}
+			}
+		}
+
+		@Override
+		public void scan(CtRole role, CtElement element) {
+			if (element != null) {
+				roles.add(role);
+				keys.add(null);
+				children.add(element);
+			}
+		}
+
+		@Override
+		public void scan(CtRole role, Object o) {
+			if (o instanceof Map<?, ?>) {
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+					if (entry.getValue() instanceof CtElement) {
+						roles.add(role);
+						keys.add((String) entry.getKey());
+						children.add((CtElement) entry.getValue());
+					}
+				}
+			} else {
+				super.scan(role, o);
+			}
+		}
+	}
+
+	/**
+	 * Writes the elements, the strings and the compilation units to a stream.
+	 * Each encoder interns its own strings and elements.
+	 */
+	static class Encoder {
+		final DataOutputStream out;
+		final Map<String, Integer> strings = new HashMap<>();
+		final Map<CtElement, Integer> elements = new IdentityHashMap<>();
+		final Map<CompilationUnit, Integer> compilationUnits = new IdentityHashMap<>();
+		final List<CompilationUnit> compilationUnitList = new ArrayList<>();
+		final Map<CompilationUnit, String> compilationUnitKeys = new IdentityHashMap<>();
+		final Map<int[], Integer> lineSeparators = new IdentityHashMap<>();
+
+		/**
+		 * if true, the types of the packages are not written
+		 */
+		boolean skipPackageTypes = false;
+
+		Encoder(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeFactory(Factory factory) throws IOException {
+			out.writeInt(MAGIC);
+			writeInt(VERSION);
+			writeEnvironment(factory.getEnvironment());
+
+			Map<String, CompilationUnit> cus = factory.CompilationUnit().getMap();
+			for (Map.Entry<String, CompilationUnit> entry : cus.entrySet()) {
+				compilationUnitKeys.put(entry.getValue(), entry.getKey());
+			}
+			writeInt(cus.size());
+			for (CompilationUnit cu : cus.values()) {
+				writeCompilationUnit(cu);
+			}
+
+			writeModules(factory);
+
+			// the compilation units found in the positions are added to the list while writing
+			for (int i = 0; i < compilationUnitList.size(); i++) {
+				out.writeBoolean(true);
+				writeCompilationUnitContent(compilationUnitList.get(i));
+			}
+			out.writeBoolean(false);
+		}
+
+		void writeModules(Factory factory) throws IOException {
+			// the unnamed module first, as it contains the root package of the model
+			List<CtModule> modules = new ArrayList<>(factory.Module().getAllModules());
+			modules.remove(factory.getModel().getUnnamedModule());
+			modules.sort(Comparator.comparing(CtModule::getSimpleName));
+			modules.add(0, factory.getModel().getUnnamedModule());
+			writeInt(modules.size());
+			for (CtModule module : modules) {
+				writeElement(module);
+			}
+		}
+
+		void writeEnvironment(Environment environment) throws IOException {
+			writeInt(environment.getComplianceLevel());
+			out.writeBoolean(environment.getNoClasspath());
+			out.writeBoolean(environment.isCommentsEnabled());
+			out.writeBoolean(environment.isAutoImports());
+			out.writeBoolean(environment.isPreserveLineNumbers());
+			writeInt(environment.getTabulationSize());
+			out.writeBoolean(environment.isUsingTabulations());
+			writeString(environment.getEncoding().name());
+		}
+
+		void writeElement(CtElement element) throws IOException {
+			if (element == null) {
+				writeInt(0);
+				return;
+			}
+			Integer id = elements.get(element);
+			if (id != null) {
+				writeInt(id + 2);
+				return;
+			}
+			elements.put(element, elements.size());
+			writeInt(1);
+			writeString(element.getClass().getName());
+
+			List<RoleHandler> attributes = new ArrayList<>();
+			List<Object> values = new ArrayList<>();
+			for (RoleHandler handler : RoleHandlerHelper.getRoleHandlers(element.getClass())) {
+				if (isAttribute(element, handler)) {
+					Object value = handler.getValue(element);
+					if (value != null) {
+						attributes.add(handler);
+						values.add(value);
+					}
+				}
+			}
+			writeInt(attributes.size());
+			for (int i = 0; i < attributes.size(); i++) {
+				writeString(attributes.get(i).getRole().name());
+				writeValue(values.get(i));
+			}
+			if (element instanceof CtModifiable) {
+				Set<CtExtendedModifier> modifiers = ((CtModifiable) element).getExtendedModifiers();
+				writeInt(modifiers.size());
+				for (CtExtendedModifier modifier : modifiers) {
+					writeString(modifier.getKind().name());
+					out.writeBoolean(modifier.isImplicit());
+				}
+			}
+			writePosition(element.getPosition());
+
+			ChildCollector collector = new ChildCollector();
+			collector.collect(element);
+			if (skipPackageTypes && element instanceof CtPackage) {
+				collector.removeRole(CtRole.CONTAINED_TYPE);
+			}
+			writeInt(collector.children.size());
+			for (int i = 0; i < collector.children.size(); i++) {
+				CtRole role = collector.roles.get(i);
+				writeString(role.name());
+				if (RoleHandlerHelper.getRoleHandler(element.getClass(), role).getContainerKind() == ContainerKind.MAP) {
+					writeString(collector.keys.get(i));
+				}
+				writeElement(collector.children.get(i));
+			}
+		}
+
+		void writePosition(SourcePosition position) throws IOException {
+			if (position instanceof PartialSourcePositionImpl) {
+				writeInt(PARTIAL_POSITION);
+				writeCompilationUnit(position.getCompilationUnit());
+			} else if (position instanceof BodyHolderSourcePositionImpl) {
+				BodyHolderSourcePositionImpl p = (BodyHolderSourcePositionImpl) position;
+				writeInt(BODY_HOLDER_POSITION);
+				writeDeclarationPosition(p);
+				writeSignedInt(p.getBodyStart());
+				writeSignedInt(p.getBodyEnd());
+			} else if (position instanceof DeclarationSourcePositionImpl) {
+				writeInt(DECLARATION_POSITION);
+				writeDeclarationPosition((DeclarationSourcePositionImpl) position);
+			} else if (position instanceof SourcePositionImpl) {
+				SourcePositionImpl p = (SourcePositionImpl) position;
+				writeInt(POSITION);
+				writeCompilationUnit(p.getCompilationUnit());
+				writeSignedInt(p.getSourceStart());
+				writeSignedInt(p.getSourceEnd());
+				writeLineSeparators(p.getLineSeparatorPositions());
+			} else {
+				writeInt(NO_POSITION);
+			}
+		}
+
+		void writeDeclarationPosition(DeclarationSourcePositionImpl p) throws IOException {
+			writeCompilationUnit(p.getCompilationUnit());
+			writeSignedInt(p.getNameStart());
+			writeSignedInt(p.getNameEnd());
+			writeSignedInt(p.getModifierSourceStart());
+			writeSignedInt(p.getModifierSourceEnd());
+			writeSignedInt(p.getSourceStart());
+			writeSignedInt(p.getSourceEnd());
+			writeLineSeparators(p.getLineSeparatorPositions());
+		}
+
+		void writeLineSeparators(int[] positions) throws IOException {
+			if (positions == null) {
+				writeInt(0);
+				return;
+			}
+			Integer id = lineSeparators.get(positions);
+			if (id != null) {
+				writeInt(id + 1);
+				return;
+			}
+			lineSeparators.put(positions, lineSeparators.size());
+			writeInt(lineSeparators.size());
+			writeInt(positions.length);
+			int previous = 0;
+			for (int position : positions) {
+				// the positions are increasing, the deltas are small
+				writeSignedInt(position - previous);
+				previous = position;
+			}
+		}
+
+		void writeCompilationUnit(CompilationUnit cu) throws IOException {
+			if (cu == null) {
+				writeInt(0);
+				return;
+			}
+			Integer id = compilationUnits.get(cu);
+			if (id != null) {
+				writeInt(id + 1);
+				return;
+			}
+			compilationUnits.put(cu, compilationUnitList.size());
+			compilationUnitList.add(cu);
+			writeInt(compilationUnitList.size());
+			writeString(compilationUnitKeys.get(cu));
+			writeString(cu.getFile() == null ? null : cu.getFile().getPath());
+		}
+
+		void writeCompilationUnitContent(CompilationUnit cu) throws IOException {
+			List<CtType<?>> types = cu.getDeclaredTypes();
+			writeInt(types.size());
+			for (CtType<?> type : types) {
+				writeElement(type);
+			}
+			writeElement(cu.getDeclaredPackage());
+			writeElement(cu.getDeclaredModule());
+			Collection<CtImport> imports = cu.getImports();
+			writeInt(imports == null ? 0 : imports.size());
+			if (imports != null) {
+				for (CtImport ctImport : imports) {
+					writeElement(ctImport);
+				}
+			}
+		}
+
+		void writeValue(Object value) throws IOException {
+			if (value == null) {
+				writeInt(NULL);
+			} else if (value instanceof String) {
+				writeInt(STRING);
+				writeString((String) value);
+			} else if (value instanceof Boolean) {
+				writeInt(BOOLEAN);
+				out.writeBoolean((Boolean) value);
+			} else if (value instanceof Byte) {
+				writeInt(BYTE);
+				out.writeByte((Byte) value);
+			} else if (value instanceof Short) {
+				writeInt(SHORT);
+				out.writeShort((Short) value);
+			} else if (value instanceof Character) {
+				writeInt(CHARACTER);
+				out.writeChar((Character) value);
+			} else if (value instanceof Integer) {
+				writeInt(INTEGER);
+				out.writeInt((Integer) value);
+			} else if (value instanceof Long) {
+				writeInt(LONG);
+				out.writeLong((Long) value);
+			} else if (value instanceof Float) {
+				writeInt(FLOAT);
+				out.writeFloat((Float) value);
+			} else if (value instanceof Double) {
+				writeInt(DOUBLE);
+				out.writeDouble((Double) value);
+			} else if (value instanceof Enum) {
+				writeInt(ENUM);
+				writeString(((Enum<?>) value).getDeclaringClass().getName());
+				writeString(((Enum<?>) value).name());
+			} else if (value instanceof Set || value instanceof List) {
+				writeInt(value instanceof Set ? SET : LIST);
+				Collection<?> collection = (Collection<?>) value;
+				writeInt(collection.size());
+				for (Object item : collection) {
+					writeValue(item);
+				}
+			} else {
+				writeInt(SERIALIZED);
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+					oos.writeObject(value);
+				}
+				writeInt(bytes.size());
+				bytes.writeTo(out);
+			}
+		}
+
+		void writeString(String s) throws IOException {
+			if (s == null) {
+				writeInt(0);
+				return;
+			}
+			Integer id = strings.get(s);
+			if (id != null) {
+				writeInt(id + 1);
+				return;
+			}
+			strings.put(s, strings.size());
+			writeInt(strings.size());
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			writeInt(bytes.length);
+			out.write(bytes);
+		}
+
+		void writeSignedInt(int value) throws IOException {
+			writeInt((value << 1) ^ (value >> 31));
+		}
+
+		/**
+		 * Writes an int with 7 bits per byte, so that the small positive values take one byte.
+		 */
+		void writeInt(int value) throws IOException {
+			while ((value & ~0x7f) != 0) {
+				out.writeByte((value & 0x7f) | 0x80);
+				value >>>= 7;
+			}
+			out.writeByte(value);
+		}
+	}
+
+	/**
+	 * Reads the elements written by an {@link Encoder} and creates them in a given factory.
+	 */
+	static class Decoder {
+		final DataInputStream in;
+		final Factory factory;
+		final List<String> strings = new ArrayList<>();
+		final List<CtElement> elements = new ArrayList<>();
+		final List<CompilationUnit> compilationUnits = new ArrayList<>();
+		final List<int[]> lineSeparators = new ArrayList<>();
+		final Map<String, Constructor<?>> constructors = new HashMap<>();
+
+		Decoder(DataInputStream in, Factory factory) {
+			this.in = in;
+			this.factory = factory;
+		}
+
+		void readFactory() throws IOException {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("The stream does not contain a binary Spoon model");
+			}
+			int version = readInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported version of binary Spoon model: " + version);
+			}
+			readEnvironment(factory.getEnvironment());
+
+			int cuCount = readInt();
+			for (int i = 0; i < cuCount; i++) {
+				readCompilationUnit();
+			}
+
+			readModules();
+
+			int cuIndex = 0;
+			while (in.readBoolean()) {
+				readCompilationUnitContent(compilationUnits.get(cuIndex++));
+			}
+		}
+
+		void readModules() throws IOException {
+			int moduleCount = readInt();
+			for (int i = 0; i < moduleCount; i++) {
+				readElement();
+			}
+		}
+
+		void readEnvironment(Environment environment) throws IOException {
+			environment.setComplianceLevel(readInt());
+			environment.setNoClasspath(in.readBoolean());
+			environment.setCommentEnabled(in.readBoolean());
+			environment.setAutoImports(in.readBoolean());
+			environment.setPreserveLineNumbers(in.readBoolean());
+			environment.setTabulationSize(readInt());
+			environment.useTabulations(in.readBoolean());
+			environment.setEncoding(Charset.forName(readString()));
+		}
+
+		@SuppressWarnings("unchecked")
+		CtElement readElement() throws IOException {
+			int tag = readInt();
+			if (tag == 0) {
+				return null;
+			}
+			if (tag > 1) {
+				return elements.get(tag - 2);
+			}
+			CtElement element = createElement(readString());
+			elements.add(element);
+
+			int attributeCount = readInt();
+			for (int i = 0; i < attributeCount; i++) {
+				RoleHandler handler = getRoleHandler(element, readEnum(CtRole.class));
+				handler.setValue(element, readValue());
+			}
+			if (element instanceof CtModifiable) {
+				int modifierCount = readInt();
+				Set<CtExtendedModifier> modifiers = new LinkedHashSet<>(modifierCount);
+				for (int i = 0; i < modifierCount; i++) {
+					modifiers.add(new CtExtendedModifier(readEnum(ModifierKind.class), in.readBoolean()));
+				}
+				if (modifierCount > 0) {
+					((CtModifiable) element).setExtendedModifiers(modifiers);
+				}
+			}
+			SourcePosition position = readPosition();
+			if (position != SourcePosition.NOPOSITION) {
+				element.setPosition(position);
+			}
+
+			// the children are set role by role, once they are all read
+			Map<CtRole, Object> children = new LinkedHashMap<>();
+			int childCount = readInt();
+			for (int i = 0; i < childCount; i++) {
+				CtRole role = readEnum(CtRole.class);
+				RoleHandler handler = getRoleHandler(element, role);
+				switch (handler.getContainerKind()) {
+				case SINGLE:
+					children.put(role, readElement());
+					break;
+				case LIST:
+					((List<CtElement>) children.computeIfAbsent(role, r -> new ArrayList<>())).add(readElement());
+					break;
+				case SET:
+					((Set<CtElement>) children.computeIfAbsent(role, r -> new LinkedHashSet<>())).add(readElement());
+					break;
+				case MAP:
+					String key = readString();
+					((Map<String, CtElement>) children.computeIfAbsent(role, r -> new LinkedHashMap<>())).put(key, readElement());
+					break;
+				}
+			}
+			for (Map.Entry<CtRole, Object> child : children.entrySet()) {
+				RoleHandlerHelper.getRoleHandler(element.getClass(), child.getKey()).setValue(element, child.getValue());
+			}
+			return element;
+		}
+
+		/**
+		 * Creates an element of the given implementation class, attached to the factory.
+		 */
+		CtElement createElement(String className) throws IOException {
+			if (className.equals(ModuleFactory.CtUnnamedModule.class.getName())) {
+				return factory.getModel().getUnnamedModule();
+			}
+			Constructor<?> constructor = constructors.get(className);
+			try {
+				if (constructor == null) {
+					constructor = Class.forName(className).getDeclaredConstructor();
+					constructor.setAccessible(true);
+					constructors.put(className, constructor);
+				}
+				CtElement element = (CtElement) constructor.newInstance();
+				element.setFactory(factory);
+				if (element instanceof CtModule) {
+					factory.Module().getUnnamedModule().addModule((CtModule) element);
+				}
+				return element;
+			} catch (ReflectiveOperationException e) {
+				throw new IOException("Cannot create an element of class " + className, e);
+			}
+		}
+
+		SourcePosition readPosition() throws IOException {
+			int kind = readInt();
+			switch (kind) {
+			case NO_POSITION:
+				return SourcePosition.NOPOSITION;
+			case POSITION:
+				return new SourcePositionImpl(readCompilationUnit(), readSignedInt(), readSignedInt(), readLineSeparators());
+			case DECLARATION_POSITION:
+				return new DeclarationSourcePositionImpl(readCompilationUnit(), readSignedInt(), readSignedInt(),
+						readSignedInt(), readSignedInt(), readSignedInt(), readSignedInt(), readLineSeparators());
+			case BODY_HOLDER_POSITION:
+				CompilationUnit cu = readCompilationUnit();
+				int sourceStart = readSignedInt();
+				int sourceEnd = readSignedInt();
+				int modifierSourceStart = readSignedInt();
+				int modifierSourceEnd = readSignedInt();
+				int declarationSourceStart = readSignedInt();
+				int declarationSourceEnd = readSignedInt();
+				int[] positions = readLineSeparators();
+				return new BodyHolderSourcePositionImpl(cu, sourceStart, sourceEnd, modifierSourceStart, modifierSourceEnd,
+						declarationSourceStart, declarationSourceEnd, readSignedInt(), readSignedInt(), positions);
+			case PARTIAL_POSITION:
+				return new PartialSourcePositionImpl(readCompilationUnit());
+			default:
+				throw new IOException("Unknown kind of source position: " + kind);
+			}
+		}
+
+		int[] readLineSeparators() throws IOException {
+			int id = readInt();
+			if (id == 0) {
+				return null;
+			}
+			if (id <= lineSeparators.size()) {
+				return lineSeparators.get(id - 1);
+			}
+			int[] positions = new int[readInt()];
+			int previous = 0;
+			for (int i = 0; i < positions.length; i++) {
+				previous += readSignedInt();
+				positions[i] = previous;
+			}
+			lineSeparators.add(positions);
+			return positions;
+		}
+
+		CompilationUnit readCompilationUnit() throws IOException {
+			int id = readInt();
+			if (id == 0) {
+				return null;
+			}
+			if (id <= compilationUnits.size()) {
+				return compilationUnits.get(id - 1);
+			}
+			String key = readString();
+			String path = readString();
+			// the compilation unit may already have been read by another decoder
+			CompilationUnit cu = key == null ? null : factory.CompilationUnit().getMap().get(key);
+			if (cu == null) {
+				cu = factory.Core().createCompilationUnit();
+				if (path != null) {
+					cu.setFile(new File(path));
+				}
+				if (key != null) {
+					factory.CompilationUnit().getMap().put(key, cu);
+				}
+			}
+			compilationUnits.add(cu);
+			return cu;
+		}
+
+		@SuppressWarnings("unchecked")
+		void readCompilationUnitContent(CompilationUnit cu) throws IOException {
+			int typeCount = readInt();
+			List<CtType<?>> types = new ArrayList<>(typeCount);
+			for (int i = 0; i < typeCount; i++) {
+				types.add((CtType<?>) readElement());
+			}
+			cu.setDeclaredTypes(types);
+			cu.setDeclaredPackage((CtPackage) readElement());
+			cu.setDeclaredModule((CtModule) readElement());
+			int importCount = readInt();
+			Collection<CtImport> imports = cu.getImports();
+			for (int i = 0; i < importCount; i++) {
+				imports.add((CtImport) readElement());
+			}
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Object readValue() throws IOException {
+			int tag = readInt();
+			switch (tag) {
+			case NULL:
+				return null;
+			case STRING:
+				return readString();
+			case BOOLEAN:
+				return in.readBoolean();
+			case BYTE:
+				return in.readByte();
+			case SHORT:
+				return in.readShort();
+			case CHARACTER:
+				return in.readChar();
+			case INTEGER:
+				return in.readInt();
+			case LONG:
+				return in.readLong();
+			case FLOAT:
+				return in.readFloat();
+			case DOUBLE:
+				return in.readDouble();
+			case ENUM:
+				String enumClass = readString();
+				try {
+					return readEnum((Class) Class.forName(enumClass));
+				} catch (ClassNotFoundException e) {
+					throw new IOException("Cannot load the enum " + enumClass, e);
+				}
+			case SET:
+			case LIST:
+				int size = readInt();
+				Collection<Object> collection = tag == SET ? new LinkedHashSet<>(size) : new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					collection.add(readValue());
+				}
+				return collection;
+			case SERIALIZED:
+				byte[] bytes = new byte[readInt()];
+				in.readFully(bytes);
+				try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+					return ois.readObject();
+				} catch (ClassNotFoundException e) {
+					throw new IOException(e.getMessage(), e);
+				}
+			default:
+				throw new IOException("Unknown tag of attribute value: " + tag);
+			}
+		}
+
+		/**
+		 * Reads the name of a constant of the given enum, which must exist in this version of Spoon
+		 */
+		<E extends Enum<E>> E readEnum(Class<E> enumClass) throws IOException {
+			String name = readString();
+			try {
+				return Enum.valueOf(enumClass, name);
+			} catch (IllegalArgumentException | NullPointerException e) {
+				throw new IOException("Unknown constant " + name + " of " + enumClass.getName(), e);
+			}
+		}
+
+		RoleHandler getRoleHandler(CtElement element, CtRole role) throws IOException {
+			RoleHandler handler = RoleHandlerHelper.getOptionalRoleHandler(element.getClass(), role);
+			if (handler == null) {
+				throw new IOException("Unknown role " + role + " of " + element.getClass().getName());
+			}
+			return handler;
+		}
+
+		String readString() throws IOException {
+			int id = readInt();
+			if (id == 0) {
+				return null;
+			}
+			if (id <= strings.size()) {
+				return strings.get(id - 1);
+			}
+			byte[] bytes = new byte[readInt()];
+			in.readFully(bytes);
+			String s = new String(bytes, StandardCharsets.UTF_8);
+			strings.add(s);
+			return s;
+		}
+
+		int readSignedInt() throws IOException {
+			int value = readInt();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		int readInt() throws IOException {
+			int value = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = in.readByte();
+				value |= (b & 0x7f) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return value;
+		}
+	}
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import spoon.SpoonException;
+import spoon.processing.ProcessInterruption;
+import spoon.processing.ProcessingManager;
+import spoon.processing.Processor;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.support.visitor.FusedProcessingVisitor;
+import spoon.support.visitor.ProcessingVisitor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * This processing manager applies all the processors during one single scan of the given root elements.
+ * for el : elements
+ *   for p : processors
+ *     p.process(el)
+ *
+ * Compared to {@link QueueProcessingManager}, a processor may see an element
+ * before the previous processors have processed the whole model. On a given element,
+ * the processors are always upcalled in the order they have been added.
+ * When a processor depends on the changes done by a previous one on the whole model,
+ * call {@link #setSequentialProcessing(boolean)} with true to get the ordering
+ * of {@link QueueProcessingManager} (one scan per processor).
+ */
+public class FusedProcessingManager implements ProcessingManager {
+	Processor<?> current;
+
+	/**
+	 * the visitor of the running fused scan, which knows the processor which is processing an element
+	 */
+	private FusedProcessingVisitor fusedVisitor;
+
+	Factory factory;
+
+	Queue<Processor<?>> processors;
+
+	boolean sequentialProcessing = false;
+
+	int savedTraversals = 0;
+
+	/**
+	 * Creates a new processing manager that maintains a queue of processors to
+	 * be applied to a given factory during one single scan.
+	 *
+	 * @param factory
+	 * 		the factory on which the processing applies (contains the
+	 * 		meta-model)
+	 */
+	public FusedProcessingManager(Factory factory) {
+		super();
+		setFactory(factory);
+	}
+
+	public void addProcessor(Class<? extends Processor<?>> type) {
+		try {
+			Processor<?> p = type.newInstance();
+			addProcessor(p);
+		} catch (Exception e) {
+			throw new SpoonException("Unable to instantiate processor \"" + type.getName() + "\" - Your processor should have a constructor with no arguments", e);
+		}
+	}
+
+	public boolean addProcessor(Processor<?> p) {
+		p.setFactory(getFactory());
+		return getProcessors().add(p);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void addProcessor(String qualifiedName) {
+		try {
+			addProcessor((Class<? extends Processor<?>>) getFactory().getEnvironment().getInputClassLoader().loadClass(qualifiedName));
+		} catch (ClassNotFoundException e) {
+			throw new SpoonException("Unable to load processor \"" + qualifiedName + "\" - Check your classpath.", e);
+		}
+	}
+
+	public Processor<?> getCurrentProcessor() {
+		FusedProcessingVisitor visitor = fusedVisitor;
+		if (visitor != null && visitor.getProcessor() != null) {
+			// the processor which is processing an element during the fused scan
+			return visitor.getProcessor();
+		}
+		return current;
+	}
+
+	public Factory getFactory() {
+		return factory;
+	}
+
+	public Queue<Processor<?>> getProcessors() {
+		if (processors == null) {
+			processors = new LinkedList<>();
+		}
+		return processors;
+	}
+
+	/**
+	 * @return true if each processor processes the whole model before the next one starts
+	 */
+	public boolean isSequentialProcessing() {
+		return sequentialProcessing;
+	}
+
+	/**
+	 * @param sequentialProcessing if true, each processor processes the whole model before the next one starts,
+	 * as done by {@link QueueProcessingManager}. If false (default), all processors are applied during one scan.
+	 */
+	public FusedProcessingManager setSequentialProcessing(boolean sequentialProcessing) {
+		this.sequentialProcessing = sequentialProcessing;
+		return this;
+	}
+
+	/**
+	 * @return the number of model traversals which were saved by this manager
+	 * since its creation, compared to one traversal per processor.
+	 */
+	public int getSavedTraversals() {
+		return savedTraversals;
+	}
+
+	public void process(Collection<? extends CtElement> elements) {
+		// copy so that one can reuse the processing manager
+		// among different processing steps
+		List<Processor<?>> processors = new ArrayList<>(getProcessors());
+		if (isSequentialProcessing()) {
+			processSequentially(processors, elements);
+		} else {
+			processFused(processors, elements);
+		}
+	}
+
+	private void processSequentially(List<Processor<?>> processors, Collection<? extends CtElement> elements) {
+		ProcessingVisitor visitor = new ProcessingVisitor(getFactory());
+		for (Processor<?> p : processors) {
+			try {
+				getFactory().getEnvironment().reportProgressMessage(p.getClass().getName());
+				current = p;
+				p.init(); // load the properties
+				p.process();
+				for (CtElement e : new ArrayList<>(elements)) {
+					visitor.setProcessor(p);
+					visitor.scan(e);
+				}
+			} catch (ProcessInterruption ignore) {
+			} finally {
+				p.processingDone();
+			}
+		}
+	}
+
+	private void processFused(List<Processor<?>> processors, Collection<? extends CtElement> elements) {
+		List<Processor<?>> scanningProcessors = new ArrayList<>(processors.size());
+		try {
+			for (Processor<?> p : processors) {
+				try {
+					getFactory().getEnvironment().reportProgressMessage(p.getClass().getName());
+					current = p;
+					p.init(); // load the properties
+					p.process();
+					if (p.getProcessedElementTypes() != null) {
+						scanningProcessors.add(p);
+					}
+				} catch (ProcessInterruption ignore) {
+				}
+			}
+			if (!scanningProcessors.isEmpty()) {
+				FusedProcessingVisitor visitor = new FusedProcessingVisitor(getFactory(), scanningProcessors);
+				fusedVisitor = visitor;
+				try {
+					for (CtElement e : new ArrayList<>(elements)) {
+						visitor.scan(e);
+					}
+				} finally {
+					fusedVisitor = null;
+					if (visitor.getProcessor() != null) {
+						current = visitor.getProcessor();
+					}
+				}
+				savedTraversals += processors.size() - 1;
+			} else {
+				savedTraversals += processors.size();
+			}
+		} finally {
+			for (Processor<?> p : processors) {
+				p.processingDone();
+			}
+		}
+	}
+
+	public void process(CtElement element) {
+		List<CtElement> l = new ArrayList<>();
+		l.add(element);
+		process(l);
+	}
+
+	public void setFactory(Factory factory) {
+		this.factory = factory;
+		factory.getEnvironment().setManager(this);
+	}
+
+}
@@ -28,16 +28,24 @@ import spoon.reflect.declaration.CtNamedElement;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.visitor.PrettyPrinter;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PhaseMetrics.Phase;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 
 /**
  * A processor that generates compilable Java source files from the meta-model.
@@ -45,7 +53,22 @@ import java.util.Map;
 public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> implements FileGenerator<CtNamedElement> {
 	PrettyPrinter printer;
 
-	List<File> printedFiles = new ArrayList<>();
+	Set<File> printedFiles = new LinkedHashSet<>();
+
+	/**
+	 * the number of threads which print the top-level types
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * creates the printer of each thread, when the types are printed in parallel
+	 */
+	private Supplier<? extends PrettyPrinter> printerFactory;
+
+	/**
+	 * the top-level types which are printed in parallel by {@link #processingDone()}
+	 */
+	private final List<CtType<?>> typesToPrint = new ArrayList<>();
 
 	/**
 	 * @param printer  the PrettyPrinter to use for written the files
@@ -85,7 +108,33 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 	}
 
 	public List<File> getCreatedFiles() {
-		return printedFiles;
+		return new ArrayList<>(printedFiles);
+	}
+
+	/**
+	 * Prints the top-level types with several threads, each one with its own printer.
+	 * The types given to {@link #process(CtNamedElement)} are then printed together
+	 * by {@link #processingDone()}.
+	 *
+	 * @param parallelism the number of printing threads, 1 to print each type when it is processed
+	 * @param printerFactory creates the printer of each printing thread, e.g. {@link spoon.Launcher#createPrettyPrinter()}
+	 */
+	public void setParallelism(int parallelism, Supplier<? extends PrettyPrinter> printerFactory) {
+		if (parallelism < 1) {
+			throw new SpoonException("The parallelism must be positive, but was " + parallelism);
+		}
+		if (parallelism > 1 && printerFactory == null) {
+			throw new SpoonException("A printer factory is needed to print in parallel");
+		}
+		this.parallelism = parallelism;
+		this.printerFactory = printerFactory;
+	}
+
+	/**
+	 * @return the number of threads which print the top-level types
+	 */
+	public int getParallelism() {
+		return parallelism;
 	}
 
 	public File getOutputDirectory() {
@@ -127,34 +176,87 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 		}
 
 		CompilationUnit cu = this.getFactory().CompilationUnit().getOrCreate(element);
+		File file = typePath.toFile();
+		Map<Integer, Integer> lineNumberMapping = printJavaFile(printer, cu, element, file);
+		if (lineNumberMapping != null) {
+			printedFiles.add(file);
+			lineNumberMappings.put(element.getQualifiedName(), lineNumberMapping);
+		}
+	}
+
+	/**
+	 * Prints the given top-level type in the given file, with the encoding of the environment.
+	 *
+	 * @return the line number mapping of the printed type, or null if the file cannot be written
+	 */
+	private Map<Integer, Integer> printJavaFile(PrettyPrinter printer, CompilationUnit cu, CtType<?> element, File file) {
 		List<CtType<?>> toBePrinted = new ArrayList<>();
 		toBePrinted.add(element);
 
+		PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.PRETTY_PRINTING, element.getQualifiedName());
 		printer.calculate(cu, toBePrinted);
-
-		PrintStream stream = null;
+		measure.stop(() -> PerformanceMeasure.countElements(toBePrinted));
 
 		// print type
+		measure = PerformanceMeasure.start(getEnvironment(), Phase.FILE_OUTPUT, file.getPath());
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), getEnvironment().getEncoding())) {
+			String result = printer.getResult();
+			writer.write(result);
+			measure.stop(result.length());
+			return printer.getLineNumberMapping();
+		} catch (IOException e) {
+			// nothing was written
+			measure.stop(0);
+			Launcher.LOGGER.error(e.getMessage(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Prints the given top-level types with {@link #parallelism} threads.
+	 */
+	private void createJavaFilesInParallel(List<CtType<?>> types) {
+		// the folders and the compilation units are created first, as the factory is not thread-safe
+		List<File> files = new ArrayList<>(types.size());
+		List<CompilationUnit> cus = new ArrayList<>(types.size());
+		for (CtType<?> element : types) {
+			Path typePath = getElementPath(element);
+			getEnvironment().debugMessage("printing " + element.getQualifiedName() + " to " + typePath);
+			files.add(typePath.toFile());
+			cus.add(this.getFactory().CompilationUnit().getOrCreate(element));
+		}
+
+		ThreadLocal<PrettyPrinter> printers = ThreadLocal.withInitial(printerFactory);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
 		try {
-			File file = typePath.toFile();
-			file.createNewFile();
-			if (!printedFiles.contains(file)) {
-				printedFiles.add(file);
+			List<Future<Map<Integer, Integer>>> results = new ArrayList<>(types.size());
+			for (int i = 0; i < types.size(); i++) {
+				CompilationUnit cu = cus.get(i);
+				CtType<?> element = types.get(i);
+				File file = files.get(i);
+				results.add(pool.submit(() -> printJavaFile(printers.get(), cu, element, file)));
 			}
-			stream = new PrintStream(file);
-			stream.print(printer.getResult());
-			for (CtType<?> t : toBePrinted) {
-				lineNumberMappings.put(t.getQualifiedName(), printer.getLineNumberMapping());
+			for (int i = 0; i < types.size(); i++) {
+				Map<Integer, Integer> lineNumberMapping;
+				try {
+					lineNumberMapping = results.get(i).get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new SpoonException("Printing of the types has been interrupted", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					throw new SpoonException(e.getCause());
+				}
+				if (lineNumberMapping != null) {
+					printedFiles.add(files.get(i));
+					lineNumberMappings.put(types.get(i).getQualifiedName(), lineNumberMapping);
+				}
 			}
-			stream.close();
-		} catch (IOException e) {
-			Launcher.LOGGER.error(e.getMessage(), e);
 		} finally {
-			if (stream != null) {
-				stream.close();
-			}
+			pool.shutdown();
 		}
-
 	}
 
 	@Override
@@ -168,7 +270,11 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 	 */
 	public void process(CtNamedElement nameElement) {
 		if (nameElement instanceof CtType && ((CtType) nameElement).isTopLevel()) {
-			createJavaFile((CtType<?>) nameElement);
+			if (parallelism > 1) {
+				typesToPrint.add((CtType<?>) nameElement);
+			} else {
+				createJavaFile((CtType<?>) nameElement);
+			}
 		} else if (nameElement instanceof CtPackage) {
 			createPackageFile((CtPackage) nameElement);
 		} else if (nameElement instanceof CtModule) {
@@ -176,44 +282,39 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 		}
 	}
 
+	/**
+	 * Prints the top-level types which have been processed, when they are printed in parallel.
+	 */
+	@Override
+	public void processingDone() {
+		if (!typesToPrint.isEmpty()) {
+			List<CtType<?>> types = new ArrayList<>(typesToPrint);
+			typesToPrint.clear();
+			createJavaFilesInParallel(types);
+		}
+	}
+
 	private void createPackageFile(CtPackage pack) {
 		// Create package annotation file
 		File packageAnnot = getElementPath(pack).toFile();
-		if (!printedFiles.contains(packageAnnot)) {
-			printedFiles.add(packageAnnot);
-		}
-		PrintStream stream = null;
-		try {
-			stream = new PrintStream(packageAnnot);
-			stream.println(printer.printPackageInfo(pack));
-			stream.close();
-		} catch (FileNotFoundException e) {
-			Launcher.LOGGER.error(e.getMessage(), e);
-		} finally {
-			if (stream != null) {
-				stream.close();
-			}
-		}
+		printedFiles.add(packageAnnot);
+		writeLine(packageAnnot, printer.printPackageInfo(pack));
 	}
 
 	private void createModuleFile(CtModule module) {
 		if (getEnvironment().getComplianceLevel() > 8 && module != getFactory().getModel().getUnnamedModule()) {
 			File moduleFile = getElementPath(module).toFile();
-			if (!printedFiles.contains(moduleFile)) {
-				printedFiles.add(moduleFile);
-			}
-			PrintStream stream = null;
-			try {
-				stream = new PrintStream(moduleFile);
-				stream.println(printer.printModuleInfo(module));
-				stream.close();
-			} catch (FileNotFoundException e) {
-				Launcher.LOGGER.error(e.getMessage(), e);
-			} finally {
-				if (stream != null) {
-					stream.close();
-				}
-			}
+			printedFiles.add(moduleFile);
+			writeLine(moduleFile, printer.printModuleInfo(module));
+		}
+	}
+
+	private void writeLine(File file, String content) {
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), getEnvironment().getEncoding())) {
+			writer.write(content);
+			writer.newLine();
+		} catch (IOException e) {
+			Launcher.LOGGER.error(e.getMessage(), e);
 		}
 	}
 
@@ -0,0 +1,460 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import spoon.SpoonException;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.cu.CompilationUnit;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtImport;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.factory.FactoryImpl;
+import spoon.support.reflect.declaration.CtPackageImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A model persisted in a file, whose types are loaded on demand.
+ *
+ * {@link #save(Factory, File)} writes each top-level type of the model in its own segment
+ * of the file, with the format of {@link BinaryModelStreamer}, followed by the modules and
+ * the packages. {@link #open(File)} maps the file in memory and only creates the modules
+ * and the packages: the types of a package are read from the file when they are first
+ * accessed with {@link CtPackage#getTypes()} or {@link CtPackage#getType(String)}, so also
+ * through {@link spoon.reflect.factory.TypeFactory#get(String)} and the scanners.
+ *
+ * At most {@link #getMaxLoadedTypes()} top-level types are kept in the model: when more types
+ * are loaded, the least recently accessed ones are removed from their package, and read again
+ * from the file when they are accessed again. Hence, the changes done on a type of this model
+ * are lost when it is evicted: call {@link #setMaxLoadedTypes(int)} with {@link Integer#MAX_VALUE}
+ * to modify the model.
+ */
+public class MappedModelStore implements Closeable {
+
+	private static final int MAGIC = 0x53504f53;
+
+	private static final int VERSION = 2;
+
+	/**
+	 * Writes the model of the given factory in the given file.
+	 */
+	public static void save(Factory factory, File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			long offset = 8;
+
+			// one independent segment per top-level type
+			List<CtPackage> packages = new ArrayList<>();
+			List<String> names = new ArrayList<>();
+			List<Long> offsets = new ArrayList<>();
+			List<Integer> lengths = new ArrayList<>();
+			for (CtModule module : factory.Module().getAllModules()) {
+				for (CtPackage pack : getAllPackages(module.getRootPackage(), new ArrayList<>())) {
+					for (CtType<?> type : pack.getTypes()) {
+						ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+						writeType(type, new DataOutputStream(bytes));
+						packages.add(pack);
+						names.add(type.getSimpleName());
+						offsets.add(offset);
+						lengths.add(bytes.size());
+						bytes.writeTo(out);
+						offset += bytes.size();
+					}
+				}
+			}
+
+			// then the modules and the packages, without their types, and the index of the segments
+			BinaryModelStreamer.Encoder encoder = new BinaryModelStreamer.Encoder(out);
+			encoder.skipPackageTypes = true;
+			encoder.writeEnvironment(factory.getEnvironment());
+			encoder.writeModules(factory);
+			encoder.writeInt(packages.size());
+			for (int i = 0; i < packages.size(); i++) {
+				encoder.writeInt(encoder.elements.get(packages.get(i)));
+				encoder.writeString(names.get(i));
+				out.writeLong(offsets.get(i));
+				encoder.writeInt(lengths.get(i));
+			}
+			out.writeLong(offset);
+		}
+	}
+
+	private static List<CtPackage> getAllPackages(CtPackage pack, List<CtPackage> result) {
+		result.add(pack);
+		for (CtPackage subPackage : pack.getPackages()) {
+			getAllPackages(subPackage, result);
+		}
+		return result;
+	}
+
+	private static void writeType(CtType<?> type, DataOutputStream out) throws IOException {
+		BinaryModelStreamer.Encoder encoder = new BinaryModelStreamer.Encoder(out);
+		encoder.writeElement(type);
+		CompilationUnit cu = type.getPosition().getCompilationUnit();
+		Collection<CtImport> imports = cu == null ? null : cu.getImports();
+		encoder.writeInt(imports == null ? 0 : imports.size());
+		if (imports != null) {
+			for (CtImport ctImport : imports) {
+				encoder.writeElement(ctImport);
+			}
+		}
+		out.flush();
+	}
+
+	/**
+	 * Opens a file written by {@link #save(Factory, File)}.
+	 * The returned store must be closed once its model is not used anymore.
+	 */
+	public static MappedModelStore open(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			MappedModelStore store = new MappedModelStore(raf);
+			store.readSkeleton();
+			return store;
+		} catch (IOException | RuntimeException e) {
+			raf.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * A top-level type stored in the file.
+	 */
+	private static class Segment {
+		final CtPackage pack;
+		final String simpleName;
+		final long offset;
+		final int length;
+		CtType<?> type;
+
+		Segment(CtPackage pack, String simpleName, long offset, int length) {
+			this.pack = pack;
+			this.simpleName = simpleName;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	private final RandomAccessFile file;
+
+	private final FileChannel channel;
+
+	/**
+	 * the whole file, or null if it is too big to be mapped at once or if the store is closed
+	 */
+	private ByteBuffer buffer;
+
+	private boolean closed = false;
+
+	private final Factory factory = new FactoryImpl(new DefaultCoreFactory(), new StandardEnvironment());
+
+	private final Map<CtPackage, Map<String, Segment>> segments = new IdentityHashMap<>();
+
+	/**
+	 * the loaded segments, from the least recently accessed to the most recently accessed one
+	 */
+	private final Map<Segment, Segment> loadedSegments = new LinkedHashMap<>(16, 0.75f, true);
+
+	private int maxLoadedTypes = 10000;
+
+	/**
+	 * the segments which are being read. It is only accessed with the lock of this store, so by the reading thread.
+	 */
+	private final Set<Segment> loadingSegments = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private MappedModelStore(RandomAccessFile file) throws IOException {
+		this.file = file;
+		this.channel = file.getChannel();
+		this.buffer = channel.size() <= Integer.MAX_VALUE ? channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()) : null;
+	}
+
+	/**
+	 * @return the factory of the model of this store
+	 */
+	public Factory getFactory() {
+		return factory;
+	}
+
+	/**
+	 * @return the maximum number of top-level types which are kept in the model
+	 */
+	public int getMaxLoadedTypes() {
+		return maxLoadedTypes;
+	}
+
+	/**
+	 * @param maxLoadedTypes the maximum number of top-level types which are kept in the model. Default is 10000.
+	 */
+	public synchronized MappedModelStore setMaxLoadedTypes(int maxLoadedTypes) {
+		if (maxLoadedTypes < 1) {
+			throw new SpoonException("The maximum number of loaded types must be positive, but was " + maxLoadedTypes);
+		}
+		this.maxLoadedTypes = maxLoadedTypes;
+		evict(null);
+		return this;
+	}
+
+	/**
+	 * @return the number of top-level types which are currently in the model
+	 */
+	public synchronized int getLoadedTypeCount() {
+		return loadedSegments.size();
+	}
+
+	/**
+	 * Closes the file and releases the mapped memory. The types which are not loaded cannot be read anymore.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		closed = true;
+		// the mapped memory is released once the buffer is garbage collected
+		buffer = null;
+		file.close();
+	}
+
+	private void readSkeleton() throws IOException {
+		ByteBuffer header = read(0, 8);
+		if (header.getInt() != MAGIC) {
+			throw new IOException("The file does not contain a Spoon model store");
+		}
+		int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported version of Spoon model store: " + version);
+		}
+		long skeletonOffset = read(channel.size() - 8, 8).getLong();
+		long skeletonLength = channel.size() - 8 - skeletonOffset;
+		if (skeletonLength > Integer.MAX_VALUE) {
+			throw new IOException("The packages of the model store are too big");
+		}
+		BinaryModelStreamer.Decoder decoder = new BinaryModelStreamer.Decoder(toStream(read(skeletonOffset, (int) skeletonLength)), factory) {
+			@Override
+			CtElement createElement(String className) throws IOException {
+				if (className.equals(CtPackageImpl.class.getName())) {
+					return init(new LazyPackage());
+				}
+				if (className.equals(CtModelImpl.CtRootPackage.class.getName())) {
+					return init(new LazyRootPackage());
+				}
+				return super.createElement(className);
+			}
+		};
+		decoder.readEnvironment(factory.getEnvironment());
+		decoder.readModules();
+		int segmentCount = decoder.readInt();
+		for (int i = 0; i < segmentCount; i++) {
+			CtPackage pack = (CtPackage) decoder.elements.get(decoder.readInt());
+			String simpleName = decoder.readString();
+			long offset = decoder.in.readLong();
+			int length = decoder.readInt();
+			segments.computeIfAbsent(pack, p -> new LinkedHashMap<>()).put(simpleName, new Segment(pack, simpleName, offset, length));
+		}
+	}
+
+	private CtPackage init(CtPackage pack) {
+		pack.setFactory(factory);
+		return pack;
+	}
+
+	/**
+	 * Loads all the types of the given package.
+	 */
+	synchronized void loadTypes(CtPackage pack) {
+		Map<String, Segment> packageSegments = segments.get(pack);
+		if (packageSegments != null) {
+			for (Segment segment : packageSegments.values()) {
+				load(segment);
+			}
+			evict(pack);
+		}
+	}
+
+	/**
+	 * Loads the type of the given package which has the given simple name, if it exists.
+	 */
+	synchronized void loadType(CtPackage pack, String simpleName) {
+		Map<String, Segment> packageSegments = segments.get(pack);
+		if (packageSegments != null) {
+			Segment segment = packageSegments.get(simpleName);
+			if (segment != null) {
+				load(segment);
+				evict(pack);
+			}
+		}
+	}
+
+	private void load(Segment segment) {
+		if (segment.type != null) {
+			// accessed again
+			loadedSegments.get(segment);
+			return;
+		}
+		if (!loadingSegments.add(segment)) {
+			// the package of the type is accessed by this thread while the type is read (e.g. to compute a qualified name)
+			return;
+		}
+		try {
+			BinaryModelStreamer.Decoder decoder = new BinaryModelStreamer.Decoder(toStream(read(segment.offset, segment.length)), factory);
+			CtType<?> type = (CtType<?>) decoder.readElement();
+			List<CtImport> imports = new ArrayList<>();
+			int importCount = decoder.readInt();
+			for (int i = 0; i < importCount; i++) {
+				imports.add((CtImport) decoder.readElement());
+			}
+			CompilationUnit cu = type.getPosition().getCompilationUnit();
+			if (cu != null) {
+				cu.addDeclaredType(type);
+				if (cu.getImports().isEmpty()) {
+					cu.getImports().addAll(imports);
+				}
+			}
+			segment.type = type;
+			segment.pack.addType(type);
+			loadedSegments.put(segment, segment);
+		} catch (IOException e) {
+			throw new SpoonException("Cannot read the type " + segment.simpleName + " of package " + segment.pack.getQualifiedName(), e);
+		} finally {
+			loadingSegments.remove(segment);
+		}
+	}
+
+	/**
+	 * Removes the least recently accessed types from the model, so that at most {@link #maxLoadedTypes} remain,
+	 * except the ones of the given package which are being accessed.
+	 */
+	private void evict(CtPackage accessedPackage) {
+		if (!loadingSegments.isEmpty()) {
+			// the types are evicted once the outermost type is read
+			return;
+		}
+		Iterator<Segment> iterator = loadedSegments.keySet().iterator();
+		while (loadedSegments.size() > maxLoadedTypes && iterator.hasNext()) {
+			Segment segment = iterator.next();
+			if (segment.pack == accessedPackage) {
+				continue;
+			}
+			iterator.remove();
+			CompilationUnit cu = segment.type.getPosition().getCompilationUnit();
+			if (cu != null) {
+				cu.getDeclaredTypes().remove(segment.type);
+			}
+			segment.pack.removeType(segment.type);
+			segment.type = null;
+		}
+	}
+
+	private ByteBuffer read(long offset, int length) throws IOException {
+		if (closed) {
+			throw new IOException("The model store is closed");
+		}
+		if (buffer != null) {
+			ByteBuffer result = buffer.duplicate();
+			result.position((int) offset);
+			result.limit((int) offset + length);
+			return result.slice();
+		}
+		return channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+	}
+
+	private static DataInputStream toStream(ByteBuffer buffer) {
+		return new DataInputStream(new InputStream() {
+			@Override
+			public int read() {
+				return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) {
+				if (!buffer.hasRemaining()) {
+					return -1;
+				}
+				int n = Math.min(len, buffer.remaining());
+				buffer.get(b, off, n);
+				return n;
+			}
+		});
+	}
+
+	/**
+	 * A package whose types are loaded from the store when they are accessed.
+	 */
+	private class LazyPackage extends CtPackageImpl {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public <T extends CtType<?>> T getType(String simpleName) {
+			synchronized (MappedModelStore.this) {
+				loadType(this, simpleName);
+				return super.getType(simpleName);
+			}
+		}
+
+		@Override
+		public Set<CtType<?>> getTypes() {
+			synchronized (MappedModelStore.this) {
+				loadTypes(this);
+				return super.getTypes();
+			}
+		}
+	}
+
+	/**
+	 * The root package of a module, whose types are loaded from the store when they are accessed.
+	 */
+	private class LazyRootPackage extends CtModelImpl.CtRootPackage {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public <T extends CtType<?>> T getType(String simpleName) {
+			synchronized (MappedModelStore.this) {
+				loadType(this, simpleName);
+				return super.getType(simpleName);
+			}
+		}
+
+		@Override
+		public Set<CtType<?>> getTypes() {
+			synchronized (MappedModelStore.this) {
+				loadTypes(this);
+				return super.getTypes();
+			}
+		}
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import spoon.experimental.modelobs.FineModelChangeListener;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.ModifierKind;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.path.CtRole;
+import spoon.support.reflect.declaration.ModelCaches;
+import spoon.support.util.PrintedStringCache;
+import spoon.support.util.QualifiedNameIndex;
+import spoon.support.util.ReferenceIndex;
+import spoon.support.util.TypeHierarchyIndex;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notifies the changes of the model done by the setters of the elements: first to the listener
+ * of the environment, see {@link spoon.compiler.Environment#getModelChangeListener()}, and then
+ * to the caches of the model which depend on the changed element.
+ */
+public final class ModelChangeNotifier implements FineModelChangeListener {
+
+	private static final ModelChangeNotifier INSTANCE = new ModelChangeNotifier();
+
+	/**
+	 * @return the notifier called by the setters of the elements for each change of the model
+	 */
+	public static FineModelChangeListener getInstance() {
+		return INSTANCE;
+	}
+
+	private ModelChangeNotifier() {
+	}
+
+	private static FineModelChangeListener listener(CtElement currentElement) {
+		return currentElement.getFactory().getEnvironment().getModelChangeListener();
+	}
+
+	private void changed(CtElement currentElement, CtRole role, Object newValue, Object oldValue) {
+		ModelCaches.invalidate(currentElement, role);
+		Factory factory = currentElement.getFactory();
+		// the model is null while the factory is created
+		if (factory != null && factory.getModel() != null) {
+			QualifiedNameIndex qualifiedNameIndex = QualifiedNameIndex.of(factory);
+			if (qualifiedNameIndex != null) {
+				qualifiedNameIndex.onChange(currentElement, role, oldValue);
+			}
+			TypeHierarchyIndex typeHierarchyIndex = TypeHierarchyIndex.of(factory);
+			if (typeHierarchyIndex != null) {
+				typeHierarchyIndex.onChange(currentElement, role, newValue, oldValue);
+			}
+			// the cache is only created by toString() when its size is not 0
+			PrintedStringCache printedStringCache = PrintedStringCache.ifCreated(factory);
+			if (printedStringCache != null) {
+				printedStringCache.onChange();
+			}
+			ReferenceIndex referenceIndex = ReferenceIndex.of(factory);
+			if (referenceIndex != null) {
+				referenceIndex.onChange(currentElement, role, newValue, oldValue);
+			}
+		}
+	}
+
+	@Override
+	public void onObjectUpdate(CtElement currentElement, CtRole role, CtElement newValue, CtElement oldValue) {
+		listener(currentElement).onObjectUpdate(currentElement, role, newValue, oldValue);
+		changed(currentElement, role, newValue, oldValue);
+	}
+
+	@Override
+	public void onObjectUpdate(CtElement currentElement, CtRole role, Object newValue, Object oldValue) {
+		listener(currentElement).onObjectUpdate(currentElement, role, newValue, oldValue);
+		changed(currentElement, role, newValue, oldValue);
+	}
+
+	@Override
+	public void onObjectDelete(CtElement currentElement, CtRole role, CtElement oldValue) {
+		listener(currentElement).onObjectDelete(currentElement, role, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onListAdd(CtElement currentElement, CtRole role, List field, CtElement newValue) {
+		listener(currentElement).onListAdd(currentElement, role, field, newValue);
+		changed(currentElement, role, newValue, null);
+	}
+
+	@Override
+	public void onListAdd(CtElement currentElement, CtRole role, List field, int index, CtElement newValue) {
+		listener(currentElement).onListAdd(currentElement, role, field, index, newValue);
+		changed(currentElement, role, newValue, null);
+	}
+
+	@Override
+	public void onListDelete(CtElement currentElement, CtRole role, List field, Collection<? extends CtElement> oldValue) {
+		listener(currentElement).onListDelete(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onListDelete(CtElement currentElement, CtRole role, List field, int index, CtElement oldValue) {
+		listener(currentElement).onListDelete(currentElement, role, field, index, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onListDeleteAll(CtElement currentElement, CtRole role, List field, List oldValue) {
+		listener(currentElement).onListDeleteAll(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public <K, V> void onMapAdd(CtElement currentElement, CtRole role, Map<K, V> field, K key, CtElement newValue) {
+		listener(currentElement).onMapAdd(currentElement, role, field, key, newValue);
+		changed(currentElement, role, newValue, null);
+	}
+
+	@Override
+	public <K, V> void onMapDeleteAll(CtElement currentElement, CtRole role, Map<K, V> field, Map<K, V> oldValue) {
+		listener(currentElement).onMapDeleteAll(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onSetAdd(CtElement currentElement, CtRole role, Set field, CtElement newValue) {
+		listener(currentElement).onSetAdd(currentElement, role, field, newValue);
+		changed(currentElement, role, newValue, null);
+	}
+
+	@Override
+	public <T extends Enum> void onSetAdd(CtElement currentElement, CtRole role, Set field, T newValue) {
+		listener(currentElement).onSetAdd(currentElement, role, field, newValue);
+		changed(currentElement, role, newValue, null);
+	}
+
+	@Override
+	public void onSetDelete(CtElement currentElement, CtRole role, Set field, CtElement oldValue) {
+		listener(currentElement).onSetDelete(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onSetDelete(CtElement currentElement, CtRole role, Set field, Collection<ModifierKind> oldValue) {
+		listener(currentElement).onSetDelete(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onSetDelete(CtElement currentElement, CtRole role, Set field, ModifierKind oldValue) {
+		listener(currentElement).onSetDelete(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+
+	@Override
+	public void onSetDeleteAll(CtElement currentElement, CtRole role, Set field, Set oldValue) {
+		listener(currentElement).onSetDeleteAll(currentElement, role, field, oldValue);
+		changed(currentElement, role, null, oldValue);
+	}
+}
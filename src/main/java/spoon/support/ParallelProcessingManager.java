@@ -0,0 +1,334 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import spoon.SpoonException;
+import spoon.processing.ProcessInterruption;
+import spoon.processing.ProcessingManager;
+import spoon.processing.Processor;
+import spoon.processing.TraversalStrategy;
+import spoon.processing.TypeLocalProcessor;
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.support.visitor.FusedProcessingVisitor;
+import spoon.support.visitor.ProcessingVisitor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This processing manager applies the processors annotated with {@link TypeLocalProcessor}
+ * in parallel on the top-level types of the processed elements.
+ *
+ * The processors are applied in the order they have been added. Consecutive
+ * {@link TypeLocalProcessor}s are applied together: the elements which are not inside
+ * a top-level type (modules, packages) are processed by the pre-order processors first,
+ * then each top-level type is processed by all these processors in a task of a {@link ForkJoinPool},
+ * and finally the elements which are not inside a top-level type are processed by the post-order processors.
+ * The other processors are applied one by one, as done by {@link QueueProcessingManager}.
+ *
+ * While the top-level types are processed, the indexes of the model are suspended,
+ * see {@link CtModelImpl#suspendIndexes()}, and the reports are done as soon as the processors report.
+ */
+public class ParallelProcessingManager implements ProcessingManager {
+	Processor<?> current;
+
+	/**
+	 * the visitor of the running fused scan of each thread, which knows the processor which is processing an element
+	 */
+	private final ThreadLocal<FusedProcessingVisitor> fusedVisitor = new ThreadLocal<>();
+
+	Factory factory;
+
+	Queue<Processor<?>> processors;
+
+	int parallelism = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Creates a new processing manager that maintains a queue of processors to
+	 * be applied to a given factory.
+	 *
+	 * @param factory
+	 * 		the factory on which the processing applies (contains the
+	 * 		meta-model)
+	 */
+	public ParallelProcessingManager(Factory factory) {
+		super();
+		setFactory(factory);
+	}
+
+	public void addProcessor(Class<? extends Processor<?>> type) {
+		try {
+			Processor<?> p = type.newInstance();
+			addProcessor(p);
+		} catch (Exception e) {
+			throw new SpoonException("Unable to instantiate processor \"" + type.getName() + "\" - Your processor should have a constructor with no arguments", e);
+		}
+	}
+
+	public boolean addProcessor(Processor<?> p) {
+		p.setFactory(getFactory());
+		return getProcessors().add(p);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void addProcessor(String qualifiedName) {
+		try {
+			addProcessor((Class<? extends Processor<?>>) getFactory().getEnvironment().getInputClassLoader().loadClass(qualifiedName));
+		} catch (ClassNotFoundException e) {
+			throw new SpoonException("Unable to load processor \"" + qualifiedName + "\" - Check your classpath.", e);
+		}
+	}
+
+	/**
+	 * @return the processor which is processing an element in the current thread, or the last processor which has been initialized
+	 */
+	public Processor<?> getCurrentProcessor() {
+		FusedProcessingVisitor visitor = fusedVisitor.get();
+		if (visitor != null && visitor.getProcessor() != null) {
+			return visitor.getProcessor();
+		}
+		return current;
+	}
+
+	public Factory getFactory() {
+		return factory;
+	}
+
+	public Queue<Processor<?>> getProcessors() {
+		if (processors == null) {
+			processors = new LinkedList<>();
+		}
+		return processors;
+	}
+
+	/**
+	 * @return the maximum number of threads used to process the top-level types
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * @param parallelism the maximum number of threads used to process the top-level types.
+	 * Default is the number of available processors.
+	 */
+	public ParallelProcessingManager setParallelism(int parallelism) {
+		if (parallelism < 1) {
+			throw new SpoonException("The parallelism must be positive, but was " + parallelism);
+		}
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	/**
+	 * @return true if the given processor can be applied in parallel on different top-level types
+	 */
+	public static boolean isTypeLocal(Processor<?> processor) {
+		return processor.getClass().isAnnotationPresent(TypeLocalProcessor.class);
+	}
+
+	public void process(Collection<? extends CtElement> elements) {
+		// copy so that one can reuse the processing manager
+		// among different processing steps
+		List<Processor<?>> processors = new ArrayList<>(getProcessors());
+		int i = 0;
+		while (i < processors.size()) {
+			if (isTypeLocal(processors.get(i))) {
+				int end = i + 1;
+				while (end < processors.size() && isTypeLocal(processors.get(end))) {
+					end++;
+				}
+				processInParallel(processors.subList(i, end), elements);
+				i = end;
+			} else {
+				processSequentially(processors.get(i), elements);
+				i++;
+			}
+		}
+	}
+
+	private void processSequentially(Processor<?> p, Collection<? extends CtElement> elements) {
+		ProcessingVisitor visitor = new ProcessingVisitor(getFactory());
+		try {
+			getFactory().getEnvironment().reportProgressMessage(p.getClass().getName());
+			current = p;
+			p.init(); // load the properties
+			p.process();
+			for (CtElement e : new ArrayList<>(elements)) {
+				visitor.setProcessor(p);
+				visitor.scan(e);
+			}
+		} catch (ProcessInterruption ignore) {
+		} finally {
+			p.processingDone();
+		}
+	}
+
+	private void processInParallel(List<Processor<?>> processors, Collection<? extends CtElement> elements) {
+		List<Processor<?>> scanningProcessors = new ArrayList<>(processors.size());
+		try {
+			for (Processor<?> p : processors) {
+				try {
+					getFactory().getEnvironment().reportProgressMessage(p.getClass().getName());
+					current = p;
+					p.init(); // load the properties
+					p.process();
+					if (p.getProcessedElementTypes() != null) {
+						scanningProcessors.add(p);
+					}
+				} catch (ProcessInterruption ignore) {
+				}
+			}
+			if (!scanningProcessors.isEmpty()) {
+				List<CtType<?>> types = new ArrayList<>();
+				scanOutsideTypes(getProcessors(scanningProcessors, TraversalStrategy.PRE_ORDER), elements, types);
+				processTypes(scanningProcessors, types);
+				// the post-order processors process the packages and modules after their types
+				scanOutsideTypes(getProcessors(scanningProcessors, TraversalStrategy.POST_ORDER), elements, null);
+			}
+		} finally {
+			for (Processor<?> p : processors) {
+				p.processingDone();
+			}
+		}
+	}
+
+	private static List<Processor<?>> getProcessors(List<Processor<?>> processors, TraversalStrategy strategy) {
+		List<Processor<?>> result = new ArrayList<>(processors.size());
+		for (Processor<?> p : processors) {
+			if (p.getTraversalStrategy() == strategy) {
+				result.add(p);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Processes the elements which are outside of the top-level types.
+	 *
+	 * @param types the list to which the top-level types are added, or null
+	 */
+	private void scanOutsideTypes(List<Processor<?>> processors, Collection<? extends CtElement> elements, List<CtType<?>> types) {
+		if (processors.isEmpty() && types == null) {
+			return;
+		}
+		TopLevelTypeCollector collector = new TopLevelTypeCollector(getFactory(), processors, types);
+		fusedVisitor.set(collector);
+		try {
+			for (CtElement e : new ArrayList<>(elements)) {
+				collector.scan(e);
+			}
+		} finally {
+			fusedVisitor.remove();
+			if (collector.getProcessor() != null) {
+				current = collector.getProcessor();
+			}
+		}
+	}
+
+	private void processTypes(List<Processor<?>> processors, List<CtType<?>> types) {
+		CtModel model = getFactory().getModel();
+		// the indexes would be built by scanning the types which are changed by the other threads
+		if (model instanceof CtModelImpl) {
+			((CtModelImpl) model).suspendIndexes();
+		}
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<Future<?>> results = new ArrayList<>(types.size());
+			for (CtType<?> type : types) {
+				results.add(pool.submit(() -> processType(processors, type)));
+			}
+			for (Future<?> result : results) {
+				waitFor(result);
+			}
+		} finally {
+			pool.shutdown();
+			if (model instanceof CtModelImpl) {
+				((CtModelImpl) model).resumeIndexes();
+			}
+		}
+	}
+
+	private void processType(List<Processor<?>> processors, CtType<?> type) {
+		FusedProcessingVisitor visitor = new FusedProcessingVisitor(getFactory(), processors);
+		fusedVisitor.set(visitor);
+		try {
+			visitor.scan(type);
+		} finally {
+			fusedVisitor.remove();
+		}
+	}
+
+	private static void waitFor(Future<?> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SpoonException("Parallel processing has been interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new SpoonException(e.getCause());
+		}
+	}
+
+	public void process(CtElement element) {
+		List<CtElement> l = new ArrayList<>();
+		l.add(element);
+		process(l);
+	}
+
+	public void setFactory(Factory factory) {
+		this.factory = factory;
+		factory.getEnvironment().setManager(this);
+	}
+
+	/**
+	 * Processes the elements which are outside of the top-level types, and collects the top-level types.
+	 */
+	private static class TopLevelTypeCollector extends FusedProcessingVisitor {
+		private final List<CtType<?>> types;
+
+		TopLevelTypeCollector(Factory factory, List<Processor<?>> processors, List<CtType<?>> types) {
+			super(factory, processors);
+			this.types = types;
+		}
+
+		@Override
+		public void scan(CtElement e) {
+			if (e instanceof CtType && (!e.isParentInitialized() || e.getParent() instanceof CtPackage)) {
+				if (types != null) {
+					types.add((CtType<?>) e);
+				}
+				return;
+			}
+			super.scan(e);
+		}
+	}
+}
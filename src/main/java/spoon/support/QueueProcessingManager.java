@@ -22,6 +22,8 @@ import spoon.processing.ProcessingManager;
 import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.factory.Factory;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PhaseMetrics;
 import spoon.support.visitor.ProcessingVisitor;
 
 import java.util.ArrayList;
@@ -114,10 +116,14 @@ public class QueueProcessingManager implements ProcessingManager {
 				current = p;
 				p.init(); // load the properties
 				p.process();
+				PerformanceMeasure measure = PerformanceMeasure.start(getFactory().getEnvironment(), PhaseMetrics.Phase.PROCESSING, p.getClass().getName());
+				int processedCount = 0;
 				for (CtElement e : new ArrayList<>(elements)) {
 					getVisitor().setProcessor(p);
 					getVisitor().scan(e);
+					processedCount += getVisitor().getProcessedCount();
 				}
+				measure.stop(processedCount);
 			} catch (ProcessInterruption ignore) {
 			} finally {
 				p.processingDone();
@@ -23,7 +23,8 @@ import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtNamedElement;
 import spoon.reflect.factory.Factory;
-import spoon.support.util.Timer;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PhaseMetrics;
 import spoon.support.visitor.ProcessingVisitor;
 
 import java.util.Collection;
@@ -118,11 +119,13 @@ public class RuntimeProcessingManager implements ProcessingManager {
 		try {
 			getFactory().getEnvironment().debugMessage("processing with '" + processor.getClass().getName() + "'...");
 			current = processor;
-			Timer.start(processor.getClass().getName());
+			PerformanceMeasure measure = PerformanceMeasure.start(getFactory().getEnvironment(), PhaseMetrics.Phase.PROCESSING, processor.getClass().getName());
+			int processedCount = 0;
 			for (CtElement e : elements) {
 				process(e, processor);
+				processedCount += getVisitor().getProcessedCount();
 			}
-			Timer.stop(processor.getClass().getName());
+			measure.stop(processedCount);
 		} catch (ProcessInterruption ignored) {
 		}
 	}
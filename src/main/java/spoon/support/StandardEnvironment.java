@@ -38,6 +38,7 @@ import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.ParentNotInitializedException;
 import spoon.support.compiler.FileSystemFolder;
+import spoon.support.util.PerformanceListener;
 
 import java.io.File;
 import java.io.IOException;
@@ -91,6 +92,14 @@ public class StandardEnvironment implements Serializable, Environment {
 
 	private FineModelChangeListener modelChangeListener = new EmptyModelChangeListener();
 
+	private transient PerformanceListener performanceListener;
+
+	private boolean toStringImportsEnabled = true;
+
+	private int toStringCacheSize = 0;
+
+	private boolean referenceIndexEnabled = false;
+
 	private Charset encoding = Charset.defaultCharset();
 
 	private int complianceLevel = DEFAULT_CODE_COMPLIANCE_LEVEL;
@@ -190,7 +199,8 @@ public class StandardEnvironment implements Serializable, Environment {
 		return processingStopped;
 	}
 
-	private void prefix(StringBuffer buffer, Level level) {
+	// synchronized as the processors of a ParallelProcessingManager report from several threads
+	private synchronized void prefix(StringBuffer buffer, Level level) {
 		if (level == Level.ERROR) {
 			buffer.append("error: ");
 			errorCount++;
@@ -545,6 +555,49 @@ public class StandardEnvironment implements Serializable, Environment {
 		this.modelChangeListener = modelChangeListener;
 	}
 
+	@Override
+	public PerformanceListener getPerformanceListener() {
+		return performanceListener;
+	}
+
+	@Override
+	public void setPerformanceListener(PerformanceListener performanceListener) {
+		this.performanceListener = performanceListener;
+	}
+
+	@Override
+	public boolean isToStringImportsEnabled() {
+		return toStringImportsEnabled;
+	}
+
+	@Override
+	public void setToStringImportsEnabled(boolean toStringImportsEnabled) {
+		this.toStringImportsEnabled = toStringImportsEnabled;
+	}
+
+	@Override
+	public int getToStringCacheSize() {
+		return toStringCacheSize;
+	}
+
+	@Override
+	public void setToStringCacheSize(int toStringCacheSize) {
+		if (toStringCacheSize < 0) {
+			throw new SpoonException("The size of the cache must not be negative, but was " + toStringCacheSize);
+		}
+		this.toStringCacheSize = toStringCacheSize;
+	}
+
+	@Override
+	public boolean isReferenceIndexEnabled() {
+		return referenceIndexEnabled;
+	}
+
+	@Override
+	public void setReferenceIndexEnabled(boolean referenceIndexEnabled) {
+		this.referenceIndexEnabled = referenceIndexEnabled;
+	}
+
 	@Override
 	public Charset getEncoding() {
 		return this.encoding;
@@ -17,6 +17,8 @@
 package spoon.support.comparator;
 
 import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.reference.CtExecutableReference;
 import spoon.support.visitor.SignaturePrinter;
 
 import java.io.Serializable;
@@ -31,11 +33,34 @@ public class SignatureComparator implements Comparator<CtElement>, Serializable
 
 	@Override
 	public int compare(CtElement o1, CtElement o2) {
-		SignaturePrinter signaturePrinter1 = new SignaturePrinter();
-		SignaturePrinter signaturePrinter2 = new SignaturePrinter();
-		signaturePrinter1.scan(o1);
-		signaturePrinter2.scan(o2);
-		return signaturePrinter1.getSignature().compareTo(signaturePrinter2.getSignature());
+		return getSignature(o1).compareTo(getSignature(o2));
+	}
+
+	private static String getSignature(CtElement element) {
+		// the signature of an executable is cached by the executable
+		if (element instanceof CtExecutable) {
+			return ((CtExecutable<?>) element).getSignature();
+		}
+		if (element instanceof CtExecutableReference) {
+			return ((CtExecutableReference<?>) element).getSignature();
+		}
+		SignaturePrinter signaturePrinter = new SignaturePrinter();
+		signaturePrinter.scan(element);
+		return signaturePrinter.getSignature();
+	}
+
+	/**
+	 * All the signature comparators are equal, so that a sorted set is copied in linear time
+	 * into another sorted set, see {@link java.util.TreeSet#addAll(java.util.Collection)}.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof SignatureComparator;
+	}
+
+	@Override
+	public int hashCode() {
+		return SignatureComparator.class.hashCode();
 	}
 
 }
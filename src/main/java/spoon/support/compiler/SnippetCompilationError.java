@@ -28,7 +28,7 @@ public class SnippetCompilationError extends SpoonException {
 	public List<String> problems;
 
 	public SnippetCompilationError(List<String> problems) {
-		super();
+		super(String.join(System.lineSeparator(), problems));
 		this.problems = problems;
 	}
 
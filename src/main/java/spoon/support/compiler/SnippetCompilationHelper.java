@@ -16,7 +16,8 @@
  */
 package spoon.support.compiler;
 
-import spoon.SpoonModelBuilder;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import spoon.compiler.Environment;
 import spoon.compiler.ModelBuildingException;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtCodeSnippetExpression;
@@ -24,20 +25,31 @@ import spoon.reflect.code.CtCodeSnippetStatement;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtReturn;
 import spoon.reflect.code.CtStatement;
+import spoon.reflect.cu.CompilationUnit;
 import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtCodeSnippet;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtParameter;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.ModifierKind;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.visitor.CtScanner;
+import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
 import spoon.support.reflect.declaration.CtElementImpl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /** Helper class for working with snippets */
@@ -47,50 +59,310 @@ public class SnippetCompilationHelper {
 
 	private static final String WRAPPER_CLASS_NAME = "Wrapper";
 	private static final String WRAPPER_METHOD_NAME = "wrap";
+	// the markers of the printed snippets, which cannot be found in a printed type
+	private static final String SNIPPET_BEGIN = "\u0000snippet-begin\u0000";
+	private static final String SNIPPET_END = "\u0000snippet-end\u0000";
 
+	/**
+	 * Compiles all the code snippets of the given type in the context of the type, and replaces each snippet by the compiled elements.
+	 *
+	 * @throws ModelBuildingException if a snippet cannot be compiled, caused by a {@link SnippetCompilationError} with the problems;
+	 * then no snippet is replaced
+	 */
 	public static void compileAndReplaceSnippetsIn(CtType<?> c) {
-		Factory f = c.getFactory();
-		CtType<?> workCopy = c;
-		Set<ModifierKind> backup = EnumSet.noneOf(ModifierKind.class);
-		backup.addAll(workCopy.getModifiers());
-		workCopy.removeModifier(ModifierKind.PUBLIC);
+		compileAndReplaceSnippetsIn(Collections.singletonList(c));
+	}
 
-		try {
-			build(f, workCopy.toString());
-		} finally {
-			// restore modifiers
-			c.setModifiers(backup);
+	/**
+	 * Compiles all the code snippets of the given types in one single JDT invocation,
+	 * and replaces each snippet by the compiled elements.
+	 * Each top-level type which contains a snippet is printed with its snippets and compiled,
+	 * so that the snippets can use the fields, the parameters and the local variables which are visible where they are.
+	 * The elements compiled from a snippet are found by their position in the printed type.
+	 *
+	 * @throws ModelBuildingException if a snippet cannot be compiled, caused by a {@link SnippetCompilationError} with the problems;
+	 * then no snippet is replaced
+	 */
+	public static void compileAndReplaceSnippetsIn(Collection<? extends CtType<?>> types) {
+		List<CtCodeSnippet> snippets = new ArrayList<>();
+		Set<CtCodeSnippet> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+		CtScanner snippetCollector = new CtScanner() {
+			@Override
+			public <T> void visitCtCodeSnippetExpression(CtCodeSnippetExpression<T> expression) {
+				addSnippet(expression);
+			}
+
+			@Override
+			public void visitCtCodeSnippetStatement(CtCodeSnippetStatement statement) {
+				addSnippet(statement);
+			}
+
+			private void addSnippet(CtCodeSnippet snippet) {
+				// a type can be nested in another given type
+				if (collected.add(snippet)) {
+					snippets.add(snippet);
+				}
+			}
+		};
+		List<CtType<?>> topLevelTypes = new ArrayList<>();
+		for (CtType<?> type : types) {
+			int count = snippets.size();
+			snippetCollector.scan(type);
+			CtType<?> topLevelType = type.getTopLevelType();
+			if (snippets.size() > count && !containsSame(topLevelTypes, topLevelType)) {
+				topLevelTypes.add(topLevelType);
+			}
+		}
+		if (snippets.isEmpty()) {
+			return;
+		}
+		SnippetCompilationResult result = compileInContext(topLevelTypes, snippets);
+		if (result.hasProblems()) {
+			throw snippetCompilationError(result.getAllProblems());
+		}
+		for (int i = 0; i < snippets.size(); i++) {
+			((CtElement) snippets.get(i)).replace(result.getCompiledElements(i));
 		}
 	}
 
-	public static CtStatement compileStatement(CtCodeSnippetStatement st)
-			throws SnippetCompilationError {
-		return internalCompileStatement(st, st.getFactory().Type().VOID_PRIMITIVE);
+	private static boolean containsSame(List<?> list, Object object) {
+		for (Object item : list) {
+			if (item == object) {
+				return true;
+			}
+		}
+		return false;
 	}
 
-	public static CtStatement compileStatement(CtCodeSnippetStatement st, CtTypeReference returnType)
-			throws SnippetCompilationError {
-		return internalCompileStatement(st, returnType);
+	private static ModelBuildingException snippetCompilationError(List<String> problems) {
+		SnippetCompilationError error = new SnippetCompilationError(problems);
+		return new ModelBuildingException("snippet compilation error: " + error.getMessage(), error);
 	}
 
-	private static CtStatement internalCompileStatement(CtElement st, CtTypeReference returnType) {
-		Factory f = st.getFactory();
+	/**
+	 * Compiles the given top-level types with their snippets, in one file per type.
+	 * The compiled copies of the types are not added to the model.
+	 *
+	 * @param snippets the snippets of the types whose compiled elements are returned
+	 */
+	private static SnippetCompilationResult compileInContext(List<CtType<?>> topLevelTypes, List<CtCodeSnippet> snippets) {
+		Factory f = topLevelTypes.get(0).getFactory();
+		SnippetCompilationResult result = new SnippetCompilationResult(snippets);
+		Map<CtCodeSnippet, Integer> snippetIndexes = new IdentityHashMap<>();
+		for (int i = 0; i < snippets.size(); i++) {
+			snippetIndexes.put(snippets.get(i), i);
+		}
 
-		String contents = createWrapperContent(st, f, returnType);
+		List<String> contents = new ArrayList<>(topLevelTypes.size());
+		List<PrintedSnippets> printedSnippets = new ArrayList<>(topLevelTypes.size());
+		for (CtType<?> type : topLevelTypes) {
+			SnippetMarkingPrinter printer = new SnippetMarkingPrinter(f.getEnvironment());
+			// a public type can only be compiled in a file which has its name
+			boolean isPublic = type.hasModifier(ModifierKind.PUBLIC);
+			if (isPublic) {
+				type.removeModifier(ModifierKind.PUBLIC);
+			}
+			try {
+				printer.calculate(null, Collections.singletonList(type));
+			} finally {
+				if (isPublic) {
+					type.addModifier(ModifierKind.PUBLIC);
+				}
+			}
+			PrintedSnippets printed = new PrintedSnippets(printer.getResult(), printer.printedSnippets);
+			contents.add(printed.content);
+			printedSnippets.add(printed);
+		}
 
-		build(f, contents);
+		JDTSnippetCompiler builder = new JDTSnippetCompiler(f, contents);
+		try {
+			builder.build();
+		} catch (Exception e) {
+			throw new ModelBuildingException("snippet compilation error while compiling: "
+					+ (contents.size() == 1 ? contents.get(0) : contents.size() + " types"), e);
+		}
 
-		CtType<?> c = f.Type().get(WRAPPER_CLASS_NAME);
+		List<List<CtElement>> compiledElements = new ArrayList<>(snippets.size());
+		List<List<String>> problems = new ArrayList<>(snippets.size());
+		for (int i = 0; i < snippets.size(); i++) {
+			compiledElements.add(new ArrayList<>());
+			problems.add(new ArrayList<>());
+		}
+		List<String> otherProblems = new ArrayList<>();
+		for (int i = 0; i < topLevelTypes.size(); i++) {
+			PrintedSnippets printed = printedSnippets.get(i);
+			for (CategorizedProblem problem : builder.getSnippetProblems(i)) {
+				String message = problem.getMessage() + " at line " + problem.getSourceLineNumber();
+				Integer index = snippetIndexes.get(printed.getSnippetAt(problem.getSourceStart()));
+				if (index != null) {
+					problems.get(index).add(message);
+				} else {
+					otherProblems.add(topLevelTypes.get(i).getQualifiedName() + ": " + message);
+				}
+			}
+			CtType<?> compiledType = getCompiledType(builder.getSnippetCompilationUnit(i), topLevelTypes.get(i));
+			if (compiledType == null) {
+				continue;
+			}
+			new CtScanner() {
+				@Override
+				public void scan(CtElement element) {
+					if (element == null) {
+						return;
+					}
+					// an implicit block is created around the statement of an if or of a loop
+					if (!(element instanceof CtBlock && element.isImplicit())) {
+						CtCodeSnippet snippet = printed.getSnippetAt(element.getPosition().getSourceStart());
+						if (snippet != null) {
+							Integer index = snippetIndexes.get(snippet);
+							if (index != null) {
+								compiledElements.get(index).add(element);
+							}
+							return;
+						}
+					}
+					super.scan(element);
+				}
+			}.scan(compiledType);
+			// Clean up
+			CtPackage pack = compiledType.getPackage();
+			if (pack != null && pack.getType(compiledType.getSimpleName()) == compiledType) {
+				pack.removeType(compiledType);
+			}
+		}
+		if (!otherProblems.isEmpty()) {
+			throw snippetCompilationError(otherProblems);
+		}
+		for (int i = 0; i < snippets.size(); i++) {
+			if (problems.get(i).isEmpty() && compiledElements.get(i).isEmpty()) {
+				problems.get(i).add("the snippet was not compiled");
+			}
+			result.setProblems(i, problems.get(i));
+			if (problems.get(i).isEmpty()) {
+				result.setCompiledElements(i, compiledElements.get(i));
+			}
+		}
+		return result;
+	}
 
-		// Get the part we want
+	private static CtType<?> getCompiledType(CompilationUnit cu, CtType<?> type) {
+		if (cu != null) {
+			for (CtType<?> compiledType : cu.getDeclaredTypes()) {
+				if (compiledType.getQualifiedName().equals(type.getQualifiedName())) {
+					return compiledType;
+				}
+			}
+		}
+		return null;
+	}
 
-		CtMethod<?> wrapper = c.getMethod(WRAPPER_METHOD_NAME);
+	/**
+	 * Prints the snippets between markers, so that their positions can be found in the printed type.
+	 */
+	private static class SnippetMarkingPrinter extends DefaultJavaPrettyPrinter {
+		final List<CtCodeSnippet> printedSnippets = new ArrayList<>();
 
-		List<CtStatement> statements = wrapper.getBody().getStatements();
-		CtStatement ret = statements.get(statements.size() - 1);
+		SnippetMarkingPrinter(Environment env) {
+			super(env);
+		}
 
-		// Clean up
-		c.getPackage().removeType(c);
+		@Override
+		public <T> void visitCtCodeSnippetExpression(CtCodeSnippetExpression<T> expression) {
+			getElementPrinterHelper().writeComment(expression);
+			writeSnippet(expression);
+		}
+
+		@Override
+		public void visitCtCodeSnippetStatement(CtCodeSnippetStatement statement) {
+			getElementPrinterHelper().writeComment(statement);
+			writeSnippet(statement);
+		}
+
+		private void writeSnippet(CtCodeSnippet snippet) {
+			printedSnippets.add(snippet);
+			getPrinterTokenWriter().writeCodeSnippet(SNIPPET_BEGIN).writeCodeSnippet(snippet.getValue()).writeCodeSnippet(SNIPPET_END);
+		}
+	}
+
+	/**
+	 * A printed type without the snippet markers, and the positions of its snippets.
+	 */
+	private static class PrintedSnippets {
+		final String content;
+		final List<CtCodeSnippet> snippets;
+		/**
+		 * the start (included) and the end (excluded) of each snippet in the content
+		 */
+		final int[] starts;
+		final int[] ends;
+
+		PrintedSnippets(String markedContent, List<CtCodeSnippet> snippets) {
+			this.snippets = snippets;
+			starts = new int[snippets.size()];
+			ends = new int[snippets.size()];
+			StringBuilder sb = new StringBuilder(markedContent.length());
+			int from = 0;
+			for (int i = 0; i < snippets.size(); i++) {
+				int begin = markedContent.indexOf(SNIPPET_BEGIN, from);
+				int end = markedContent.indexOf(SNIPPET_END, begin);
+				sb.append(markedContent, from, begin);
+				starts[i] = sb.length();
+				sb.append(markedContent, begin + SNIPPET_BEGIN.length(), end);
+				ends[i] = sb.length();
+				from = end + SNIPPET_END.length();
+			}
+			sb.append(markedContent, from, markedContent.length());
+			content = sb.toString();
+		}
+
+		/**
+		 * @return the snippet printed at the given position, or null
+		 */
+		CtCodeSnippet getSnippetAt(int position) {
+			int i = Arrays.binarySearch(starts, position);
+			if (i < 0) {
+				// the index of the last snippet which starts before the position
+				i = -i - 2;
+			}
+			if (i >= 0 && position < ends[i]) {
+				return snippets.get(i);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Compiles the given snippets in one single JDT invocation: each snippet is wrapped in its own class,
+	 * so that the compilation errors are reported per snippet.
+	 * The snippets are compiled without their context, as done by {@link CtCodeSnippetStatement#compile()}
+	 * and {@link CtCodeSnippetExpression#compile()}, see {@link #compileAndReplaceSnippetsIn(Collection)}
+	 * to compile them in the context of their types.
+	 *
+	 * @param snippets {@link CtCodeSnippetStatement}s and {@link CtCodeSnippetExpression}s of the same factory
+	 * @return the compiled elements and the compilation errors of each snippet
+	 */
+	public static SnippetCompilationResult compileSnippets(List<? extends CtCodeSnippet> snippets) {
+		if (snippets.isEmpty()) {
+			return new SnippetCompilationResult(snippets);
+		}
+		Factory f = ((CtElement) snippets.get(0)).getFactory();
+		return compile(f, snippets, f.Type().VOID_PRIMITIVE);
+	}
+
+	public static CtStatement compileStatement(CtCodeSnippetStatement st)
+			throws SnippetCompilationError {
+		return internalCompileStatement(st, st.getFactory().Type().VOID_PRIMITIVE);
+	}
+
+	public static CtStatement compileStatement(CtCodeSnippetStatement st, CtTypeReference returnType)
+			throws SnippetCompilationError {
+		return internalCompileStatement(st, returnType);
+	}
+
+	private static CtStatement internalCompileStatement(CtCodeSnippetStatement st, CtTypeReference returnType) {
+		SnippetCompilationResult result = compile(st.getFactory(), Collections.singletonList(st), returnType);
+		checkProblems(result);
+		CtStatement ret = result.getCompiledElement(0);
 
 		if (ret instanceof CtClass) {
 			CtClass klass = (CtClass) ret;
@@ -100,27 +372,78 @@ public class SnippetCompilationHelper {
 		return ret;
 	}
 
-	@SuppressWarnings("unchecked")
 	public static <T> CtExpression<T> compileExpression(
 			CtCodeSnippetExpression<T> expr) throws SnippetCompilationError {
+		SnippetCompilationResult result = compile(expr.getFactory(), Collections.singletonList(expr), null);
+		checkProblems(result);
+		return result.getCompiledElement(0);
+	}
 
-		CtReturn<T> ret = (CtReturn<T>) internalCompileStatement(expr, expr.getFactory().Type().OBJECT);
-
-		return ret.getReturnedExpression();
+	private static void checkProblems(SnippetCompilationResult result) {
+		if (result.hasProblems()) {
+			throw new ModelBuildingException("snippet compilation error while compiling: " + result.getSnippets().get(0).getValue(),
+					new SnippetCompilationError(result.getProblems(0)));
+		}
 	}
 
-	private static void build(Factory f, String contents) {
-		// Build contents
-		SpoonModelBuilder builder = new JDTSnippetCompiler(f, contents);
+	/**
+	 * Compiles the snippets, in one wrapper class per snippet.
+	 *
+	 * @param statementReturnType the return type of the wrapper method of the statements, expressions are returned as Object
+	 */
+	private static SnippetCompilationResult compile(Factory f, List<? extends CtCodeSnippet> snippets, CtTypeReference<?> statementReturnType) {
+		SnippetCompilationResult result = new SnippetCompilationResult(snippets);
+		List<String> wrapperNames = new ArrayList<>(snippets.size());
+		List<String> contents = new ArrayList<>(snippets.size());
+		for (int i = 0; i < snippets.size(); i++) {
+			CtElement snippet = (CtElement) snippets.get(i);
+			String wrapperName = WRAPPER_CLASS_NAME + "_" + i;
+			wrapperNames.add(wrapperName);
+			// the snippet is moved into the wrapper to be printed, then put back
+			CtElement parent = snippet.isParentInitialized() ? snippet.getParent() : null;
+			try {
+				contents.add(createWrapperContent(snippet, f, wrapperName, snippet instanceof CtStatement ? statementReturnType : f.Type().OBJECT));
+			} finally {
+				snippet.setParent(parent);
+			}
+		}
+
+		JDTSnippetCompiler builder = new JDTSnippetCompiler(f, contents);
 		try {
 			builder.build();
 		} catch (Exception e) {
-			throw new ModelBuildingException("snippet compilation error while compiling: " + contents, e);
+			throw new ModelBuildingException("snippet compilation error while compiling: "
+					+ (contents.size() == 1 ? contents.get(0) : contents.size() + " snippets"), e);
+		}
+
+		for (int i = 0; i < snippets.size(); i++) {
+			List<String> problems = new ArrayList<>();
+			for (CategorizedProblem problem : builder.getSnippetProblems(i)) {
+				problems.add(problem.getMessage() + " at line " + problem.getSourceLineNumber());
+			}
+			CtType<?> c = f.Type().get(wrapperNames.get(i));
+			if (c == null) {
+				problems.add("the snippet was not compiled");
+			} else {
+				// Get the part we want
+				if (problems.isEmpty()) {
+					CtMethod<?> wrapper = c.getMethod(WRAPPER_METHOD_NAME);
+					List<CtElement> elements = new ArrayList<>(wrapper.getBody().getStatements());
+					if (snippets.get(i) instanceof CtExpression) {
+						elements = Collections.singletonList(((CtReturn<?>) elements.get(elements.size() - 1)).getReturnedExpression());
+					}
+					result.setCompiledElements(i, elements);
+				}
+				// Clean up
+				c.getPackage().removeType(c);
+			}
+			result.setProblems(i, problems);
 		}
+		return result;
 	}
 
-	private static String createWrapperContent(final CtElement element, final Factory f, final CtTypeReference returnType) {
-		CtClass<?> w = f.Class().create(WRAPPER_CLASS_NAME);
+	private static String createWrapperContent(final CtElement element, final Factory f, final String wrapperName, final CtTypeReference returnType) {
+		CtClass<?> w = f.Class().create(wrapperName);
 
 		CtBlock body = f.Core().createBlock();
 
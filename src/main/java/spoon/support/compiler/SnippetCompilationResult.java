@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler;
+
+import spoon.reflect.declaration.CtCodeSnippet;
+import spoon.reflect.declaration.CtElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of {@link SnippetCompilationHelper#compileSnippets(List)}:
+ * the elements compiled from each snippet, or the compilation errors of the snippet.
+ */
+public class SnippetCompilationResult {
+
+	private final List<CtCodeSnippet> snippets;
+
+	private final List<List<CtElement>> compiledElements;
+
+	private final List<List<String>> problems;
+
+	SnippetCompilationResult(List<? extends CtCodeSnippet> snippets) {
+		this.snippets = Collections.unmodifiableList(new ArrayList<>(snippets));
+		this.compiledElements = new ArrayList<>(Collections.nCopies(snippets.size(), Collections.emptyList()));
+		this.problems = new ArrayList<>(Collections.nCopies(snippets.size(), Collections.emptyList()));
+	}
+
+	void setCompiledElements(int index, List<CtElement> elements) {
+		compiledElements.set(index, Collections.unmodifiableList(elements));
+	}
+
+	void setProblems(int index, List<String> snippetProblems) {
+		problems.set(index, Collections.unmodifiableList(snippetProblems));
+	}
+
+	/**
+	 * @return the compiled snippets
+	 */
+	public List<CtCodeSnippet> getSnippets() {
+		return snippets;
+	}
+
+	/**
+	 * @param index the index of the snippet in {@link #getSnippets()}
+	 * @return the element compiled from the snippet, as returned by {@link spoon.reflect.code.CtCodeSnippetStatement#compile()}
+	 * or {@link spoon.reflect.code.CtCodeSnippetExpression#compile()}: the last statement of a statement snippet,
+	 * the expression of an expression snippet. null if the snippet cannot be compiled.
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends CtElement> E getCompiledElement(int index) {
+		List<CtElement> elements = compiledElements.get(index);
+		return elements.isEmpty() ? null : (E) elements.get(elements.size() - 1);
+	}
+
+	/**
+	 * @param index the index of the snippet in {@link #getSnippets()}
+	 * @return all the elements compiled from the snippet: all the statements of a statement snippet,
+	 * the expression of an expression snippet. Empty if the snippet cannot be compiled.
+	 */
+	public List<CtElement> getCompiledElements(int index) {
+		return compiledElements.get(index);
+	}
+
+	/**
+	 * @param index the index of the snippet in {@link #getSnippets()}
+	 * @return the compilation errors of the snippet
+	 */
+	public List<String> getProblems(int index) {
+		return problems.get(index);
+	}
+
+	/**
+	 * @return true if at least one snippet cannot be compiled
+	 */
+	public boolean hasProblems() {
+		for (List<String> snippetProblems : problems) {
+			if (!snippetProblems.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the compilation errors of all the snippets, prefixed by the snippet
+	 */
+	public List<String> getAllProblems() {
+		List<String> result = new ArrayList<>();
+		for (int i = 0; i < snippets.size(); i++) {
+			for (String problem : problems.get(i)) {
+				result.add("snippet " + i + " (" + snippets.get(i).getValue() + "): " + problem);
+			}
+		}
+		return result;
+	}
+}
@@ -38,7 +38,17 @@ public class ZipFile implements SpoonFile {
 		this.parent = parent;
 	}
 
+	/**
+	 * Creates a file whose content is read from the archive of its parent when needed
+	 */
+	public ZipFile(ZipFolder parent, String name) {
+		this(parent, name, null);
+	}
+
 	public InputStream getContent() {
+		if (buffer == null) {
+			return parent.getContent(name);
+		}
 		return new ByteArrayInputStream(buffer);
 	}
 
@@ -18,29 +18,40 @@ package spoon.support.compiler;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import spoon.Launcher;
+import spoon.SpoonException;
 import spoon.compiler.SpoonFile;
 import spoon.compiler.SpoonFolder;
 import spoon.compiler.SpoonResourceHelper;
 
-public class ZipFolder implements SpoonFolder {
+/**
+ * A zip or jar archive. Its files are listed from the central directory of the archive,
+ * and their content is inflated each time it is read, so that the archive is not loaded in memory.
+ * The archive is opened by the first read, and stays open until {@link #close()} is called,
+ * which is done by {@link spoon.support.compiler.jdt.JDTBasedSpoonCompiler#build()} once the model is built.
+ */
+public class ZipFolder implements SpoonFolder, Closeable {
 
 	File file;
 
 	List<SpoonFile> files;
 
+	private java.util.zip.ZipFile zipFile;
+
 	public ZipFolder(File file) throws IOException {
 		super();
 		if (!file.isFile()) {
@@ -72,30 +83,12 @@ public class ZipFolder implements SpoonFolder {
 		// Indexing content
 		if (files == null) {
 			files = new ArrayList<>();
-			ZipInputStream zipInput = null;
 			try {
-				zipInput = new ZipInputStream(new BufferedInputStream(
-						new FileInputStream(file)));
-
-				ZipEntry entry;
-				while ((entry = zipInput.getNextEntry()) != null) {
-					// deflate in buffer
-					final int buffer = 2048;
-					ByteArrayOutputStream output = new ByteArrayOutputStream(
-							buffer);
-					int count;
-					byte data[] = new byte[buffer];
-					while ((count = zipInput.read(data, 0, buffer)) != -1) {
-						output.write(data, 0, count);
-					}
-					output.flush();
-					output.close();
-
-					files.add(new ZipFile(this, entry.getName(), output
-							.toByteArray()));
+				// only the central directory is read, the content of a file is read when it is needed
+				Enumeration<? extends ZipEntry> entries = getZipFile().entries();
+				while (entries.hasMoreElements()) {
+					files.add(new ZipFile(this, entries.nextElement().getName()));
 				}
-				zipInput.close();
-
 			} catch (Exception e) {
 				Launcher.LOGGER.error(e.getMessage(), e);
 			}
@@ -103,6 +96,48 @@ public class ZipFolder implements SpoonFolder {
 		return files;
 	}
 
+	/**
+	 * @return the opened archive, which stays open until {@link #close()} so that the content of its files can be read
+	 */
+	private synchronized java.util.zip.ZipFile getZipFile() throws IOException {
+		if (zipFile == null) {
+			zipFile = new java.util.zip.ZipFile(file);
+		}
+		return zipFile;
+	}
+
+	/**
+	 * @param entryName the name of a file of this archive
+	 * @return a stream which inflates the content of this file
+	 */
+	InputStream getContent(String entryName) {
+		try {
+			java.util.zip.ZipFile zip = getZipFile();
+			ZipEntry entry = zip.getEntry(entryName);
+			if (entry == null) {
+				throw new FileNotFoundException("The following file does not exist: " + this + "!" + entryName);
+			}
+			return zip.getInputStream(entry);
+		} catch (IOException e) {
+			throw new SpoonException(e);
+		}
+	}
+
+	/**
+	 * Closes the archive if it is open. It is opened again if the content of a file is read later.
+	 */
+	@Override
+	public synchronized void close() {
+		if (zipFile != null) {
+			try {
+				zipFile.close();
+			} catch (IOException e) {
+				Launcher.LOGGER.error(e.getMessage(), e);
+			}
+			zipFile = null;
+		}
+	}
+
 	public String getName() {
 		return file.getName();
 	}
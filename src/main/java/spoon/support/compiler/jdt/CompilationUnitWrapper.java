@@ -28,6 +28,9 @@ class CompilationUnitWrapper extends CompilationUnit {
 
 	private CtType type;
 
+	//the printed type, JDT may read it several times
+	private char[] content;
+
 	CompilationUnitWrapper(CtType type) {
 		// char[] contents, String fileName, String encoding, String destinationPath, boolean ignoreOptionalProblems
 		super(null,
@@ -40,13 +43,16 @@ class CompilationUnitWrapper extends CompilationUnit {
 
 	@Override
 	public char[] getContents() {
+		if (content != null) {
+			return content;
+		}
 		DefaultJavaPrettyPrinter printer = new DefaultJavaPrettyPrinter(type.getFactory().getEnvironment());
 		List<CtType<?>> types = new ArrayList<>();
 		types.add(type);
 		printer.calculate(type.getPosition().getCompilationUnit(), types);
 
 		String result = printer.getResult();
-		char[] content = result.toCharArray();
+		content = result.toCharArray();
 		return content;
 	}
 
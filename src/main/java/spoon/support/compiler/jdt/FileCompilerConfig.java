@@ -63,6 +63,11 @@ public class FileCompilerConfig implements SpoonModelBuilder.InputType {
 				}
 
 				String fName = f.isActualFile() ? f.getPath() : f.getName();
+				if (f.isArchive()) {
+					// the file is inflated when JDT reads it
+					cuList.add(new SpoonFileCompilationUnit(f, fName, jdtCompiler.getEnvironment().getEncoding()));
+					continue;
+				}
 				inputStream = f.getContent();
 				char[] content = IOUtils.toCharArray(inputStream, jdtCompiler.getEnvironment().getEncoding());
 				cuList.add(new CompilationUnit(content, fName, null));
@@ -44,14 +44,23 @@ import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.CtTypeParameter;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.AstParentConsistencyChecker;
 import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
+import spoon.reflect.visitor.EarlyTerminatingScanner;
 import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.PrettyPrinter;
 import spoon.reflect.visitor.Query;
+import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.QueueProcessingManager;
+import spoon.support.compiler.FileSystemFile;
 import spoon.support.compiler.VirtualFolder;
+import spoon.support.compiler.ZipFile;
+import spoon.support.compiler.ZipFolder;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PhaseMetrics.Phase;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -62,8 +71,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -110,20 +123,211 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 		build = true;
 
 		boolean srcSuccess, templateSuccess;
-		factory.getEnvironment().debugMessage("building sources: " + sources.getAllJavaFiles());
-		long t = System.currentTimeMillis();
+		try {
+			factory.getEnvironment().debugMessage("building sources: " + sources.getAllJavaFiles());
+			long t = System.currentTimeMillis();
+			javaCompliance = factory.getEnvironment().getComplianceLevel();
+			srcSuccess = buildSources(builder);
+
+			reportProblems(factory.getEnvironment());
+
+			factory.getEnvironment().debugMessage("built in " + (System.currentTimeMillis() - t) + " ms");
+			factory.getEnvironment().debugMessage("building templates: " + templates.getAllJavaFiles());
+			t = System.currentTimeMillis();
+			templateSuccess = buildTemplates(builder);
+			factory.getEnvironment().debugMessage("built in " + (System.currentTimeMillis() - t) + " ms");
+		} finally {
+			closeArchives(sources);
+			closeArchives(templates);
+		}
+		checkModel();
+		return srcSuccess && templateSuccess;
+	}
+
+	/**
+	 * Closes the archives which contain the files of the given folder, once their files have been read.
+	 */
+	private static void closeArchives(SpoonFolder folder) {
+		for (SpoonFile file : folder.getAllFiles()) {
+			if (file instanceof ZipFile) {
+				((ZipFolder) file.getParent()).close();
+			}
+		}
+	}
+
+	/**
+	 * Updates the model of the factory after a change of some source files, without building the whole model again.
+	 * Only the changed and added files, and the files of the types which reference a changed or deleted type,
+	 * are parsed, resolved and built again: their types and compilation units replace the old ones in the model.
+	 * The other types are read by JDT from their sources only if they are referenced, to resolve the rebuilt ones.
+	 *
+	 * The model may have been built by another compiler with the same factory. The source files of the unchanged
+	 * compilation units are the ones of {@link #getSource()} and {@link #getTemplates()},
+	 * or the files of the compilation units if they are not input sources of this compiler.
+	 * The input sources of this compiler are not modified.
+	 *
+	 * @param changedFiles the source files of the model whose content has changed
+	 * @param addedFiles the new source files to add to the model
+	 * @param deletedFiles the source files of the model which do not exist anymore, their types are removed from the model
+	 * @return true if the files have been built without problem
+	 */
+	public boolean buildIncrementally(Collection<? extends SpoonFile> changedFiles, Collection<? extends SpoonFile> addedFiles, Collection<? extends SpoonFile> deletedFiles) {
+		if (factory == null) {
+			throw new SpoonException("Factory not initialized");
+		}
+		build = true;
+		probs.clear();
 		javaCompliance = factory.getEnvironment().getComplianceLevel();
-		srcSuccess = buildSources(builder);
+		Map<String, spoon.reflect.cu.CompilationUnit> compilationUnits = factory.CompilationUnit().getMap();
 
-		reportProblems(factory.getEnvironment());
+		// path of compilation unit -> source file
+		Map<String, SpoonFile> sourceFiles = new HashMap<>();
+		for (SpoonFile file : sources.getAllJavaFiles()) {
+			sourceFiles.put(getCompilationUnitPath(file), file);
+		}
+		for (SpoonFile file : templates.getAllJavaFiles()) {
+			sourceFiles.put(getCompilationUnitPath(file), file);
+		}
+
+		// the compilation units to build, by path
+		Map<String, SpoonFile> filesToBuild = new LinkedHashMap<>();
+		for (SpoonFile file : changedFiles) {
+			filesToBuild.put(getCompilationUnitPath(file), file);
+		}
+		for (SpoonFile file : addedFiles) {
+			filesToBuild.put(getCompilationUnitPath(file), file);
+		}
+		sourceFiles.putAll(filesToBuild);
+		Set<String> pathsToRemove = new HashSet<>(filesToBuild.keySet());
+		for (SpoonFile file : deletedFiles) {
+			pathsToRemove.add(getCompilationUnitPath(file));
+		}
+
+		// the types which are changed or deleted, and the units which depend on them
+		Set<String> changedTypes = new HashSet<>();
+		for (String path : pathsToRemove) {
+			spoon.reflect.cu.CompilationUnit cu = compilationUnits.get(path);
+			if (cu != null) {
+				for (CtType<?> type : cu.getDeclaredTypes()) {
+					for (CtType<?> t : type.getElements(new TypeFilter<CtType<?>>(CtType.class))) {
+						if (t instanceof CtTypeParameter == false) {
+							changedTypes.add(t.getQualifiedName());
+						}
+					}
+				}
+			}
+		}
+		if (!changedTypes.isEmpty()) {
+			for (Map.Entry<String, spoon.reflect.cu.CompilationUnit> entry : compilationUnits.entrySet()) {
+				if (!pathsToRemove.contains(entry.getKey()) && referencesOneOf(entry.getValue(), changedTypes)) {
+					SpoonFile file = getSourceFile(sourceFiles, entry.getKey(), entry.getValue());
+					if (file != null) {
+						filesToBuild.put(entry.getKey(), file);
+					} else {
+						factory.getEnvironment().report(null, Level.WARN, "Cannot build again " + entry.getKey() + ", its source file is unknown");
+					}
+				}
+			}
+		}
+		pathsToRemove.addAll(filesToBuild.keySet());
+
+		for (String path : pathsToRemove) {
+			removeCompilationUnit(path);
+		}
+
+		// the unchanged types are read from their source files, if needed by JDT
+		Map<String, SpoonFile> unchangedTypes = new HashMap<>();
+		for (Map.Entry<String, spoon.reflect.cu.CompilationUnit> entry : compilationUnits.entrySet()) {
+			SpoonFile file = getSourceFile(sourceFiles, entry.getKey(), entry.getValue());
+			if (file != null) {
+				for (CtType<?> type : entry.getValue().getDeclaredTypes()) {
+					unchangedTypes.put(type.getQualifiedName(), file);
+				}
+			}
+		}
+		Set<String> packages = new HashSet<>();
+		for (CtPackage pack : factory.getModel().getAllPackages()) {
+			packages.add(pack.getQualifiedName());
+		}
 
-		factory.getEnvironment().debugMessage("built in " + (System.currentTimeMillis() - t) + " ms");
-		factory.getEnvironment().debugMessage("building templates: " + templates.getAllJavaFiles());
-		t = System.currentTimeMillis();
-		templateSuccess = buildTemplates(builder);
-		factory.getEnvironment().debugMessage("built in " + (System.currentTimeMillis() - t) + " ms");
+		List<SpoonFile> files = new ArrayList<>(filesToBuild.values());
+		factory.getEnvironment().debugMessage("building incrementally: " + files);
+		if (!files.isEmpty()) {
+			JDTBatchCompiler batchCompiler = createBatchCompiler(new FileCompilerConfig(files));
+			String[] args = getBuildArgs(files, getSourceClasspath());
+			getFactory().getEnvironment().debugMessage("build args: " + Arrays.toString(args));
+			batchCompiler.configure(args);
+			batchCompiler.setLookedUpSourceTypes(unchangedTypes, packages);
+
+			PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.JDT_COMPILE, "incremental sources");
+			CompilationUnitDeclaration[] units = batchCompiler.getUnits();
+			measure.stop(units.length);
+
+			buildModel(units);
+		}
+
+		reportProblems(factory.getEnvironment());
 		checkModel();
-		return srcSuccess && templateSuccess;
+		return probs.isEmpty();
+	}
+
+	/**
+	 * @return the key of the compilation unit of the file in {@link spoon.reflect.factory.CompilationUnitFactory#getMap()}
+	 */
+	private static String getCompilationUnitPath(SpoonFile file) {
+		return file.isActualFile() ? file.getPath() : file.getName();
+	}
+
+	private static SpoonFile getSourceFile(Map<String, SpoonFile> sourceFiles, String path, spoon.reflect.cu.CompilationUnit cu) {
+		SpoonFile file = sourceFiles.get(path);
+		if (file == null && cu.getFile() != null && cu.getFile().isFile()) {
+			file = new FileSystemFile(cu.getFile());
+		}
+		return file;
+	}
+
+	/**
+	 * @return true if the types of the compilation unit reference one of the given types
+	 */
+	private static boolean referencesOneOf(spoon.reflect.cu.CompilationUnit cu, Set<String> qualifiedNames) {
+		EarlyTerminatingScanner<CtTypeReference<?>> scanner = new EarlyTerminatingScanner<CtTypeReference<?>>() {
+			@Override
+			public <T> void visitCtTypeReference(CtTypeReference<T> reference) {
+				if (qualifiedNames.contains(reference.getQualifiedName())) {
+					setResult(reference);
+					terminate();
+					return;
+				}
+				super.visitCtTypeReference(reference);
+			}
+		};
+		for (CtType<?> type : cu.getDeclaredTypes()) {
+			scanner.scan(type);
+			if (scanner.getResult() != null) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes the compilation unit and its types from the model, and the packages which become empty
+	 */
+	private void removeCompilationUnit(String path) {
+		spoon.reflect.cu.CompilationUnit cu = factory.CompilationUnit().removeFromCache(path);
+		if (cu == null) {
+			return;
+		}
+		for (CtType<?> type : new ArrayList<>(cu.getDeclaredTypes())) {
+			CtPackage pack = type.getPackage();
+			type.delete();
+			while (pack != null && pack.getTypes().isEmpty() && pack.getPackages().isEmpty() && pack.getAnnotations().isEmpty()
+					&& pack.isParentInitialized() && pack.getParent() instanceof CtPackage) {
+				CtPackage parent = (CtPackage) pack.getParent();
+				pack.delete();
+				pack = parent;
+			}
+		}
 	}
 
 	private void checkModel() {
@@ -151,7 +355,9 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 
 		getFactory().getEnvironment().debugMessage("compile args: " + Arrays.toString(args));
 		System.setProperty("jdt.compiler.useSingleThread", "true");
+		PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.BYTECODE_COMPILE, null);
 		batchCompiler.compile(args);
+		measure.stop(() -> factory.Type().getAll().size());
 
 		reportProblems(factory.getEnvironment());
 		factory.getEnvironment().debugMessage("compiled in " + (System.currentTimeMillis() - t) + " ms");
@@ -367,21 +573,20 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 	private static final CompilationUnitDeclaration[] EMPTY_RESULT = new CompilationUnitDeclaration[0];
 
 	protected CompilationUnitDeclaration[] buildUnits(JDTBuilder jdtBuilder, SpoonFolder sourcesFolder, String[] classpath, String debugMessagePrefix, boolean buildOnlyOutdatedFiles) {
-		List<SpoonFile> sourceFiles = Collections.unmodifiableList(sourcesFolder.getAllJavaFiles());
+		List<SpoonFile> sourceFiles = new ArrayList<>(sourcesFolder.getAllJavaFiles());
+		if (buildOnlyOutdatedFiles && getSourceOutputDirectory().exists()) {
+			@SuppressWarnings("unchecked") Collection<File> outputFiles = FileUtils.listFiles(getSourceOutputDirectory(), new String[] { "java" }, true);
+			keepOutdatedFiles(sourceFiles, outputFiles);
+		}
 		if (sourceFiles.isEmpty()) {
 			return EMPTY_RESULT;
 		}
 
-		JDTBatchCompiler batchCompiler = createBatchCompiler(new FileCompilerConfig(sourceFiles));
+		JDTBatchCompiler batchCompiler = createBatchCompiler(new FileCompilerConfig(Collections.unmodifiableList(sourceFiles)));
 
 		String[] args;
 		if (jdtBuilder == null) {
-			args = new JDTBuilderImpl() //
-					.classpathOptions(new ClasspathOptions().encoding(this.getEnvironment().getEncoding().displayName()).classpath(classpath)) //
-					.complianceOptions(new ComplianceOptions().compliance(javaCompliance)) //
-					.advancedOptions(new AdvancedOptions().preserveUnusedVars().continueExecution().enableJavadoc()) //
-					.sources(new SourceOptions().sources(sourceFiles)) // no sources, handled by the JDTBatchCompiler
-					.build();
+			args = getBuildArgs(sourceFiles, classpath);
 		} else {
 			args = jdtBuilder.build();
 		}
@@ -389,16 +594,22 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 		getFactory().getEnvironment().debugMessage(debugMessagePrefix + "build args: " + Arrays.toString(args));
 		batchCompiler.configure(args);
 
-		if (buildOnlyOutdatedFiles && getSourceOutputDirectory().exists()) {
-			@SuppressWarnings("unchecked") Collection<File> outputFiles = FileUtils.listFiles(getSourceOutputDirectory(), new String[] { "java" }, true);
-			keepOutdatedFiles(sourceFiles, outputFiles);
-		}
-
+		PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.JDT_COMPILE, debugMessagePrefix + "sources");
 		CompilationUnitDeclaration[] units = batchCompiler.getUnits();
+		measure.stop(units.length);
 
 		return units;
 	}
 
+	private String[] getBuildArgs(List<SpoonFile> sourceFiles, String[] classpath) {
+		return new JDTBuilderImpl() //
+				.classpathOptions(new ClasspathOptions().encoding(this.getEnvironment().getEncoding().displayName()).classpath(classpath)) //
+				.complianceOptions(new ComplianceOptions().compliance(javaCompliance)) //
+				.advancedOptions(new AdvancedOptions().preserveUnusedVars().continueExecution().enableJavadoc()) //
+				.sources(new SourceOptions().sources(sourceFiles)) // no sources, handled by the JDTBatchCompiler
+				.build();
+	}
+
 	protected void buildModel(CompilationUnitDeclaration[] units) {
 		JDTTreeBuilder builder = new JDTTreeBuilder(factory);
 		unitLoop:
@@ -411,19 +622,36 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 						continue unitLoop;
 					}
 				}
-				unit.traverse(builder, unit.scope);
-
-				if (getFactory().getEnvironment().isCommentsEnabled()) {
-					new JDTCommentBuilder(unit, factory).build();
-				}
+				buildUnit(builder, unit);
 			}
 		}
 
 		// we need first to go through the whole model before getting the right reference for imports
 		if (getFactory().getEnvironment().isAutoImports()) {
+			PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.IMPORT_COMPUTATION, null);
 			for (CompilationUnitDeclaration unit : units) {
 				new JDTImportBuilder(unit, factory).build();
 			}
+			measure.stop(() -> {
+				int imports = 0;
+				for (spoon.reflect.cu.CompilationUnit cu : factory.CompilationUnit().getMap().values()) {
+					imports += cu.getImports().size();
+				}
+				return imports;
+			});
+		}
+	}
+
+	private void buildUnit(JDTTreeBuilder builder, CompilationUnitDeclaration unit) {
+		String fileName = new String(unit.getFileName());
+		PerformanceMeasure measure = PerformanceMeasure.start(getEnvironment(), Phase.TREE_BUILDING, fileName);
+		unit.traverse(builder, unit.scope);
+		measure.stop(() -> PerformanceMeasure.countElements(factory.CompilationUnit().getOrCreate(fileName).getDeclaredTypes()));
+
+		if (getFactory().getEnvironment().isCommentsEnabled()) {
+			measure = PerformanceMeasure.start(getEnvironment(), Phase.COMMENT_BUILDING, fileName);
+			new JDTCommentBuilder(unit, factory).build();
+			measure.stop(unit.comments == null ? 0 : unit.comments.length);
 		}
 	}
 
@@ -514,22 +742,33 @@ public class JDTBasedSpoonCompiler implements spoon.SpoonModelBuilder {
 		}
 	}
 
+	/**
+	 * Removes from `files` the files which are older than their output file. An output file
+	 * belongs to a source file if its path relative to the output directory ends the source path.
+	 */
 	protected void keepOutdatedFiles(List<SpoonFile> files, Collection<File> outputFiles) {
 		int offset = getSourceOutputDirectory().getAbsolutePath().length() + 1;
-		Collection<String> relativeOutputPaths = new ArrayList<>();
+		// relative path of an output file -> last modification of the output file
+		Map<String, Long> outputModifications = new HashMap<>();
 		for (File f : outputFiles) {
-			relativeOutputPaths.add(f.getAbsolutePath().substring(offset));
+			outputModifications.put(f.getAbsolutePath().substring(offset), f.lastModified());
 		}
-		for (SpoonFile sf : new ArrayList<>(files)) {
-			if (forceBuildList.contains(sf)) {
+		Set<SpoonResource> forcedFiles = new HashSet<>(forceBuildList);
+		Iterator<SpoonFile> iterator = files.iterator();
+		while (iterator.hasNext()) {
+			SpoonFile sf = iterator.next();
+			if (forcedFiles.contains(sf)) {
 				continue;
 			}
 			File f = sf.toFile();
-			for (String s : relativeOutputPaths) {
-				if (f.getAbsolutePath().endsWith(s)) {
-					if (f.lastModified() <= new File(getSourceOutputDirectory(), s).lastModified()) {
-						files.remove(sf);
-					}
+			String path = f.getAbsolutePath();
+			long lastModified = f.lastModified();
+			// looks up each sub path of the source file: "a/b/C.java", "b/C.java", "C.java"
+			for (int i = path.indexOf(File.separatorChar); i >= 0; i = path.indexOf(File.separatorChar, i + 1)) {
+				Long outputModification = outputModifications.get(path.substring(i + 1));
+				if (outputModification != null && lastModified <= outputModification) {
+					iterator.remove();
+					break;
 				}
 			}
 		}
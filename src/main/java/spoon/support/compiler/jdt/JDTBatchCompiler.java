@@ -31,11 +31,14 @@ import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.core.util.CommentRecorderParser;
 import spoon.SpoonException;
+import spoon.compiler.SpoonFile;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 /*
@@ -93,6 +96,29 @@ public class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.Ma
 
 	protected Set<String> filesToBeIgnored = new HashSet<>();
 
+	/**
+	 * qualified name of a top-level type -> source file, for the types which are read by JDT
+	 * when they are referenced by the compiled units, but which are not built
+	 */
+	protected Map<String, SpoonFile> lookedUpSourceTypes = Collections.emptyMap();
+
+	/**
+	 * the qualified names of the packages of {@link #lookedUpSourceTypes}
+	 */
+	protected Set<String> lookedUpPackages = Collections.emptySet();
+
+	/**
+	 * Sets the source files of the types which are not compiled, but which may be referenced by the compiled ones.
+	 * The units of these files are not returned by {@link #getUnits()}, and their method bodies are not resolved.
+	 *
+	 * @param sourceTypes qualified name of a top-level type -> source file of the type
+	 * @param packages the qualified names of the packages of these types and of their parents
+	 */
+	public void setLookedUpSourceTypes(Map<String, SpoonFile> sourceTypes, Set<String> packages) {
+		this.lookedUpSourceTypes = sourceTypes;
+		this.lookedUpPackages = packages;
+	}
+
 	public void ignoreFile(String filePath) {
 		filesToBeIgnored.add(filePath);
 	}
@@ -107,7 +133,11 @@ public class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.Ma
 		if (environment == null) {
 			environment = getLibraryAccess();
 		}
-		CompilerOptions compilerOptions = new CompilerOptions(this.options);
+		boolean buildFoundUnits = lookedUpSourceTypes.isEmpty();
+		if (!buildFoundUnits) {
+			environment = new SourceTypesNameEnvironment(environment, lookedUpSourceTypes, lookedUpPackages, jdtCompiler.getEnvironment().getEncoding());
+		}
+		CompilerOptions compilerOptions = getCompilerOptions();
 		compilerOptions.parseLiteralExpressionsAsConstants = false;
 
 		IErrorHandlingPolicy errorHandlingPolicy;
@@ -165,7 +195,7 @@ public class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.Ma
 		}
 
 		// they have to be done all at once
-		final CompilationUnitDeclaration[] result = treeBuilderCompiler.buildUnits(getCompilationUnits());
+		final CompilationUnitDeclaration[] result = treeBuilderCompiler.buildUnits(getCompilationUnits(), buildFoundUnits);
 
 		// now adding the doc
 		if (jdtCompiler.getEnvironment().isCommentsEnabled()) {
@@ -191,6 +221,13 @@ public class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.Ma
 		return result;
 	}
 
+	/**
+	 * @return new options of JDT, as set by {@link #configure(String[])}
+	 */
+	CompilerOptions getCompilerOptions() {
+		return new CompilerOptions(this.options);
+	}
+
 	public JDTBasedSpoonCompiler getJdtCompiler() {
 		return jdtCompiler;
 	}
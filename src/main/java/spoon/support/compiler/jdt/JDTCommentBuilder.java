@@ -61,8 +61,13 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -78,6 +83,14 @@ class JDTCommentBuilder {
 	private Factory factory;
 	private ICompilationUnit sourceUnit;
 	private char[] contents;
+	/**
+	 * the position index of the elements of the compilation unit, built by the first comment
+	 */
+	private PositionNodes roots;
+	/**
+	 * owner -> index of the elements which can get the comments of the owner
+	 */
+	private final Map<CtElement, NearestElementIndex> nearestElementIndexes = new IdentityHashMap<>();
 
 	/**
 	 * Creates a JDTCommentBuilder that will insert all comment of the declarationUnit into the Spoon AST
@@ -210,37 +223,18 @@ class JDTCommentBuilder {
 	/**
 	 * Insert the element to nearer element in the elements collections
 	 * @param comment the comment to insert
-	 * @param elements the collection that content the ast elements
+	 * @param owner the element which contains the elements, or null for the types of the compilation unit.
+	 * The elements of an owner are indexed once for all its comments.
+	 * @param elements computes the collection that content the ast elements
 	 * @return
 	 */
-	private CtElement addCommentToNear(final CtComment comment, final Collection<CtElement> elements) {
-		CtElement best = null;
-		int smallDistance = Integer.MAX_VALUE;
-
-		for (CtElement element : elements) {
-			if (element.getPosition() == null) {
-				continue;
-			}
-			if (element.isImplicit()) {
-				continue;
-			}
-			if (element instanceof CtComment) {
-				continue;
-			}
-			final boolean isAfter = element.getPosition().getSourceEnd() < comment.getPosition().getSourceStart();
-			int distance = Math.abs(element.getPosition().getSourceStart() - comment.getPosition().getSourceEnd());
-			if (isAfter) {
-				distance = Math.abs(element.getPosition().getSourceEnd() - comment.getPosition().getSourceStart());
-			}
-
-			int elementEndLine = element.getPosition().getEndLine();
-			int commentLine = comment.getPosition().getLine();
-
-			if (distance < smallDistance && (!isAfter || elementEndLine == commentLine)) {
-				best = element;
-				smallDistance = distance;
-			}
+	private CtElement addCommentToNear(final CtComment comment, CtElement owner, final Supplier<Collection<? extends CtElement>> elements) {
+		NearestElementIndex index = nearestElementIndexes.get(owner);
+		if (index == null) {
+			index = new NearestElementIndex(elements.get());
+			nearestElementIndexes.put(owner, index);
 		}
+		CtElement best = index.findNearest(comment);
 		// adds the comment to the nearest element
 		if (best != null) {
 			best.addComment(comment);
@@ -262,7 +256,7 @@ class JDTCommentBuilder {
 				spoonUnit.getDeclaredModule().addComment(comment);
 			} else {
 				comment.setCommentType(CtComment.CommentType.FILE);
-				addCommentToNear(comment, new ArrayList<CtElement>(spoonUnit.getDeclaredTypes()));
+				addCommentToNear(comment, null, () -> spoonUnit.getDeclaredTypes());
 			}
 			return;
 		}
@@ -288,7 +282,7 @@ class JDTCommentBuilder {
 
 			@Override
 			public <R> void visitCtStatementList(CtStatementList e) {
-				addCommentToNear(comment, new ArrayList<CtElement>(e.getStatements()));
+				addCommentToNear(comment, e, () -> e.getStatements());
 				try {
 					comment.getParent();
 				} catch (ParentNotInitializedException ex) {
@@ -308,19 +302,12 @@ class JDTCommentBuilder {
 
 			@Override
 			public <T> void visitCtConditional(CtConditional<T> e) {
-				List<CtElement> elements = new ArrayList<>();
-				elements.add(e.getElseExpression());
-				elements.add(e.getThenExpression());
-				elements.add(e.getCondition());
-				addCommentToNear(comment, elements);
+				addCommentToNear(comment, e, () -> Arrays.asList(e.getElseExpression(), e.getThenExpression(), e.getCondition()));
 			}
 
 			@Override
 			public <T> void visitCtBinaryOperator(CtBinaryOperator<T> e) {
-				List<CtElement> elements = new ArrayList<>();
-				elements.add(e.getLeftHandOperand());
-				elements.add(e.getRightHandOperand());
-				addCommentToNear(comment, elements);
+				addCommentToNear(comment, e, () -> Arrays.asList(e.getLeftHandOperand(), e.getRightHandOperand()));
 			}
 
 			@Override
@@ -329,13 +316,15 @@ class JDTCommentBuilder {
 					e.addComment(comment);
 					return;
 				}
-				final List<CtElement> elements = new ArrayList<>();
-				for (CtTypeMember typeMember : e.getTypeMembers()) {
-					if (typeMember instanceof CtField || typeMember instanceof CtMethod || typeMember instanceof CtConstructor) {
-						elements.add(typeMember);
+				addCommentToNear(comment, e, () -> {
+					final List<CtElement> elements = new ArrayList<>();
+					for (CtTypeMember typeMember : e.getTypeMembers()) {
+						if (typeMember instanceof CtField || typeMember instanceof CtMethod || typeMember instanceof CtConstructor) {
+							elements.add(typeMember);
+						}
 					}
-				}
-				addCommentToNear(comment, elements);
+					return elements;
+				});
 
 				try {
 					comment.getParent();
@@ -346,13 +335,15 @@ class JDTCommentBuilder {
 
 			@Override
 			public <T> void visitCtInterface(CtInterface<T> e) {
-				final List<CtElement> elements = new ArrayList<>();
-				for (CtTypeMember typeMember : e.getTypeMembers()) {
-					if (typeMember instanceof CtField || typeMember instanceof CtMethod) {
-						elements.add(typeMember);
+				addCommentToNear(comment, e, () -> {
+					final List<CtElement> elements = new ArrayList<>();
+					for (CtTypeMember typeMember : e.getTypeMembers()) {
+						if (typeMember instanceof CtField || typeMember instanceof CtMethod) {
+							elements.add(typeMember);
+						}
 					}
-				}
-				addCommentToNear(comment, elements);
+					return elements;
+				});
 
 				try {
 					comment.getParent();
@@ -381,7 +372,7 @@ class JDTCommentBuilder {
 					} else {
 						if (previous.getPosition().getSourceEnd() < comment.getPosition().getSourceStart()
 								&& ctCase.getPosition().getSourceStart() > comment.getPosition().getSourceStart()) {
-							addCommentToNear(comment, new ArrayList<CtElement>(previous.getStatements()));
+							addCommentToNear(comment, previous, previous::getStatements);
 							try {
 								comment.getParent();
 							} catch (ParentNotInitializedException ex) {
@@ -393,7 +384,7 @@ class JDTCommentBuilder {
 					previous = ctCase;
 				}
 				if (previous.getPosition().getSourceEnd() < comment.getPosition().getSourceStart()) {
-					addCommentToNear(comment, new ArrayList<CtElement>(previous.getStatements()));
+					addCommentToNear(comment, previous, previous::getStatements);
 					try {
 						comment.getParent();
 					} catch (ParentNotInitializedException ex) {
@@ -444,7 +435,7 @@ class JDTCommentBuilder {
 
 			@Override
 			public <T> void visitCtNewArray(CtNewArray<T> e) {
-				addCommentToNear(comment, new ArrayList<CtElement>(e.getElements()));
+				addCommentToNear(comment, e, () -> e.getElements());
 				try {
 					comment.getParent();
 				} catch (ParentNotInitializedException ex) {
@@ -467,7 +458,7 @@ class JDTCommentBuilder {
 
 			@Override
 			public void visitCtModule(CtModule module) {
-				addCommentToNear(comment, new ArrayList<>(module.getModuleDirectives()));
+				addCommentToNear(comment, module, () -> module.getModuleDirectives());
 			}
 		};
 		insertionVisitor.scan(commentParent);
@@ -479,61 +470,250 @@ class JDTCommentBuilder {
 	}
 
 	/**
-	 * Find the parent of a comment based on the position
+	 * Find the parent of a comment based on the position:
+	 * the deepest element whose position or body position contains the comment
 	 * @param comment the comment
 	 * @return the parent of the comment
 	 */
 	private CtElement findCommentParent(CtComment comment) {
-		class FindCommentParentScanner extends CtScanner {
-			public CtElement commentParent;
+		if (roots == null) {
+			if (!spoonUnit.getDeclaredTypes().isEmpty()) {
+				roots = new PositionNodes(spoonUnit.getDeclaredTypes());
+			} else if (spoonUnit.getDeclaredModule() != null) {
+				roots = new PositionNodes(Collections.singletonList(spoonUnit.getDeclaredModule()));
+			} else {
+				roots = new PositionNodes(Collections.<CtElement>emptyList());
+			}
+		}
+		int start = comment.getPosition().getSourceStart();
+		int end = comment.getPosition().getSourceEnd();
+		PositionNode commentParent = null;
+		PositionNodes candidates = roots;
+		PositionNode match;
+		while ((match = candidates.findLastContaining(start, end)) != null) {
+			commentParent = match;
+			candidates = match.getChildren();
+		}
+		return commentParent == null ? null : commentParent.element;
+	}
 
-			private int start;
-			private int end;
+	/**
+	 * An element of the compilation unit which may contain a comment, with its position and the position of its body.
+	 * The children of a node are the children of its element, which are computed the first time a comment is
+	 * in the node. The implicit elements and the elements without position are not indexed.
+	 */
+	private static final class PositionNode {
+		final CtElement element;
+		final int start;
+		final int end;
+		final int bodyStart;
+		final int bodyEnd;
+		/**
+		 * the bounds of the positions of the element and of its body
+		 */
+		final int min;
+		final int max;
+		private PositionNodes children;
+
+		private PositionNode(CtElement element, SourcePosition position, SourcePosition bodyPosition) {
+			this.element = element;
+			this.start = position == null ? Integer.MAX_VALUE : position.getSourceStart();
+			this.end = position == null ? Integer.MIN_VALUE : position.getSourceEnd();
+			this.bodyStart = bodyPosition == null ? Integer.MAX_VALUE : bodyPosition.getSourceStart();
+			this.bodyEnd = bodyPosition == null ? Integer.MIN_VALUE : bodyPosition.getSourceEnd();
+			this.min = Math.min(start <= end ? start : Integer.MAX_VALUE, bodyStart <= bodyEnd ? bodyStart : Integer.MAX_VALUE);
+			this.max = Math.max(start <= end ? end : Integer.MIN_VALUE, bodyStart <= bodyEnd ? bodyEnd : Integer.MIN_VALUE);
+		}
 
-			FindCommentParentScanner(int start, int end) {
-				this.start = start;
-				this.end = end;
-			}
+		boolean contains(int commentStart, int commentEnd) {
+			return (start <= commentStart && end >= commentEnd) || (bodyStart <= commentStart && bodyEnd >= commentEnd);
+		}
 
-			private boolean isCommentBetweenElementPosition(CtElement element) {
-				return (element.getPosition() != null
-						&& element.getPosition().getSourceStart() <= this.start
-						&& element.getPosition().getSourceEnd() >= this.end);
+		PositionNodes getChildren() {
+			if (children == null) {
+				List<CtElement> elements = new ArrayList<>();
+				element.accept(new CtScanner() {
+					@Override
+					public void scan(CtElement e) {
+						if (e != null) {
+							elements.add(e);
+						}
+					}
+				});
+				children = new PositionNodes(elements);
 			}
+			return children;
+		}
+	}
 
-			@Override
-			public void scan(CtElement element) {
-				if (element == null) {
-					return;
-				}
+	/**
+	 * The nodes of some elements, in the order of the elements.
+	 */
+	private static final class PositionNodes {
+		final PositionNode[] nodes;
+		/**
+		 * true if the nodes are sorted by position and do not overlap
+		 */
+		private final boolean sorted;
+
+		PositionNodes(Collection<? extends CtElement> elements) {
+			nodes = create(elements);
+			sorted = isSortedAndDisjoint(nodes);
+		}
+
+		/**
+		 * @return the nodes of the elements which may contain a comment, in the same order
+		 */
+		private static PositionNode[] create(Collection<? extends CtElement> elements) {
+			List<PositionNode> nodes = new ArrayList<>(elements.size());
+			for (CtElement element : elements) {
 				if (element.isImplicit()) {
-					return;
+					continue;
 				}
 				CtElement body = getBody(element);
-				if (body != null && body.getPosition() == null) {
-					body = null;
+				PositionNode node = new PositionNode(element, element.getPosition(), body == null ? null : body.getPosition());
+				if (node.min <= node.max) {
+					nodes.add(node);
 				}
+			}
+			return nodes.toArray(new PositionNode[nodes.size()]);
+		}
 
-				boolean betweenElementPosition = this.isCommentBetweenElementPosition(element);
-				boolean bodyBetweenElementPosition = (body != null) && this.isCommentBetweenElementPosition(body);
+		/**
+		 * @return the last node which contains the comment, or null
+		 */
+		PositionNode findLastContaining(int commentStart, int commentEnd) {
+			if (sorted) {
+				// only the last node which starts before the comment may contain it
+				int low = 0;
+				int high = nodes.length - 1;
+				int candidate = -1;
+				while (low <= high) {
+					int middle = (low + high) >>> 1;
+					if (nodes[middle].min <= commentStart) {
+						candidate = middle;
+						low = middle + 1;
+					} else {
+						high = middle - 1;
+					}
+				}
+				if (candidate >= 0 && nodes[candidate].contains(commentStart, commentEnd)) {
+					return nodes[candidate];
+				}
+				return null;
+			}
+			for (int i = nodes.length - 1; i >= 0; i--) {
+				if (nodes[i].contains(commentStart, commentEnd)) {
+					return nodes[i];
+				}
+			}
+			return null;
+		}
+
+		private static boolean isSortedAndDisjoint(PositionNode[] nodes) {
+			for (int i = 1; i < nodes.length; i++) {
+				if (nodes[i].min <= nodes[i - 1].max) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The elements of a collection sorted by position, to find the nearest element of a comment.
+	 */
+	private static final class NearestElementIndex {
+		/**
+		 * the elements which may get a comment, in the order of the collection
+		 */
+		private final CtElement[] elements;
+		private final int[] starts;
+		private final int[] ends;
+		/**
+		 * true if the elements are sorted by position and do not overlap
+		 */
+		private final boolean sorted;
 
-				if (betweenElementPosition || bodyBetweenElementPosition) {
-					commentParent = element;
-					element.accept(this);
+		NearestElementIndex(Collection<? extends CtElement> collection) {
+			List<CtElement> candidates = new ArrayList<>(collection.size());
+			for (CtElement element : collection) {
+				if (element == null || element.getPosition() == null || element.isImplicit() || element instanceof CtComment) {
+					continue;
 				}
+				candidates.add(element);
 			}
+			elements = candidates.toArray(new CtElement[candidates.size()]);
+			starts = new int[elements.length];
+			ends = new int[elements.length];
+			boolean isSorted = true;
+			for (int i = 0; i < elements.length; i++) {
+				starts[i] = elements[i].getPosition().getSourceStart();
+				ends[i] = elements[i].getPosition().getSourceEnd();
+				if (starts[i] > ends[i] || (i > 0 && starts[i] <= ends[i - 1])) {
+					isSorted = false;
+				}
+			}
+			sorted = isSorted;
 		}
-		FindCommentParentScanner findCommentParentScanner = new FindCommentParentScanner(
-				comment.getPosition().getSourceStart(),
-				comment.getPosition().getSourceEnd());
-
-		if (!spoonUnit.getDeclaredTypes().isEmpty()) {
-			findCommentParentScanner.scan(spoonUnit.getDeclaredTypes());
-		} else if (spoonUnit.getDeclaredModule() != null) {
-			findCommentParentScanner.scan(spoonUnit.getDeclaredModule());
+
+		/**
+		 * @return the element which is the nearest of the comment, or null
+		 */
+		CtElement findNearest(CtComment comment) {
+			if (!sorted) {
+				return findNearest(comment, 0, elements.length - 1);
+			}
+			int commentStart = comment.getPosition().getSourceStart();
+			int commentEnd = comment.getPosition().getSourceEnd();
+			// the nearest element is either the last one before the comment,
+			// or one of the two elements around the end of the comment
+			int lastBefore = lastIndexLowerThan(ends, commentStart);
+			int lastStartingBeforeEnd = lastIndexLowerThan(starts, commentEnd);
+			return findNearest(comment, Math.max(0, lastBefore), Math.min(elements.length - 1, lastStartingBeforeEnd + 1));
 		}
 
-		return findCommentParentScanner.commentParent;
+		/**
+		 * @return the nearest element of the comment between the indexes `from` and `to`
+		 */
+		private CtElement findNearest(CtComment comment, int from, int to) {
+			CtElement best = null;
+			int smallDistance = Integer.MAX_VALUE;
+
+			for (int i = from; i <= to; i++) {
+				CtElement element = elements[i];
+				final boolean isAfter = ends[i] < comment.getPosition().getSourceStart();
+				int distance = Math.abs(starts[i] - comment.getPosition().getSourceEnd());
+				if (isAfter) {
+					distance = Math.abs(ends[i] - comment.getPosition().getSourceStart());
+				}
+
+				if (distance < smallDistance && (!isAfter || element.getPosition().getEndLine() == comment.getPosition().getLine())) {
+					best = element;
+					smallDistance = distance;
+				}
+			}
+			return best;
+		}
+
+		/**
+		 * @return the index of the last value of the sorted array which is lower than `value`, or -1
+		 */
+		private static int lastIndexLowerThan(int[] values, int value) {
+			int low = 0;
+			int high = values.length - 1;
+			int result = -1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (values[middle] < value) {
+					result = middle;
+					low = middle + 1;
+				} else {
+					high = middle - 1;
+				}
+			}
+			return result;
+		}
 	}
 
 	/**
@@ -0,0 +1,290 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler.jdt;
+
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import spoon.SpoonException;
+import spoon.compiler.Environment;
+import spoon.compiler.SpoonFile;
+import spoon.compiler.builder.AdvancedOptions;
+import spoon.compiler.builder.ClasspathOptions;
+import spoon.compiler.builder.ComplianceOptions;
+import spoon.compiler.builder.JDTBuilderImpl;
+import spoon.compiler.builder.SourceOptions;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles some types of a model to bytecode in memory, without writing any file.
+ *
+ * Unlike {@link JDTBasedSpoonCompiler#compile(spoon.SpoonModelBuilder.InputType...)}, which prints
+ * and compiles the whole model at each call, this compiler is meant to compile again and again a few
+ * changed types, eg. the mutants of a class:
+ * <ul>
+ * <li>the classpath is opened once, and its lookups are reused by all the calls</li>
+ * <li>the types of the model which are referenced by the compiled types are compiled once,
+ * and their bytecode is cached for the next calls</li>
+ * <li>only the given types are printed and compiled.</li>
+ * </ul>
+ * The cached bytecode of a type is dropped when this type is compiled. Call {@link #clearCache()}
+ * when other types of the model have been changed.
+ *
+ * The classpath is closed by {@link #close()}.
+ *
+ * This class is not thread-safe.
+ */
+public class JDTInMemoryCompiler implements AutoCloseable {
+
+	private final Factory factory;
+
+	private final Compiler compiler;
+
+	private final FileSystem libraryAccess;
+
+	/**
+	 * binary name -> bytecode of the classes compiled from the types of the model which are referenced by the compiled types
+	 */
+	private final Map<String, byte[]> cachedClasses = new HashMap<>();
+
+	private final List<CategorizedProblem> problems = new ArrayList<>();
+
+	/**
+	 * the units of the types to be compiled by the current call
+	 */
+	private final Set<ICompilationUnit> compiledUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * binary name -> bytecode of the classes compiled by the current call
+	 */
+	private Map<String, byte[]> compiledClasses;
+
+	/**
+	 * false if the current call compiles a type which replaces a type of the model
+	 */
+	private boolean cacheReferencedClasses;
+
+	private boolean closed;
+
+	/**
+	 * @param factory the factory of the model, whose environment gives the classpath, the compliance level and the encoding
+	 */
+	public JDTInMemoryCompiler(Factory factory) {
+		this.factory = factory;
+		Environment environment = factory.getEnvironment();
+		JDTBatchCompiler batchCompiler = new JDTBatchCompiler(new JDTBasedSpoonCompiler(factory));
+		batchCompiler.configure(new JDTBuilderImpl()
+				.classpathOptions(new ClasspathOptions().encoding(environment.getEncoding().displayName()).classpath(environment.getSourceClasspath()))
+				.complianceOptions(new ComplianceOptions().compliance(environment.getComplianceLevel()))
+				.advancedOptions(new AdvancedOptions().preserveUnusedVars().continueExecution().enableJavadoc())
+				.sources(new SourceOptions().sources(Collections.<SpoonFile>emptyList())) // no sources, given to each call
+				.build());
+		libraryAccess = batchCompiler.getLibraryAccess();
+		compiler = new Compiler(new ModelNameEnvironment(libraryAccess),
+				DefaultErrorHandlingPolicies.proceedWithAllProblems(), batchCompiler.getCompilerOptions(),
+				new ClassFilesRequestor(), new DefaultProblemFactory(Locale.getDefault()));
+	}
+
+	/**
+	 * @see #compile(Collection)
+	 */
+	public Map<String, byte[]> compile(CtType<?>... types) {
+		return compile(Arrays.asList(types));
+	}
+
+	/**
+	 * Compiles the given types. They are printed as they are now, so they may be changed between two calls.
+	 * A type may also be a clone of a type of the model, eg. a mutant, whose parent is the package of the model type:
+	 * it replaces the type of the model with the same qualified name during this call.
+	 * The model types referenced by such a call are compiled against the replacing type, eg. with its constants inlined,
+	 * so their bytecode is not cached.
+	 *
+	 * @param types the top-level types to be compiled
+	 * @return the binary name (eg. "a.B$1") -> bytecode of the classes of the given types, including their nested types.
+	 * The types which have problems are not in the result, see {@link #getProblems()}.
+	 */
+	public Map<String, byte[]> compile(Collection<? extends CtType<?>> types) {
+		if (closed) {
+			throw new SpoonException("The compiler is closed");
+		}
+		problems.clear();
+		compiledClasses = new LinkedHashMap<>();
+		cacheReferencedClasses = true;
+		List<ICompilationUnit> units = new ArrayList<>(types.size());
+		for (CtType<?> type : types) {
+			if (!type.isTopLevel()) {
+				throw new SpoonException("Only the top-level types can be compiled: " + type.getQualifiedName());
+			}
+			if (factory.Type().get(type.getQualifiedName()) != type) {
+				cacheReferencedClasses = false;
+			}
+			removeCachedClasses(type.getQualifiedName());
+			units.add(new CompilationUnitWrapper(type));
+		}
+		compiledUnits.addAll(units);
+		try {
+			compiler.compile(units.toArray(new ICompilationUnit[units.size()]));
+			return compiledClasses;
+		} finally {
+			compiledUnits.clear();
+			compiledClasses = null;
+		}
+	}
+
+	/**
+	 * @return the errors of the last call of {@link #compile(Collection)}
+	 */
+	public List<CategorizedProblem> getProblems() {
+		return Collections.unmodifiableList(problems);
+	}
+
+	/**
+	 * Removes the cached bytecode of the types of the model, so that they are compiled again by the next call.
+	 * It must be called when a type of the model has been changed, and also when a constant of a compiled type of the model
+	 * has been changed: the cached bytecode of the types which use this constant contains its former value, inlined by the compiler.
+	 */
+	public void clearCache() {
+		cachedClasses.clear();
+	}
+
+	/**
+	 * Closes the archives of the classpath and drops the cached bytecode. This compiler cannot be used anymore.
+	 */
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			libraryAccess.cleanup();
+			cachedClasses.clear();
+		}
+	}
+
+	private void removeCachedClasses(String qualifiedName) {
+		String nestedPrefix = qualifiedName + CtType.INNERTTYPE_SEPARATOR;
+		cachedClasses.keySet().removeIf(name -> name.equals(qualifiedName) || name.startsWith(nestedPrefix));
+	}
+
+	/**
+	 * Receives the classes compiled by JDT
+	 */
+	private class ClassFilesRequestor implements ICompilerRequestor {
+		@Override
+		public void acceptResult(CompilationResult result) {
+			boolean isCompiledUnit = compiledUnits.contains(result.compilationUnit);
+			if (result.hasErrors()) {
+				if (isCompiledUnit) {
+					problems.addAll(Arrays.asList(result.getErrors()));
+				}
+				return;
+			}
+			if (!isCompiledUnit && !cacheReferencedClasses) {
+				// compiled against a replacing type, the classes are compiled again by the next call
+				return;
+			}
+			Map<String, byte[]> classes = isCompiledUnit ? compiledClasses : cachedClasses;
+			for (ClassFile classFile : result.getClassFiles()) {
+				classes.put(CharOperation.toString(classFile.getCompoundName()), classFile.getBytes());
+			}
+		}
+	}
+
+	/**
+	 * Finds the types in the cached bytecode, then in the model, and then in the classpath
+	 */
+	private class ModelNameEnvironment implements INameEnvironment {
+
+		private final INameEnvironment classpath;
+
+		ModelNameEnvironment(INameEnvironment classpath) {
+			this.classpath = classpath;
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			NameEnvironmentAnswer answer = findModelType(CharOperation.toString(compoundTypeName));
+			return answer != null ? answer : classpath.findType(compoundTypeName);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			NameEnvironmentAnswer answer = findModelType(getQualifiedName(packageName, typeName));
+			return answer != null ? answer : classpath.findType(typeName, packageName);
+		}
+
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			return factory.Package().get(getQualifiedName(parentPackageName, packageName)) != null
+					|| classpath.isPackage(parentPackageName, packageName);
+		}
+
+		@Override
+		public void cleanup() {
+			// the classpath is kept open for the next calls
+		}
+
+		private NameEnvironmentAnswer findModelType(String binaryName) {
+			byte[] bytes = cachedClasses.get(binaryName);
+			if (bytes != null) {
+				try {
+					return new NameEnvironmentAnswer(new ClassFileReader(bytes, (binaryName.replace('.', '/') + ".class").toCharArray()), null);
+				} catch (ClassFormatException e) {
+					throw new SpoonException("Cannot read the compiled class " + binaryName, e);
+				}
+			}
+			if (binaryName.indexOf(CtType.INNERTTYPE_SEPARATOR) >= 0) {
+				return null;
+			}
+			CtType<?> type = factory.Type().get(binaryName);
+			if (type == null || type.isShadow() || !type.isTopLevel()) {
+				return null;
+			}
+			// JDT compiles the type too, its classes are cached by ClassFilesRequestor
+			return new NameEnvironmentAnswer(new CompilationUnitWrapper(type), null);
+		}
+
+		private String getQualifiedName(char[][] parentName, char[] name) {
+			if (parentName == null || parentName.length == 0) {
+				return new String(name);
+			}
+			return CharOperation.toString(parentName) + '.' + new String(name);
+		}
+	}
+}
@@ -16,7 +16,11 @@
  */
 package spoon.support.compiler.jdt;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
@@ -31,15 +35,54 @@ import spoon.support.compiler.VirtualFile;
 
 public class JDTSnippetCompiler extends JDTBasedSpoonCompiler {
 
-	private final AtomicLong snippetNumber = new AtomicLong(0);
+	private static final AtomicLong snippetNumber = new AtomicLong(0);
 	public static final String SNIPPET_FILENAME_PREFIX = JDTSnippetCompiler.class.getName() + "_spoonSnippet_";
 
 	private CompilationUnit snippetCompilationUnit;
 
+	/**
+	 * name of a snippet file -> compilation unit produced by compiling of the file
+	 */
+	private final Map<String, CompilationUnit> snippetCompilationUnits = new HashMap<>();
+
+	/**
+	 * the names of the snippet files, in the order of the given contents
+	 */
+	private final List<String> snippetFileNames = new ArrayList<>();
+
+	/**
+	 * name of a snippet file -> compilation errors of the file
+	 */
+	private final Map<String, List<CategorizedProblem>> snippetProblems = new HashMap<>();
+
+	/**
+	 * if false, the errors are not thrown but only collected, see {@link #getSnippetProblems(int)}
+	 */
+	private final boolean failOnError;
+
 	public JDTSnippetCompiler(Factory factory, String contents) {
+		this(factory, Collections.singletonList(contents), true);
+	}
+
+	/**
+	 * Creates a compiler which compiles several snippet files in one single JDT invocation.
+	 * The compilation errors are not thrown by {@link #build()}, they are given by {@link #getSnippetProblems(int)}.
+	 *
+	 * @param contents the source code of each snippet file
+	 */
+	public JDTSnippetCompiler(Factory factory, List<String> contents) {
+		this(factory, contents, false);
+	}
+
+	private JDTSnippetCompiler(Factory factory, List<String> contents, boolean failOnError) {
 		super(factory);
-		//give the Virtual file the unique name so JDTCommentBuilder.spoonUnit can be correctly initialized
-		addInputSource(new VirtualFile(contents, SNIPPET_FILENAME_PREFIX + (snippetNumber.incrementAndGet())));
+		this.failOnError = failOnError;
+		for (String content : contents) {
+			//give the Virtual file the unique name so JDTCommentBuilder.spoonUnit can be correctly initialized
+			String fileName = SNIPPET_FILENAME_PREFIX + (snippetNumber.incrementAndGet());
+			snippetFileNames.add(fileName);
+			addInputSource(new VirtualFile(content, fileName));
+		}
 	}
 
 	@Override
@@ -65,9 +108,15 @@ public class JDTSnippetCompiler extends JDTBasedSpoonCompiler {
 			for (SpoonFile spoonFile : allFiles) {
 				if (spoonFile.getName().startsWith(SNIPPET_FILENAME_PREFIX)) {
 					snippetCompilationUnit = factory.CompilationUnit().removeFromCache(spoonFile.getName());
+					snippetCompilationUnits.put(spoonFile.getName(), snippetCompilationUnit);
 				}
 			}
 		}
+		for (CategorizedProblem problem : getProblems()) {
+			if (problem != null && problem.isError()) {
+				snippetProblems.computeIfAbsent(new String(problem.getOriginatingFileName()), k -> new ArrayList<>()).add(problem);
+			}
+		}
 		reportProblems(factory.getEnvironment());
 		factory.getEnvironment().debugMessage("compiled in " + (System.currentTimeMillis() - t) + " ms");
 		return srcSuccess;
@@ -80,7 +129,7 @@ public class JDTSnippetCompiler extends JDTBasedSpoonCompiler {
 
 	@Override
 	protected void report(Environment environment, CategorizedProblem problem) {
-		if (problem.isError()) {
+		if (problem.isError() && failOnError) {
 			throw new SnippetCompilationError(problem.getMessage() + "at line " + problem.getSourceLineNumber());
 		}
 	}
@@ -91,4 +140,20 @@ public class JDTSnippetCompiler extends JDTBasedSpoonCompiler {
 	public CompilationUnit getSnippetCompilationUnit() {
 		return snippetCompilationUnit;
 	}
+
+	/**
+	 * @param index the index of the snippet file in the contents given to the constructor
+	 * @return CompilationUnit which was produced by compiling of this snippet file, or null
+	 */
+	public CompilationUnit getSnippetCompilationUnit(int index) {
+		return snippetCompilationUnits.get(snippetFileNames.get(index));
+	}
+
+	/**
+	 * @param index the index of the snippet file in the contents given to the constructor
+	 * @return the compilation errors of this snippet file
+	 */
+	public List<CategorizedProblem> getSnippetProblems(int index) {
+		return snippetProblems.getOrDefault(snippetFileNames.get(index), Collections.emptyList());
+	}
 }
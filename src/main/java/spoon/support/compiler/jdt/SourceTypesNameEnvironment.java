@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler.jdt;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import spoon.SpoonException;
+import spoon.compiler.SpoonFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A name environment which finds some types in source files, and the other ones in the delegate environment.
+ * It is used by the incremental build to read the unchanged types from their sources,
+ * without building them again.
+ */
+class SourceTypesNameEnvironment implements INameEnvironment {
+
+	private final INameEnvironment delegate;
+	private final Map<String, SpoonFile> sourceTypes;
+	private final Set<String> packages;
+	private final Charset encoding;
+
+	SourceTypesNameEnvironment(INameEnvironment delegate, Map<String, SpoonFile> sourceTypes, Set<String> packages, Charset encoding) {
+		this.delegate = delegate;
+		this.sourceTypes = sourceTypes;
+		this.packages = packages;
+		this.encoding = encoding;
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+		NameEnvironmentAnswer answer = findSourceType(CharOperation.toString(compoundTypeName));
+		return answer != null ? answer : delegate.findType(compoundTypeName);
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+		NameEnvironmentAnswer answer = findSourceType(getQualifiedName(packageName, typeName));
+		return answer != null ? answer : delegate.findType(typeName, packageName);
+	}
+
+	@Override
+	public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+		return packages.contains(getQualifiedName(parentPackageName, packageName)) || delegate.isPackage(parentPackageName, packageName);
+	}
+
+	@Override
+	public void cleanup() {
+		delegate.cleanup();
+	}
+
+	private static String getQualifiedName(char[][] parentName, char[] name) {
+		if (parentName == null || parentName.length == 0) {
+			return new String(name);
+		}
+		return CharOperation.toString(parentName) + '.' + new String(name);
+	}
+
+	private NameEnvironmentAnswer findSourceType(String qualifiedName) {
+		SpoonFile file = sourceTypes.get(qualifiedName);
+		if (file == null) {
+			return null;
+		}
+		InputStream inputStream = file.getContent();
+		try {
+			char[] content = IOUtils.toCharArray(inputStream, encoding);
+			String fileName = file.isActualFile() ? file.getPath() : file.getName();
+			return new NameEnvironmentAnswer(new CompilationUnit(content, fileName, null), null);
+		} catch (IOException e) {
+			throw new SpoonException("Cannot read " + file.getPath(), e);
+		} finally {
+			IOUtils.closeQuietly(inputStream);
+		}
+	}
+}
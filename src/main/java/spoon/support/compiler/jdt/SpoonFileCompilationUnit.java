@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler.jdt;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import spoon.SpoonException;
+import spoon.compiler.SpoonFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * A compilation unit whose content is read from its file each time JDT needs it,
+ * as JDT does for the files of the file system. It is used for the files of the archives,
+ * so that the whole archive is not loaded in memory before the compilation.
+ */
+class SpoonFileCompilationUnit extends CompilationUnit {
+
+	private final SpoonFile file;
+	private final Charset charset;
+
+	SpoonFileCompilationUnit(SpoonFile file, String fileName, Charset charset) {
+		super(null, fileName, charset.name());
+		this.file = file;
+		this.charset = charset;
+	}
+
+	@Override
+	public char[] getContents() {
+		InputStream inputStream = file.getContent();
+		try {
+			return IOUtils.toCharArray(inputStream, charset);
+		} catch (IOException e) {
+			throw new SpoonException("Cannot read " + file.getPath(), e);
+		} finally {
+			IOUtils.closeQuietly(inputStream);
+		}
+	}
+}
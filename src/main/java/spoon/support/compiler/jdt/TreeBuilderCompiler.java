@@ -37,6 +37,14 @@ class TreeBuilderCompiler extends org.eclipse.jdt.internal.compiler.Compiler {
 	}
 
 	public CompilationUnitDeclaration[] buildUnits(CompilationUnit[] sourceUnits) {
+		return buildUnits(sourceUnits, true);
+	}
+
+	/**
+	 * @param buildFoundUnits if false, the units found by the name environment while resolving `sourceUnits`
+	 * are only used to create the bindings of their types: neither resolved nor returned
+	 */
+	public CompilationUnitDeclaration[] buildUnits(CompilationUnit[] sourceUnits, boolean buildFoundUnits) {
 
 		// //////////////////////////////////////////////////////////////////////////
 		// This code is largely inspired from JDT's
@@ -49,7 +57,9 @@ class TreeBuilderCompiler extends org.eclipse.jdt.internal.compiler.Compiler {
 
 		// process all units (some more could be injected in the loop by
 		// the lookup environment)
-		for (; i < this.totalUnits; i++) {
+		// the given units are the first ones, the next ones are found by the lookup environment
+		int unitsToBuild = buildFoundUnits ? Integer.MAX_VALUE : sourceUnits.length;
+		for (; i < this.totalUnits && i < unitsToBuild; i++) {
 			unit = unitsToProcess[i];
 			// System.err.println(unit);
 			this.parser.getMethodBodies(unit);
@@ -74,7 +84,8 @@ class TreeBuilderCompiler extends org.eclipse.jdt.internal.compiler.Compiler {
 		}
 
 		ArrayList<CompilationUnitDeclaration> unitsToReturn = new ArrayList<CompilationUnitDeclaration>();
-		for (CompilationUnitDeclaration cud : this.unitsToProcess) {
+		for (int j = 0; j < this.unitsToProcess.length && j < unitsToBuild; j++) {
+			CompilationUnitDeclaration cud = this.unitsToProcess[j];
 			if (cud != null) {
 				unitsToReturn.add(cud);
 			}
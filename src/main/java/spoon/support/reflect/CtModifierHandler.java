@@ -20,6 +20,7 @@ import spoon.SpoonException;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.ModifierKind;
 import spoon.reflect.factory.Factory;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.io.Serializable;
@@ -50,14 +51,14 @@ public class CtModifierHandler implements Serializable {
 
 	public CtModifierHandler setExtendedModifiers(Set<CtExtendedModifier> extendedModifiers) {
 		if (extendedModifiers != null && extendedModifiers.size() > 0) {
-			getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(element, MODIFIER, this.modifiers, new HashSet<>(this.modifiers));
+			ModelChangeNotifier.getInstance().onSetDeleteAll(element, MODIFIER, this.modifiers, new HashSet<>(this.modifiers));
 			if (this.modifiers == CtElementImpl.<CtExtendedModifier>emptySet()) {
 				this.modifiers = new HashSet<>();
 			} else {
 				this.modifiers.clear();
 			}
 			for (CtExtendedModifier extendedModifier : extendedModifiers) {
-				getFactory().getEnvironment().getModelChangeListener().onSetAdd(element, MODIFIER, this.modifiers, extendedModifier.getKind());
+				ModelChangeNotifier.getInstance().onSetAdd(element, MODIFIER, this.modifiers, extendedModifier.getKind());
 				this.modifiers.add(extendedModifier);
 			}
 		}
@@ -74,7 +75,7 @@ public class CtModifierHandler implements Serializable {
 
 	public CtModifierHandler setModifiers(Set<ModifierKind> modifiers) {
 		if (modifiers != null && modifiers.size() > 0) {
-			getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(element, MODIFIER, this.modifiers, new HashSet<>(this.modifiers));
+			ModelChangeNotifier.getInstance().onSetDeleteAll(element, MODIFIER, this.modifiers, new HashSet<>(this.modifiers));
 			this.modifiers.clear();
 			for (ModifierKind modifier : modifiers) {
 				addModifier(modifier);
@@ -87,7 +88,7 @@ public class CtModifierHandler implements Serializable {
 		if (this.modifiers == CtElementImpl.<CtExtendedModifier>emptySet()) {
 			this.modifiers = new HashSet<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(element, MODIFIER, this.modifiers, modifier);
+		ModelChangeNotifier.getInstance().onSetAdd(element, MODIFIER, this.modifiers, modifier);
 		// we always add explicit modifiers, then we have to remove first implicit one
 		modifiers.remove(new CtExtendedModifier(modifier, true));
 		modifiers.add(new CtExtendedModifier(modifier));
@@ -98,7 +99,7 @@ public class CtModifierHandler implements Serializable {
 		if (this.modifiers == CtElementImpl.<CtExtendedModifier>emptySet()) {
 			return this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(element, MODIFIER, modifiers, modifier);
+		ModelChangeNotifier.getInstance().onSetDelete(element, MODIFIER, modifiers, modifier);
 		// we want to remove implicit OR explicit modifier
 		modifiers.remove(new CtExtendedModifier(modifier));
 		modifiers.remove(new CtExtendedModifier(modifier, true));
@@ -20,6 +20,7 @@ import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtArrayAccess;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.path.CtRole;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXPRESSION;
 
@@ -39,7 +40,7 @@ public abstract class CtArrayAccessImpl<T, V extends CtExpression<?>> extends Ct
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.expression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.expression);
 		this.expression = expression;
 		return (C) this;
 	}
@@ -21,6 +21,7 @@ import spoon.reflect.code.CtAssert;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.CONDITION;
 import static spoon.reflect.path.CtRole.EXPRESSION;
@@ -49,7 +50,7 @@ public class CtAssertImpl<T> extends CtStatementImpl implements CtAssert<T> {
 		if (asserted != null) {
 			asserted.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CONDITION, asserted, this.asserted);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CONDITION, asserted, this.asserted);
 		this.asserted = asserted;
 		return (A) this;
 	}
@@ -64,7 +65,7 @@ public class CtAssertImpl<T> extends CtStatementImpl implements CtAssert<T> {
 		if (value != null) {
 			value.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, value, this.value);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, value, this.value);
 		this.value = value;
 		return (A) this;
 	}
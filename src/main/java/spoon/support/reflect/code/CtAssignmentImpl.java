@@ -24,6 +24,7 @@ import spoon.reflect.declaration.CtTypedElement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -80,7 +81,7 @@ public class CtAssignmentImpl<T, A extends T> extends CtStatementImpl implements
 		if (assigned != null) {
 			assigned.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, ASSIGNED, assigned, this.assigned);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, ASSIGNED, assigned, this.assigned);
 		this.assigned = assigned;
 		return (C) this;
 	}
@@ -90,7 +91,7 @@ public class CtAssignmentImpl<T, A extends T> extends CtStatementImpl implements
 		if (assignment != null) {
 			assignment.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, ASSIGNMENT, assignment, this.assignment);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, ASSIGNMENT, assignment, this.assignment);
 		this.assignment = assignment;
 		return (C) this;
 	}
@@ -100,13 +101,14 @@ public class CtAssignmentImpl<T, A extends T> extends CtStatementImpl implements
 		if (type != null) {
 			type.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TYPE, type, this.type);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TYPE, type, this.type);
 		this.type = type;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtExpression<T>> C setTypeCasts(List<CtTypeReference<?>> casts) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, CAST, this.typeCasts, new ArrayList<>(this.typeCasts));
 		if (casts == null || casts.isEmpty()) {
 			this.typeCasts = CtElementImpl.emptyList();
 			return (C) this;
@@ -114,7 +116,6 @@ public class CtAssignmentImpl<T, A extends T> extends CtStatementImpl implements
 		if (this.typeCasts == CtElementImpl.<CtTypeReference<?>>emptyList()) {
 			this.typeCasts = new ArrayList<>(CASTS_CONTAINER_DEFAULT_CAPACITY);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, CAST, this.typeCasts, new ArrayList<>(this.typeCasts));
 		this.typeCasts.clear();
 		for (CtTypeReference<?> cast : casts) {
 			addTypeCast(cast);
@@ -131,7 +132,7 @@ public class CtAssignmentImpl<T, A extends T> extends CtStatementImpl implements
 			typeCasts = new ArrayList<>(CASTS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		type.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, CAST, typeCasts, type);
+		ModelChangeNotifier.getInstance().onListAdd(this, CAST, typeCasts, type);
 		typeCasts.add(type);
 		return (C) this;
 	}
@@ -22,6 +22,7 @@ import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.LEFT_OPERAND;
 import static spoon.reflect.path.CtRole.OPERATOR_KIND;
@@ -59,7 +60,7 @@ public class CtBinaryOperatorImpl<T> extends CtExpressionImpl<T> implements CtBi
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, LEFT_OPERAND, expression, this.leftHandOperand);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, LEFT_OPERAND, expression, this.leftHandOperand);
 		leftHandOperand = expression;
 		return (C) this;
 	}
@@ -69,14 +70,14 @@ public class CtBinaryOperatorImpl<T> extends CtExpressionImpl<T> implements CtBi
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, RIGHT_OPERAND, expression, this.rightHandOperand);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, RIGHT_OPERAND, expression, this.rightHandOperand);
 		rightHandOperand = expression;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtBinaryOperator<T>> C setKind(BinaryOperatorKind kind) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
 		this.kind = kind;
 		return (C) this;
 	}
@@ -27,6 +27,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.Query;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 import spoon.support.util.EmptyIterator;
 
@@ -162,11 +163,11 @@ public class CtBlockImpl<R> extends CtStatementImpl implements CtBlock<R> {
 
 	@Override
 	public <T extends CtStatementList> T setStatements(List<CtStatement> statements) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		if (statements == null || statements.isEmpty()) {
 			this.statements = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		this.statements.clear();
 		for (CtStatement s : statements) {
 			addStatement(s);
@@ -186,7 +187,7 @@ public class CtBlockImpl<R> extends CtStatementImpl implements CtBlock<R> {
 		}
 		ensureModifiableStatementsList();
 		statement.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, STATEMENT, this.statements, index, statement);
+		ModelChangeNotifier.getInstance().onListAdd(this, STATEMENT, this.statements, index, statement);
 		this.statements.add(index, statement);
 		if (isImplicit() && this.statements.size() > 1) {
 			setImplicit(false);
@@ -208,7 +209,7 @@ public class CtBlockImpl<R> extends CtStatementImpl implements CtBlock<R> {
 			// and a block can have twice exactly the same statement.
 			for (int i = 0; i < this.statements.size(); i++) {
 				if (this.statements.get(i) == statement) {
-					getFactory().getEnvironment().getModelChangeListener().onListDelete(this, STATEMENT, statements, i, statement);
+					ModelChangeNotifier.getInstance().onListDelete(this, STATEMENT, statements, i, statement);
 					this.statements.remove(i);
 					hasBeenRemoved = true;
 					break;
@@ -217,7 +218,7 @@ public class CtBlockImpl<R> extends CtStatementImpl implements CtBlock<R> {
 
 			// in case we use it with a statement manually built
 			if (!hasBeenRemoved) {
-				getFactory().getEnvironment().getModelChangeListener().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
+				ModelChangeNotifier.getInstance().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
 				this.statements.remove(statement);
 			}
 
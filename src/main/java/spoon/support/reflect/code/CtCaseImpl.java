@@ -25,6 +25,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.Query;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -64,18 +65,18 @@ public class CtCaseImpl<E> extends CtStatementImpl implements CtCase<E> {
 		if (caseExpression != null) {
 			caseExpression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CASE, caseExpression, this.caseExpression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CASE, caseExpression, this.caseExpression);
 		this.caseExpression = caseExpression;
 		return (T) this;
 	}
 
 	@Override
 	public <T extends CtStatementList> T setStatements(List<CtStatement> statements) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		if (statements == null || statements.isEmpty()) {
 			this.statements = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		this.statements.clear();
 		for (CtStatement stmt : statements) {
 			addStatement(stmt);
@@ -101,7 +102,7 @@ public class CtCaseImpl<E> extends CtStatementImpl implements CtCase<E> {
 		}
 		this.ensureModifiableStatementsList();
 		statement.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, STATEMENT, this.statements, index, statement);
+		ModelChangeNotifier.getInstance().onListAdd(this, STATEMENT, this.statements, index, statement);
 		statements.add(index, statement);
 		return (T) this;
 	}
@@ -193,7 +194,7 @@ public class CtCaseImpl<E> extends CtStatementImpl implements CtCase<E> {
 		if (statements == CtElementImpl.<CtStatement>emptyList()) {
 			return;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
+		ModelChangeNotifier.getInstance().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
 		statements.remove(statement);
 	}
 
@@ -24,6 +24,7 @@ import spoon.reflect.code.CtCatchVariable;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.BODY;
 import static spoon.reflect.path.CtRole.PARAMETER;
@@ -56,13 +57,13 @@ public class CtCatchImpl extends CtCodeElementImpl implements CtCatch {
 	public <T extends CtBodyHolder> T setBody(CtStatement statement) {
 		if (statement != null) {
 			CtBlock<?> body = getFactory().Code().getOrCreateCtBlock(statement);
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, body, this.body);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, body, this.body);
 			if (body != null) {
 				body.setParent(this);
 			}
 			this.body = body;
 		} else {
-			getFactory().getEnvironment().getModelChangeListener().onObjectDelete(this, BODY, this.body);
+			ModelChangeNotifier.getInstance().onObjectDelete(this, BODY, this.body);
 			this.body = null;
 		}
 
@@ -74,7 +75,7 @@ public class CtCatchImpl extends CtCodeElementImpl implements CtCatch {
 		if (parameter != null) {
 			parameter.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, PARAMETER, parameter, this.parameter);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, PARAMETER, parameter, this.parameter);
 		this.parameter = parameter;
 		return (T) this;
 	}
@@ -21,6 +21,7 @@ import spoon.reflect.code.CtCodeSnippetExpression;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.declaration.CtCodeSnippet;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.compiler.SnippetCompilationError;
 import spoon.support.compiler.SnippetCompilationHelper;
 
@@ -44,7 +45,7 @@ public class CtCodeSnippetExpressionImpl<T> extends CtExpressionImpl<T> implemen
 
 	@Override
 	public <C extends CtCodeSnippet> C setValue(String value) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, SNIPPET, value, this.value);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, SNIPPET, value, this.value);
 		this.value = value;
 		return (C) this;
 	}
@@ -21,6 +21,7 @@ import spoon.reflect.code.CtCodeSnippetStatement;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.declaration.CtCodeSnippet;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.compiler.SnippetCompilationError;
 import spoon.support.compiler.SnippetCompilationHelper;
 
@@ -44,7 +45,7 @@ public class CtCodeSnippetStatementImpl extends CtStatementImpl implements CtCod
 
 	@Override
 	public <C extends CtCodeSnippet> C setValue(String value) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, SNIPPET, value, this.value);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, SNIPPET, value, this.value);
 		this.value = value;
 		return (C) this;
 	}
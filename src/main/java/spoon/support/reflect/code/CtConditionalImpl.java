@@ -21,6 +21,7 @@ import spoon.reflect.code.CtConditional;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.CONDITION;
 import static spoon.reflect.path.CtRole.ELSE;
@@ -63,7 +64,7 @@ public class CtConditionalImpl<T> extends CtExpressionImpl<T> implements CtCondi
 		if (elseExpression != null) {
 			elseExpression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, ELSE, elseExpression, this.elseExpression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, ELSE, elseExpression, this.elseExpression);
 		this.elseExpression = elseExpression;
 		return (C) this;
 	}
@@ -73,7 +74,7 @@ public class CtConditionalImpl<T> extends CtExpressionImpl<T> implements CtCondi
 		if (condition != null) {
 			condition.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CONDITION, condition, this.condition);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CONDITION, condition, this.condition);
 		this.condition = condition;
 		return (C) this;
 	}
@@ -83,7 +84,7 @@ public class CtConditionalImpl<T> extends CtExpressionImpl<T> implements CtCondi
 		if (thenExpression != null) {
 			thenExpression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, THEN, thenExpression, this.thenExpression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, THEN, thenExpression, this.thenExpression);
 		this.thenExpression = thenExpression;
 		return (C) this;
 	}
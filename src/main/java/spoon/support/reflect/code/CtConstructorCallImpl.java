@@ -29,6 +29,7 @@ import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -98,6 +99,7 @@ public class CtConstructorCallImpl<T> extends CtTargetedExpressionImpl<T, CtExpr
 
 	@Override
 	public <C extends CtAbstractInvocation<T>> C setArguments(List<CtExpression<?>> arguments) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, ARGUMENT, this.arguments, new ArrayList<>(this.arguments));
 		if (arguments == null || arguments.isEmpty()) {
 			this.arguments = CtElementImpl.emptyList();
 			return (C) this;
@@ -105,7 +107,6 @@ public class CtConstructorCallImpl<T> extends CtTargetedExpressionImpl<T, CtExpr
 		if (this.arguments == CtElementImpl.<CtExpression<?>>emptyList()) {
 			this.arguments = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, ARGUMENT, this.arguments, new ArrayList<>(this.arguments));
 		this.arguments.clear();
 		for (CtExpression<?> expr : arguments) {
 			addArgument(expr);
@@ -121,7 +122,7 @@ public class CtConstructorCallImpl<T> extends CtTargetedExpressionImpl<T, CtExpr
 			arguments = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		argument.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, ARGUMENT, this.arguments, position, argument);
+		ModelChangeNotifier.getInstance().onListAdd(this, ARGUMENT, this.arguments, position, argument);
 		arguments.add(position, argument);
 		return (C) this;
 	}
@@ -136,7 +137,7 @@ public class CtConstructorCallImpl<T> extends CtTargetedExpressionImpl<T, CtExpr
 		if (arguments == CtElementImpl.<CtExpression<?>>emptyList()) {
 			return;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, ARGUMENT, arguments, arguments.indexOf(argument), argument);
+		ModelChangeNotifier.getInstance().onListDelete(this, ARGUMENT, arguments, arguments.indexOf(argument), argument);
 		arguments.remove(argument);
 	}
 
@@ -145,14 +146,14 @@ public class CtConstructorCallImpl<T> extends CtTargetedExpressionImpl<T, CtExpr
 		if (executable != null) {
 			executable.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXECUTABLE_REF, executable, this.executable);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXECUTABLE_REF, executable, this.executable);
 		this.executable = executable;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtStatement> C setLabel(String label) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, LABEL, label, this.label);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, LABEL, label, this.label);
 		this.label = label;
 		return (C) this;
 	}
@@ -24,6 +24,7 @@ import spoon.reflect.declaration.CtElement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.reflect.visitor.filter.ParentFunction;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.List;
 
@@ -47,7 +48,7 @@ public class CtContinueImpl extends CtStatementImpl implements CtContinue {
 
 	@Override
 	public <T extends CtLabelledFlowBreak> T setTargetLabel(String targetLabel) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TARGET_LABEL, targetLabel, this.targetLabel);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TARGET_LABEL, targetLabel, this.targetLabel);
 		this.targetLabel = targetLabel;
 		return (T) this;
 	}
@@ -22,6 +22,7 @@ import spoon.reflect.code.CtExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXECUTABLE_REF;
 
@@ -44,7 +45,7 @@ public class CtExecutableReferenceExpressionImpl<T, E extends CtExpression<?>> e
 		if (executable != null) {
 			executable.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXECUTABLE_REF, executable, this.executable);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXECUTABLE_REF, executable, this.executable);
 		this.executable = executable;
 		return (C) this;
 	}
@@ -22,6 +22,7 @@ import spoon.reflect.code.CtFieldAccess;
 import spoon.reflect.code.CtTargetedExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtFieldReference;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.TARGET;
 
@@ -41,7 +42,7 @@ public abstract class CtFieldAccessImpl<T> extends CtVariableAccessImpl<T> imple
 		if (target != null) {
 			target.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TARGET, target, this.target);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TARGET, target, this.target);
 		this.target = target;
 		return null;
 	}
@@ -22,6 +22,7 @@ import spoon.reflect.code.CtForEach;
 import spoon.reflect.code.CtLocalVariable;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXPRESSION;
 import static spoon.reflect.path.CtRole.FOREACH_VARIABLE;
@@ -55,7 +56,7 @@ public class CtForEachImpl extends CtLoopImpl implements CtForEach {
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.expression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.expression);
 		this.expression = expression;
 		return (T) this;
 	}
@@ -65,7 +66,7 @@ public class CtForEachImpl extends CtLoopImpl implements CtForEach {
 		if (variable != null) {
 			variable.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, FOREACH_VARIABLE, variable, this.variable);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, FOREACH_VARIABLE, variable, this.variable);
 		this.variable = variable;
 		return (T) this;
 	}
@@ -22,6 +22,7 @@ import spoon.reflect.code.CtFor;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -60,7 +61,7 @@ public class CtForImpl extends CtLoopImpl implements CtFor {
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.expression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.expression);
 		this.expression = expression;
 		return (T) this;
 	}
@@ -79,18 +80,18 @@ public class CtForImpl extends CtLoopImpl implements CtFor {
 			forInit = new ArrayList<>(FOR_INIT_STATEMENTS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		statement.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, FOR_INIT, this.forInit, statement);
+		ModelChangeNotifier.getInstance().onListAdd(this, FOR_INIT, this.forInit, statement);
 		forInit.add(statement);
 		return (T) this;
 	}
 
 	@Override
 	public <T extends CtFor> T setForInit(List<CtStatement> statements) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, FOR_INIT, this.forInit, new ArrayList<>(this.forInit));
 		if (statements == null || statements.isEmpty()) {
 			this.forInit = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, FOR_INIT, this.forInit, new ArrayList<>(this.forInit));
 		this.forInit.clear();
 		for (CtStatement stmt : statements) {
 			addForInit(stmt);
@@ -103,7 +104,7 @@ public class CtForImpl extends CtLoopImpl implements CtFor {
 		if (forInit == CtElementImpl.<CtStatement>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, FOR_INIT, forInit, forInit.indexOf(statement), statement);
+		ModelChangeNotifier.getInstance().onListDelete(this, FOR_INIT, forInit, forInit.indexOf(statement), statement);
 		return forInit.remove(statement);
 	}
 
@@ -121,18 +122,18 @@ public class CtForImpl extends CtLoopImpl implements CtFor {
 			forUpdate = new ArrayList<>(FOR_UPDATE_STATEMENTS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		statement.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, FOR_UPDATE, this.forUpdate, statement);
+		ModelChangeNotifier.getInstance().onListAdd(this, FOR_UPDATE, this.forUpdate, statement);
 		forUpdate.add(statement);
 		return (T) this;
 	}
 
 	@Override
 	public <T extends CtFor> T setForUpdate(List<CtStatement> statements) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, FOR_UPDATE, this.forUpdate, new ArrayList<>(this.forUpdate));
 		if (statements == null || statements.isEmpty()) {
 			this.forUpdate = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, FOR_UPDATE, this.forUpdate, new ArrayList<>(this.forUpdate));
 		this.forUpdate.clear();
 		for (CtStatement stmt : statements) {
 			addForUpdate(stmt);
@@ -145,7 +146,7 @@ public class CtForImpl extends CtLoopImpl implements CtFor {
 		if (forUpdate == CtElementImpl.<CtStatement>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, FOR_UPDATE, forUpdate, forUpdate.indexOf(statement), statement);
+		ModelChangeNotifier.getInstance().onListDelete(this, FOR_UPDATE, forUpdate, forUpdate.indexOf(statement), statement);
 		return forUpdate.remove(statement);
 	}
 
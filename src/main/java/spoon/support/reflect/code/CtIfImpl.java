@@ -24,6 +24,7 @@ import spoon.reflect.code.CtStatement;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.CONDITION;
 import static spoon.reflect.path.CtRole.ELSE;
@@ -68,7 +69,7 @@ public class CtIfImpl extends CtStatementImpl implements CtIf {
 		if (condition != null) {
 			condition.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CONDITION, condition, this.condition);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CONDITION, condition, this.condition);
 		this.condition = condition;
 		return (T) this;
 	}
@@ -78,7 +79,7 @@ public class CtIfImpl extends CtStatementImpl implements CtIf {
 		if (elseStatement != null) {
 			elseStatement.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, ELSE, elseStatement, this.elseStatement);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, ELSE, elseStatement, this.elseStatement);
 		this.elseStatement = elseStatement;
 		return (T) this;
 	}
@@ -89,7 +90,7 @@ public class CtIfImpl extends CtStatementImpl implements CtIf {
 		if (thenStatement != null) {
 			thenStatement.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, THEN, thenStatement, this.thenStatement);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, THEN, thenStatement, this.thenStatement);
 		this.thenStatement = thenStatement;
 		return (T) this;
 	}
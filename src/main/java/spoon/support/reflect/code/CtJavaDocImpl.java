@@ -21,6 +21,7 @@ import spoon.reflect.code.CtJavaDoc;
 import spoon.reflect.code.CtJavaDocTag;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,7 +47,7 @@ public class CtJavaDocImpl extends CtCommentImpl implements CtJavaDoc {
 		if (tags == null) {
 			return (E) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, COMMENT_TAG, this.tags, new ArrayList<>(this.tags));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, COMMENT_TAG, this.tags, new ArrayList<>(this.tags));
 		this.tags = new ArrayList<>();
 		for (CtJavaDocTag tag : tags) {
 			this.addTag(tag);
@@ -58,7 +59,7 @@ public class CtJavaDocImpl extends CtCommentImpl implements CtJavaDoc {
 	public <E extends CtJavaDoc> E addTag(CtJavaDocTag tag) {
 		if (tag != null) {
 			tag.setParent(this);
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, COMMENT_TAG, tags, tag);
+			ModelChangeNotifier.getInstance().onListAdd(this, COMMENT_TAG, tags, tag);
 			tags.add(tag);
 		}
 		return (E) this;
@@ -67,21 +68,21 @@ public class CtJavaDocImpl extends CtCommentImpl implements CtJavaDoc {
 	@Override
 	public <E extends CtJavaDoc> E addTag(int index, CtJavaDocTag tag) {
 		tag.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, COMMENT_TAG, tags, index, tag);
+		ModelChangeNotifier.getInstance().onListAdd(this, COMMENT_TAG, tags, index, tag);
 		tags.add(index, tag);
 		return (E) this;
 	}
 
 	@Override
 	public <E extends CtJavaDoc> E removeTag(int index) {
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, COMMENT_TAG, tags, index, tags.get(index));
+		ModelChangeNotifier.getInstance().onListDelete(this, COMMENT_TAG, tags, index, tags.get(index));
 		tags.remove(index);
 		return (E) this;
 	}
 
 	@Override
 	public <E extends CtJavaDoc> E removeTag(CtJavaDocTag tag) {
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, COMMENT_TAG, tags, tags.indexOf(tag), tag);
+		ModelChangeNotifier.getInstance().onListDelete(this, COMMENT_TAG, tags, tags.indexOf(tag), tag);
 		tags.remove(tag);
 		return (E) this;
 	}
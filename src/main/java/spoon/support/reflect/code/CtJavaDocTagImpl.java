@@ -19,6 +19,7 @@ package spoon.support.reflect.code;
 import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtJavaDocTag;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import static spoon.reflect.path.CtRole.COMMENT_CONTENT;
@@ -47,7 +48,7 @@ public class CtJavaDocTagImpl extends CtElementImpl implements CtJavaDocTag {
 
 	@Override
 	public <E extends CtJavaDocTag> E setType(TagType type) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, DOCUMENTATION_TYPE, type, this.type);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, DOCUMENTATION_TYPE, type, this.type);
 		this.type = type;
 		return (E) this;
 	}
@@ -59,7 +60,7 @@ public class CtJavaDocTagImpl extends CtElementImpl implements CtJavaDocTag {
 
 	@Override
 	public <E extends CtJavaDocTag> E setContent(String content) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, COMMENT_CONTENT, content, this.content);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, COMMENT_CONTENT, content, this.content);
 		this.content = content;
 		return (E) this;
 	}
@@ -71,7 +72,7 @@ public class CtJavaDocTagImpl extends CtElementImpl implements CtJavaDocTag {
 
 	@Override
 	public <E extends CtJavaDocTag> E setParam(String param) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, JAVADOC_TAG_VALUE, param, this.param);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, JAVADOC_TAG_VALUE, param, this.param);
 		this.param = param;
 		return (E) this;
 	}
@@ -33,6 +33,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 import spoon.support.util.QualifiedNameBasedSortedSet;
 import spoon.support.visitor.SignaturePrinter;
@@ -73,7 +74,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 
 	@Override
 	public <C extends CtNamedElement> C setSimpleName(String simpleName) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, NAME, simpleName, this.simpleName);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, NAME, simpleName, this.simpleName);
 		this.simpleName = simpleName;
 		return (C) this;
 	}
@@ -88,7 +89,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 	public <C extends CtBodyHolder> C setBody(CtStatement statement) {
 		if (statement != null) {
 			CtBlock<?> body = getFactory().Code().getOrCreateCtBlock(statement);
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, body, this.body);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, body, this.body);
 			if (expression != null && body != null) {
 				throw new SpoonException("A lambda can't have two bodys.");
 			}
@@ -97,7 +98,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 			}
 			this.body = body;
 		} else {
-			getFactory().getEnvironment().getModelChangeListener().onObjectDelete(this, BODY, this.body);
+			ModelChangeNotifier.getInstance().onObjectDelete(this, BODY, this.body);
 			this.body = null;
 		}
 
@@ -146,6 +147,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 
 	@Override
 	public <C extends CtExecutable<T>> C setParameters(List<CtParameter<?>> params) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, PARAMETER, this.parameters, new ArrayList<>(this.parameters));
 		if (params == null || params.isEmpty()) {
 			this.parameters = CtElementImpl.emptyList();
 			return (C) this;
@@ -153,7 +155,6 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 		if (this.parameters == CtElementImpl.<CtParameter<?>>emptyList()) {
 			this.parameters = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, PARAMETER, this.parameters, new ArrayList<>(this.parameters));
 		this.parameters.clear();
 		for (CtParameter<?> p : params) {
 			addParameter(p);
@@ -170,7 +171,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 			parameters = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		parameter.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, PARAMETER, this.parameters, parameter);
+		ModelChangeNotifier.getInstance().onListAdd(this, PARAMETER, this.parameters, parameter);
 		parameters.add(parameter);
 		return (C) this;
 	}
@@ -180,7 +181,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 		if (parameters == CtElementImpl.<CtParameter<?>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, PARAMETER, parameters, parameters.indexOf(parameter), parameter);
+		ModelChangeNotifier.getInstance().onListDelete(this, PARAMETER, parameters, parameters.indexOf(parameter), parameter);
 		return parameters.remove(parameter);
 	}
 
@@ -191,6 +192,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 
 	@Override
 	public <C extends CtExecutable<T>> C setThrownTypes(Set<CtTypeReference<? extends Throwable>> thrownTypes) {
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, THROWN, this.thrownTypes, new HashSet<>(this.thrownTypes));
 		if (thrownTypes == null || thrownTypes.isEmpty()) {
 			this.thrownTypes = CtElementImpl.emptySet();
 			return (C) this;
@@ -198,7 +200,6 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 		if (this.thrownTypes == CtElementImpl.<CtTypeReference<? extends Throwable>>emptySet()) {
 			this.thrownTypes = new QualifiedNameBasedSortedSet<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, THROWN, this.thrownTypes, new HashSet<>(this.thrownTypes));
 		this.thrownTypes.clear();
 		for (CtTypeReference<? extends Throwable> thrownType : thrownTypes) {
 			addThrownType(thrownType);
@@ -215,7 +216,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 			thrownTypes = new QualifiedNameBasedSortedSet<>();
 		}
 		throwType.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, THROWN, this.thrownTypes, throwType);
+		ModelChangeNotifier.getInstance().onSetAdd(this, THROWN, this.thrownTypes, throwType);
 		thrownTypes.add(throwType);
 		return (C) this;
 	}
@@ -225,7 +226,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 		if (thrownTypes == CtElementImpl.<CtTypeReference<? extends Throwable>>emptySet()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(this, THROWN, thrownTypes, throwType);
+		ModelChangeNotifier.getInstance().onSetDelete(this, THROWN, thrownTypes, throwType);
 		return thrownTypes.remove(throwType);
 	}
 
@@ -254,7 +255,7 @@ public class CtLambdaImpl<T> extends CtExpressionImpl<T> implements CtLambda<T>
 			if (expression != null) {
 				expression.setParent(this);
 			}
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.expression);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.expression);
 			this.expression = expression;
 		}
 		return (C) this;
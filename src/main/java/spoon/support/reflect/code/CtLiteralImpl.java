@@ -21,6 +21,7 @@ import spoon.reflect.code.CtLiteral;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXPRESSION;
 
@@ -45,7 +46,7 @@ public class CtLiteralImpl<T extends Object> extends CtExpressionImpl<T> impleme
 		if (this.value instanceof CtElement) {
 			((CtElement) this.value).setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, value, this.value);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, value, this.value);
 		this.value = value;
 		return (C) this;
 	}
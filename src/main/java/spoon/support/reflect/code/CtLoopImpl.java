@@ -24,6 +24,7 @@ import spoon.reflect.code.CtLoop;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.path.CtRole;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.BODY;
 
@@ -43,13 +44,13 @@ public abstract class CtLoopImpl extends CtStatementImpl implements CtLoop {
 	public <T extends CtBodyHolder> T setBody(CtStatement statement) {
 		if (statement != null) {
 			CtBlock<?> body = getFactory().Code().getOrCreateCtBlock(statement);
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, body, this.body);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, body, this.body);
 			if (body != null) {
 				body.setParent(this);
 			}
 			this.body = body;
 		} else {
-			getFactory().getEnvironment().getModelChangeListener().onObjectDelete(this, BODY, this.body);
+			ModelChangeNotifier.getInstance().onObjectDelete(this, BODY, this.body);
 			this.body = null;
 		}
 		return (T) this;
@@ -21,6 +21,7 @@ import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtNewArray;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -56,11 +57,11 @@ public class CtNewArrayImpl<T> extends CtExpressionImpl<T> implements CtNewArray
 
 	@Override
 	public <C extends CtNewArray<T>> C setDimensionExpressions(List<CtExpression<Integer>> dimensionExpressions) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, DIMENSION, this.dimensionExpressions, new ArrayList<>(this.dimensionExpressions));
 		if (dimensionExpressions == null || dimensionExpressions.isEmpty()) {
 			this.dimensionExpressions = CtElementImpl.emptyList();
 			return (C) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, DIMENSION, this.dimensionExpressions, new ArrayList<>(this.dimensionExpressions));
 		this.dimensionExpressions.clear();
 		for (CtExpression<Integer> expr : dimensionExpressions) {
 			addDimensionExpression(expr);
@@ -77,7 +78,7 @@ public class CtNewArrayImpl<T> extends CtExpressionImpl<T> implements CtNewArray
 			dimensionExpressions = new ArrayList<>(NEW_ARRAY_DEFAULT_EXPRESSIONS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		dimension.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, DIMENSION, this.dimensionExpressions, dimension);
+		ModelChangeNotifier.getInstance().onListAdd(this, DIMENSION, this.dimensionExpressions, dimension);
 		dimensionExpressions.add(dimension);
 		return (C) this;
 	}
@@ -87,17 +88,17 @@ public class CtNewArrayImpl<T> extends CtExpressionImpl<T> implements CtNewArray
 		if (dimensionExpressions == CtElementImpl.<CtExpression<Integer>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, DIMENSION, dimensionExpressions, dimensionExpressions.indexOf(dimension), dimension);
+		ModelChangeNotifier.getInstance().onListDelete(this, DIMENSION, dimensionExpressions, dimensionExpressions.indexOf(dimension), dimension);
 		return dimensionExpressions.remove(dimension);
 	}
 
 	@Override
 	public <C extends CtNewArray<T>> C setElements(List<CtExpression<?>> expressions) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, EXPRESSION, this.expressions, new ArrayList<>(this.expressions));
 		if (expressions == null || expressions.isEmpty()) {
 			this.expressions = CtElementImpl.emptyList();
 			return (C) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, EXPRESSION, this.expressions, new ArrayList<>(this.expressions));
 		this.expressions.clear();
 		for (CtExpression<?> expr : expressions) {
 			addElement(expr);
@@ -114,7 +115,7 @@ public class CtNewArrayImpl<T> extends CtExpressionImpl<T> implements CtNewArray
 			this.expressions = new ArrayList<>();
 		}
 		expression.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, EXPRESSION, this.expressions, expression);
+		ModelChangeNotifier.getInstance().onListAdd(this, EXPRESSION, this.expressions, expression);
 		expressions.add(expression);
 		return (C) this;
 	}
@@ -124,7 +125,7 @@ public class CtNewArrayImpl<T> extends CtExpressionImpl<T> implements CtNewArray
 		if (expressions == CtElementImpl.<CtExpression<?>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, EXPRESSION, expressions, expressions.indexOf(expression), expression);
+		ModelChangeNotifier.getInstance().onListDelete(this, EXPRESSION, expressions, expressions.indexOf(expression), expression);
 		return expressions.remove(expression);
 	}
 
@@ -20,6 +20,7 @@ import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtNewClass;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.NESTED_TYPE;
 
@@ -44,7 +45,7 @@ public class CtNewClassImpl<T> extends CtConstructorCallImpl<T> implements CtNew
 		if (anonymousClass != null) {
 			anonymousClass.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, NESTED_TYPE, anonymousClass, this.anonymousClass);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, NESTED_TYPE, anonymousClass, this.anonymousClass);
 		this.anonymousClass = anonymousClass;
 		return (N) this;
 	}
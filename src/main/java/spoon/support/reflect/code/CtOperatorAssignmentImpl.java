@@ -21,6 +21,7 @@ import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtOperatorAssignment;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.OPERATOR_KIND;
 
@@ -42,7 +43,7 @@ public class CtOperatorAssignmentImpl<T, A extends T> extends CtAssignmentImpl<T
 
 	@Override
 	public <C extends CtOperatorAssignment<T, A>> C setKind(BinaryOperatorKind kind) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
 		this.kind = kind;
 		return (C) this;
 	}
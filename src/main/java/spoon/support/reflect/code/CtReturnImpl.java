@@ -23,6 +23,7 @@ import spoon.reflect.code.CtReturn;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXPRESSION;
 
@@ -47,7 +48,7 @@ public class CtReturnImpl<R> extends CtStatementImpl implements CtReturn<R> {
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.returnedExpression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.returnedExpression);
 		this.returnedExpression = expression;
 		return (T) this;
 	}
@@ -33,6 +33,7 @@ import spoon.reflect.declaration.ParentNotInitializedException;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.visitor.CtInheritanceScanner;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -274,7 +275,7 @@ public abstract class CtStatementImpl extends CtCodeElementImpl implements CtSta
 
 	@Override
 	public <T extends CtStatement> T setLabel(String label) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, LABEL, label, this.label);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, LABEL, label, this.label);
 		this.label = label;
 		return (T) this;
 	}
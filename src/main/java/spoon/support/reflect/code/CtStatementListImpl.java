@@ -26,6 +26,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.Query;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -53,11 +54,11 @@ public class CtStatementListImpl<R> extends CtCodeElementImpl implements CtState
 
 	@Override
 	public <T extends CtStatementList> T setStatements(List<CtStatement> stmts) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		if (stmts == null || stmts.isEmpty()) {
 			this.statements = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, STATEMENT, this.statements, new ArrayList<>(this.statements));
 		this.statements.clear();
 		for (CtStatement stmt : stmts) {
 			addStatement(stmt);
@@ -79,7 +80,7 @@ public class CtStatementListImpl<R> extends CtCodeElementImpl implements CtState
 			this.statements = new ArrayList<>(BLOCK_STATEMENTS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		statement.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, STATEMENT, this.statements, index, statement);
+		ModelChangeNotifier.getInstance().onListAdd(this, STATEMENT, this.statements, index, statement);
 		this.statements.add(index, statement);
 		return (T) this;
 	}
@@ -177,7 +178,7 @@ public class CtStatementListImpl<R> extends CtCodeElementImpl implements CtState
 		if (this.statements == CtElementImpl.<CtStatement>emptyList()) {
 			return;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
+		ModelChangeNotifier.getInstance().onListDelete(this, STATEMENT, statements, statements.indexOf(statement), statement);
 		statements.remove(statement);
 	}
 
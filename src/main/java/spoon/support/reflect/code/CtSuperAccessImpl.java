@@ -22,6 +22,7 @@ import spoon.reflect.code.CtSuperAccess;
 import spoon.reflect.code.CtTargetedExpression;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.TARGET;
 
@@ -47,7 +48,7 @@ public class CtSuperAccessImpl<T> extends CtVariableReadImpl<T> implements CtSup
 		if (target != null) {
 			target.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TARGET, target, this.target);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TARGET, target, this.target);
 		this.target = target;
 		return null;
 	}
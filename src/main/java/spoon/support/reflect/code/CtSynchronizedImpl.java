@@ -22,6 +22,7 @@ import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtSynchronized;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.BODY;
 import static spoon.reflect.path.CtRole.EXPRESSION;
@@ -55,7 +56,7 @@ public class CtSynchronizedImpl extends CtStatementImpl implements CtSynchronize
 		if (block != null) {
 			block.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, block, this.block);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, block, this.block);
 		this.block = block;
 		return (T) this;
 	}
@@ -65,7 +66,7 @@ public class CtSynchronizedImpl extends CtStatementImpl implements CtSynchronize
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.expression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.expression);
 		this.expression = expression;
 		return (T) this;
 	}
@@ -20,6 +20,7 @@ import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtTargetedExpression;
 import spoon.reflect.path.CtRole;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.TARGET;
 
@@ -39,7 +40,7 @@ public abstract class CtTargetedExpressionImpl<E, T extends CtExpression<?>> ext
 		if (target != null) {
 			target.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TARGET, target, this.target);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TARGET, target, this.target);
 		this.target = target;
 		return (C) this;
 	}
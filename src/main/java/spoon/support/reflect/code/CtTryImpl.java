@@ -26,6 +26,7 @@ import spoon.reflect.code.CtTry;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -60,11 +61,11 @@ public class CtTryImpl extends CtStatementImpl implements CtTry {
 
 	@Override
 	public <T extends CtTry> T setCatchers(List<CtCatch> catchers) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, CATCH, this.catchers, new ArrayList<>(this.catchers));
 		if (catchers == null || catchers.isEmpty()) {
 			this.catchers = CtElementImpl.emptyList();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, CATCH, this.catchers, new ArrayList<>(this.catchers));
 		this.catchers.clear();
 		for (CtCatch c : catchers) {
 			addCatcher(c);
@@ -81,7 +82,7 @@ public class CtTryImpl extends CtStatementImpl implements CtTry {
 			catchers = new ArrayList<>(CATCH_CASES_CONTAINER_DEFAULT_CAPACITY);
 		}
 		catcher.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, CATCH, this.catchers, catcher);
+		ModelChangeNotifier.getInstance().onListAdd(this, CATCH, this.catchers, catcher);
 		catchers.add(catcher);
 		return (T) this;
 	}
@@ -91,7 +92,7 @@ public class CtTryImpl extends CtStatementImpl implements CtTry {
 		if (catchers == CtElementImpl.<CtCatch>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CATCH, catchers, catchers.indexOf(catcher), catcher);
+		ModelChangeNotifier.getInstance().onListDelete(this, CATCH, catchers, catchers.indexOf(catcher), catcher);
 		return catchers.remove(catcher);
 	}
 
@@ -105,7 +106,7 @@ public class CtTryImpl extends CtStatementImpl implements CtTry {
 		if (finalizer != null) {
 			finalizer.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, FINALIZER, finalizer, this.finalizer);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, FINALIZER, finalizer, this.finalizer);
 		this.finalizer = finalizer;
 		return (T) this;
 	}
@@ -119,13 +120,13 @@ public class CtTryImpl extends CtStatementImpl implements CtTry {
 	public <T extends CtBodyHolder> T setBody(CtStatement statement) {
 		if (statement != null) {
 			CtBlock<?> body = getFactory().Code().getOrCreateCtBlock(statement);
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, body, this.body);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, body, this.body);
 			if (body != null) {
 				body.setParent(this);
 			}
 			this.body = body;
 		} else {
-			getFactory().getEnvironment().getModelChangeListener().onObjectDelete(this, BODY, this.body);
+			ModelChangeNotifier.getInstance().onObjectDelete(this, BODY, this.body);
 			this.body = null;
 		}
 
@@ -21,6 +21,7 @@ import spoon.reflect.code.CtTypeAccess;
 import spoon.reflect.declaration.CtTypedElement;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.UnsettableProperty;
 
 import static spoon.reflect.path.CtRole.ACCESSED_TYPE;
@@ -45,7 +46,7 @@ public class CtTypeAccessImpl<A> extends CtExpressionImpl<Void> implements CtTyp
 		if (accessedType != null) {
 			accessedType.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, ACCESSED_TYPE, accessedType, this.type);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, ACCESSED_TYPE, accessedType, this.type);
 		type = accessedType;
 		return (C) this;
 	}
@@ -24,6 +24,7 @@ import spoon.reflect.code.CtUnaryOperator;
 import spoon.reflect.code.UnaryOperatorKind;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.EXPRESSION;
 import static spoon.reflect.path.CtRole.LABEL;
@@ -90,21 +91,21 @@ public class CtUnaryOperatorImpl<T> extends CtExpressionImpl<T> implements CtUna
 		if (expression != null) {
 			expression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, EXPRESSION, expression, this.operand);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, EXPRESSION, expression, this.operand);
 		this.operand = expression;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtUnaryOperator> C setKind(UnaryOperatorKind kind) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, OPERATOR_KIND, kind, this.kind);
 		this.kind = kind;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtStatement> C setLabel(String label) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, LABEL, label, this.label);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, LABEL, label, this.label);
 		this.label = label;
 		return (C) this;
 	}
@@ -23,6 +23,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.reference.CtVariableReference;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.VARIABLE;
 
@@ -46,7 +47,7 @@ public abstract class CtVariableAccessImpl<T> extends CtExpressionImpl<T> implem
 		if (variable != null) {
 			variable.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, VARIABLE, variable, this.variable);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, VARIABLE, variable, this.variable);
 		this.variable = variable;
 		return (C) this;
 	}
@@ -149,6 +149,13 @@ public class SourcePositionImpl implements SourcePosition, Serializable {
 		return this.sourceStart;
 	}
 
+	/**
+	 * @return the index of line breaks, as computed by JDT, or null if unknown
+	 */
+	public int[] getLineSeparatorPositions() {
+		return lineSeparatorPositions;
+	}
+
 	/**
 	 * Returns a string representation of this position in the form
 	 * "sourcefile:line", or "sourcefile" if no line number is available.
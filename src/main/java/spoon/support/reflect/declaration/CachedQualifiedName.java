@@ -0,0 +1,52 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.reflect.declaration;
+
+/**
+ * The qualified name of a type or a package, with the qualified name of its parent and the simple name it was computed from.
+ *
+ * The parents cache their qualified names too, so the cached name is still valid as long as the name of the parent
+ * and the simple name are the same strings. Comparing them by identity is enough, and detects the renaming and
+ * the moving of the element or of one of its parents, which are not all notified to the model change listener.
+ */
+final class CachedQualifiedName {
+	private final String parentName;
+	private final String simpleName;
+	private final String qualifiedName;
+
+	/**
+	 * @param parentName the qualified name of the parent, or null if the qualified name is the simple name
+	 * @param separator the separator between the name of the parent and the simple name
+	 * @param simpleName the simple name of the element
+	 */
+	CachedQualifiedName(String parentName, String separator, String simpleName) {
+		this.parentName = parentName;
+		this.simpleName = simpleName;
+		this.qualifiedName = parentName == null ? simpleName : parentName + separator + simpleName;
+	}
+
+	/**
+	 * @return true if the cached qualified name was computed from the given names
+	 */
+	boolean isComputedFrom(String parentName, String simpleName) {
+		return this.parentName == parentName && this.simpleName == simpleName;
+	}
+
+	String getQualifiedName() {
+		return qualifiedName;
+	}
+}
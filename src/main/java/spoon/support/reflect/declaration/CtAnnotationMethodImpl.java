@@ -30,6 +30,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.UnsettableProperty;
 
 import static spoon.reflect.path.CtRole.DEFAULT_EXPRESSION;
@@ -59,7 +60,7 @@ public class CtAnnotationMethodImpl<T> extends CtMethodImpl<T> implements CtAnno
 		if (assignedExpression != null) {
 			assignedExpression.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, DEFAULT_EXPRESSION, assignedExpression, this.defaultExpression);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, DEFAULT_EXPRESSION, assignedExpression, this.defaultExpression);
 		this.defaultExpression = assignedExpression;
 		return (C) this;
 	}
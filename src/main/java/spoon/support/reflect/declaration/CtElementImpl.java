@@ -17,6 +17,7 @@
 package spoon.support.reflect.declaration;
 
 import org.apache.log4j.Logger;
+import spoon.compiler.Environment;
 import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtComment;
 import spoon.reflect.code.CtJavaDoc;
@@ -32,7 +33,6 @@ import spoon.reflect.factory.FactoryImpl;
 import spoon.reflect.meta.RoleHandler;
 import spoon.reflect.meta.impl.RoleHandlerHelper;
 import spoon.reflect.path.CtRole;
-import spoon.reflect.declaration.CtImport;
 import spoon.reflect.reference.CtReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtScanner;
@@ -47,9 +47,11 @@ import spoon.reflect.visitor.chain.CtQuery;
 import spoon.reflect.visitor.filter.AnnotationFilter;
 import spoon.support.DefaultCoreFactory;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.StandardEnvironment;
 import spoon.support.util.EmptyClearableList;
 import spoon.support.util.EmptyClearableSet;
+import spoon.support.util.PrintedStringCache;
 import spoon.support.visitor.HashcodeVisitor;
 import spoon.support.visitor.TypeReferenceScanner;
 import spoon.support.visitor.equals.CloneHelper;
@@ -200,11 +202,11 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 	}
 
 	public <E extends CtElement> E setAnnotations(List<CtAnnotation<? extends Annotation>> annotations) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, ANNOTATION, this.annotations, new ArrayList<>(this.annotations));
 		if (annotations == null || annotations.isEmpty()) {
 			this.annotations = CtElementImpl.emptyList();
 			return (E) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, ANNOTATION, this.annotations, new ArrayList<>(this.annotations));
 		this.annotations.clear();
 		for (CtAnnotation<? extends Annotation> annot : annotations) {
 			addAnnotation(annot);
@@ -226,7 +228,7 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 			this.annotations = new ArrayList<>(ANNOTATIONS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		annotation.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, ANNOTATION, this.annotations, annotation);
+		ModelChangeNotifier.getInstance().onListAdd(this, ANNOTATION, this.annotations, annotation);
 		this.annotations.add(annotation);
 		return (E) this;
 	}
@@ -235,7 +237,7 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 		if (this.annotations == CtElementImpl.<CtAnnotation<? extends Annotation>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, ANNOTATION, annotations, annotations.indexOf(annotation), annotation);
+		ModelChangeNotifier.getInstance().onListDelete(this, ANNOTATION, annotations, annotations.indexOf(annotation), annotation);
 		return this.annotations.remove(annotation);
 	}
 
@@ -251,7 +253,7 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 	}
 
 	public <E extends CtElement> E setPosition(SourcePosition position) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, POSITION, position, this.position);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, POSITION, position, this.position);
 		this.position = position;
 		return (E) this;
 	}
@@ -266,23 +268,89 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 		return (E) this;
 	}
 
+	/**
+	 * The printer of {@link #toString()} for the current thread, which is reused while it prints for the same environment.
+	 * It is taken from the thread while it prints, so that a nested call of toString() uses another printer.
+	 */
+	private static final ThreadLocal<DefaultJavaPrettyPrinter> TO_STRING_PRINTER = new ThreadLocal<>();
+
+	/**
+	 * The printer of {@link #toString()} is not kept by the thread after printing a longer string, to release its buffer.
+	 */
+	private static final int MAX_REUSED_PRINTER_LENGTH = 1 << 16;
+
 	@Override
 	public String toString() {
-		DefaultJavaPrettyPrinter printer = new DefaultJavaPrettyPrinter(getFactory().getEnvironment());
+		Environment env = getFactory().getEnvironment();
+		boolean computeImports = env.isToStringImportsEnabled();
+		PrintedStringCache cache = env.getToStringCacheSize() > 0 ? PrintedStringCache.of(getFactory()) : null;
+		long settings = 0;
+		long modificationCount = 0;
+		if (cache != null) {
+			settings = getPrintSettings(env, computeImports);
+			modificationCount = cache.getModificationCount();
+			String cached = cache.get(this, settings);
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		DefaultJavaPrettyPrinter printer = TO_STRING_PRINTER.get();
+		if (printer == null || printer.getEnvironment() != env) {
+			printer = new DefaultJavaPrettyPrinter(env);
+		} else {
+			TO_STRING_PRINTER.remove();
+		}
+		String result;
 		String errorMessage = "";
 		try {
-			// we do not want to compute imports of a CtImport as it may change the print of a reference
-			if (!(this instanceof CtImport)) {
-				printer.computeImports(this);
-			}
-			printer.scan(this);
+			result = printer.printElement(this, computeImports);
 		} catch (ParentNotInitializedException ignore) {
 			LOGGER.error(ERROR_MESSAGE_TO_STRING, ignore);
 			errorMessage = ERROR_MESSAGE_TO_STRING;
+			result = printer.getResult();
+		}
+		if (result.length() <= MAX_REUSED_PRINTER_LENGTH) {
+			// the kept printer must not refer to the printed model
+			printer.reset();
+			TO_STRING_PRINTER.set(printer);
 		}
 		// in line-preservation mode, newlines are added at the beginning to matches the lines
 		// removing them from the toString() representation
-		return printer.toString().replaceFirst("^\\s+", "") + errorMessage;
+		result = removeLeadingWhitespaces(result) + errorMessage;
+
+		if (cache != null && errorMessage.isEmpty()) {
+			cache.put(this, settings, modificationCount, result, env.getToStringCacheSize());
+		}
+		return result;
+	}
+
+	/**
+	 * @return a value which is different for each combination of the settings which change the result of {@link #toString()}
+	 */
+	private static long getPrintSettings(Environment env, boolean computeImports) {
+		long settings = (long) env.getTabulationSize() << 8;
+		settings |= env.isAutoImports() ? 1 : 0;
+		settings |= computeImports ? 2 : 0;
+		settings |= env.isCommentsEnabled() ? 4 : 0;
+		settings |= env.isPreserveLineNumbers() ? 8 : 0;
+		settings |= env.isUsingTabulations() ? 16 : 0;
+		return settings;
+	}
+
+	/**
+	 * @return the given string without its leading white spaces, as matched by the regular expression "^\\s+"
+	 */
+	private static String removeLeadingWhitespaces(String s) {
+		int start = 0;
+		while (start < s.length()) {
+			char c = s.charAt(start);
+			if (c != ' ' && c != '\t' && c != '\n' && c != '\u000B' && c != '\f' && c != '\r') {
+				break;
+			}
+			start++;
+		}
+		return s.substring(start);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -298,7 +366,7 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 	}
 
 	public <E extends CtElement> E setImplicit(boolean implicit) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, IS_IMPLICIT, implicit, this.implicit);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, IS_IMPLICIT, implicit, this.implicit);
 		this.implicit = implicit;
 		return (E) this;
 	}
@@ -490,7 +558,7 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 			comments = new ArrayList<>(COMMENT_CONTAINER_DEFAULT_CAPACITY);
 		}
 		comment.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, COMMENT, this.comments, comment);
+		ModelChangeNotifier.getInstance().onListAdd(this, COMMENT, this.comments, comment);
 		comments.add(comment);
 		return (E) this;
 	}
@@ -500,18 +568,18 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 		if (this.comments == CtElementImpl.<CtComment>emptyList()) {
 			return (E) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, COMMENT, comments, comments.indexOf(comment), comment);
+		ModelChangeNotifier.getInstance().onListDelete(this, COMMENT, comments, comments.indexOf(comment), comment);
 		this.comments.remove(comment);
 		return (E) this;
 	}
 
 	@Override
 	public <E extends CtElement> E setComments(List<CtComment> comments) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, COMMENT, this.comments, new ArrayList<>(this.comments));
 		if (comments == null || comments.isEmpty()) {
 			this.comments = CtElementImpl.emptyList();
 			return (E) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, COMMENT, this.comments, new ArrayList<>(this.comments));
 		this.comments.clear();
 		for (CtComment comment : comments) {
 			addComment(comment);
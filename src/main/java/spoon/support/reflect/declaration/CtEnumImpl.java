@@ -29,6 +29,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.UnsettableProperty;
 import spoon.support.util.SignatureBasedSortedSet;
 
@@ -80,7 +81,7 @@ public class CtEnumImpl<T extends Enum<?>> extends CtClassImpl<T> implements CtE
 		}
 		if (!enumValues.contains(enumValue)) {
 			enumValue.setParent(this);
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, VALUE, this.enumValues, enumValue);
+			ModelChangeNotifier.getInstance().onListAdd(this, VALUE, this.enumValues, enumValue);
 			enumValues.add(enumValue);
 		}
 
@@ -93,7 +94,7 @@ public class CtEnumImpl<T extends Enum<?>> extends CtClassImpl<T> implements CtE
 		if (enumValues == CtElementImpl.<CtEnumValue<?>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, VALUE, enumValues, enumValues.indexOf(enumValue), enumValue);
+		ModelChangeNotifier.getInstance().onListDelete(this, VALUE, enumValues, enumValues.indexOf(enumValue), enumValue);
 		return enumValues.remove(enumValue);
 	}
 
@@ -114,7 +115,7 @@ public class CtEnumImpl<T extends Enum<?>> extends CtClassImpl<T> implements CtE
 
 	@Override
 	public <C extends CtEnum<T>> C setEnumValues(List<CtEnumValue<?>> enumValues) {
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, VALUE, this.enumValues, new ArrayList<>(enumValues));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, VALUE, this.enumValues, new ArrayList<>(enumValues));
 		if (enumValues == null || enumValues.isEmpty()) {
 			this.enumValues = emptyList();
 			return (C) this;
@@ -20,11 +20,16 @@ import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtBodyHolder;
 import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtParameter;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtExecutableReference;
+import spoon.reflect.reference.CtReference;
 import spoon.reflect.reference.CtTypeReference;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.util.QualifiedNameBasedSortedSet;
 import spoon.support.visitor.SignaturePrinter;
 
@@ -56,6 +61,12 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 	@MetamodelPropertyField(role = THROWN)
 	Set<CtTypeReference<? extends Throwable>> thrownTypes = emptySet();
 
+	/**
+	 * The cached signature of this executable, or null if it has to be computed.
+	 * It is discarded by {@link #invalidateSignature(CtElement, CtRole)} when the name or a parameter type changes.
+	 */
+	private transient String signatureCache;
+
 	public CtExecutableImpl() {
 		super();
 	}
@@ -78,13 +89,13 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 	public <T extends CtBodyHolder> T setBody(CtStatement statement) {
 		if (statement != null) {
 			CtBlock<?> body = getFactory().Code().getOrCreateCtBlock(statement);
-			getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, BODY, body, this.body);
+			ModelChangeNotifier.getInstance().onObjectUpdate(this, BODY, body, this.body);
 			if (body != null) {
 				body.setParent(this);
 			}
 			this.body = body;
 		} else {
-			getFactory().getEnvironment().getModelChangeListener().onObjectDelete(this, BODY, this.body);
+			ModelChangeNotifier.getInstance().onObjectDelete(this, BODY, this.body);
 			this.body = null;
 		}
 		return (T) this;
@@ -97,6 +108,7 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 
 	@Override
 	public <T extends CtExecutable<R>> T setParameters(List<CtParameter<?>> parameters) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, PARAMETER, this.parameters, new ArrayList<>(this.parameters));
 		if (parameters == null || parameters.isEmpty()) {
 			this.parameters = CtElementImpl.emptyList();
 			return (T) this;
@@ -104,7 +116,6 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 		if (this.parameters == CtElementImpl.<CtParameter<?>>emptyList()) {
 			this.parameters = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, PARAMETER, this.parameters, new ArrayList<>(this.parameters));
 		this.parameters.clear();
 		for (CtParameter<?> p : parameters) {
 			addParameter(p);
@@ -121,7 +132,7 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 			parameters = new ArrayList<>(PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		parameter.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, PARAMETER, this.parameters, parameter);
+		ModelChangeNotifier.getInstance().onListAdd(this, PARAMETER, this.parameters, parameter);
 		parameters.add(parameter);
 		return (T) this;
 	}
@@ -131,7 +142,7 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 		if (parameters == CtElementImpl.<CtParameter<?>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, PARAMETER, parameters, parameters.indexOf(parameter), parameter);
+		ModelChangeNotifier.getInstance().onListDelete(this, PARAMETER, parameters, parameters.indexOf(parameter), parameter);
 		return parameters.remove(parameter);
 	}
 
@@ -142,6 +153,7 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 
 	@Override
 	public <T extends CtExecutable<R>> T setThrownTypes(Set<CtTypeReference<? extends Throwable>> thrownTypes) {
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, THROWN, this.thrownTypes, new HashSet<Object>(this.thrownTypes));
 		if (thrownTypes == null || thrownTypes.isEmpty()) {
 			this.thrownTypes = CtElementImpl.emptySet();
 			return (T) this;
@@ -149,7 +161,6 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 		if (this.thrownTypes == CtElementImpl.<CtTypeReference<? extends Throwable>>emptySet()) {
 			this.thrownTypes = new QualifiedNameBasedSortedSet<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, THROWN, this.thrownTypes, new HashSet<Object>(this.thrownTypes));
 		this.thrownTypes.clear();
 		for (CtTypeReference<? extends Throwable> thrownType : thrownTypes) {
 			addThrownType(thrownType);
@@ -166,7 +177,7 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 			thrownTypes = new QualifiedNameBasedSortedSet<>();
 		}
 		throwType.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, THROWN, this.thrownTypes, throwType);
+		ModelChangeNotifier.getInstance().onSetAdd(this, THROWN, this.thrownTypes, throwType);
 		thrownTypes.add(throwType);
 		return (T) this;
 	}
@@ -176,15 +187,56 @@ public abstract class CtExecutableImpl<R> extends CtNamedElementImpl implements
 		if (thrownTypes == CtElementImpl.<CtTypeReference<? extends Throwable>>emptySet()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(this, THROWN, thrownTypes, throwType);
+		ModelChangeNotifier.getInstance().onSetDelete(this, THROWN, thrownTypes, throwType);
 		return thrownTypes.remove(throwType);
 	}
 
 	@Override
 	public String getSignature() {
-		final SignaturePrinter pr = new SignaturePrinter();
-		pr.scan(this);
-		return pr.getSignature();
+		String signature = signatureCache;
+		if (signature == null) {
+			final SignaturePrinter pr = new SignaturePrinter();
+			pr.scan(this);
+			signature = pr.getSignature();
+			// the signature of a constructor depends on the name of its declaring type
+			if (!(this instanceof CtConstructor)) {
+				signatureCache = signature;
+			}
+		}
+		return signature;
+	}
+
+	/**
+	 * Discards the cached signature of the executable whose name or parameter types are changed by a change of the given element,
+	 * and the cached methods of its declaring type.
+	 * Called by {@link ModelCaches#invalidate} for each change of the model.
+	 */
+	static void invalidateSignature(CtElement element, CtRole role) {
+		CtElement e = element;
+		if (e instanceof CtExecutableImpl) {
+			if (role != CtRole.NAME && role != PARAMETER) {
+				return;
+			}
+		} else {
+			// the type of a parameter, or one of its children
+			while (e instanceof CtReference && e.isParentInitialized()) {
+				e = e.getParent();
+			}
+			if (!(e instanceof CtParameter) || !e.isParentInitialized()) {
+				return;
+			}
+			e = e.getParent();
+			if (!(e instanceof CtExecutableImpl)) {
+				return;
+			}
+		}
+		CtExecutableImpl<?> executable = (CtExecutableImpl<?>) e;
+		if (executable.signatureCache != null) {
+			executable.signatureCache = null;
+		}
+		if (executable.parent instanceof CtTypeImpl) {
+			CtTypeImpl.invalidateMethodIndex(executable.parent);
+		}
 	}
 
 	@Override
@@ -27,6 +27,7 @@ import spoon.reflect.reference.CtReference;
 import spoon.reflect.declaration.CtImportKind;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.reference.CtWildcardStaticTypeMemberReferenceImpl;
 
 public class CtImportImpl extends CtElementImpl implements CtImport {
@@ -63,7 +64,7 @@ public class CtImportImpl extends CtElementImpl implements CtImport {
 		if (reference != null) {
 			reference.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.IMPORT_REFERENCE, reference, this.localReference);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.IMPORT_REFERENCE, reference, this.localReference);
 		this.localReference = reference;
 		return (T) this;
 	}
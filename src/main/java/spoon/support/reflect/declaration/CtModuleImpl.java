@@ -29,6 +29,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtModuleReference;
 import spoon.reflect.visitor.CtVisitor;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.comparator.CtLineElementComparator;
 import spoon.support.util.SortedList;
 
@@ -62,7 +63,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 
 	@Override
 	public <T extends CtModule> T setModuleDirectives(List<CtModuleDirective> moduleDirectives) {
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, CtRole.MODULE_DIRECTIVE, this.moduleDirectives, new ArrayList<>(this.moduleDirectives));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, CtRole.MODULE_DIRECTIVE, this.moduleDirectives, new ArrayList<>(this.moduleDirectives));
 		if (moduleDirectives == null || moduleDirectives.isEmpty()) {
 			this.moduleDirectives = CtElementImpl.emptyList();
 			return (T) this;
@@ -92,7 +93,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 			moduleDirective.setParent(this);
 			CtRole role = this.computeRoleFromModuleDirectory(moduleDirective);
 
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, role, this.moduleDirectives, moduleDirective);
+			ModelChangeNotifier.getInstance().onListAdd(this, role, this.moduleDirectives, moduleDirective);
 			this.moduleDirectives.add(moduleDirective);
 		}
 
@@ -133,7 +134,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 			moduleDirective.setParent(this);
 			CtRole role = this.computeRoleFromModuleDirectory(moduleDirective);
 
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, role, this.moduleDirectives, position, moduleDirective);
+			ModelChangeNotifier.getInstance().onListAdd(this, role, this.moduleDirectives, position, moduleDirective);
 			this.moduleDirectives.add(position, moduleDirective);
 		}
 
@@ -151,7 +152,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 			return (T) this;
 		}
 		if (this.moduleDirectives.contains(moduleDirective)) {
-			getFactory().getEnvironment().getModelChangeListener().onListDelete(this, this.computeRoleFromModuleDirectory(moduleDirective), this.moduleDirectives, this.moduleDirectives.indexOf(moduleDirective), moduleDirective);
+			ModelChangeNotifier.getInstance().onListDelete(this, this.computeRoleFromModuleDirectory(moduleDirective), this.moduleDirectives, this.moduleDirectives.indexOf(moduleDirective), moduleDirective);
 			if (this.moduleDirectives.size() == 1) {
 				this.moduleDirectives = CtElementImpl.emptyList();
 			} else {
@@ -164,7 +165,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 
 	@Override
 	public <T extends CtModule> T setIsOpenModule(boolean openModule) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.MODIFIER, openModule, this.openModule);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.MODIFIER, openModule, this.openModule);
 		this.openModule = openModule;
 		return (T) this;
 	}
@@ -190,7 +191,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 			return (T) this;
 		}
 		List<CtUsedService> usedServices = getUsedServices();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CtRole.SERVICE_TYPE, this.moduleDirectives, new ArrayList<>(usedServices));
+		ModelChangeNotifier.getInstance().onListDelete(this, CtRole.SERVICE_TYPE, this.moduleDirectives, new ArrayList<>(usedServices));
 		this.moduleDirectives.removeAll(usedServices);
 
 		for (CtUsedService consumedService : consumedServices) {
@@ -242,7 +243,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 		}
 
 		List<CtPackageExport> oldExportedPackages = getExportedPackages();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CtRole.EXPORTED_PACKAGE, this.moduleDirectives, new ArrayList<>(oldExportedPackages));
+		ModelChangeNotifier.getInstance().onListDelete(this, CtRole.EXPORTED_PACKAGE, this.moduleDirectives, new ArrayList<>(oldExportedPackages));
 		this.moduleDirectives.removeAll(oldExportedPackages);
 
 		for (CtPackageExport exportedPackage : exportedPackages) {
@@ -296,7 +297,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 		}
 
 		List<CtPackageExport> oldOpenedPackages = getOpenedPackages();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CtRole.OPENED_PACKAGE, this.moduleDirectives, new ArrayList<>(oldOpenedPackages));
+		ModelChangeNotifier.getInstance().onListDelete(this, CtRole.OPENED_PACKAGE, this.moduleDirectives, new ArrayList<>(oldOpenedPackages));
 		this.moduleDirectives.removeAll(oldOpenedPackages);
 
 		for (CtPackageExport exportedPackage : openedPackages) {
@@ -347,7 +348,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 		}
 
 		List<CtModuleRequirement> oldRequiredModules = getRequiredModules();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CtRole.REQUIRED_MODULE, this.moduleDirectives, new ArrayList<>(oldRequiredModules));
+		ModelChangeNotifier.getInstance().onListDelete(this, CtRole.REQUIRED_MODULE, this.moduleDirectives, new ArrayList<>(oldRequiredModules));
 		this.moduleDirectives.removeAll(oldRequiredModules);
 
 		for (CtModuleRequirement moduleRequirement : requiredModules) {
@@ -396,7 +397,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 		}
 
 		List<CtProvidedService> oldProvidedServices = getProvidedServices();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, CtRole.PROVIDED_SERVICE, this.moduleDirectives, new ArrayList<>(oldProvidedServices));
+		ModelChangeNotifier.getInstance().onListDelete(this, CtRole.PROVIDED_SERVICE, this.moduleDirectives, new ArrayList<>(oldProvidedServices));
 		this.moduleDirectives.removeAll(oldProvidedServices);
 
 		for (CtProvidedService providedService : providedServices) {
@@ -434,7 +435,7 @@ public class CtModuleImpl extends CtNamedElementImpl implements CtModule {
 		if (rootPackage != null) {
 			rootPackage.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.SUB_PACKAGE, rootPackage, this.rootPackage);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.SUB_PACKAGE, rootPackage, this.rootPackage);
 		this.rootPackage = rootPackage;
 		return (T) this;
 	}
@@ -21,6 +21,7 @@ import spoon.reflect.declaration.CtModuleRequirement;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtModuleReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -43,7 +44,7 @@ public class CtModuleRequirementImpl extends CtElementImpl implements CtModuleRe
 
 	@Override
 	public <T extends CtModuleRequirement> T setRequiresModifiers(Set<RequiresModifier> requiresModifiers) {
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, CtRole.MODIFIER, this.requiresModifiers, new HashSet<>(requiresModifiers));
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, CtRole.MODIFIER, this.requiresModifiers, new HashSet<>(requiresModifiers));
 		if (requiresModifiers == null || requiresModifiers.isEmpty()) {
 			this.requiresModifiers = CtElementImpl.emptySet();
 			return (T) this;
@@ -54,7 +55,7 @@ public class CtModuleRequirementImpl extends CtElementImpl implements CtModuleRe
 		}
 		this.requiresModifiers.clear();
 		for (RequiresModifier requiresModifier : requiresModifiers) {
-			getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, CtRole.MODIFIER, this.requiresModifiers, requiresModifier);
+			ModelChangeNotifier.getInstance().onSetAdd(this, CtRole.MODIFIER, this.requiresModifiers, requiresModifier);
 			this.requiresModifiers.add(requiresModifier);
 		}
 
@@ -71,7 +72,7 @@ public class CtModuleRequirementImpl extends CtElementImpl implements CtModuleRe
 		if (moduleReference != null) {
 			moduleReference.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.MODULE_REF, moduleReference, this.moduleReference);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.MODULE_REF, moduleReference, this.moduleReference);
 		this.moduleReference = moduleReference;
 		return (T) this;
 	}
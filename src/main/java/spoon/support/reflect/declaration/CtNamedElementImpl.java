@@ -22,6 +22,7 @@ import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.FactoryImpl;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtReference;
+import spoon.support.ModelChangeNotifier;
 
 import static spoon.reflect.path.CtRole.NAME;
 
@@ -52,7 +53,7 @@ public abstract class CtNamedElementImpl extends CtElementImpl implements CtName
 		if (factory instanceof FactoryImpl) {
 			simpleName = ((FactoryImpl) factory).dedup(simpleName);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, NAME, simpleName, this.simpleName);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, NAME, simpleName, this.simpleName);
 		this.simpleName = simpleName;
 		return (T) this;
 	}
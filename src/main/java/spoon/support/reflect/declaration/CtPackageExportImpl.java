@@ -22,6 +22,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtModuleReference;
 import spoon.reflect.reference.CtPackageReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -43,7 +44,7 @@ public class CtPackageExportImpl extends CtElementImpl implements CtPackageExpor
 
 	@Override
 	public <T extends CtPackageExport> T setOpenedPackage(boolean openedPackage) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.OPENED_PACKAGE, openedPackage, this.isOpen);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.OPENED_PACKAGE, openedPackage, this.isOpen);
 		this.isOpen = openedPackage;
 		return (T) this;
 	}
@@ -63,7 +64,7 @@ public class CtPackageExportImpl extends CtElementImpl implements CtPackageExpor
 		if (packageReference != null) {
 			packageReference.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.PACKAGE_REF, packageReference, this.packageReference);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.PACKAGE_REF, packageReference, this.packageReference);
 		this.packageReference = packageReference;
 		return (T) this;
 	}
@@ -75,7 +76,7 @@ public class CtPackageExportImpl extends CtElementImpl implements CtPackageExpor
 
 	@Override
 	public <T extends CtPackageExport> T setTargetExport(List<CtModuleReference> targetExports) {
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, CtRole.MODULE_REF, this.targets, new ArrayList<>(this.targets));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, CtRole.MODULE_REF, this.targets, new ArrayList<>(this.targets));
 		if (targetExports == null || targetExports.isEmpty()) {
 			this.targets = CtElementImpl.emptyList();
 			return (T) this;
@@ -100,7 +101,7 @@ public class CtPackageExportImpl extends CtElementImpl implements CtPackageExpor
 		if (this.targets == CtElementImpl.<CtModuleReference>emptyList()) {
 			this.targets = new ArrayList<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, CtRole.MODULE_REF, this.targets, targetExport);
+		ModelChangeNotifier.getInstance().onListAdd(this, CtRole.MODULE_REF, this.targets, targetExport);
 		targetExport.setParent(this);
 		this.targets.add(targetExport);
 		return (T) this;
@@ -18,16 +18,21 @@ package spoon.support.reflect.declaration;
 
 import spoon.reflect.annotations.MetamodelPropertyField;
 import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtModule;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtShadowable;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.ParentNotInitializedException;
+import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtPackageReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.util.QualifiedNameBasedSortedSet;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static spoon.reflect.path.CtRole.IS_SHADOW;
@@ -48,6 +53,17 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 	@MetamodelPropertyField(role = CONTAINED_TYPE)
 	private Set<CtType<?>> types = orderedTypeSet();
 
+	/**
+	 * The cached qualified name of this package, see {@link CachedQualifiedName}.
+	 */
+	private transient volatile CachedQualifiedName qualifiedNameCache;
+
+	/**
+	 * The sub packages and the types of this package by simple name, or null if they have to be indexed.
+	 * It is discarded by {@link #invalidateContentIndex(CtElement, CtRole)} when the content of this package changes.
+	 */
+	private transient volatile ContentIndex contentIndex;
+
 	public CtPackageImpl() {
 		super();
 	}
@@ -73,16 +89,15 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 		}
 
 		// it already exists
-		for (CtPackage p1 : packs) {
-			if (p1.getQualifiedName().equals(pack.getQualifiedName())) {
-				addAllTypes(pack, p1);
-				addAllPackages(pack, p1);
-				return (T) this;
-			}
+		CtPackage p1 = getPackage(pack.getSimpleName());
+		if (p1 != null && p1.getQualifiedName().equals(pack.getQualifiedName())) {
+			addAllTypes(pack, p1);
+			addAllPackages(pack, p1);
+			return (T) this;
 		}
 
 		pack.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, SUB_PACKAGE, this.packs, pack);
+		ModelChangeNotifier.getInstance().onSetAdd(this, SUB_PACKAGE, this.packs, pack);
 		this.packs.add(pack);
 
 		return (T) this;
@@ -120,7 +135,7 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 		if (packs == CtElementImpl.<CtPackage>emptySet()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(this, SUB_PACKAGE, packs, pack);
+		ModelChangeNotifier.getInstance().onSetDelete(this, SUB_PACKAGE, packs, pack);
 		return packs.remove(pack);
 	}
 
@@ -144,12 +159,7 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public CtPackage getPackage(String name) {
-		for (CtPackage p : packs) {
-			if (p.getSimpleName().equals(name)) {
-				return p;
-			}
-		}
-		return null;
+		return getContentIndex().packages.get(name);
 	}
 
 	@Override
@@ -159,22 +169,68 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public String getQualifiedName() {
-		if (getDeclaringPackage() == null || getDeclaringPackage().isUnnamedPackage()) {
-			return getSimpleName();
-		} else {
-			return getDeclaringPackage().getQualifiedName() + "." + getSimpleName();
+		CtPackage declaringPackage = getDeclaringPackage();
+		String parentName = null;
+		if (declaringPackage != null && !declaringPackage.isUnnamedPackage()) {
+			parentName = declaringPackage.getQualifiedName();
+		}
+		String simpleName = getSimpleName();
+		CachedQualifiedName cache = qualifiedNameCache;
+		if (cache == null || !cache.isComputedFrom(parentName, simpleName)) {
+			cache = new CachedQualifiedName(parentName, PACKAGE_SEPARATOR, simpleName);
+			qualifiedNameCache = cache;
 		}
+		return cache.getQualifiedName();
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T extends CtType<?>> T getType(String simpleName) {
-		for (CtType<?> t : types) {
-			if (t.getSimpleName().equals(simpleName)) {
-				return (T) t;
+		return (T) getContentIndex().types.get(simpleName);
+	}
+
+	private ContentIndex getContentIndex() {
+		ContentIndex index = contentIndex;
+		if (index == null) {
+			index = new ContentIndex(packs, types);
+			contentIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Discards the indexed content of the changed package, or of the package of the renamed package or type.
+	 * Called by {@link ModelCaches#invalidate} for each change of the model.
+	 */
+	static void invalidateContentIndex(CtElement element, CtRole role) {
+		CtElement pack = element;
+		if (role == CtRole.NAME && (element instanceof CtPackage || element instanceof CtType) && element.isParentInitialized()) {
+			pack = element.getParent();
+		}
+		if (pack instanceof CtPackageImpl) {
+			CtPackageImpl impl = (CtPackageImpl) pack;
+			if (impl.contentIndex != null) {
+				impl.contentIndex = null;
+			}
+		}
+	}
+
+	/**
+	 * The sub packages and the types of a package by simple name.
+	 */
+	private static class ContentIndex {
+		final Map<String, CtPackage> packages = new HashMap<>();
+		final Map<String, CtType<?>> types = new HashMap<>();
+
+		ContentIndex(Set<CtPackage> packs, Set<CtType<?>> types) {
+			// the first element with a given name is found, as done by a scan of the sorted sets
+			for (CtPackage p : packs) {
+				this.packages.putIfAbsent(p.getSimpleName(), p);
+			}
+			for (CtType<?> t : types) {
+				this.types.putIfAbsent(t.getSimpleName(), t);
 			}
 		}
-		return null;
 	}
 
 	@Override
@@ -184,11 +240,11 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public <T extends CtPackage> T setPackages(Set<CtPackage> packs) {
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, SUB_PACKAGE, this.packs, new HashSet<>(this.packs));
 		if (packs == null || packs.isEmpty()) {
 			this.packs = CtElementImpl.emptySet();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, SUB_PACKAGE, this.packs, new HashSet<>(this.packs));
 		this.packs.clear();
 		for (CtPackage p : packs) {
 			addPackage(p);
@@ -198,11 +254,11 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public <T extends CtPackage> T setTypes(Set<CtType<?>> types) {
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, CONTAINED_TYPE, this.types, new HashSet<>(this.types));
 		if (types == null || types.isEmpty()) {
 			this.types = CtElementImpl.emptySet();
 			return (T) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, CONTAINED_TYPE, this.types, new HashSet<>(this.types));
 		this.types.clear();
 		for (CtType<?> t : types) {
 			addType(t);
@@ -224,7 +280,7 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 			this.types = orderedTypeSet();
 		}
 		type.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, CONTAINED_TYPE, this.types, type);
+		ModelChangeNotifier.getInstance().onSetAdd(this, CONTAINED_TYPE, this.types, type);
 		types.add(type);
 		return (T) this;
 	}
@@ -234,7 +290,7 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 		if (types == CtElementImpl.<CtType<?>>emptySet()) {
 			return;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(this, CONTAINED_TYPE, types, type);
+		ModelChangeNotifier.getInstance().onSetDelete(this, CONTAINED_TYPE, types, type);
 		types.remove(type);
 	}
 
@@ -266,7 +322,7 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public <E extends CtShadowable> E setShadow(boolean isShadow) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, IS_SHADOW, isShadow, this.isShadow);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, IS_SHADOW, isShadow, this.isShadow);
 		this.isShadow = isShadow;
 		return (E) this;
 	}
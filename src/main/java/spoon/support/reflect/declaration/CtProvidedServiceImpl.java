@@ -5,6 +5,7 @@ import spoon.reflect.declaration.CtProvidedService;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -31,7 +32,7 @@ public class CtProvidedServiceImpl extends CtElementImpl implements CtProvidedSe
 		if (providingType != null) {
 			providingType.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.SERVICE_TYPE, providingType, this.serviceType);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.SERVICE_TYPE, providingType, this.serviceType);
 		this.serviceType = providingType;
 		return (T) this;
 	}
@@ -43,7 +44,7 @@ public class CtProvidedServiceImpl extends CtElementImpl implements CtProvidedSe
 
 	@Override
 	public <T extends CtProvidedService> T setImplementationTypes(List<CtTypeReference> usedTypes) {
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, CtRole.IMPLEMENTATION_TYPE, this.implementationTypes, new ArrayList<>(this.implementationTypes));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, CtRole.IMPLEMENTATION_TYPE, this.implementationTypes, new ArrayList<>(this.implementationTypes));
 		if (usedTypes == null || usedTypes.size() == 0) {
 			this.implementationTypes = CtElementImpl.emptyList();
 			return (T) this;
@@ -69,7 +70,7 @@ public class CtProvidedServiceImpl extends CtElementImpl implements CtProvidedSe
 			this.implementationTypes = new ArrayList<>();
 		}
 
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, CtRole.IMPLEMENTATION_TYPE, this.implementationTypes, usedType);
+		ModelChangeNotifier.getInstance().onListAdd(this, CtRole.IMPLEMENTATION_TYPE, this.implementationTypes, usedType);
 		usedType.setParent(this);
 		this.implementationTypes.add(usedType);
 		return (T) this;
@@ -23,6 +23,7 @@ import spoon.reflect.declaration.CtAnnotation;
 import spoon.reflect.declaration.CtAnnotationType;
 import spoon.reflect.declaration.CtAnonymousExecutable;
 import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtField;
 import spoon.reflect.declaration.CtFormalTypeDeclarer;
@@ -50,6 +51,7 @@ import spoon.reflect.visitor.filter.AllTypeMembersFunction;
 import spoon.reflect.visitor.filter.NamedElementFilter;
 import spoon.reflect.visitor.filter.ReferenceTypeFilter;
 import spoon.support.DerivedProperty;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.UnsettableProperty;
 import spoon.support.comparator.CtLineElementComparator;
 import spoon.support.compiler.SnippetCompilationHelper;
@@ -65,8 +67,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static spoon.reflect.ModelElementContainerDefaultCapacities.TYPE_TYPE_PARAMETERS_CONTAINER_DEFAULT_CAPACITY;
@@ -98,6 +102,18 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	@MetamodelPropertyField(role = {CtRole.TYPE_MEMBER, CtRole.FIELD, CtRole.CONSTRUCTOR, CtRole.ANNONYMOUS_EXECUTABLE, CtRole.METHOD, CtRole.NESTED_TYPE})
 	List<CtTypeMember> typeMembers = emptyList();
 
+	/**
+	 * The cached methods of this type, or null if they have to be indexed.
+	 * It is discarded by {@link #invalidateMethodIndex(CtElement)} when a member of this type,
+	 * or the signature of one of its methods, changes.
+	 */
+	private transient volatile MethodIndex methodIndex;
+
+	/**
+	 * The cached qualified name of this type, see {@link CachedQualifiedName}.
+	 */
+	private transient volatile CachedQualifiedName qualifiedNameCache;
+
 	public CtTypeImpl() {
 		super();
 	}
@@ -137,7 +153,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 			} else {
 				role = NESTED_TYPE;
 			}
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, role, this.typeMembers, position, member);
+			ModelChangeNotifier.getInstance().onListAdd(this, role, this.typeMembers, position, member);
 			this.typeMembers.add(position, member);
 		}
 		return (C) this;
@@ -159,7 +175,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 		}
 		if (typeMembers.size() == 1) {
 			if (typeMembers.contains(member)) {
-				getFactory().getEnvironment().getModelChangeListener().onListDelete(this, role, this.typeMembers, this.typeMembers.indexOf(member), member);
+				ModelChangeNotifier.getInstance().onListDelete(this, role, this.typeMembers, this.typeMembers.indexOf(member), member);
 				typeMembers = emptyList();
 				return true;
 			} else {
@@ -167,7 +183,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 			}
 		}
 		if (typeMembers.contains(member)) {
-			getFactory().getEnvironment().getModelChangeListener().onListDelete(this, role, this.typeMembers, this.typeMembers.indexOf(member), member);
+			ModelChangeNotifier.getInstance().onListDelete(this, role, this.typeMembers, this.typeMembers.indexOf(member), member);
 			return typeMembers.remove(member);
 		}
 		return false;
@@ -207,11 +223,11 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	@Override
 	public <C extends CtType<T>> C setFields(List<CtField<?>> fields) {
 		List<CtField<?>> oldFields = getFields();
+		ModelChangeNotifier.getInstance().onListDelete(this, FIELD, this.typeMembers, new ArrayList<>(oldFields));
 		if (fields == null || fields.isEmpty()) {
 			this.typeMembers.removeAll(oldFields);
 			return (C) this;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, FIELD, this.typeMembers, new ArrayList<>(oldFields));
 		typeMembers.removeAll(oldFields);
 		for (CtField<?> field : fields) {
 			addField(field);
@@ -271,7 +287,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	@Override
 	public <C extends CtType<T>> C setNestedTypes(Set<CtType<?>> nestedTypes) {
 		Set<CtType<?>> oldNestedTypes = getNestedTypes();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, NESTED_TYPE, typeMembers, oldNestedTypes);
+		ModelChangeNotifier.getInstance().onListDelete(this, NESTED_TYPE, typeMembers, oldNestedTypes);
 		if (nestedTypes == null || nestedTypes.isEmpty()) {
 			this.typeMembers.removeAll(oldNestedTypes);
 			return (C) this;
@@ -617,14 +633,14 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 			interfaces = new QualifiedNameBasedSortedSet<>();
 		}
 		interfac.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onSetAdd(this, INTERFACE, this.interfaces, interfac);
+		ModelChangeNotifier.getInstance().onSetAdd(this, INTERFACE, this.interfaces, interfac);
 		interfaces.add(interfac);
 		return (C) this;
 	}
 
 	@Override
 	public <S> boolean removeSuperInterface(CtTypeReference<S> interfac) {
-		getFactory().getEnvironment().getModelChangeListener().onSetDelete(this, INTERFACE, interfaces, interfac);
+		ModelChangeNotifier.getInstance().onSetDelete(this, INTERFACE, interfaces, interfac);
 		if (interfaces == CtElementImpl.<CtTypeReference<?>>emptySet()) {
 			return false;
 		} else if (interfaces.size() == 1) {
@@ -647,7 +663,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public <C extends CtFormalTypeDeclarer> C setFormalCtTypeParameters(List<CtTypeParameter> formalTypeParameters) {
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, TYPE_PARAMETER, formalCtTypeParameters, new ArrayList<>(formalCtTypeParameters));
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, TYPE_PARAMETER, formalCtTypeParameters, new ArrayList<>(formalCtTypeParameters));
 		if (formalTypeParameters == null || formalTypeParameters.isEmpty()) {
 			this.formalCtTypeParameters = CtElementImpl.emptyList();
 			return (C) this;
@@ -671,7 +687,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 			formalCtTypeParameters = new ArrayList<>(TYPE_TYPE_PARAMETERS_CONTAINER_DEFAULT_CAPACITY);
 		}
 		formalTypeParameter.setParent(this);
-		getFactory().getEnvironment().getModelChangeListener().onListAdd(this, TYPE_PARAMETER, this.formalCtTypeParameters, formalTypeParameter);
+		ModelChangeNotifier.getInstance().onListAdd(this, TYPE_PARAMETER, this.formalCtTypeParameters, formalTypeParameter);
 		formalCtTypeParameters.add(formalTypeParameter);
 		return (C) this;
 	}
@@ -681,32 +697,27 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 		if (formalCtTypeParameters == CtElementImpl.<CtTypeParameter>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, TYPE_PARAMETER, formalCtTypeParameters, formalCtTypeParameters.indexOf(formalTypeParameter), formalTypeParameter);
+		ModelChangeNotifier.getInstance().onListDelete(this, TYPE_PARAMETER, formalCtTypeParameters, formalCtTypeParameters.indexOf(formalTypeParameter), formalTypeParameter);
 		return formalCtTypeParameters.remove(formalTypeParameter);
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <R> CtMethod<R> getMethod(CtTypeReference<R> returnType, String name, CtTypeReference<?>... parameterTypes) {
-		for (CtTypeMember typeMember : typeMembers) {
-			if (!(typeMember instanceof CtMethod)) {
+		for (CtMethod<?> method : getMethodIndex().getMethodsByName(name)) {
+			CtMethod<R> m = (CtMethod<R>) method;
+			if (!m.getType().equals(returnType)) {
 				continue;
 			}
-			CtMethod<R> m = (CtMethod<R>) typeMember;
-			if (m.getSimpleName().equals(name)) {
-				if (!m.getType().equals(returnType)) {
-					continue;
-				}
-				boolean cont = m.getParameters().size() == parameterTypes.length;
-				for (int i = 0; cont && (i < m.getParameters().size()) && (i < parameterTypes.length); i++) {
-					if (!m.getParameters().get(i).getType().getQualifiedName().equals(parameterTypes[i].getQualifiedName())) {
-						cont = false;
-					}
-				}
-				if (cont) {
-					return m;
+			boolean cont = m.getParameters().size() == parameterTypes.length;
+			for (int i = 0; cont && (i < m.getParameters().size()) && (i < parameterTypes.length); i++) {
+				if (!m.getParameters().get(i).getType().getQualifiedName().equals(parameterTypes[i].getQualifiedName())) {
+					cont = false;
 				}
 			}
+			if (cont) {
+				return m;
+			}
 		}
 		return null;
 	}
@@ -792,23 +803,14 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public Set<CtMethod<?>> getMethods() {
-		Set<CtMethod<?>> methods = new SignatureBasedSortedSet<>();
-		for (CtTypeMember typeMember : typeMembers) {
-			if (typeMember instanceof CtMethod) {
-				methods.add((CtMethod<?>) typeMember);
-			}
-		}
-		return methods;
+		// the copy of a sorted set with the same comparator is built in linear time
+		return new SignatureBasedSortedSet<>(getMethodIndex().methods);
 	}
 
 	@Override
 	public Set<CtMethod<?>> getMethodsAnnotatedWith(CtTypeReference<?>... annotationTypes) {
 		Set<CtMethod<?>> result = new SignatureBasedSortedSet<>();
-		for (CtTypeMember typeMember : typeMembers) {
-			if (!(typeMember instanceof CtMethod)) {
-				continue;
-			}
-			CtMethod<?> m = (CtMethod<?>) typeMember;
+		for (CtMethod<?> m : getMethodIndex().methods) {
 			for (CtAnnotation<?> a : m.getAnnotations()) {
 				if (Arrays.asList(annotationTypes).contains(a.getAnnotationType())) {
 					result.add(m);
@@ -820,17 +822,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public List<CtMethod<?>> getMethodsByName(String name) {
-		List<CtMethod<?>> result = new ArrayList<>(1);
-		for (CtTypeMember typeMember : typeMembers) {
-			if (!(typeMember instanceof CtMethod)) {
-				continue;
-			}
-			CtMethod<?> m = (CtMethod<?>) typeMember;
-			if (name.equals(m.getSimpleName())) {
-				result.add(m);
-			}
-		}
-		return result;
+		return new ArrayList<>(getMethodIndex().getMethodsByName(name));
 	}
 
 
@@ -840,11 +832,8 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 			return false;
 		}
 
-		final String over = method.getSignature();
-		for (CtMethod<?> m : getMethods()) {
-			if (m.getSignature().equals(over)) {
-				return true;
-			}
+		if (getMethodIndex().signatures.contains(method.getSignature())) {
+			return true;
 		}
 
 		// Checking whether a super class has the method.
@@ -874,17 +863,26 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public String getQualifiedName() {
-		if (isTopLevel()) {
-			if (getPackage() != null && !getPackage().isUnnamedPackage()) {
-				return getPackage().getQualifiedName() + "." + getSimpleName();
-			} else {
-				return getSimpleName();
-			}
-		} else if (getDeclaringType() != null) {
-			return getDeclaringType().getQualifiedName() + INNERTTYPE_SEPARATOR + getSimpleName();
+		String parentName = null;
+		String separator = null;
+		CtType<?> declaringType = getDeclaringType();
+		if (declaringType != null) {
+			parentName = declaringType.getQualifiedName();
+			separator = INNERTTYPE_SEPARATOR;
 		} else {
-			return getSimpleName();
+			CtPackage pack = getPackage();
+			if (pack != null && !pack.isUnnamedPackage()) {
+				parentName = pack.getQualifiedName();
+				separator = CtPackage.PACKAGE_SEPARATOR;
+			}
+		}
+		String simpleName = getSimpleName();
+		CachedQualifiedName cache = qualifiedNameCache;
+		if (cache == null || !cache.isComputedFrom(parentName, simpleName)) {
+			cache = new CachedQualifiedName(parentName, separator, simpleName);
+			qualifiedNameCache = cache;
 		}
+		return cache.getQualifiedName();
 	}
 
 	@Override
@@ -895,7 +893,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	@Override
 	public <C extends CtType<T>> C setMethods(Set<CtMethod<?>> methods) {
 		Set<CtMethod<?>> allMethods = getMethods();
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, METHOD, this.typeMembers, new ArrayList(allMethods));
+		ModelChangeNotifier.getInstance().onListDelete(this, METHOD, this.typeMembers, new ArrayList(allMethods));
 		typeMembers.removeAll(allMethods);
 		if (methods == null || methods.isEmpty()) {
 			return (C) this;
@@ -915,6 +913,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public <C extends CtType<T>> C setSuperInterfaces(Set<CtTypeReference<?>> interfaces) {
+		ModelChangeNotifier.getInstance().onSetDeleteAll(this, INTERFACE, this.interfaces, new HashSet<>(this.interfaces));
 		if (interfaces == null || interfaces.isEmpty()) {
 			this.interfaces = CtElementImpl.emptySet();
 			return (C) this;
@@ -922,7 +921,6 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 		if (this.interfaces == CtElementImpl.<CtTypeReference<?>>emptySet()) {
 			this.interfaces = new QualifiedNameBasedSortedSet<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onSetDeleteAll(this, INTERFACE, this.interfaces, new HashSet<>(this.interfaces));
 		this.interfaces.clear();
 		for (CtTypeReference<?> anInterface : interfaces) {
 			addSuperInterface(anInterface);
@@ -932,11 +930,12 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public Collection<CtExecutableReference<?>> getDeclaredExecutables() {
-		if (getMethods().isEmpty()) {
+		Set<CtMethod<?>> methods = getMethodIndex().methods;
+		if (methods.isEmpty()) {
 			return Collections.emptyList();
 		}
-		List<CtExecutableReference<?>> l = new ArrayList<>(getMethods().size());
-		for (CtExecutable<?> m : getMethods()) {
+		List<CtExecutableReference<?>> l = new ArrayList<>(methods.size());
+		for (CtExecutable<?> m : methods) {
 			l.add(m.getReference());
 		}
 		return Collections.unmodifiableList(l);
@@ -970,6 +969,59 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 		return Collections.unmodifiableSet(l);
 	}
 
+	private MethodIndex getMethodIndex() {
+		MethodIndex index = methodIndex;
+		if (index == null) {
+			index = new MethodIndex(typeMembers);
+			methodIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Discards the cached methods of the given element if it is a type.
+	 * Called by {@link ModelCaches#invalidate} for each change of the model.
+	 */
+	static void invalidateMethodIndex(CtElement element) {
+		if (element instanceof CtTypeImpl) {
+			CtTypeImpl<?> type = (CtTypeImpl<?>) element;
+			if (type.methodIndex != null) {
+				type.methodIndex = null;
+			}
+		}
+	}
+
+	/**
+	 * The methods of a type, by signature and by name.
+	 */
+	private static class MethodIndex {
+		/**
+		 * the methods, sorted and unique by signature as returned by {@link #getMethods()}
+		 */
+		final SignatureBasedSortedSet<CtMethod<?>> methods = new SignatureBasedSortedSet<>();
+		final Set<String> signatures = new HashSet<>();
+		/**
+		 * name -> all the methods with this name, in the order of the type members
+		 */
+		final Map<String, List<CtMethod<?>>> methodsByName = new HashMap<>();
+
+		MethodIndex(List<CtTypeMember> typeMembers) {
+			for (CtTypeMember typeMember : typeMembers) {
+				if (typeMember instanceof CtMethod) {
+					CtMethod<?> method = (CtMethod<?>) typeMember;
+					if (signatures.add(method.getSignature())) {
+						methods.add(method);
+					}
+					methodsByName.computeIfAbsent(method.getSimpleName(), k -> new ArrayList<>(1)).add(method);
+				}
+			}
+		}
+
+		List<CtMethod<?>> getMethodsByName(String name) {
+			return methodsByName.getOrDefault(name, Collections.emptyList());
+		}
+	}
+
 	@Override
 	public CtTypeReference<?> getTypeErasure() {
 		return getReference();
@@ -985,7 +1037,7 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public <E extends CtShadowable> E setShadow(boolean isShadow) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, IS_SHADOW, isShadow, this.isShadow);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, IS_SHADOW, isShadow, this.isShadow);
 		this.isShadow = isShadow;
 		return (E) this;
 	}
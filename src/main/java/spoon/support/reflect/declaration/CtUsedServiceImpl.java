@@ -5,6 +5,7 @@ import spoon.reflect.declaration.CtUsedService;
 import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 public class CtUsedServiceImpl extends CtElementImpl implements CtUsedService {
 	@MetamodelPropertyField(role = CtRole.SERVICE_TYPE)
@@ -21,7 +22,7 @@ public class CtUsedServiceImpl extends CtElementImpl implements CtUsedService {
 			usedService.setParent(this);
 		}
 
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, CtRole.SERVICE_TYPE, usedService, this.serviceType);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, CtRole.SERVICE_TYPE, usedService, this.serviceType);
 		this.serviceType = usedService;
 		return (T) this;
 	}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.reflect.declaration;
+
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.path.CtRole;
+
+/**
+ * Discards the data cached by the elements of the model which depend on a changed element:
+ * the signatures of the executables, the methods of the types and the content of the packages.
+ * Called by {@link spoon.support.ModelChangeNotifier} for each change of the model.
+ */
+public final class ModelCaches {
+
+	private ModelCaches() {
+	}
+
+	/**
+	 * Discards the cached data which depend on the given element, whose given role is about to change.
+	 */
+	public static void invalidate(CtElement element, CtRole role) {
+		CtExecutableImpl.invalidateSignature(element, role);
+		CtTypeImpl.invalidateMethodIndex(element);
+		CtPackageImpl.invalidateContentIndex(element, role);
+	}
+}
@@ -21,6 +21,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtArrayTypeReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 
 import java.lang.reflect.Array;
 
@@ -65,7 +66,7 @@ CtArrayTypeReferenceImpl<T> extends CtTypeReferenceImpl<T> implements CtArrayTyp
 		if (componentType != null) {
 			componentType.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, TYPE, componentType, this.componentType);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, TYPE, componentType, this.componentType);
 		this.componentType = componentType;
 		return (C) this;
 	}
@@ -27,6 +27,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.util.RtHelper;
 
 import java.lang.reflect.AnnotatedElement;
@@ -195,21 +196,21 @@ public class CtFieldReferenceImpl<T> extends CtVariableReferenceImpl<T> implemen
 		if (declaringType != null) {
 			declaringType.setParent(this);
 		}
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, DECLARING_TYPE, declaringType, this.declaringType);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, DECLARING_TYPE, declaringType, this.declaringType);
 		this.declaringType = declaringType;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtFieldReference<T>> C setFinal(boolean fina) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, IS_FINAL, fina, this.fina);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, IS_FINAL, fina, this.fina);
 		this.fina = fina;
 		return (C) this;
 	}
 
 	@Override
 	public <C extends CtFieldReference<T>> C setStatic(boolean stat) {
-		getFactory().getEnvironment().getModelChangeListener().onObjectUpdate(this, IS_STATIC, stat, this.stat);
+		ModelChangeNotifier.getInstance().onObjectUpdate(this, IS_STATIC, stat, this.stat);
 		this.stat = stat;
 		return (C) this;
 	}
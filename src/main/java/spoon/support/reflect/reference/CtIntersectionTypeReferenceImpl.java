@@ -21,6 +21,7 @@ import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtIntersectionTypeReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.support.ModelChangeNotifier;
 import spoon.support.reflect.declaration.CtElementImpl;
 
 import java.util.ArrayList;
@@ -46,6 +47,7 @@ public class CtIntersectionTypeReferenceImpl<T> extends CtTypeReferenceImpl<T> i
 
 	@Override
 	public <C extends CtIntersectionTypeReference> C setBounds(List<CtTypeReference<?>> bounds) {
+		ModelChangeNotifier.getInstance().onListDeleteAll(this, BOUND, this.bounds, new ArrayList<>(this.bounds));
 		if (bounds == null || bounds.isEmpty()) {
 			this.bounds = CtElementImpl.emptyList();
 			return (C) this;
@@ -53,7 +55,6 @@ public class CtIntersectionTypeReferenceImpl<T> extends CtTypeReferenceImpl<T> i
 		if (this.bounds == CtElementImpl.<CtTypeReference<?>>emptySet()) {
 			this.bounds = new ArrayList<>();
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDeleteAll(this, BOUND, this.bounds, new ArrayList<>(this.bounds));
 		this.bounds.clear();
 		for (CtTypeReference<?> bound : bounds) {
 			addBound(bound);
@@ -71,7 +72,7 @@ public class CtIntersectionTypeReferenceImpl<T> extends CtTypeReferenceImpl<T> i
 		}
 		if (!bounds.contains(bound)) {
 			bound.setParent(this);
-			getFactory().getEnvironment().getModelChangeListener().onListAdd(this, BOUND, this.bounds, bound);
+			ModelChangeNotifier.getInstance().onListAdd(this, BOUND, this.bounds, bound);
 			bounds.add(bound);
 		}
 		return (C) this;
@@ -82,7 +83,7 @@ public class CtIntersectionTypeReferenceImpl<T> extends CtTypeReferenceImpl<T> i
 		if (bounds == CtElementImpl.<CtTypeReference<?>>emptyList()) {
 			return false;
 		}
-		getFactory().getEnvironment().getModelChangeListener().onListDelete(this, BOUND, bounds, bounds.indexOf(bound), bound);
+		ModelChangeNotifier.getInstance().onListDelete(this, BOUND, bounds, bounds.indexOf(bound), bound);
 		return bounds.remove(bound);
 	}
 
@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+/**
+ * Receives the metrics of the phases of Spoon (see {@link PhaseMetrics.Phase}).
+ *
+ * The listener is set with {@link spoon.compiler.Environment#setPerformanceListener(PerformanceListener)}.
+ * Some phases run in parallel (eg. the building of the model), so the listener must be thread-safe.
+ *
+ * @see PerformanceRecorder
+ */
+public interface PerformanceListener {
+
+	/**
+	 * Called at the end of each measured phase, in the thread which ran the phase.
+	 */
+	void onPhaseEnd(PhaseMetrics metrics);
+}
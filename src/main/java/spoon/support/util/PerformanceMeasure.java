@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import spoon.compiler.Environment;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.util.PhaseMetrics.Phase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collection;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures one run of a phase and reports it to the {@link PerformanceListener} of the environment:
+ * <pre>
+ * PerformanceMeasure measure = PerformanceMeasure.start(env, Phase.PROCESSING, name);
+ * ...
+ * measure.stop(processedElements);
+ * </pre>
+ * When the environment has no listener, nothing is measured and {@link #stop(int)} does nothing.
+ *
+ * A measure must be started and stopped in the same thread.
+ */
+public final class PerformanceMeasure {
+
+	private static final PerformanceMeasure DISABLED = new PerformanceMeasure(null, null, null);
+
+	/**
+	 * Starts to measure a phase.
+	 *
+	 * @param env the environment of the measured phase, may be null
+	 * @param phase the measured phase
+	 * @param name what is measured in the phase (eg. the processor class or the file name), may be null
+	 */
+	public static PerformanceMeasure start(Environment env, Phase phase, String name) {
+		PerformanceListener listener = env == null ? null : env.getPerformanceListener();
+		if (listener == null) {
+			return DISABLED;
+		}
+		return new PerformanceMeasure(listener, phase, name);
+	}
+
+	private final PerformanceListener listener;
+	private final Phase phase;
+	private final String name;
+	private final long startAllocatedBytes;
+	private final long startTime;
+
+	private PerformanceMeasure(PerformanceListener listener, Phase phase, String name) {
+		this.listener = listener;
+		this.phase = phase;
+		this.name = name;
+		this.startAllocatedBytes = listener == null ? PhaseMetrics.UNKNOWN : AllocationCounter.getAllocatedBytes();
+		this.startTime = listener == null ? 0 : System.nanoTime();
+	}
+
+	/**
+	 * @return true if the measure is reported to a listener
+	 */
+	public boolean isEnabled() {
+		return listener != null;
+	}
+
+	/**
+	 * Stops the measure and reports it to the listener.
+	 *
+	 * @param elementCount the number of elements handled by the phase
+	 */
+	public void stop(int elementCount) {
+		if (listener != null) {
+			long wallTime = System.nanoTime() - startTime;
+			report(wallTime, elementCount);
+		}
+	}
+
+	/**
+	 * Stops the measure and reports it to the listener.
+	 *
+	 * @param elementCounter computes the number of elements handled by the phase,
+	 * it is called after the measure is stopped and only if there is a listener
+	 */
+	public void stop(IntSupplier elementCounter) {
+		if (listener != null) {
+			long wallTime = System.nanoTime() - startTime;
+			report(wallTime, elementCounter.getAsInt());
+		}
+	}
+
+	private void report(long wallTime, long elementCount) {
+		long allocatedBytes = PhaseMetrics.UNKNOWN;
+		if (startAllocatedBytes != PhaseMetrics.UNKNOWN) {
+			allocatedBytes = AllocationCounter.getAllocatedBytes() - startAllocatedBytes;
+		}
+		listener.onPhaseEnd(new PhaseMetrics(phase, name, wallTime, elementCount, allocatedBytes));
+	}
+
+	/**
+	 * @return the number of elements of the given trees, including their roots
+	 */
+	public static int countElements(Collection<? extends CtElement> roots) {
+		ElementCounter counter = new ElementCounter();
+		counter.scan(roots);
+		return counter.count;
+	}
+
+	private static class ElementCounter extends CtScanner {
+		int count;
+
+		@Override
+		protected void enter(CtElement e) {
+			count++;
+		}
+	}
+
+	/**
+	 * Reads the memory allocated by the current thread, if supported by the JVM.
+	 * It is a nested class so that the management beans are only loaded when a measure is enabled.
+	 */
+	private static final class AllocationCounter {
+		private static final com.sun.management.ThreadMXBean THREAD_BEAN = getThreadBean();
+
+		private static com.sun.management.ThreadMXBean getThreadBean() {
+			try {
+				ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+				if (bean instanceof com.sun.management.ThreadMXBean) {
+					com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+					if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+						return sunBean;
+					}
+				}
+			} catch (LinkageError | SecurityException e) {
+				// not a HotSpot based JVM, the allocated memory is unknown
+			}
+			return null;
+		}
+
+		static long getAllocatedBytes() {
+			if (THREAD_BEAN == null) {
+				return PhaseMetrics.UNKNOWN;
+			}
+			return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+
+		private AllocationCounter() {
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import spoon.SpoonException;
+import spoon.support.util.PhaseMetrics.Phase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link PerformanceListener} which records all the metrics, so that they can be dumped as JSON
+ * by {@link #writeJson(File)}, for instance with the option --metrics of {@link spoon.Launcher}.
+ *
+ * The JSON object contains the totals of each phase ("phases") and the recorded metrics in order ("metrics").
+ *
+ * This class is thread-safe.
+ */
+public class PerformanceRecorder implements PerformanceListener {
+
+	private final Queue<PhaseMetrics> metrics = new ConcurrentLinkedQueue<>();
+
+	@Override
+	public void onPhaseEnd(PhaseMetrics metrics) {
+		this.metrics.add(metrics);
+	}
+
+	/**
+	 * @return the recorded metrics, in the order of the end of the phases
+	 */
+	public List<PhaseMetrics> getMetrics() {
+		return new ArrayList<>(metrics);
+	}
+
+	/**
+	 * @return the sum of the metrics of each recorded phase, without name.
+	 * The allocated bytes are {@link PhaseMetrics#UNKNOWN} if they are unknown for one run of the phase.
+	 */
+	public Map<Phase, PhaseMetrics> getTotals() {
+		return getTotals(getMetrics());
+	}
+
+	private static Map<Phase, PhaseMetrics> getTotals(List<PhaseMetrics> recorded) {
+		Map<Phase, PhaseMetrics> totals = new EnumMap<>(Phase.class);
+		for (PhaseMetrics m : recorded) {
+			PhaseMetrics total = totals.get(m.getPhase());
+			if (total == null) {
+				totals.put(m.getPhase(), new PhaseMetrics(m.getPhase(), null, m.getWallTimeNanos(), m.getElementCount(), m.getAllocatedBytes()));
+			} else {
+				long allocatedBytes = PhaseMetrics.UNKNOWN;
+				if (total.getAllocatedBytes() != PhaseMetrics.UNKNOWN && m.getAllocatedBytes() != PhaseMetrics.UNKNOWN) {
+					allocatedBytes = total.getAllocatedBytes() + m.getAllocatedBytes();
+				}
+				totals.put(m.getPhase(), new PhaseMetrics(m.getPhase(), null,
+						total.getWallTimeNanos() + m.getWallTimeNanos(),
+						total.getElementCount() + m.getElementCount(),
+						allocatedBytes));
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Removes all the recorded metrics.
+	 */
+	public void clear() {
+		metrics.clear();
+	}
+
+	/**
+	 * @return the recorded metrics as a JSON object
+	 */
+	public String toJson() {
+		try {
+			return createMapper().writeValueAsString(toJsonTree());
+		} catch (IOException e) {
+			throw new SpoonException("Cannot convert the metrics to JSON", e);
+		}
+	}
+
+	/**
+	 * Writes the recorded metrics as a JSON object to the given file.
+	 */
+	public void writeJson(File file) {
+		try {
+			createMapper().writeValue(file, toJsonTree());
+		} catch (IOException e) {
+			throw new SpoonException("Cannot write the metrics to " + file, e);
+		}
+	}
+
+	private Map<String, Object> toJsonTree() {
+		List<PhaseMetrics> recorded = getMetrics();
+		Map<Phase, Integer> counts = new EnumMap<>(Phase.class);
+		for (PhaseMetrics m : recorded) {
+			counts.merge(m.getPhase(), 1, Integer::sum);
+		}
+		Map<String, Object> phases = new LinkedHashMap<>();
+		for (Map.Entry<Phase, PhaseMetrics> total : getTotals(recorded).entrySet()) {
+			Map<String, Object> phase = toJsonTree(total.getValue());
+			phase.remove("name");
+			phase.put("count", counts.get(total.getKey()));
+			phases.put(total.getKey().name(), phase);
+		}
+		List<Map<String, Object>> all = new ArrayList<>(recorded.size());
+		for (PhaseMetrics m : recorded) {
+			all.add(toJsonTree(m));
+		}
+		Map<String, Object> tree = new LinkedHashMap<>();
+		tree.put("phases", phases);
+		tree.put("metrics", all);
+		return tree;
+	}
+
+	private static Map<String, Object> toJsonTree(PhaseMetrics m) {
+		Map<String, Object> tree = new LinkedHashMap<>();
+		tree.put("phase", m.getPhase().name());
+		tree.put("name", m.getName());
+		tree.put("wallTimeNanos", m.getWallTimeNanos());
+		tree.put("elementCount", m.getElementCount());
+		tree.put("allocatedBytes", m.getAllocatedBytes());
+		return tree;
+	}
+
+	private static ObjectMapper createMapper() {
+		return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+/**
+ * The metrics of one run of a phase of Spoon, reported to a {@link PerformanceListener}.
+ */
+public class PhaseMetrics {
+
+	/**
+	 * The measured phases. The element count of each phase is documented by its constant.
+	 */
+	public enum Phase {
+		/**
+		 * Parsing and resolution of the sources by JDT, counts the compilation units
+		 */
+		JDT_COMPILE,
+		/**
+		 * Conversion of a JDT compilation unit to the Spoon model by {@link spoon.support.compiler.jdt.JDTTreeBuilder}, counts the built elements
+		 */
+		TREE_BUILDING,
+		/**
+		 * Attachment of the comments of a compilation unit to the model, counts the comments
+		 */
+		COMMENT_BUILDING,
+		/**
+		 * Computation of the imports of the model or of a printed file, counts the imports
+		 */
+		IMPORT_COMPUTATION,
+		/**
+		 * Processing of the model by one processor, counts the processed elements
+		 */
+		PROCESSING,
+		/**
+		 * Pretty printing of a compilation unit, including the computation of its imports, counts the printed elements
+		 */
+		PRETTY_PRINTING,
+		/**
+		 * Writing of a printed compilation unit to a file, counts the written characters
+		 */
+		FILE_OUTPUT,
+		/**
+		 * Compilation of the model to bytecode, counts the compiled types
+		 */
+		BYTECODE_COMPILE
+	}
+
+	/**
+	 * The value of {@link #getAllocatedBytes()} when the JVM cannot measure the allocated memory
+	 */
+	public static final long UNKNOWN = -1;
+
+	private final Phase phase;
+	private final String name;
+	private final long wallTimeNanos;
+	private final long elementCount;
+	private final long allocatedBytes;
+
+	public PhaseMetrics(Phase phase, String name, long wallTimeNanos, long elementCount, long allocatedBytes) {
+		this.phase = phase;
+		this.name = name;
+		this.wallTimeNanos = wallTimeNanos;
+		this.elementCount = elementCount;
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	/**
+	 * @return what was measured in the phase (eg. the processor class or the file name), or null
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the elapsed time of the phase in nanoseconds
+	 */
+	public long getWallTimeNanos() {
+		return wallTimeNanos;
+	}
+
+	/**
+	 * @return the number of elements handled by the phase, see {@link Phase}
+	 */
+	public long getElementCount() {
+		return elementCount;
+	}
+
+	/**
+	 * @return the number of bytes allocated by the thread of the phase, or {@link #UNKNOWN}
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		return phase + (name == null ? "" : " " + name) + ": " + (wallTimeNanos / 1000000) + " ms, "
+				+ elementCount + " elements, " + allocatedBytes + " bytes";
+	}
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.code.CtBinaryOperator;
+import spoon.reflect.code.CtComment;
+import spoon.reflect.code.CtLiteral;
+import spoon.reflect.code.CtOperatorAssignment;
+import spoon.reflect.code.CtUnaryOperator;
+import spoon.reflect.declaration.CtCodeSnippet;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtModifiable;
+import spoon.reflect.declaration.CtNamedElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtReference;
+import spoon.reflect.visitor.CtScanner;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of the strings returned by {@link CtElement#toString()} for the elements of a model,
+ * enabled by {@link spoon.compiler.Environment#setToStringCacheSize(int)}.
+ *
+ * The printed string of an element can depend on any element of the model, e.g. the name of a constructor
+ * is the name of its declaring type, so the cached strings are only returned as long as the model is not changed,
+ * see {@link #onChange()}, and for the print settings they were printed with.
+ * As the collections returned by some getters can be changed without notifying the change,
+ * e.g. the statements of a block, a cached string is also only returned if the fingerprint of the printed element,
+ * computed by a scan of its content, has not changed.
+ * The least recently used strings are removed when the cache is full.
+ *
+ * This class is thread-safe.
+ */
+public class PrintedStringCache {
+
+	/**
+	 * @return the cache of the model of the given factory, or null if the model cannot cache its printed strings
+	 * @see CtModelImpl#getPrintedStringCache()
+	 */
+	public static PrintedStringCache of(Factory factory) {
+		CtModel model = factory.getModel();
+		if (model instanceof CtModelImpl) {
+			return ((CtModelImpl) model).getPrintedStringCache();
+		}
+		return null;
+	}
+
+	/**
+	 * @return the cache of the model of the given factory, or null if it has not been created
+	 * @see CtModelImpl#getCreatedPrintedStringCache()
+	 */
+	public static PrintedStringCache ifCreated(Factory factory) {
+		CtModel model = factory.getModel();
+		if (model instanceof CtModelImpl) {
+			return ((CtModelImpl) model).getCreatedPrintedStringCache();
+		}
+		return null;
+	}
+
+	/**
+	 * An element compared by identity, as {@link CtElement#equals(Object)} compares the content of the elements.
+	 */
+	private static final class Key {
+		final CtElement element;
+
+		Key(CtElement element) {
+			this.element = element;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(element);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).element == element;
+		}
+	}
+
+	private static final class PrintedString {
+		final long settings;
+		final long modificationCount;
+		final long fingerprint;
+		final String value;
+
+		PrintedString(long settings, long modificationCount, long fingerprint, String value) {
+			this.settings = settings;
+			this.modificationCount = modificationCount;
+			this.fingerprint = fingerprint;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Computes a value which changes when the kind, the name, the modifiers or the value of any element
+	 * of the scanned content changes, or when an element is added, removed or moved.
+	 */
+	private static final class Fingerprint extends CtScanner {
+		private long value = 1;
+
+		private void add(Object o) {
+			value = 31 * value + (o == null ? 0 : o.hashCode());
+		}
+
+		@Override
+		public void enter(CtElement e) {
+			add(e.getClass());
+			if (e instanceof CtNamedElement) {
+				add(((CtNamedElement) e).getSimpleName());
+			} else if (e instanceof CtReference) {
+				add(((CtReference) e).getSimpleName());
+			}
+			if (e instanceof CtModifiable) {
+				add(((CtModifiable) e).getModifiers());
+			}
+			if (e instanceof CtLiteral) {
+				add(((CtLiteral<?>) e).getValue());
+			} else if (e instanceof CtUnaryOperator) {
+				add(((CtUnaryOperator<?>) e).getKind());
+			} else if (e instanceof CtBinaryOperator) {
+				add(((CtBinaryOperator<?>) e).getKind());
+			} else if (e instanceof CtOperatorAssignment) {
+				add(((CtOperatorAssignment<?, ?>) e).getKind());
+			} else if (e instanceof CtComment) {
+				add(((CtComment) e).getContent());
+			} else if (e instanceof CtCodeSnippet) {
+				add(((CtCodeSnippet) e).getValue());
+			}
+		}
+
+		@Override
+		public void exit(CtElement e) {
+			// marks the end of the children, so that moving an element to a parent or a sibling changes the value
+			add(null);
+		}
+	}
+
+	private static long getFingerprint(CtElement element) {
+		Fingerprint fingerprint = new Fingerprint();
+		fingerprint.scan(element);
+		return fingerprint.value;
+	}
+
+	/**
+	 * The number of changes of the model, the cached strings printed before the last change are not returned.
+	 */
+	private final AtomicLong modificationCount = new AtomicLong();
+
+	private int maxSize;
+
+	private final Map<Key, PrintedString> strings = new LinkedHashMap<Key, PrintedString>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, PrintedString> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+	/**
+	 * @param settings the print settings, see {@link #put(CtElement, long, String, int)}
+	 * @return the cached string of the element printed with the given settings, or null
+	 */
+	public String get(CtElement element, long settings) {
+		PrintedString entry;
+		synchronized (this) {
+			entry = strings.get(new Key(element));
+		}
+		if (entry != null && entry.settings == settings && entry.modificationCount == modificationCount.get()
+				&& entry.fingerprint == getFingerprint(element)) {
+			return entry.value;
+		}
+		return null;
+	}
+
+	/**
+	 * @return the number of changes of the model, to be read before printing a string given to {@link #put(CtElement, long, long, String, int)}
+	 */
+	public long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	/**
+	 * Caches the printed string of an element.
+	 *
+	 * @param settings a value which is different for each combination of the settings which change the printed string
+	 * @param modificationCount the value of {@link #getModificationCount()} before the string was printed,
+	 * the string is not cached if the model has been changed since
+	 * @param maxSize the maximum number of cached strings
+	 */
+	public void put(CtElement element, long settings, long modificationCount, String value, int maxSize) {
+		PrintedString entry = new PrintedString(settings, modificationCount, getFingerprint(element), value);
+		synchronized (this) {
+			this.maxSize = maxSize;
+			if (modificationCount == this.modificationCount.get()) {
+				strings.put(new Key(element), entry);
+			}
+		}
+	}
+
+	/**
+	 * Discards all the cached strings, before a change of the model.
+	 * The strings are not removed, they are replaced by newer strings or removed when the cache is full.
+	 */
+	public void onChange() {
+		modificationCount.incrementAndGet();
+	}
+
+	/**
+	 * @return the number of cached strings
+	 */
+	public synchronized int size() {
+		return strings.size();
+	}
+
+	/**
+	 * Removes all the cached strings.
+	 */
+	public synchronized void clear() {
+		strings.clear();
+	}
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.path.CtRole;
+import spoon.reflect.visitor.EarlyTerminatingScanner;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caches the types and packages of a model by qualified name, including the nested,
+ * local and anonymous types (eg. "a.B$1"), as well as the list of all top-level types.
+ *
+ * The types and packages are indexed the first time they are looked up. The index
+ * is kept up to date by {@link #onChange(CtElement, CtRole, Object)}, which is called
+ * for each change of the model: the index is cleared when a type or a package is
+ * renamed or removed, so a looked up element is always part of the model with the
+ * looked up name.
+ *
+ * This class is thread-safe, so that the model can be queried in parallel.
+ */
+public class QualifiedNameIndex {
+
+	/**
+	 * @return the index of the model of the given factory, or null if the model cannot be indexed
+	 * @see CtModelImpl#getQualifiedNameIndex()
+	 */
+	public static QualifiedNameIndex of(Factory factory) {
+		CtModel model = factory.getModel();
+		if (model instanceof CtModelImpl) {
+			return ((CtModelImpl) model).getQualifiedNameIndex();
+		}
+		return null;
+	}
+
+	private final Map<String, CtType<?>> types = new ConcurrentHashMap<>();
+
+	private final Map<String, CtPackage> packages = new ConcurrentHashMap<>();
+
+	private volatile List<CtType<?>> allTypes;
+
+	/**
+	 * incremented when the index is cleared, so that an element resolved meanwhile is not indexed
+	 */
+	private final AtomicLong clearCount = new AtomicLong();
+
+	/**
+	 * @param qualifiedName the qualified name of the type
+	 * @param resolver computes the type when it is not indexed, may return null
+	 * @return the type with the given qualified name, or null if the resolver did not find it
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CtType<T> getType(String qualifiedName, Function<String, CtType<T>> resolver) {
+		CtType<?> type = types.get(qualifiedName);
+		if (type == null) {
+			long count = clearCount.get();
+			type = resolver.apply(qualifiedName);
+			if (type != null) {
+				types.put(qualifiedName, type);
+				if (clearCount.get() != count) {
+					// the type may have been removed from the model (e.g. evicted by MappedModelStore) while it was resolved
+					types.remove(qualifiedName, type);
+				}
+			}
+		}
+		return (CtType<T>) type;
+	}
+
+	/**
+	 * @param qualifiedName the qualified name of the package
+	 * @param resolver computes the package when it is not indexed, may return null
+	 * @return the package with the given qualified name, or null if the resolver did not find it
+	 */
+	public CtPackage getPackage(String qualifiedName, Function<String, CtPackage> resolver) {
+		CtPackage pack = packages.get(qualifiedName);
+		if (pack == null) {
+			long count = clearCount.get();
+			pack = resolver.apply(qualifiedName);
+			if (pack != null) {
+				packages.put(qualifiedName, pack);
+				if (clearCount.get() != count) {
+					packages.remove(qualifiedName, pack);
+				}
+			}
+		}
+		return pack;
+	}
+
+	/**
+	 * @param collector computes the top-level types of the model when they are not cached
+	 * @return the unmodifiable list of the top-level types of the model
+	 */
+	public List<CtType<?>> getAllTypes(Supplier<List<CtType<?>>> collector) {
+		List<CtType<?>> result = allTypes;
+		if (result == null) {
+			long count = clearCount.get();
+			result = Collections.unmodifiableList(collector.get());
+			allTypes = result;
+			if (clearCount.get() != count) {
+				allTypes = null;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Updates the index before a change of the model.
+	 *
+	 * @param element the changed element
+	 * @param role the changed role of the element
+	 * @param oldValue the value which is removed or replaced by the change, if any
+	 */
+	public void onChange(CtElement element, CtRole role, Object oldValue) {
+		boolean renamed = role == CtRole.NAME && (element instanceof CtType || element instanceof CtPackage);
+		if (renamed || element instanceof CtPackage || element instanceof CtModule) {
+			clearCount.incrementAndGet();
+			allTypes = null;
+		}
+		if (types.isEmpty() && packages.isEmpty()) {
+			return;
+		}
+		if (renamed || containsTypeOrPackage(oldValue)) {
+			clear();
+		}
+	}
+
+	/**
+	 * Removes all the indexed elements.
+	 */
+	public void clear() {
+		clearCount.incrementAndGet();
+		types.clear();
+		packages.clear();
+		allTypes = null;
+	}
+
+	/**
+	 * @return true if the value is or contains a type or a package
+	 */
+	static boolean containsTypeOrPackage(Object value) {
+		if (value instanceof CtElement) {
+			TypeOrPackageFinder finder = new TypeOrPackageFinder();
+			finder.scan((CtElement) value);
+			return finder.getResult() != null;
+		} else if (value instanceof Collection) {
+			for (Object item : (Collection<?>) value) {
+				if (containsTypeOrPackage(item)) {
+					return true;
+				}
+			}
+		} else if (value instanceof Map) {
+			return containsTypeOrPackage(((Map<?, ?>) value).values());
+		}
+		return false;
+	}
+
+	private static class TypeOrPackageFinder extends EarlyTerminatingScanner<CtElement> {
+		@Override
+		public void scan(CtElement element) {
+			if (element instanceof CtType || element instanceof CtPackage) {
+				setResult(element);
+				terminate();
+				return;
+			}
+			super.scan(element);
+		}
+	}
+}
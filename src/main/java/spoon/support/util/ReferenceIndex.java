@@ -0,0 +1,256 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.path.CtRole;
+import spoon.reflect.reference.CtExecutableReference;
+import spoon.reflect.reference.CtFieldReference;
+import spoon.reflect.reference.CtReference;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.visitor.CtScanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the type, field and executable references of a model by the name of the referenced declaration,
+ * so that the usages of a declaration are found without scanning the whole model.
+ *
+ * The index is built by one scan of the model the first time it is queried, if
+ * {@link spoon.compiler.Environment#isReferenceIndexEnabled()}. It is kept up to date by
+ * {@link #onChange(CtElement, CtRole, Object, Object)}, which is called for each change of the model:
+ * the references of the added elements are indexed, the ones of the removed elements are removed,
+ * and a changed reference is indexed again with its new name.
+ *
+ * The index finds the references by name only: the clients check that a found reference
+ * really refers to the declaration, as a scan of the model would do.
+ *
+ * This class is thread-safe.
+ */
+public class ReferenceIndex {
+
+	/**
+	 * @return the index of the model of the given factory, or null if the references of the model are not indexed
+	 * @see CtModelImpl#getReferenceIndex()
+	 */
+	public static ReferenceIndex of(Factory factory) {
+		CtModel model = factory.getModel();
+		if (model instanceof CtModelImpl) {
+			return ((CtModelImpl) model).getReferenceIndex();
+		}
+		return null;
+	}
+
+	private final CtModel model;
+
+	/**
+	 * key -> the references with this key, see {@link #getKey(CtReference)}. Null until the index is built.
+	 */
+	private Map<String, Set<CtReference>> references;
+
+	/**
+	 * indexed reference -> its key
+	 */
+	private final Map<CtReference, String> keys = new IdentityHashMap<>();
+
+	/**
+	 * the indexed references whose key may have changed, they are indexed again by the next query
+	 */
+	private final Set<CtReference> changedReferences = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	public ReferenceIndex(CtModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * @param qualifiedName the qualified name of a type
+	 * @return the references to this type in the model
+	 */
+	@SuppressWarnings("unchecked")
+	public List<CtTypeReference<?>> getTypeReferences(String qualifiedName) {
+		return (List) getReferences("type " + qualifiedName);
+	}
+
+	/**
+	 * @param declaringType the qualified name of the type declaring the field
+	 * @param simpleName the name of the field
+	 * @return the references to this field in the model
+	 */
+	@SuppressWarnings("unchecked")
+	public List<CtFieldReference<?>> getFieldReferences(String declaringType, String simpleName) {
+		return (List) getReferences("field " + declaringType + "#" + simpleName);
+	}
+
+	/**
+	 * @param declaringType the qualified name of the type declaring the executable
+	 * @param simpleName the name of the method, or {@link CtExecutableReference#CONSTRUCTOR_NAME}
+	 * @return the references to the executables of the type with this name in the model, whatever their parameters
+	 */
+	@SuppressWarnings("unchecked")
+	public List<CtExecutableReference<?>> getExecutableReferences(String declaringType, String simpleName) {
+		return (List) getReferences("executable " + declaringType + "#" + simpleName);
+	}
+
+	private synchronized List<CtReference> getReferences(String key) {
+		if (references == null) {
+			references = new HashMap<>();
+			add(model.getUnnamedModule());
+		} else if (!changedReferences.isEmpty()) {
+			for (CtReference reference : changedReferences) {
+				remove(reference);
+				index(reference);
+			}
+			changedReferences.clear();
+		}
+		Set<CtReference> result = references.get(key);
+		return result == null ? Collections.<CtReference>emptyList() : new ArrayList<>(result);
+	}
+
+	/**
+	 * Updates the index before a change of the model.
+	 *
+	 * @param element the changed element
+	 * @param role the changed role of the element
+	 * @param newValue the value which is added by the change, if any
+	 * @param oldValue the value which is removed or replaced by the change, if any
+	 */
+	public synchronized void onChange(CtElement element, CtRole role, Object newValue, Object oldValue) {
+		if (references == null) {
+			return;
+		}
+		removeAll(oldValue);
+		//the key of a reference depends on its children, eg. its package or declaring type
+		for (CtElement e = element; e instanceof CtReference; e = e.isParentInitialized() ? e.getParent() : null) {
+			if (keys.containsKey(e)) {
+				changedReferences.add((CtReference) e);
+			}
+		}
+		if (newValue != null && isInModel(element)) {
+			addAll(newValue);
+		}
+	}
+
+	/**
+	 * Removes all the indexed references, the index is built again by the next query.
+	 */
+	public synchronized void clear() {
+		references = null;
+		keys.clear();
+		changedReferences.clear();
+	}
+
+	private boolean isInModel(CtElement element) {
+		CtElement e = element;
+		while (e.isParentInitialized()) {
+			e = e.getParent();
+		}
+		return e == model.getUnnamedModule();
+	}
+
+	private void addAll(Object value) {
+		if (value instanceof CtElement) {
+			add((CtElement) value);
+		} else if (value instanceof Collection) {
+			for (Object item : (Collection<?>) value) {
+				addAll(item);
+			}
+		} else if (value instanceof Map) {
+			addAll(((Map<?, ?>) value).values());
+		}
+	}
+
+	private void removeAll(Object value) {
+		if (value instanceof CtElement) {
+			new CtScanner() {
+				@Override
+				public void scan(CtElement element) {
+					if (element instanceof CtReference) {
+						remove((CtReference) element);
+						changedReferences.remove(element);
+					}
+					super.scan(element);
+				}
+			}.scan((CtElement) value);
+		} else if (value instanceof Collection) {
+			for (Object item : (Collection<?>) value) {
+				removeAll(item);
+			}
+		} else if (value instanceof Map) {
+			removeAll(((Map<?, ?>) value).values());
+		}
+	}
+
+	private void add(CtElement element) {
+		new CtScanner() {
+			@Override
+			public void scan(CtElement element) {
+				if (element instanceof CtReference) {
+					index((CtReference) element);
+				}
+				super.scan(element);
+			}
+		}.scan(element);
+	}
+
+	private void index(CtReference reference) {
+		String key = getKey(reference);
+		if (key != null) {
+			keys.put(reference, key);
+			//the references are equal by value, so they are kept by identity
+			references.computeIfAbsent(key, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(reference);
+		}
+	}
+
+	private void remove(CtReference reference) {
+		String key = keys.remove(reference);
+		if (key != null) {
+			Set<CtReference> indexed = references.get(key);
+			indexed.remove(reference);
+			if (indexed.isEmpty()) {
+				references.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * @return the key of the reference in the index, or null if this kind of reference is not indexed
+	 */
+	private static String getKey(CtReference reference) {
+		if (reference instanceof CtFieldReference) {
+			CtTypeReference<?> declaringType = ((CtFieldReference<?>) reference).getDeclaringType();
+			return "field " + (declaringType == null ? "" : declaringType.getQualifiedName()) + "#" + reference.getSimpleName();
+		}
+		if (reference instanceof CtExecutableReference) {
+			CtTypeReference<?> declaringType = ((CtExecutableReference<?>) reference).getDeclaringType();
+			return "executable " + (declaringType == null ? "" : declaringType.getQualifiedName()) + "#" + reference.getSimpleName();
+		}
+		if (reference instanceof CtTypeReference) {
+			return "type " + ((CtTypeReference<?>) reference).getQualifiedName();
+		}
+		return null;
+	}
+}
@@ -23,7 +23,11 @@ import java.util.List;
 
 /**
  * A utility class for performance statistics of Spoon.
+ *
+ * @deprecated this timer is neither thread-safe nor used by Spoon anymore. The phases of Spoon are measured
+ * by {@link PerformanceMeasure}, see {@link spoon.compiler.Environment#setPerformanceListener(PerformanceListener)}.
  */
+@Deprecated
 public class Timer {
 	private static List<Timer> timestamps = new ArrayList<>();
 
@@ -0,0 +1,372 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import spoon.Launcher;
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.code.CtCodeElement;
+import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtModule;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.CtTypeMember;
+import spoon.reflect.declaration.CtTypeParameter;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.path.CtRole;
+import spoon.reflect.reference.CtReference;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.visitor.EarlyTerminatingScanner;
+import spoon.reflect.visitor.chain.CtConsumer;
+import spoon.reflect.visitor.filter.SuperInheritanceHierarchyFunction;
+import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.SpoonClassNotFoundException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the type hierarchy of a model:
+ * <ul>
+ * <li>the qualified names of all the super classes and super interfaces of a type,
+ * computed once per type as done by {@link SuperInheritanceHierarchyFunction}</li>
+ * <li>the direct sub types of each type, built once for all the types of the model.</li>
+ * </ul>
+ * The index is kept up to date by {@link #onChange(CtElement, CtRole, Object, Object)},
+ * which is called for each change of the model: the cached hierarchy is dropped when
+ * a type is added, removed or renamed, or when its super class or super interfaces change.
+ *
+ * This class is thread-safe, so that the model can be queried in parallel.
+ */
+public class TypeHierarchyIndex {
+
+	/**
+	 * @return the index of the model of the given factory, or null if the model cannot be indexed
+	 * @see CtModelImpl#getTypeHierarchyIndex()
+	 */
+	public static TypeHierarchyIndex of(Factory factory) {
+		CtModel model = factory.getModel();
+		if (model instanceof CtModelImpl) {
+			return ((CtModelImpl) model).getTypeHierarchyIndex();
+		}
+		return null;
+	}
+
+	private final CtModel model;
+
+	/**
+	 * qualified name of a type -> qualified names of the type, its super classes and its super interfaces
+	 */
+	private final Map<String, Set<String>> superTypes = new ConcurrentHashMap<>();
+
+	private volatile Hierarchy hierarchy;
+
+	public TypeHierarchyIndex(CtModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * @param type a reference to a class or an interface (neither an array nor a type parameter)
+	 * @return the unmodifiable set of the qualified names of the type and all its super classes and super interfaces
+	 */
+	public Set<String> getSuperTypes(CtTypeReference<?> type) {
+		String qualifiedName = type.getQualifiedName();
+		Set<String> result = superTypes.get(qualifiedName);
+		if (result == null) {
+			Set<String> names = new HashSet<>();
+			type.map(new SuperInheritanceHierarchyFunction().includingSelf(true).returnTypeReferences(true))
+				.forEach(new CtConsumer<CtTypeReference<?>>() {
+					@Override
+					public void accept(CtTypeReference<?> superType) {
+						names.add(superType.getQualifiedName());
+					}
+				});
+			result = Collections.unmodifiableSet(names);
+			superTypes.put(qualifiedName, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Calls `outputConsumer.accept(subType)` for each type of the model which extends or implements
+	 * one of `superTypes`, and for each type between this sub type and the super type in the
+	 * inheritance hierarchy. The qualified names of the sent types are added to `superTypes`,
+	 * so that the already found types are not sent again by a next call.
+	 *
+	 * @param superTypes the qualified names of the super types
+	 * @param includingInterfaces if false, the interfaces of the model are sent only if they are between a class and a super type
+	 * @param outputConsumer the consumer of the sub types
+	 */
+	public <T extends CtType<?>> void forEachSubType(Set<String> superTypes, boolean includingInterfaces, CtConsumer<T> outputConsumer) {
+		getHierarchy().forEachSubType(superTypes, includingInterfaces, outputConsumer);
+	}
+
+	/**
+	 * Updates the index before a change of the model.
+	 *
+	 * @param element the changed element
+	 * @param role the changed role of the element
+	 * @param newValue the value which is added by the change, if any
+	 * @param oldValue the value which is removed or replaced by the change, if any
+	 */
+	public void onChange(CtElement element, CtRole role, Object newValue, Object oldValue) {
+		if (superTypes.isEmpty() && hierarchy == null) {
+			return;
+		}
+		// an added type may be the declaration of a super type which could not be resolved before
+		if (changesHierarchy(element, role) || containsType(oldValue) || containsType(newValue)) {
+			clear();
+		}
+	}
+
+	/**
+	 * Removes all the cached hierarchy.
+	 */
+	public void clear() {
+		superTypes.clear();
+		hierarchy = null;
+	}
+
+	private static boolean changesHierarchy(CtElement element, CtRole role) {
+		if (element instanceof CtType || element instanceof CtPackage) {
+			return role == CtRole.NAME || role == CtRole.SUPER_TYPE || role == CtRole.INTERFACE;
+		}
+		if (element instanceof CtReference) {
+			// a reference used as super type may be changed
+			CtElement reference = element;
+			while (reference.isParentInitialized() && reference.getParent() instanceof CtReference) {
+				reference = reference.getParent();
+			}
+			if (reference.isParentInitialized() && reference.getParent() instanceof CtType) {
+				CtType<?> type = (CtType<?>) reference.getParent();
+				if (type.getSuperclass() == reference) {
+					return true;
+				}
+				for (CtTypeReference<?> superInterface : type.getSuperInterfaces()) {
+					if (superInterface == reference) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the value is or may contain a type or a package.
+	 * Only the values which can hold a type are scanned: the type members, and the statements and expressions,
+	 * which can contain local and anonymous classes. The other values, e.g. the references, are not scanned.
+	 */
+	private static boolean containsType(Object value) {
+		if (value instanceof CtTypeParameter) {
+			return false;
+		} else if (value instanceof CtType || value instanceof CtPackage || value instanceof CtModule) {
+			return true;
+		} else if (value instanceof CtTypeMember || value instanceof CtCodeElement) {
+			TypeFinder finder = new TypeFinder();
+			finder.scan((CtElement) value);
+			return finder.getResult() != null;
+		} else if (value instanceof Collection) {
+			for (Object item : (Collection<?>) value) {
+				if (containsType(item)) {
+					return true;
+				}
+			}
+		} else if (value instanceof Map) {
+			return containsType(((Map<?, ?>) value).values());
+		}
+		return false;
+	}
+
+	private static class TypeFinder extends EarlyTerminatingScanner<CtType<?>> {
+		@Override
+		public void scan(CtElement element) {
+			if (element instanceof CtReference) {
+				// a reference contains no type
+				return;
+			}
+			if (element instanceof CtType && !(element instanceof CtTypeParameter)) {
+				setResult((CtType<?>) element);
+				terminate();
+				return;
+			}
+			super.scan(element);
+		}
+	}
+
+	private Hierarchy getHierarchy() {
+		Hierarchy result = hierarchy;
+		if (result == null) {
+			synchronized (this) {
+				result = hierarchy;
+				if (result == null) {
+					result = new Hierarchy(model.getRootPackage());
+					hierarchy = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The direct super types and sub types of all the types of a package,
+	 * and of their super types declared out of the package.
+	 */
+	private static class Hierarchy {
+		/**
+		 * the types of the package, in scanning order
+		 */
+		final List<CtType<?>> types = new ArrayList<>();
+		/**
+		 * qualified name -> declaration of the types of the package
+		 */
+		final Map<String, CtType<?>> declarations = new HashMap<>();
+		/**
+		 * qualified name -> reference to the super types out of the package
+		 */
+		final Map<String, CtTypeReference<?>> references = new HashMap<>();
+		/**
+		 * qualified name -> qualified names of the direct super classes and super interfaces
+		 */
+		final Map<String, List<String>> directSuperTypes = new HashMap<>();
+		/**
+		 * qualified name -> qualified names of the direct sub classes and sub interfaces
+		 */
+		final Map<String, List<String>> directSubTypes = new HashMap<>();
+
+		Hierarchy(CtPackage pack) {
+			for (CtType<?> type : pack.getElements(new TypeFilter<CtType<?>>(CtType.class))) {
+				if (type instanceof CtTypeParameter == false) {
+					types.add(type);
+					declarations.putIfAbsent(type.getQualifiedName(), type);
+				}
+			}
+			for (CtType<?> type : types) {
+				addType(type.getReference(), type instanceof CtClass);
+			}
+		}
+
+		/**
+		 * adds the super types of `typeRef` recursively, following the rules of {@link SuperInheritanceHierarchyFunction}
+		 */
+		private void addType(CtTypeReference<?> typeRef, boolean isClass) {
+			String qualifiedName = typeRef.getQualifiedName();
+			if (directSuperTypes.containsKey(qualifiedName)) {
+				return;
+			}
+			List<String> supers = new ArrayList<>();
+			directSuperTypes.put(qualifiedName, supers);
+			if (isClass && Object.class.getName().equals(qualifiedName)) {
+				//java.lang.Object has no interface or super classes
+				return;
+			}
+			Set<CtTypeReference<?>> superInterfaces;
+			try {
+				superInterfaces = typeRef.getSuperInterfaces();
+			} catch (SpoonClassNotFoundException e) {
+				Launcher.LOGGER.warn("Cannot load class: " + qualifiedName + " with class loader "
+						+ Thread.currentThread().getContextClassLoader());
+				// the super types of a type which cannot be resolved are unknown
+				return;
+			}
+			for (CtTypeReference<?> superInterface : superInterfaces) {
+				addSuperType(qualifiedName, supers, superInterface, false);
+			}
+			if (isClass) {
+				CtTypeReference<?> superClass = typeRef.getSuperclass();
+				if (superClass == null) {
+					if (!isResolved(typeRef)) {
+						// the super class of a type which cannot be resolved is unknown, it is not java.lang.Object
+						return;
+					}
+					superClass = typeRef.getFactory().Type().OBJECT;
+				}
+				addSuperType(qualifiedName, supers, superClass, true);
+			}
+		}
+
+		private static boolean isResolved(CtTypeReference<?> typeRef) {
+			try {
+				return typeRef.getTypeDeclaration() != null;
+			} catch (SpoonClassNotFoundException e) {
+				return false;
+			}
+		}
+
+		private void addSuperType(String qualifiedName, List<String> supers, CtTypeReference<?> superTypeRef, boolean isClass) {
+			String superName = superTypeRef.getQualifiedName();
+			supers.add(superName);
+			directSubTypes.computeIfAbsent(superName, k -> new ArrayList<>()).add(qualifiedName);
+			CtType<?> declaration = declarations.get(superName);
+			if (declaration != null) {
+				addType(declaration.getReference(), declaration instanceof CtClass);
+			} else {
+				references.putIfAbsent(superName, superTypeRef);
+				addType(superTypeRef, isClass);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		<T extends CtType<?>> void forEachSubType(Set<String> superTypes, boolean includingInterfaces, CtConsumer<T> outputConsumer) {
+			//all the sub types of `superTypes`
+			Set<String> subTypes = new HashSet<>();
+			Deque<String> toVisit = new ArrayDeque<>(superTypes);
+			while (!toVisit.isEmpty()) {
+				for (String subType : directSubTypes.getOrDefault(toVisit.pop(), Collections.emptyList())) {
+					if (!superTypes.contains(subType) && subTypes.add(subType)) {
+						toVisit.push(subType);
+					}
+				}
+			}
+			if (subTypes.isEmpty()) {
+				return;
+			}
+			for (CtType<?> type : types) {
+				if (includingInterfaces || type instanceof CtClass) {
+					String qualifiedName = type.getQualifiedName();
+					if (subTypes.contains(qualifiedName) && !superTypes.contains(qualifiedName)) {
+						//send the types between this type and the super types first, the nearest to the super type first
+						sendSuperTypes(qualifiedName, subTypes, superTypes, (CtConsumer<CtType<?>>) outputConsumer);
+						superTypes.add(qualifiedName);
+						outputConsumer.accept((T) type);
+					}
+				}
+			}
+		}
+
+		private void sendSuperTypes(String qualifiedName, Set<String> subTypes, Set<String> superTypes, CtConsumer<CtType<?>> outputConsumer) {
+			for (String superName : directSuperTypes.get(qualifiedName)) {
+				if (subTypes.contains(superName) && !superTypes.contains(superName)) {
+					superTypes.add(superName);
+					sendSuperTypes(superName, subTypes, superTypes, outputConsumer);
+					CtType<?> declaration = declarations.get(superName);
+					outputConsumer.accept(declaration != null ? declaration : references.get(superName).getTypeDeclaration());
+				}
+			}
+		}
+	}
+}
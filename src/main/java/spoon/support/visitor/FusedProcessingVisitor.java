@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.visitor;
+
+import spoon.processing.ProcessInterruption;
+import spoon.processing.Processor;
+import spoon.processing.TraversalStrategy;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.CtScanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This visitor applies several processors during one single scan of the model.
+ *
+ * For each visited element, the processors are grouped by traversal strategy
+ * and by processed element types: the pre-order processors are upcalled
+ * before the children are scanned and the post-order processors after. In
+ * both groups, the processors are upcalled in the order of the given list.
+ * The groups are computed once per concrete element class.
+ */
+public class FusedProcessingVisitor extends CtScanner {
+
+	private static final Processor<?>[] NO_PROCESSORS = new Processor<?>[0];
+
+	private final Factory factory;
+
+	private final List<Processor<?>> processors;
+
+	private final Map<Class<?>, Processor<?>[]> preOrderProcessors = new HashMap<>();
+
+	private final Map<Class<?>, Processor<?>[]> postOrderProcessors = new HashMap<>();
+
+	private final Set<Processor<?>> interruptedProcessors = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private Processor<?> processor;
+
+	/**
+	 * Creates a visitor which upcalls the given processors, in the given order.
+	 */
+	public FusedProcessingVisitor(Factory factory, List<Processor<?>> processors) {
+		this.factory = factory;
+		this.processors = new ArrayList<>(processors);
+	}
+
+	/**
+	 * @return the processor which is currently processing an element, or the last one which did it.
+	 */
+	public Processor<?> getProcessor() {
+		return processor;
+	}
+
+	/**
+	 * @return true if the given processor has been interrupted by a {@link ProcessInterruption}
+	 * and is thus not upcalled anymore by this visitor.
+	 */
+	public boolean isInterrupted(Processor<?> processor) {
+		return interruptedProcessors.contains(processor);
+	}
+
+	@Override
+	public void scan(CtElement e) {
+		if (e == null) {
+			return;
+		}
+		Class<?> elementClass = e.getClass();
+		process(getProcessors(preOrderProcessors, elementClass, TraversalStrategy.PRE_ORDER), e);
+		super.scan(e);
+		process(getProcessors(postOrderProcessors, elementClass, TraversalStrategy.POST_ORDER), e);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void process(Processor<?>[] candidates, CtElement e) {
+		for (Processor<?> candidate : candidates) {
+			if (factory.getEnvironment().isProcessingStopped()) {
+				return;
+			}
+			if (interruptedProcessors.contains(candidate)) {
+				continue;
+			}
+			Processor<CtElement> p = (Processor<CtElement>) candidate;
+			processor = p;
+			try {
+				if (p.isToBeProcessed(e)) {
+					p.process(e);
+				}
+			} catch (ProcessInterruption ignore) {
+				interruptedProcessors.add(p);
+			}
+		}
+	}
+
+	private Processor<?>[] getProcessors(Map<Class<?>, Processor<?>[]> cache, Class<?> elementClass, TraversalStrategy strategy) {
+		Processor<?>[] result = cache.get(elementClass);
+		if (result == null) {
+			List<Processor<?>> matching = new ArrayList<>();
+			for (Processor<?> p : processors) {
+				if (p.getTraversalStrategy() == strategy && canBeProcessed(p, elementClass)) {
+					matching.add(p);
+				}
+			}
+			result = matching.isEmpty() ? NO_PROCESSORS : matching.toArray(new Processor<?>[matching.size()]);
+			cache.put(elementClass, result);
+		}
+		return result;
+	}
+
+	private static boolean canBeProcessed(Processor<?> p, Class<?> elementClass) {
+		if (p.getProcessedElementTypes() == null) {
+			return false;
+		}
+		for (Class<?> type : p.getProcessedElementTypes()) {
+			if (!type.isAssignableFrom(elementClass)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
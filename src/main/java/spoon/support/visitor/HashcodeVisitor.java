@@ -16,6 +16,7 @@
  */
 package spoon.support.visitor;
 
+import spoon.reflect.code.CtLiteral;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtImport;
 import spoon.reflect.declaration.CtNamedElement;
@@ -48,6 +49,14 @@ public class HashcodeVisitor extends CtInheritanceScanner {
 		}
 	}
 
+	@Override
+	public <T> void visitCtLiteral(CtLiteral<T> e) {
+		if (e.getValue() != null) {
+			hashCode += e.getValue().hashCode();
+		}
+		super.visitCtLiteral(e);
+	}
+
 	@Override
 	public void scan(CtElement element) {
 		hashCode += 1;
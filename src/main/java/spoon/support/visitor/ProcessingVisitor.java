@@ -31,6 +31,8 @@ public class ProcessingVisitor extends CtScanner {
 
 	Processor<?> processor;
 
+	private int processedCount;
+
 	/**
 	 * The constructor.
 	 */
@@ -71,6 +73,7 @@ public class ProcessingVisitor extends CtScanner {
 		if (p.getTraversalStrategy() == TraversalStrategy.PRE_ORDER
 				&& canBeProcessed(e)) {
 			if (p.isToBeProcessed(e)) {
+				processedCount++;
 				p.process(e);
 			}
 		}
@@ -78,12 +81,21 @@ public class ProcessingVisitor extends CtScanner {
 		if (p.getTraversalStrategy() == TraversalStrategy.POST_ORDER
 				&& canBeProcessed(e)) {
 			if (p.isToBeProcessed(e)) {
+				processedCount++;
 				p.process(e);
 			}
 		}
 	}
 
+	/**
+	 * @return the number of elements given to {@link Processor#process(CtElement)} since the processor was set
+	 */
+	public int getProcessedCount() {
+		return processedCount;
+	}
+
 	public void setProcessor(Processor<?> processor) {
 		this.processor = processor;
+		this.processedCount = 0;
 	}
 }
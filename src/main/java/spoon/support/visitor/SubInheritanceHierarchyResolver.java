@@ -38,6 +38,7 @@ import spoon.reflect.visitor.chain.ScanningMode;
 import spoon.reflect.visitor.filter.CtScannerFunction;
 import spoon.reflect.visitor.filter.SuperInheritanceHierarchyFunction;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.util.TypeHierarchyIndex;
 
 import static spoon.reflect.visitor.chain.ScanningMode.NORMAL;
 import static spoon.reflect.visitor.chain.ScanningMode.SKIP_ALL;
@@ -115,6 +116,12 @@ public class SubInheritanceHierarchyResolver {
 	 * @param outputConsumer the consumer for found sub types
 	 */
 	public <T extends CtType<?>> void forEachSubTypeInPackage(final CtConsumer<T> outputConsumer) {
+		TypeHierarchyIndex index = TypeHierarchyIndex.of(inputPackage.getFactory());
+		if (index != null && failOnClassNotFound == false && inputPackage == inputPackage.getFactory().getModel().getRootPackage()) {
+			//the sub types of the whole model are indexed
+			index.forEachSubType(targetSuperTypes, includingInterfaces, outputConsumer);
+			return;
+		}
 		/*
 		 * Set of qualified names of all visited types, independent on whether they are sub types or not.
 		 */
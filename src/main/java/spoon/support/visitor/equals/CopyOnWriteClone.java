@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.visitor.equals;
+
+import spoon.SpoonException;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.visitor.clone.CloneVisitor;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A clone of a tree of elements which shares the unchanged subtrees with the original tree.
+ *
+ * {@link CloneHelper} copies the whole tree, which is a waste when only one element of a big type is changed,
+ * eg. to create the mutants of a type. This clone copies only the root and its direct children at creation,
+ * the other elements are shared with the original tree. Before an element is changed, {@link #getWritable(CtElement)}
+ * copies the elements from the root to this element, so that the change does not affect the original tree:
+ * <pre>
+ * CopyOnWriteClone&lt;CtClass&lt;?&gt;&gt; mutant = new CopyOnWriteClone&lt;&gt;(ctClass);
+ * mutant.getWritable(statement).replace(mutatedStatement);
+ * print(mutant.getRoot());
+ * </pre>
+ * The cost of a change is proportional to the depth of the changed element and to the number of children
+ * of its ancestors, instead of to the size of the tree.
+ *
+ * The shared elements are still part of the original tree: their parent is an element of the original tree,
+ * and changing them changes both trees. So the clone is scanned and printed top-down as a usual tree,
+ * but the elements must be changed through {@link #getWritable(CtElement)} only, and the original tree
+ * must not be changed as long as the clone is used.
+ *
+ * @param <T> the type of the root element
+ */
+public class CopyOnWriteClone<T extends CtElement> {
+
+	private final T original;
+
+	private final T root;
+
+	/**
+	 * element of the original tree -> its copy in this clone
+	 */
+	private final Map<CtElement, CtElement> copies = new IdentityHashMap<>();
+
+	/**
+	 * copy -> the element of the original tree
+	 */
+	private final Map<CtElement, CtElement> originals = new IdentityHashMap<>();
+
+	/**
+	 * the copies whose children are copied too, so that they can be changed
+	 */
+	private final Set<CtElement> writables = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/**
+	 * @param original the root of the tree to be cloned
+	 */
+	public CopyOnWriteClone(T original) {
+		this.original = original;
+		this.root = copyWithChildren(original);
+	}
+
+	/**
+	 * @return the root of the original tree
+	 */
+	public T getOriginal() {
+		return original;
+	}
+
+	/**
+	 * @return the root of the clone, which has no parent
+	 */
+	public T getRoot() {
+		return root;
+	}
+
+	/**
+	 * @return true if the element is in the original tree and has not been copied in this clone
+	 */
+	public boolean isShared(CtElement element) {
+		return !copies.containsKey(element) && !originals.containsKey(element) && isInOriginal(element);
+	}
+
+	private boolean isInOriginal(CtElement element) {
+		for (CtElement e = element; e != null; e = e.isParentInitialized() ? e.getParent() : null) {
+			if (e == original) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the element and its ancestors, if they are shared with the original tree.
+	 * The previous copies of these elements are replaced in the clone,
+	 * and must not be used anymore.
+	 *
+	 * @param element an element of the original tree or of this clone
+	 * @return the element of this clone which corresponds to the given element, and which can be changed
+	 * @throws SpoonException if the element is neither in the original tree nor in this clone
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends CtElement> E getWritable(E element) {
+		//the elements from the given one to the nearest writable ancestor
+		Deque<CtElement> path = new ArrayDeque<>();
+		CtElement e = element;
+		while (!writables.contains(copies.getOrDefault(e, e))) {
+			if (!e.isParentInitialized()) {
+				throw new SpoonException("The element is neither in the cloned tree nor in its clone: " + element);
+			}
+			path.push(e);
+			e = e.getParent();
+		}
+		CtElement writable = copies.getOrDefault(e, e);
+		while (!path.isEmpty()) {
+			CtElement node = path.pop();
+			CtElement copy = copies.getOrDefault(node, node);
+			CtElement source = originals.get(copy);
+			if (source == null) {
+				//the element was added to the clone
+				writables.add(copy);
+				writable = copy;
+				continue;
+			}
+			writable = copyWithChildren(source);
+			copy.replace(writable);
+			originals.remove(copy);
+		}
+		return (E) writable;
+	}
+
+	/**
+	 * @return a copy of the element, whose children are copies sharing their own children with the original tree
+	 */
+	private <E extends CtElement> E copyWithChildren(E element) {
+		CloneVisitor cloneVisitor = new CloneVisitor(new CloneHelper() {
+			@Override
+			public <C extends CtElement> C clone(C child) {
+				return copyWithoutChildren(child);
+			}
+		});
+		cloneVisitor.scan(element);
+		E copy = cloneVisitor.getClone();
+		register(element, copy);
+		writables.add(copy);
+		return copy;
+	}
+
+	/**
+	 * @return a copy of the element, which shares its children with the original element
+	 */
+	private <E extends CtElement> E copyWithoutChildren(E element) {
+		if (element == null) {
+			return null;
+		}
+		CloneVisitor cloneVisitor = new CloneVisitor(new CloneHelper() {
+			@Override
+			public <C extends CtElement> C clone(C child) {
+				return child;
+			}
+		});
+		cloneVisitor.scan(element);
+		E copy = cloneVisitor.getClone();
+		//the setters of the copy have moved the shared children, they stay in the original tree
+		copy.accept(new CtScanner() {
+			@Override
+			public void scan(CtElement child) {
+				if (child != null) {
+					child.setParent(element);
+				}
+			}
+		});
+		register(element, copy);
+		return copy;
+	}
+
+	private void register(CtElement element, CtElement copy) {
+		copies.put(element, copy);
+		originals.put(copy, element);
+	}
+}
@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.visitor.java;
+
+import spoon.SpoonException;
+import spoon.reflect.CtModel;
+import spoon.reflect.CtModelImpl;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.SpoonClassNotFoundException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static spoon.testing.utils.ModelUtils.createFactory;
+
+/**
+ * A bounded cache of the shadow types built by {@link JavaReflectionTreeBuilder}, shared by all the factories.
+ *
+ * The cached types are built once per top-level class, and must not be modified.
+ * A factory gets a shadow type by cloning the cached one (see {@link spoon.reflect.factory.TypeFactory#get(Class)}),
+ * which is much cheaper than reflecting the class again.
+ * The cached types are out of any model: they belong to one factory of the cache, whose indexes are suspended
+ * (see {@link CtModelImpl#suspendIndexes()}), so that the copies made by several threads do not update them.
+ *
+ * The types are cached by {@link Class}, so the classes of different class loaders are cached separately.
+ * The least recently used types are removed when the cache is full.
+ * As a cached class cannot be unloaded, the shared cache only caches the classes of the system class loader
+ * and of its parents, which are never unloaded: the types of the classes of other class loaders are built each time.
+ *
+ * This class is thread-safe.
+ */
+public class ShadowTypeCache {
+
+	/**
+	 * The default maximum number of top-level classes in the shared cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = 1000;
+
+	private static final ShadowTypeCache SHARED = new ShadowTypeCache(DEFAULT_MAX_SIZE, true);
+
+	/**
+	 * @return the cache used by all the factories
+	 */
+	public static ShadowTypeCache getShared() {
+		return SHARED;
+	}
+
+	private int maxSize;
+
+	/**
+	 * if true, only the classes of the system class loader and of its parents are cached
+	 */
+	private final boolean systemClassesOnly;
+
+	/**
+	 * the factory of the cached types, created when the first type is cached
+	 */
+	private Factory factory;
+
+	private final Map<Class<?>, CtType<?>> types = new LinkedHashMap<Class<?>, CtType<?>>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Class<?>, CtType<?>> eldest) {
+			return size() > maxSize;
+		}
+	};
+
+	/**
+	 * @param maxSize the maximum number of cached top-level classes
+	 */
+	public ShadowTypeCache(int maxSize) {
+		this(maxSize, false);
+	}
+
+	private ShadowTypeCache(int maxSize, boolean systemClassesOnly) {
+		this.systemClassesOnly = systemClassesOnly;
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * @return the maximum number of cached top-level classes
+	 */
+	public synchronized int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * @param maxSize the maximum number of cached top-level classes. 0 disables the cache.
+	 */
+	public synchronized ShadowTypeCache setMaxSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new SpoonException("The maximum size must not be negative, but was " + maxSize);
+		}
+		this.maxSize = maxSize;
+		while (types.size() > maxSize) {
+			types.remove(types.keySet().iterator().next());
+		}
+		return this;
+	}
+
+	/**
+	 * @return the number of cached top-level classes
+	 */
+	public synchronized int size() {
+		return types.size();
+	}
+
+	/**
+	 * Removes all the cached types.
+	 */
+	public synchronized void clear() {
+		types.clear();
+	}
+
+	/**
+	 * Builds and caches the shadow types of the given classes, so that the factories
+	 * do not have to reflect them later.
+	 *
+	 * @param classes the top-level or nested classes
+	 */
+	public void prewarm(Collection<? extends Class<?>> classes) {
+		for (Class<?> cl : classes) {
+			get(getTopLevelClass(cl));
+		}
+	}
+
+	/**
+	 * Builds and caches the shadow types of the given classes, so that the factories
+	 * do not have to reflect them later.
+	 *
+	 * @param classLoader the class loader of the classes
+	 * @param classNames the qualified names of the classes
+	 * @throws SpoonClassNotFoundException if a class cannot be loaded
+	 */
+	public void prewarm(ClassLoader classLoader, Collection<String> classNames) {
+		for (String className : classNames) {
+			try {
+				get(getTopLevelClass(Class.forName(className, false, classLoader)));
+			} catch (ClassNotFoundException e) {
+				throw new SpoonClassNotFoundException("cannot load class: " + className, e);
+			}
+		}
+	}
+
+	/**
+	 * @param topLevelClass a class which is not nested in another class
+	 * @return the cached shadow type of the class, which must not be modified
+	 * @throws SpoonClassNotFoundException if the shadow type cannot be built
+	 */
+	public CtType<?> get(Class<?> topLevelClass) {
+		if (systemClassesOnly && !isSystemClass(topLevelClass)) {
+			return build(topLevelClass);
+		}
+		CtType<?> type;
+		synchronized (this) {
+			type = types.get(topLevelClass);
+		}
+		if (type == null) {
+			// the class is reflected out of the lock, it may be done twice
+			type = build(topLevelClass);
+			synchronized (this) {
+				CtType<?> cached = types.get(topLevelClass);
+				if (cached != null) {
+					return cached;
+				}
+				if (maxSize > 0) {
+					types.put(topLevelClass, type);
+				}
+			}
+		}
+		return type;
+	}
+
+	private CtType<?> build(Class<?> topLevelClass) {
+		CtType<?> type;
+		try {
+			type = new JavaReflectionTreeBuilder(createFactory()).scan(topLevelClass);
+		} catch (Throwable e) {
+			throw new SpoonClassNotFoundException("cannot create shadow class: " + topLevelClass.getName(), e);
+		}
+		// the type is moved out of the model of the factory which built it, so that this factory can be collected
+		Factory cacheFactory = getFactory();
+		CtPackage pack = type.getPackage();
+		if (pack != null) {
+			pack.removeType(type);
+			type.setParent(null);
+		}
+		type.accept(new CtScanner() {
+			@Override
+			public void scan(CtElement element) {
+				if (element != null) {
+					element.setFactory(cacheFactory);
+				}
+				super.scan(element);
+			}
+		});
+		if (pack != null && !pack.isUnnamedPackage()) {
+			createPackage(cacheFactory, pack.getQualifiedName()).addType(type);
+		}
+		return type;
+	}
+
+	private synchronized Factory getFactory() {
+		if (factory == null) {
+			factory = createFactory();
+			CtModel model = factory.getModel();
+			if (model instanceof CtModelImpl) {
+				((CtModelImpl) model).suspendIndexes();
+			}
+		}
+		return factory;
+	}
+
+	/**
+	 * @return a new package which is not in the model of the factory, nor is any of its parent packages
+	 */
+	private static CtPackage createPackage(Factory factory, String qualifiedName) {
+		CtPackage pack = null;
+		for (String name : qualifiedName.split("\\.")) {
+			CtPackage subPackage = factory.Core().createPackage();
+			subPackage.setSimpleName(name);
+			if (pack != null) {
+				pack.addPackage(subPackage);
+			}
+			pack = subPackage;
+		}
+		return pack;
+	}
+
+	/**
+	 * @return true if the class is loaded by the system class loader or one of its parents, so that it is never unloaded
+	 */
+	private static boolean isSystemClass(Class<?> cl) {
+		ClassLoader classLoader = cl.getClassLoader();
+		if (classLoader == null) {
+			// the bootstrap class loader
+			return true;
+		}
+		for (ClassLoader systemLoader = ClassLoader.getSystemClassLoader(); systemLoader != null; systemLoader = systemLoader.getParent()) {
+			if (systemLoader == classLoader) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the outermost enclosing class of the given class, or the class itself
+	 */
+	public static Class<?> getTopLevelClass(Class<?> cl) {
+		Class<?> topLevelClass = cl;
+		while (topLevelClass.getEnclosingClass() != null) {
+			topLevelClass = topLevelClass.getEnclosingClass();
+		}
+		return topLevelClass;
+	}
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2006-2017 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.visitor.replace;
+
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.meta.RoleHandler;
+import spoon.reflect.meta.impl.RoleHandlerHelper;
+import spoon.reflect.path.CtRole;
+import spoon.reflect.visitor.CtScanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects replacements and deletions of elements, and applies them all at once.
+ *
+ * {@link CtElement#replace(CtElement)} and {@link CtElement#delete()} look for the element in its parent,
+ * and set the changed attribute of the parent, for each element. Editing many children of the same parent,
+ * eg. all the invocations of a big method, costs one lookup and one change of the attribute per element.
+ * This editor groups the edits by parent and by role: each parent is scanned once, and each changed attribute
+ * is set once with the edits of all its elements, by the setter of the attribute.
+ * The model change listener is notified as done by the setter: e.g. for a list, the deletion of all its
+ * old elements, then the addition of each new element, and only the deletion when all its elements are deleted.
+ * <pre>
+ * BatchEditor editor = new BatchEditor();
+ * for (CtInvocation&lt;?&gt; invocation : invocations) {
+ *     editor.replace(invocation, newInvocation(invocation));
+ * }
+ * editor.apply();
+ * </pre>
+ * The model is changed by {@link #apply()} only, so the edits can be collected while the model is scanned.
+ */
+public class BatchEditor {
+
+	/**
+	 * parent -> edited child -> its replacements, which are empty to delete it
+	 */
+	private final Map<CtElement, Map<CtElement, List<CtElement>>> edits = new IdentityHashMap<>();
+
+	/**
+	 * Replaces an element by another one when {@link #apply()} is called.
+	 * A next edit of the same element overrides this one.
+	 *
+	 * @param original the replaced element, which has a parent
+	 * @param replacement the new element, or null to delete the replaced element
+	 */
+	public BatchEditor replace(CtElement original, CtElement replacement) {
+		return replace(original, replacement == null ? Collections.<CtElement>emptyList() : Collections.singletonList(replacement));
+	}
+
+	/**
+	 * Replaces an element by some other ones when {@link #apply()} is called.
+	 * A next edit of the same element overrides this one.
+	 *
+	 * @param original the replaced element, which has a parent
+	 * @param replacements the new elements, none to delete the replaced element
+	 */
+	public BatchEditor replace(CtElement original, Collection<? extends CtElement> replacements) {
+		edits.computeIfAbsent(original.getParent(), parent -> new IdentityHashMap<>()).put(original, new ArrayList<>(replacements));
+		return this;
+	}
+
+	/**
+	 * Deletes an element when {@link #apply()} is called.
+	 */
+	public BatchEditor delete(CtElement element) {
+		return replace(element, Collections.<CtElement>emptyList());
+	}
+
+	/**
+	 * @return the number of edited elements
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<CtElement, List<CtElement>> childEdits : edits.values()) {
+			size += childEdits.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Applies all the collected edits, and forgets them.
+	 * The elements which are no more children of their parent are ignored, as done by {@link CtElement#replace(CtElement)}.
+	 *
+	 * @throws InvalidReplaceException if an element which is the single value of a role is replaced by several elements
+	 */
+	public void apply() {
+		try {
+			for (Map.Entry<CtElement, Map<CtElement, List<CtElement>>> entry : edits.entrySet()) {
+				apply(entry.getKey(), entry.getValue());
+			}
+		} finally {
+			edits.clear();
+		}
+	}
+
+	private static void apply(CtElement parent, Map<CtElement, List<CtElement>> childEdits) {
+		//the roles of the edited children, found by one scan of the parent
+		Set<CtRole> roles = EnumSet.noneOf(CtRole.class);
+		parent.accept(new CtScanner() {
+			@Override
+			public void scan(CtRole role, CtElement element) {
+				if (role != null && element != null && childEdits.containsKey(element)) {
+					roles.add(role);
+				}
+				//the children of the parent are not scanned
+			}
+		});
+		for (List<CtElement> replacements : childEdits.values()) {
+			for (CtElement replacement : replacements) {
+				replacement.setParent(parent);
+			}
+		}
+		for (CtRole role : roles) {
+			RoleHandler handler = RoleHandlerHelper.getRoleHandler(parent.getClass(), role);
+			switch (handler.getContainerKind()) {
+			case SINGLE:
+				handler.setValue(parent, getSingleReplacement(childEdits.get(handler.getValue(parent)), role));
+				break;
+			case LIST:
+				List<Object> list = new ArrayList<>();
+				addEdited(list, handler.asList(parent), childEdits);
+				handler.setValue(parent, list);
+				break;
+			case SET:
+				Set<Object> set = new LinkedHashSet<>();
+				addEdited(set, handler.asSet(parent), childEdits);
+				handler.setValue(parent, set);
+				break;
+			case MAP:
+				Map<String, Object> map = new LinkedHashMap<>();
+				for (Map.Entry<String, Object> value : handler.<CtElement, Object>asMap(parent).entrySet()) {
+					List<CtElement> replacements = childEdits.get(value.getValue());
+					Object newValue = replacements == null ? value.getValue() : getSingleReplacement(replacements, role);
+					if (newValue != null) {
+						map.put(value.getKey(), newValue);
+					}
+				}
+				handler.setValue(parent, map);
+				break;
+			}
+		}
+	}
+
+	private static void addEdited(Collection<Object> result, Collection<Object> values, Map<CtElement, List<CtElement>> childEdits) {
+		for (Object value : values) {
+			List<CtElement> replacements = childEdits.get(value);
+			if (replacements == null) {
+				result.add(value);
+			} else {
+				result.addAll(replacements);
+			}
+		}
+	}
+
+	private static CtElement getSingleReplacement(List<CtElement> replacements, CtRole role) {
+		if (replacements.size() > 1) {
+			throw new InvalidReplaceException("Cannot replace single value by multiple values in " + role);
+		}
+		return replacements.isEmpty() ? null : replacements.get(0);
+	}
+}
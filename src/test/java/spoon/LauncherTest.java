@@ -8,15 +8,21 @@ import spoon.compiler.Environment;
 import spoon.reflect.CtModel;
 import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
 import spoon.support.JavaOutputProcessor;
+import spoon.support.util.PerformanceMeasure;
+import spoon.support.util.PerformanceRecorder;
+import spoon.support.util.PhaseMetrics;
 
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class LauncherTest {
@@ -107,4 +113,45 @@ public class LauncherTest {
 		assertEquals(2, model.getAllTypes().size());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testPerformanceMetrics() throws Exception {
+		// contract: the phases of Spoon are reported to the performance listener, and dumped as JSON with --metrics
+		File metrics = File.createTempFile("metrics", ".json");
+		metrics.deleteOnExit();
+		final Launcher launcher = new Launcher();
+		launcher.setArgs(new String[] {
+				"-i", "./src/test/resources/spoon/test/api/Foo.java",
+				"-o", "./target/spooned/metrics",
+				"--noclasspath", "--enable-comments", "--with-imports",
+				"-p", "spoon.test.processing.testclasses.CtClassProcessor",
+				"--metrics", metrics.getPath()
+		});
+		PerformanceRecorder recorder = (PerformanceRecorder) launcher.getEnvironment().getPerformanceListener();
+		launcher.run();
+
+		Map<PhaseMetrics.Phase, PhaseMetrics> totals = recorder.getTotals();
+		for (PhaseMetrics.Phase phase : new PhaseMetrics.Phase[] {PhaseMetrics.Phase.JDT_COMPILE, PhaseMetrics.Phase.TREE_BUILDING,
+				PhaseMetrics.Phase.COMMENT_BUILDING, PhaseMetrics.Phase.IMPORT_COMPUTATION, PhaseMetrics.Phase.PROCESSING,
+				PhaseMetrics.Phase.PRETTY_PRINTING, PhaseMetrics.Phase.FILE_OUTPUT}) {
+			assertTrue(phase.toString(), totals.containsKey(phase));
+			assertTrue(phase.toString(), totals.get(phase).getWallTimeNanos() >= 0);
+		}
+		assertEquals(1, totals.get(PhaseMetrics.Phase.JDT_COMPILE).getElementCount());
+		assertTrue(totals.get(PhaseMetrics.Phase.TREE_BUILDING).getElementCount() > 2);
+		assertTrue(recorder.getMetrics().stream().anyMatch(m -> m.getPhase() == PhaseMetrics.Phase.PROCESSING
+				&& "spoon.test.processing.testclasses.CtClassProcessor".equals(m.getName())));
+
+		String json = new String(Files.readAllBytes(metrics.toPath()), "UTF-8");
+		assertTrue(json.contains("\"phases\""));
+		assertTrue(json.contains("\"TREE_BUILDING\""));
+		assertTrue(json.contains("\"allocatedBytes\""));
+	}
+
+	@Test
+	public void testPerformanceListenerDisabledByDefault() throws Exception {
+		// contract: nothing is measured when there is no performance listener
+		final Launcher launcher = new Launcher();
+		assertNull(launcher.getEnvironment().getPerformanceListener());
+		assertFalse(PerformanceMeasure.start(launcher.getEnvironment(), PhaseMetrics.Phase.PROCESSING, "name").isEnabled());
+	}
+}
@@ -3,11 +3,17 @@ package spoon;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 public class MavenLauncherTest {
@@ -69,4 +75,65 @@ public class MavenLauncherTest {
 
 		assertTrue("Content of classpath: "+ StringUtils.join(classpath,":"), findIt);
 	}
+
+	@Test
+	public void mavenLauncherBuildModuleModels() {
+		// contract: a model is built per module, after the modules it depends on
+		MavenLauncher launcher = new MavenLauncher("./src/test/resources/maven-launcher/pac4j", MavenLauncher.SOURCE_TYPE.APP_SOURCE);
+		Map<String, Launcher> modules = launcher.buildModuleModels(4);
+		assertEquals(15, modules.size());
+		List<String> buildOrder = new ArrayList<>(modules.keySet());
+		assertTrue(buildOrder.indexOf("org.pac4j:pac4j-core") < buildOrder.indexOf("org.pac4j:pac4j-config"));
+		assertTrue(buildOrder.indexOf("org.pac4j:pac4j-cas") < buildOrder.indexOf("org.pac4j:pac4j-config"));
+		for (Launcher module : modules.values()) {
+			assertEquals(8, module.getEnvironment().getComplianceLevel());
+			assertNotNull(module.getModel());
+		}
+	}
+
+	@Test
+	public void mavenLauncherLibraryDependencyCycle() throws Exception {
+		// contract: the dependencies of a library in a cycle of dependencies are complete, whichever library is read first
+		Path dir = Files.createTempDirectory("maven-launcher");
+		Path repository = dir.resolve("repository");
+		// a -> b -> a, and a -> c: the dependencies of b contain c
+		createLibrary(repository, "a", "b", "c");
+		createLibrary(repository, "b", "a");
+		createLibrary(repository, "c");
+		createLibrary(repository, "d", "b");
+		writePom(dir.resolve("project"), "project", "pom", "<modules><module>m1</module><module>m2</module></modules>");
+		writePom(dir.resolve("project").resolve("m1"), "m1", "jar", dependencies("a"));
+		writePom(dir.resolve("project").resolve("m2"), "m2", "jar", dependencies("d"));
+
+		MavenLauncher launcher = new MavenLauncher(dir.resolve("project").toString(), repository.toString(), MavenLauncher.SOURCE_TYPE.APP_SOURCE);
+		Map<String, Launcher> modules = launcher.buildModuleModels(1);
+		List<String> classpath = Arrays.asList(modules.get("g:m2").getModelBuilder().getSourceClasspath());
+		for (String library : Arrays.asList("a", "b", "c", "d")) {
+			assertTrue(library, classpath.contains(repository.resolve("g").resolve(library).resolve("1").resolve(library + "-1.jar").toFile().getAbsolutePath()));
+		}
+	}
+
+	private static void createLibrary(Path repository, String artifactId, String... dependencies) throws Exception {
+		Path dir = Files.createDirectories(repository.resolve("g").resolve(artifactId).resolve("1"));
+		new JarOutputStream(new FileOutputStream(dir.resolve(artifactId + "-1.jar").toFile())).close();
+		Files.write(dir.resolve(artifactId + "-1.pom"), pom(artifactId, "jar", dependencies(dependencies)).getBytes());
+	}
+
+	private static void writePom(Path dir, String artifactId, String packaging, String content) throws Exception {
+		Files.createDirectories(dir);
+		Files.write(dir.resolve("pom.xml"), pom(artifactId, packaging, content).getBytes());
+	}
+
+	private static String dependencies(String... artifactIds) {
+		StringBuilder dependencies = new StringBuilder("<dependencies>");
+		for (String artifactId : artifactIds) {
+			dependencies.append("<dependency><groupId>g</groupId><artifactId>").append(artifactId).append("</artifactId><version>1</version></dependency>");
+		}
+		return dependencies.append("</dependencies>").toString();
+	}
+
+	private static String pom(String artifactId, String packaging, String content) {
+		return "<project><modelVersion>4.0.0</modelVersion><groupId>g</groupId><artifactId>" + artifactId
+				+ "</artifactId><version>1</version><packaging>" + packaging + "</packaging>" + content + "</project>";
+	}
 }
@@ -4,7 +4,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import spoon.Launcher;
 import spoon.processing.AbstractProcessor;
+import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtConditional;
+import spoon.reflect.code.CtStatement;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtInterface;
@@ -17,6 +19,7 @@ import spoon.reflect.visitor.PrinterHelper;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.visitor.equals.CloneHelper;
+import spoon.support.visitor.equals.CopyOnWriteClone;
 import spoon.testing.utils.ModelUtils;
 
 import java.io.File;
@@ -148,4 +151,41 @@ public class CloneTest {
 		//contract: each visitable elements was cloned exactly once.  No more no less.
 		assertTrue(cl.sourceToTarget.isEmpty());
 	}
+
+	@Test
+	public void testCopyOnWriteClone() throws Exception {
+		// contract: a copy-on-write clone is equal to the original tree, and copies only the changed path
+		Factory factory = ModelUtils.build(new File("./src/test/java/spoon/test/parent/Foo.java"));
+		CtClass<?> type = factory.Class().get("spoon.test.parent.Foo");
+		String printedType = type.toString();
+
+		CopyOnWriteClone<CtClass<?>> clone = new CopyOnWriteClone<>(type);
+		assertNotSame(type, clone.getRoot());
+		assertEquals(type, clone.getRoot());
+
+		CtMethod<?> foo = type.getMethodsByName("foo").get(0);
+		CtStatement statement = foo.getBody().getStatement(1);
+		assertTrue(clone.isShared(statement));
+		CtStatement writable = clone.getWritable(statement);
+		assertNotSame(statement, writable);
+		assertFalse(clone.isShared(statement));
+		writable.replace(factory.Code().createCodeSnippetStatement("x = 2"));
+
+		// the original tree is not changed
+		assertEquals(printedType, type.toString());
+		assertSame(foo, statement.getParent(CtMethod.class));
+		assertNotEquals(type, clone.getRoot());
+		assertTrue(clone.getRoot().toString().contains("x = 2"));
+
+		// the other methods are shared, and stay in the original tree
+		CtMethod<?> m = type.getMethodsByName("m").get(0);
+		assertSame(m.getBody(), clone.getRoot().getMethodsByName("m").get(0).getBody());
+		assertSame(m, m.getBody().getParent());
+		assertTrue(clone.isShared(m.getBody()));
+
+		// the copied elements can be changed again without copy
+		CtBlock<?> body = clone.getWritable(foo.getBody());
+		assertSame(body, clone.getWritable(body));
+		assertSame(body, clone.getRoot().getMethodsByName("foo").get(0).getBody());
+	}
 }
@@ -9,21 +9,29 @@ import spoon.reflect.declaration.CtInterface;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.CtTypeParameter;
+import spoon.reflect.declaration.ModifierKind;
+import spoon.reflect.factory.Factory;
 import spoon.reflect.reference.CtArrayTypeReference;
 import spoon.reflect.reference.CtTypeParameterReference;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
 import spoon.test.generics.ComparableComparatorBug;
 
+import java.io.File;
 import java.io.ObjectInputStream;
 import java.lang.annotation.Retention;
 import java.net.CookieManager;
+import java.net.URL;
 import java.net.URLClassLoader;
 import java.time.format.TextStyle;
+import java.util.Collections;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static spoon.testing.utils.ModelUtils.createFactory;
 
@@ -132,4 +140,56 @@ public class JavaReflectionTreeBuilderTest {
 		// JDTSnippetCompiler have only 1 constructor with 2 arguments but its super class have 1 constructor with 1 argument.
 		assertEquals(1, ((CtClass<JDTSnippetCompiler>) aType).getConstructors().size());
 	}
+
+	@Test
+	public void testShadowTypeCache() throws Exception {
+		// contract: the shadow types are reflected once, and copied in each factory
+		ShadowTypeCache cache = new ShadowTypeCache(1);
+		cache.prewarm(Collections.singletonList(Map.Entry.class));
+		assertEquals(1, cache.size());
+		CtType<?> map = cache.get(Map.class);
+		assertSame(map, cache.get(Map.class));
+		assertTrue(map.isShadow());
+		assertNotNull(map.getNestedType("Entry"));
+
+		// contract: the cached types are out of any model, and all belong to one factory of the cache
+		assertEquals("java.util.Map", map.getQualifiedName());
+		assertTrue(map.getFactory().getModel().getAllTypes().isEmpty());
+		assertSame(map.getFactory(), map.getNestedType("Entry").getMethodsByName("getKey").get(0).getType().getFactory());
+
+		// contract: the least recently used types are removed
+		CtType<?> string = cache.get(String.class);
+		assertEquals(1, cache.size());
+		assertSame(map.getFactory(), string.getFactory());
+		assertNotSame(map, cache.get(Map.class));
+
+		// contract: each factory has its own copy of the shadow types
+		Factory factory1 = createFactory();
+		Factory factory2 = createFactory();
+		CtType<?> entry1 = factory1.Type().get(Map.Entry.class);
+		CtType<?> entry2 = factory2.Type().get(Map.Entry.class);
+		assertNotSame(entry1, entry2);
+		assertEquals(entry1, entry2);
+		assertEquals("java.util.Map$Entry", entry1.getQualifiedName());
+		assertTrue(entry1.isShadow());
+		assertSame(factory1, entry1.getFactory());
+		assertSame(factory1, entry1.getMethodsByName("getKey").get(0).getFactory());
+		assertSame(factory1, entry1.getMethodsByName("getKey").get(0).getType().getFactory());
+		assertSame(entry1, factory1.Type().get(Map.Entry.class));
+		assertSame(entry1.getDeclaringType(), factory1.Type().get(Map.class));
+	}
+
+	@Test
+	public void testSharedShadowTypeCacheKeepsOnlySystemClasses() throws Exception {
+		// contract: the shared cache only caches the classes of the system class loader, so that the other class loaders can be unloaded
+		ShadowTypeCache cache = ShadowTypeCache.getShared();
+		assertSame(cache.get(String.class), cache.get(String.class));
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[] {new File("target/classes/").toURI().toURL()}, null)) {
+			Class<?> modifierKind = classLoader.loadClass(ModifierKind.class.getName());
+			assertNotSame(ModifierKind.class, modifierKind);
+			CtType<?> type = cache.get(modifierKind);
+			assertEquals(ModifierKind.class.getName(), type.getQualifiedName());
+			assertNotSame(type, cache.get(modifierKind));
+		}
+	}
 }
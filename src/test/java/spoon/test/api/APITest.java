@@ -548,5 +548,36 @@ public class APITest {
 		assertTrue("Class file not contained ("+classFile.getCanonicalPath()+"). \nContent: "+ StringUtils.join(units, "\n"), units.contains(classFile.getCanonicalPath()));
 	}
 
+	@Test
+	public void testPrintInParallel() throws Exception {
+		// contract: the types printed by several threads are the same as the ones printed sequentially
+		File sequentialDir = new File("./target/spooned-sequential-output").getCanonicalFile();
+		File parallelDir = new File("./target/spooned-parallel-output").getCanonicalFile();
+		FileUtils.deleteDirectory(sequentialDir);
+		FileUtils.deleteDirectory(parallelDir);
+
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/main/java/spoon/reflect/code");
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
 
+		launcher.setSourceOutputDirectory(sequentialDir);
+		launcher.prettyprint();
+		List<File> sequentialFiles = ((JavaOutputProcessor) launcher.getEnvironment().getDefaultFileGenerator()).getCreatedFiles();
+
+		launcher.setSourceOutputDirectory(parallelDir);
+		JavaOutputProcessor outputProcessor = (JavaOutputProcessor) launcher.getEnvironment().getDefaultFileGenerator();
+		outputProcessor.setParallelism(4, launcher::createPrettyPrinter);
+		launcher.prettyprint();
+		List<File> parallelFiles = outputProcessor.getCreatedFiles();
+		assertFalse(outputProcessor.getLineNumberMappings().isEmpty());
+
+		assertTrue(sequentialFiles.size() > 50);
+		assertEquals(sequentialFiles.size(), parallelFiles.size());
+		for (File sequentialFile : sequentialFiles) {
+			File parallelFile = new File(parallelDir, sequentialDir.toPath().relativize(sequentialFile.getCanonicalFile().toPath()).toString());
+			assertTrue(parallelFile.exists());
+			assertEquals(FileUtils.readFileToString(sequentialFile), FileUtils.readFileToString(parallelFile));
+		}
+	}
 }
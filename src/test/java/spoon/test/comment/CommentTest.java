@@ -41,6 +41,7 @@ import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.DefaultCoreFactory;
 import spoon.support.JavaOutputProcessor;
 import spoon.support.StandardEnvironment;
+import spoon.support.compiler.VirtualFile;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
 import spoon.test.comment.testclasses.BlockComment;
 import spoon.test.comment.testclasses.Comment1;
@@ -909,4 +910,38 @@ public class CommentTest {
 			assertEquals(literal.getPosition().toString(), expected, comment.getContent());
 		}
 	}
+
+	@Test
+	public void testCommentsOfManyElements() {
+		// contract: each comment of a large class is attached to its own element
+		int count = 300;
+		StringBuilder source = new StringBuilder("class Many {\n");
+		for (int i = 0; i < count; i++) {
+			source.append("\t// field ").append(i).append("\n\tint f").append(i).append(";\n");
+		}
+		source.append("\tvoid m() {\n");
+		for (int i = 0; i < count; i++) {
+			source.append("\t\tf").append(i).append(" = ").append(i).append("; // statement ").append(i).append("\n");
+		}
+		source.append("\t}\n}\n");
+
+		Launcher launcher = new Launcher();
+		launcher.addInputResource(new VirtualFile(source.toString(), "Many.java"));
+		launcher.getEnvironment().setCommentEnabled(true);
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
+
+		CtClass<?> type = launcher.getFactory().Class().get("Many");
+		for (int i = 0; i < count; i++) {
+			CtField<?> field = type.getField("f" + i);
+			assertEquals(1, field.getComments().size());
+			assertEquals("field " + i, field.getComments().get(0).getContent());
+		}
+		List<CtStatement> statements = type.getMethod("m").getBody().getStatements();
+		assertEquals(count, statements.size());
+		for (int i = 0; i < count; i++) {
+			assertEquals(1, statements.get(i).getComments().size());
+			assertEquals("statement " + i, statements.get(i).getComments().get(0).getContent());
+		}
+	}
 }
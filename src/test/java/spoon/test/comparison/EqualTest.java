@@ -10,10 +10,15 @@ import spoon.reflect.code.CtLocalVariable;
 import spoon.reflect.code.CtReturn;
 import spoon.reflect.code.CtTry;
 import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -96,4 +101,32 @@ public class EqualTest {
 		CtLocalVariable var2 = factory.Code().createCodeSnippetStatement("java.util.List<Object> l ").compile();
 		assertNotEquals(var2, var);
 	}
+
+	@Test
+	public void testHashCodeOfModifiedElement() throws Exception {
+		// contract: the hash code of an element does not depend on its children, so that a changed element is still found in a hash set
+		CtClass<?> clazz = Launcher.parseClass("class X { int foo() { return 1 + 2; } }");
+		CtMethod<?> method = clazz.getMethodsByName("foo").get(0);
+		CtClass<?> clone = clazz.clone();
+		assertEquals(clazz, clone);
+		assertEquals(clazz.hashCode(), clone.hashCode());
+
+		Set<CtElement> elements = new HashSet<>();
+		elements.add(clazz);
+		elements.add(method);
+		int methodHashCode = method.hashCode();
+
+		method.getBody().insertBegin(clazz.getFactory().Code().createCodeSnippetStatement("int i = 0"));
+		assertNotEquals(clazz, clone);
+		assertEquals(methodHashCode, method.hashCode());
+		assertTrue(elements.contains(clazz));
+		assertTrue(elements.contains(method));
+
+		// contract: the value of a literal is part of its hash code
+		CtLiteral<Integer> literal = method.getElements(new TypeFilter<CtLiteral<Integer>>(CtLiteral.class)).get(0);
+		CtLiteral<Integer> clonedLiteral = literal.clone();
+		assertEquals(literal.hashCode(), clonedLiteral.hashCode());
+		clonedLiteral.setValue(3);
+		assertNotEquals(literal.hashCode(), clonedLiteral.hashCode());
+	}
 }
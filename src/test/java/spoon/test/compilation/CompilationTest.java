@@ -3,7 +3,9 @@ package spoon.test.compilation;
 import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -15,7 +17,9 @@ import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.junit.Assert;
@@ -39,9 +43,12 @@ import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.CtScanner;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.SpoonClassNotFoundException;
+import spoon.support.compiler.FileSystemFile;
 import spoon.support.compiler.FileSystemFolder;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 import spoon.support.compiler.jdt.JDTBatchCompiler;
+import spoon.support.compiler.jdt.JDTInMemoryCompiler;
+import spoon.support.visitor.equals.CopyOnWriteClone;
 import spoon.test.compilation.testclasses.Bar;
 import spoon.test.compilation.testclasses.IBar;
 import spoon.testing.utils.ModelUtils;
@@ -447,4 +454,95 @@ public class CompilationTest {
 
 		assertThat(tempDirPath.toFile().listFiles().length, not(0));
 	}
+
+	@Test
+	public void testBuildIncrementally() throws Exception {
+		// contract: buildIncrementally builds again only the changed and added files and their dependents,
+		// the unchanged types are kept and can be referenced by the rebuilt ones
+		Path dir = Files.createTempDirectory("incremental");
+		Path pack = Files.createDirectories(dir.resolve("p"));
+		Files.write(pack.resolve("A.java"), "package p; class A { int m() { return B.f(); } }".getBytes());
+		Files.write(pack.resolve("B.java"), "package p; class B { static int f() { return 1; } }".getBytes());
+		Files.write(pack.resolve("C.java"), "package p; class C { }".getBytes());
+		Files.write(pack.resolve("E.java"), "package p.q; class E { }".getBytes());
+
+		Launcher launcher = new Launcher();
+		launcher.addInputResource(dir.toString());
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+		CtType<?> a = factory.Type().get("p.A");
+		CtType<?> c = factory.Type().get("p.C");
+		assertNotNull(factory.Type().get("p.q.E"));
+
+		Files.write(pack.resolve("B.java"), "package p; class B { static int f() { return 2; } static int h() { return 3; } }".getBytes());
+		Files.write(pack.resolve("D.java"), "package p; class D extends C { }".getBytes());
+		Files.delete(pack.resolve("E.java"));
+
+		JDTBasedSpoonCompiler compiler = new JDTBasedSpoonCompiler(factory);
+		assertTrue(compiler.buildIncrementally(
+				Collections.singletonList(new FileSystemFile(pack.resolve("B.java").toFile())),
+				Collections.singletonList(new FileSystemFile(pack.resolve("D.java").toFile())),
+				Collections.singletonList(new FileSystemFile(pack.resolve("E.java").toFile()))));
+
+		// the changed and added types
+		assertEquals(2, factory.Type().get("p.B").getMethods().size());
+		CtType<?> d = factory.Type().get("p.D");
+		assertNotNull(d);
+		assertEquals("p.C", d.getSuperclass().getQualifiedName());
+		// the deleted type and its empty package
+		assertNull(factory.Type().get("p.q.E"));
+		assertNull(factory.Package().get("p.q"));
+		// A depends on B, so it has been built again, but not C
+		assertNotSame(a, factory.Type().get("p.A"));
+		assertSame(c, factory.Type().get("p.C"));
+		assertSame(c, d.getSuperclass().getTypeDeclaration());
+		assertEquals(4, factory.Type().getAll().size());
+	}
+
+	@Test
+	public void testCompileInMemory() throws Exception {
+		// contract: the types can be compiled again and again in memory, without writing the classes
+		Factory factory = ModelUtils.build(new File("./src/test/java/spoon/test/compilation/testclasses"));
+		CtClass<?> bar = factory.Class().get(Bar.class);
+		try (JDTInMemoryCompiler compiler = new JDTInMemoryCompiler(factory)) {
+			Map<String, byte[]> classes = compiler.compile(bar);
+			assertTrue(compiler.getProblems().isEmpty());
+			assertEquals(Collections.singleton(Bar.class.getName()), classes.keySet());
+			assertEquals(1, newInstance(classes, Bar.class.getName()).m());
+
+			// a mutant of the type replaces the type of the model, which is not changed
+			for (int i = 2; i <= 5; i++) {
+				CopyOnWriteClone<CtClass<?>> mutant = new CopyOnWriteClone<>(bar);
+				mutant.getRoot().setParent(bar.getParent());
+				CtReturn<?> ret = bar.getMethod("m").getBody().getStatement(0);
+				mutant.getWritable(ret).replace(factory.Code().createCodeSnippetStatement("return " + i));
+				classes = compiler.compile(mutant.getRoot());
+				assertEquals(i, newInstance(classes, Bar.class.getName()).m());
+			}
+			assertEquals("return 1", bar.getMethod("m").getBody().getStatement(0).toString());
+
+			// the types with errors are not compiled
+			CopyOnWriteClone<CtClass<?>> mutant = new CopyOnWriteClone<>(bar);
+			mutant.getRoot().setParent(bar.getParent());
+			mutant.getWritable(bar.getMethod("m").getBody().getStatement(0)).replace(factory.Code().createCodeSnippetStatement("return \"\""));
+			assertTrue(compiler.compile(mutant.getRoot()).isEmpty());
+			assertEquals(1, compiler.getProblems().size());
+		}
+	}
+
+	private static IBar newInstance(Map<String, byte[]> classes, String name) throws Exception {
+		ClassLoader classLoader = new ClassLoader(CompilationTest.class.getClassLoader()) {
+			@Override
+			protected Class<?> findClass(String className) throws ClassNotFoundException {
+				byte[] bytes = classes.get(className);
+				if (bytes == null) {
+					throw new ClassNotFoundException(className);
+				}
+				return defineClass(className, bytes, 0, bytes.length);
+			}
+		};
+		// the class must not be loaded by the parent class loader
+		assertNotSame(Bar.class, classLoader.loadClass(name));
+		return (IBar) classLoader.loadClass(name).newInstance();
+	}
 }
@@ -3,7 +3,9 @@ package spoon.test.factory;
 import org.junit.Test;
 import spoon.Launcher;
 import spoon.reflect.code.CtJavaDoc;
+import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.TypeFactory;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.test.factory.testclasses3.Cooking;
@@ -12,6 +14,9 @@ import spoon.testing.utils.ModelUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TypeFactoryTest {
 
@@ -60,4 +65,34 @@ public class TypeFactoryTest {
 		assertNotNull(prepare.getFactory().Type().get(Prepare.Pozole.class));
 		assertNotNull(prepare.getFactory().Interface().get(Prepare.Pozole.class));
 	}
+
+	@Test
+	public void testGetIndexedType() throws Exception {
+		// contract: the types found by qualified name are indexed, and the index follows the changes of the model
+		CtClass<?> x = Launcher.parseClass("class X { Object o = new Object() {}; class Y {} }");
+		Factory factory = x.getFactory();
+		CtType<?> y = factory.Type().get("X$Y");
+		CtClass<?> anonymous = factory.Class().get("X$1");
+		assertSame(x.getNestedType("Y"), y);
+		assertTrue(anonymous.isAnonymous());
+		assertSame(y, factory.Type().get("X$Y"));
+		assertSame(anonymous, factory.Type().get("X$1"));
+
+		y.setSimpleName("Z");
+		assertNull(factory.Type().get("X$Y"));
+		assertSame(y, factory.Type().get("X$Z"));
+
+		x.removeNestedType(y);
+		assertNull(factory.Type().get("X$Z"));
+
+		assertEquals(1, factory.getModel().getAllTypes().size());
+		CtClass<?> b = factory.Class().create("a.B");
+		assertSame(b, factory.Type().get("a.B"));
+		assertSame(b.getPackage(), factory.Package().get("a"));
+		assertEquals(2, factory.getModel().getAllTypes().size());
+		b.delete();
+		assertNull(factory.Type().get("a.B"));
+		assertEquals(1, factory.getModel().getAllTypes().size());
+	}
 }
+
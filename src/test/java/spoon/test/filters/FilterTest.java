@@ -72,8 +72,10 @@ import spoon.reflect.visitor.filter.OverridingMethodFilter;
 import spoon.reflect.visitor.filter.ParentFunction;
 import spoon.reflect.visitor.filter.RegexFilter;
 import spoon.reflect.visitor.filter.ReturnOrThrowFilter;
+import spoon.reflect.visitor.filter.SubInheritanceHierarchyFunction;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.comparator.DeepRepresentationComparator;
+import spoon.support.compiler.VirtualFile;
 import spoon.support.reflect.declaration.CtMethodImpl;
 import spoon.support.visitor.SubInheritanceHierarchyResolver;
 import spoon.test.filters.testclasses.AbstractTostada;
@@ -1269,6 +1271,59 @@ public class FilterTest {
 		assertEquals(1, c2.counter);
 	}
 
+	@Test
+	public void testTypeHierarchyAfterChange() throws Exception {
+		// contract: isSubtypeOf and the sub types queries follow the changes of the type hierarchy
+		final Launcher launcher = new Launcher();
+		launcher.setArgs(new String[] {"--output-type", "nooutput" });
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+
+		CtClass<?> tacos = factory.Class().get(Tacos.class);
+		CtType<?> abstractTostada = factory.Type().get(AbstractTostada.class);
+		CtTypeReference<?> abstractTostadaRef = abstractTostada.getReference();
+		assertTrue(factory.Type().get(Tostada.class).getReference().isSubtypeOf(factory.Type().createReference(ITostada.class)));
+		assertFalse(tacos.getReference().isSubtypeOf(abstractTostadaRef));
+		List<CtType<?>> subTypes = abstractTostada.map(new SubInheritanceHierarchyFunction()).list();
+		assertEquals(5, subTypes.size());
+		assertFalse(subTypes.contains(tacos));
+
+		tacos.setSuperclass(abstractTostadaRef.clone());
+		assertTrue(tacos.getReference().isSubtypeOf(abstractTostadaRef));
+		subTypes = abstractTostada.map(new SubInheritanceHierarchyFunction()).list();
+		assertEquals(6, subTypes.size());
+		assertTrue(subTypes.contains(tacos));
+
+		tacos.setSuperclass(null);
+		assertFalse(tacos.getReference().isSubtypeOf(abstractTostadaRef));
+		assertEquals(5, abstractTostada.map(new SubInheritanceHierarchyFunction()).list().size());
+	}
+
+	@Test
+	public void testTypeHierarchyAfterAddingSuperClass() throws Exception {
+		// contract: the type hierarchy is updated when the declaration of a super class, which could not be resolved before, is added
+		final Launcher launcher = new Launcher();
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.addInputResource(new VirtualFile("package p; class A extends B {} class C {}"));
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+
+		CtClass<?> a = factory.Class().get("p.A");
+		CtClass<?> c = factory.Class().get("p.C");
+		assertFalse(a.getReference().isSubtypeOf(c.getReference()));
+		assertFalse(c.map(new SubInheritanceHierarchyFunction()).list().contains(a));
+
+		CtClass<?> b = factory.Core().createClass();
+		b.setSimpleName("B");
+		b.setSuperclass(c.getReference());
+		a.getPackage().addType(b);
+		assertTrue(a.getReference().isSubtypeOf(c.getReference()));
+		List<CtType<?>> subTypes = c.map(new SubInheritanceHierarchyFunction()).list();
+		assertTrue(subTypes.contains(a));
+		assertTrue(subTypes.contains(b));
+	}
+
 	@Test
 	public void testNameFilterWithGenericType() {
 		// contract: NamedElementFilter of T should only return T elements
@@ -1,18 +1,25 @@
 package spoon.test.jar;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.List;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.Test;
 
 import spoon.Launcher;
 import spoon.SpoonModelBuilder;
+import spoon.compiler.SpoonFile;
 import spoon.compiler.SpoonResourceHelper;
 import spoon.reflect.factory.Factory;
 import spoon.support.compiler.VirtualFile;
+import spoon.support.compiler.ZipFolder;
 
 public class JarTest {
 
@@ -30,6 +37,25 @@ public class JarTest {
 		assertEquals("spoon.test.strings.Main", factory.getModel().getAllTypes().iterator().next().getQualifiedName());
 	}
 
+	@Test
+	public void testJarIsReadLazily() throws Exception {
+		// contract: the files of an archive are listed from its central directory, and their content is read when needed
+		ZipFolder folder = new ZipFolder(new File("./src/test/resources/sourceJar/test.jar"));
+		assertEquals(4, folder.getFiles().size());
+		List<SpoonFile> javaFiles = folder.getAllJavaFiles();
+		assertEquals(1, javaFiles.size());
+		SpoonFile file = javaFiles.get(0);
+		assertEquals("spoon/test/strings/Main.java", file.getName());
+		assertFalse(file.isActualFile());
+		for (int i = 0; i < 2; i++) {
+			try (InputStream content = file.getContent()) {
+				assertTrue(IOUtils.toString(content, "UTF-8").startsWith("package spoon.test.strings;"));
+			}
+			// the archive is opened again when a file is read after it is closed
+			folder.close();
+		}
+	}
+
 	@Test
 	public void testFile() throws Exception {
 		Launcher launcher = new Launcher();
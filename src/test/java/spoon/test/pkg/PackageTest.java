@@ -34,6 +34,8 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static spoon.testing.Assert.assertThat;
@@ -296,4 +298,55 @@ public class PackageTest {
 		assertEquals("info.guardianproject.onionkit.ui", fieldPkg.getSimpleName());
 		assertEquals("info.guardianproject.onionkit.ui", fieldPkg.getQualifiedName());
 	}
+
+	@Test
+	public void testQualifiedNamesAreUpdated() throws Exception {
+		// contract: the cached qualified names and the sub packages and types found by name follow the changes of the model
+		final Factory factory = new Launcher().getFactory();
+		CtPackage pack = factory.Package().getOrCreate("a.b.c");
+		CtClass<?> aClass = factory.Class().create(pack, "A");
+		CtClass<?> nested = factory.Class().create(aClass, "B");
+		assertEquals("a.b.c.A$B", nested.getQualifiedName());
+		CtPackage b = factory.Package().get("a.b");
+		assertSame(pack, b.getPackage("c"));
+		assertSame(aClass, pack.getType("A"));
+
+		b.setSimpleName("x");
+		assertEquals("a.x.c", pack.getQualifiedName());
+		assertEquals("a.x.c.A$B", nested.getQualifiedName());
+		assertSame(b, factory.Package().getRootPackage().getPackage("a").getPackage("x"));
+		assertNull(factory.Package().getRootPackage().getPackage("a").getPackage("b"));
+
+		aClass.setSimpleName("C");
+		assertEquals("a.x.c.C$B", nested.getQualifiedName());
+		assertSame(aClass, pack.getType("C"));
+		assertNull(pack.getType("A"));
+
+		pack.removeType(aClass);
+		b.addType(aClass);
+		assertEquals("a.x.C$B", nested.getQualifiedName());
+		assertNull(pack.getType("C"));
+		assertSame(aClass, b.getType("C"));
+	}
+
+	@Test
+	public void testIndexesAreUpdatedWhenContentIsCleared() throws Exception {
+		// contract: the types and sub packages found by name are updated when the content of a package is cleared
+		final Factory factory = new Launcher().getFactory();
+		CtPackage pack = factory.Package().getOrCreate("a");
+		CtPackage subPack = factory.Package().getOrCreate("a.c");
+		CtClass<?> aClass = factory.Class().create(pack, "B");
+		assertSame(aClass, pack.getType("B"));
+		assertSame(aClass, factory.Type().get("a.B"));
+		assertSame(subPack, pack.getPackage("c"));
+		assertSame(subPack, factory.Package().get("a.c"));
+
+		pack.setTypes(Collections.emptySet());
+		assertNull(pack.getType("B"));
+		assertNull(factory.Type().get("a.B"));
+
+		pack.setPackages(Collections.emptySet());
+		assertNull(pack.getPackage("c"));
+		assertNull(factory.Package().get("a.c"));
+	}
 }
@@ -1,6 +1,9 @@
 package spoon.test.prettyprinter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static spoon.testing.utils.ModelUtils.canBeBuilt;
@@ -9,8 +12,13 @@ import org.junit.Test;
 
 import spoon.Launcher;
 import spoon.SpoonException;
+import spoon.compiler.Environment;
 import spoon.compiler.SpoonResourceHelper;
+import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtComment;
+import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtConstructor;
+import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
@@ -20,14 +28,17 @@ import spoon.reflect.visitor.PrettyPrinter;
 import spoon.reflect.visitor.PrinterHelper;
 import spoon.reflect.visitor.TokenWriter;
 import spoon.reflect.visitor.DefaultTokenWriter;
+import spoon.support.StandardEnvironment;
 import spoon.test.prettyprinter.testclasses.MissingVariableDeclaration;
 import spoon.testing.utils.ModelUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
@@ -465,4 +476,115 @@ public class PrinterTest {
 		String expectedResult = " start un next deux next trois end";
 		assertEquals(expectedResult, pp.toString());
 	}
+
+	@Test
+	public void testToStringCache() throws Exception {
+		// contract: the strings printed by toString() are cached, and discarded when the model changes
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/prettyprinter/testclasses/AClass.java");
+		launcher.getEnvironment().setToStringCacheSize(10);
+		launcher.buildModel();
+		CtType<?> aClass = launcher.getFactory().Type().get("spoon.test.prettyprinter.testclasses.AClass");
+		CtMethod<?> aMethod = aClass.getMethodsByName("aMethod").get(0);
+
+		String printedClass = aClass.toString();
+		String printedMethod = aMethod.toString();
+		assertSame(printedClass, aClass.toString());
+		assertSame(printedMethod, aMethod.toString());
+
+		aMethod.setSimpleName("renamedMethod");
+		printedClass = aClass.toString();
+		assertTrue(printedClass.contains("renamedMethod()"));
+		assertTrue(aMethod.toString().contains("renamedMethod()"));
+		assertSame(printedClass, aClass.toString());
+
+		// the printed constructor depends on the name of its declaring type
+		CtConstructor<?> constructor = ((CtClass<?>) aClass).getConstructor();
+		assertTrue(constructor.toString().contains("AClass()"));
+		aClass.setSimpleName("BClass");
+		assertTrue(constructor.toString().contains("BClass()"));
+		printedClass = aClass.toString();
+
+		// a string printed with other settings is not returned
+		launcher.getEnvironment().setCommentEnabled(!launcher.getEnvironment().isCommentsEnabled());
+		printedClass = aClass.toString();
+		assertSame(printedClass, aClass.toString());
+
+		// a change through the collection returned by a getter is not notified, but it is detected
+		CtBlock<?> body = aMethod.getBody();
+		body.getStatements().add(0, launcher.getFactory().Code().createCodeSnippetStatement("int i = 0"));
+		assertTrue(aClass.toString().contains("int i = 0;"));
+		body.getStatements().remove(0);
+		assertFalse(aClass.toString().contains("int i = 0;"));
+	}
+
+	@Test
+	public void testResetPrinterReleasesTheModel() throws Exception {
+		// contract: a reset printer does not refer to the printed elements, and prints the next element as a new printer does
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/prettyprinter/testclasses/AClass.java");
+		launcher.getEnvironment().setAutoImports(true);
+		launcher.buildModel();
+		CtType<?> aClass = launcher.getFactory().Type().get("spoon.test.prettyprinter.testclasses.AClass");
+		CtMethod<?> aMethod = aClass.getMethodsByName("aMethod").get(0);
+
+		DefaultJavaPrettyPrinter printer = new DefaultJavaPrettyPrinter(launcher.getEnvironment());
+		String printedClass = printer.printElement(aClass, true);
+		printer.reset();
+		assertEquals("", printer.getResult());
+		assertEquals(null, printer.context.getCurrentTypeReference());
+		assertEquals(new DefaultJavaPrettyPrinter(launcher.getEnvironment()).printElement(aMethod, true), printer.printElement(aMethod, true));
+		assertEquals(printedClass, printer.printElement(aClass, true));
+	}
+
+	@Test
+	public void testToStringWithoutImports() throws Exception {
+		// contract: toString() can print the types with their qualified names, without computing the imports
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/prettyprinter/testclasses/AClass.java");
+		launcher.getEnvironment().setAutoImports(true);
+		launcher.buildModel();
+		CtType<?> aClass = launcher.getFactory().Type().get("spoon.test.prettyprinter.testclasses.AClass");
+		CtMethod<?> aMethod = aClass.getMethodsByName("aMethod").get(0);
+
+		assertTrue(aMethod.toString().contains("public List<?> aMethod()"));
+		launcher.getEnvironment().setToStringImportsEnabled(false);
+		assertTrue(aMethod.toString().contains("public java.util.List<?> aMethod()"));
+		launcher.getEnvironment().setToStringImportsEnabled(true);
+		assertTrue(aMethod.toString().contains("public List<?> aMethod()"));
+	}
+
+	@Test
+	public void testPrinterHelperWritesStringsInBulk() {
+		// contract: a string is written as if its characters were written one by one, and the line mapping is kept per printed line
+		Environment env = new StandardEnvironment();
+		PrinterHelper bulkHelper = new PrinterHelper(env);
+		PrinterHelper charHelper = new PrinterHelper(env);
+		String text = "class A {\r\n\tint a;\n\rint b;\r}\n";
+		bulkHelper.incTab().write(text).write("int c;");
+		charHelper.incTab();
+		for (char c : (text + "int c;").toCharArray()) {
+			charHelper.write(c);
+		}
+		assertEquals(charHelper.toString(), bulkHelper.toString());
+		assertEquals(charHelper.toString().length(), bulkHelper.toString().length());
+
+		bulkHelper.reset();
+		bulkHelper.putLineNumberMapping(10);
+		bulkHelper.writeln();
+		bulkHelper.undefineLine();
+		for (int i = 0; i < 100; i++) {
+			bulkHelper.writeln();
+		}
+		bulkHelper.putLineNumberMapping(7);
+		bulkHelper.undefineLine();
+		Map<Integer, Integer> expected = new HashMap<>();
+		expected.put(1, 10);
+		expected.put(2, 0);
+		expected.put(102, 7);
+		assertEquals(expected, bulkHelper.getLineNumberMapping());
+
+		bulkHelper.reset();
+		assertTrue(bulkHelper.getLineNumberMapping().isEmpty());
+	}
 }
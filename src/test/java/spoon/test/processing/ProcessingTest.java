@@ -6,28 +6,39 @@ import spoon.Launcher;
 import spoon.SpoonException;
 import spoon.processing.AbstractManualProcessor;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.Processor;
 import spoon.processing.ProcessorProperties;
 import spoon.processing.ProcessorPropertiesImpl;
 import spoon.processing.Property;
+import spoon.processing.TraversalStrategy;
+import spoon.processing.TypeLocalProcessor;
 import spoon.reflect.code.CtSwitch;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtConstructor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtInterface;
 import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.FusedProcessingManager;
+import spoon.support.ParallelProcessingManager;
+import spoon.support.QueueProcessingManager;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 import spoon.test.processing.testclasses.CtClassProcessor;
 import spoon.test.processing.testclasses.CtInterfaceProcessor;
 import spoon.test.processing.testclasses.CtTypeProcessor;
 import spoon.testing.utils.ProcessorUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -383,4 +394,195 @@ public class ProcessingTest {
 			}
 		}
 	}
+
+	@Test
+	public void testFusedProcessingManager() {
+		// contract: the FusedProcessingManager applies all processors during one scan and upcalls them on the same elements as the QueueProcessingManager
+
+		Launcher spoon = new Launcher();
+		spoon.addInputResource("./src/test/java/spoon/test/imports/testclasses");
+		spoon.buildModel();
+
+		CtClassProcessor classProcessor = new CtClassProcessor();
+		CtTypeProcessor typeProcessor = new CtTypeProcessor();
+		CtInterfaceProcessor interfaceProcessor = new CtInterfaceProcessor();
+		QueueProcessingManager queueManager = new QueueProcessingManager(spoon.getFactory());
+		queueManager.addProcessor(classProcessor);
+		queueManager.addProcessor(typeProcessor);
+		queueManager.addProcessor(interfaceProcessor);
+		queueManager.process(spoon.getFactory().Package().getRootPackage());
+
+		CtClassProcessor fusedClassProcessor = new CtClassProcessor();
+		CtTypeProcessor fusedTypeProcessor = new CtTypeProcessor();
+		CtInterfaceProcessor fusedInterfaceProcessor = new CtInterfaceProcessor();
+		FusedProcessingManager fusedManager = new FusedProcessingManager(spoon.getFactory());
+		fusedManager.addProcessor(fusedClassProcessor);
+		fusedManager.addProcessor(fusedTypeProcessor);
+		fusedManager.addProcessor(fusedInterfaceProcessor);
+		fusedManager.process(spoon.getFactory().Package().getRootPackage());
+
+		assertFalse(fusedClassProcessor.elements.isEmpty());
+		assertEquals(classProcessor.elements, fusedClassProcessor.elements);
+		assertEquals(typeProcessor.elements, fusedTypeProcessor.elements);
+		assertEquals(interfaceProcessor.elements, fusedInterfaceProcessor.elements);
+		assertEquals(2, fusedManager.getSavedTraversals());
+
+		// contract: in sequential mode, no traversal is saved
+		CtClassProcessor sequentialClassProcessor = new CtClassProcessor();
+		fusedManager = new FusedProcessingManager(spoon.getFactory()).setSequentialProcessing(true);
+		fusedManager.addProcessor(sequentialClassProcessor);
+		fusedManager.addProcessor(new CtTypeProcessor());
+		fusedManager.process(spoon.getFactory().Package().getRootPackage());
+		assertEquals(classProcessor.elements, sequentialClassProcessor.elements);
+		assertEquals(0, fusedManager.getSavedTraversals());
+	}
+
+	@Test
+	public void testFusedProcessingManagerInterruption() {
+		// contract: an interrupted processor is not upcalled anymore, while the other processors keep processing
+
+		Launcher spoon = new Launcher();
+		spoon.addInputResource("./src/test/java/spoon/test/imports/testclasses");
+		spoon.buildModel();
+
+		List<CtElement> interruptedElements = new ArrayList<>();
+		AbstractProcessor<CtClass<?>> interrupted = new AbstractProcessor<CtClass<?>>() {
+			@Override
+			public void process(CtClass<?> element) {
+				interruptedElements.add(element);
+				interrupt();
+			}
+		};
+		CtClassProcessor classProcessor = new CtClassProcessor();
+		FusedProcessingManager fusedManager = new FusedProcessingManager(spoon.getFactory());
+		fusedManager.addProcessor(interrupted);
+		fusedManager.addProcessor(classProcessor);
+		fusedManager.process(spoon.getFactory().Package().getRootPackage());
+
+		assertEquals(1, interruptedElements.size());
+		assertTrue(classProcessor.elements.size() > 1);
+	}
+
+	@Test
+	public void testFusedProcessingManagerCurrentProcessor() {
+		// contract: during the fused scan, the current processor of the FusedProcessingManager is the one which processes the element
+
+		Launcher spoon = new Launcher();
+		spoon.addInputResource("./src/test/java/spoon/test/imports/testclasses");
+		spoon.buildModel();
+
+		FusedProcessingManager fusedManager = new FusedProcessingManager(spoon.getFactory());
+		List<Processor<?>> currentProcessors = new ArrayList<>();
+		AbstractProcessor<CtClass<?>> classProcessor = new AbstractProcessor<CtClass<?>>() {
+			@Override
+			public void process(CtClass<?> element) {
+				assertSame(this, fusedManager.getCurrentProcessor());
+				currentProcessors.add(fusedManager.getCurrentProcessor());
+			}
+		};
+		AbstractProcessor<CtType<?>> typeProcessor = new AbstractProcessor<CtType<?>>() {
+			@Override
+			public void process(CtType<?> element) {
+				assertSame(this, fusedManager.getCurrentProcessor());
+				currentProcessors.add(fusedManager.getCurrentProcessor());
+			}
+		};
+		fusedManager.addProcessor(classProcessor);
+		fusedManager.addProcessor(typeProcessor);
+		fusedManager.process(spoon.getFactory().Package().getRootPackage());
+
+		assertTrue(currentProcessors.contains(classProcessor));
+		assertTrue(currentProcessors.contains(typeProcessor));
+	}
+
+	@TypeLocalProcessor
+	public static class ConcurrentCtClassProcessor extends AbstractProcessor<CtClass<?>> {
+		final Set<CtClass<?>> elements = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+		@Override
+		public void process(CtClass<?> element) {
+			elements.add(element);
+		}
+	}
+
+	@Test
+	public void testParallelProcessingManager() {
+		// contract: the ParallelProcessingManager upcalls the type local processors on the same elements as the QueueProcessingManager
+
+		Launcher spoon = new Launcher();
+		spoon.addInputResource("./src/test/java/spoon/test/imports/testclasses");
+		spoon.buildModel();
+
+		CtClassProcessor classProcessor = new CtClassProcessor();
+		QueueProcessingManager queueManager = new QueueProcessingManager(spoon.getFactory());
+		queueManager.addProcessor(classProcessor);
+		queueManager.process(spoon.getFactory().Package().getRootPackage());
+
+		ConcurrentCtClassProcessor concurrentProcessor = new ConcurrentCtClassProcessor();
+		CtClassProcessor sequentialProcessor = new CtClassProcessor();
+		assertTrue(ParallelProcessingManager.isTypeLocal(concurrentProcessor));
+		assertFalse(ParallelProcessingManager.isTypeLocal(sequentialProcessor));
+
+		ParallelProcessingManager parallelManager = new ParallelProcessingManager(spoon.getFactory()).setParallelism(4);
+		parallelManager.addProcessor(concurrentProcessor);
+		parallelManager.addProcessor(sequentialProcessor);
+		parallelManager.process(spoon.getFactory().Package().getRootPackage());
+
+		assertFalse(concurrentProcessor.elements.isEmpty());
+		assertEquals(new HashSet<>(classProcessor.elements), concurrentProcessor.elements);
+		assertEquals(classProcessor.elements, sequentialProcessor.elements);
+	}
+
+	@TypeLocalProcessor
+	public static class PostOrderReportingProcessor extends AbstractProcessor<CtElement> {
+		final List<CtElement> elements = Collections.synchronizedList(new ArrayList<>());
+		final List<Processor<?>> currentProcessors = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public TraversalStrategy getTraversalStrategy() {
+			return TraversalStrategy.POST_ORDER;
+		}
+
+		@Override
+		public boolean isToBeProcessed(CtElement candidate) {
+			return candidate instanceof CtPackage || candidate instanceof CtClass;
+		}
+
+		@Override
+		public void process(CtElement element) {
+			currentProcessors.add(getFactory().getEnvironment().getManager().getCurrentProcessor());
+			elements.add(element);
+			if (element instanceof CtClass) {
+				getEnvironment().report(this, Level.WARN, element, "class");
+			}
+		}
+	}
+
+	@Test
+	public void testParallelProcessingManagerPostOrder() {
+		// contract: the ParallelProcessingManager processes the packages after their types in post-order,
+		// reports the current processor of each thread, and counts the reports as soon as they are done
+
+		Launcher spoon = new Launcher();
+		spoon.addInputResource("./src/test/java/spoon/test/imports/testclasses");
+		spoon.buildModel();
+		int warnings = spoon.getEnvironment().getWarningCount();
+
+		PostOrderReportingProcessor processor = new PostOrderReportingProcessor();
+		ParallelProcessingManager parallelManager = new ParallelProcessingManager(spoon.getFactory()).setParallelism(4);
+		parallelManager.addProcessor(processor);
+		parallelManager.process(spoon.getFactory().Package().getRootPackage());
+
+		List<CtClass<?>> classes = spoon.getModel().getElements(new TypeFilter<>(CtClass.class));
+		assertEquals(warnings + classes.size(), spoon.getEnvironment().getWarningCount());
+		assertEquals(processor.elements.size(), processor.currentProcessors.size());
+		for (Processor<?> current : processor.currentProcessors) {
+			assertSame(processor, current);
+		}
+		for (CtClass<?> ctClass : classes) {
+			int index = processor.elements.indexOf(ctClass);
+			assertTrue(index >= 0);
+			assertTrue(index < processor.elements.indexOf(ctClass.getPackage()));
+		}
+	}
 }
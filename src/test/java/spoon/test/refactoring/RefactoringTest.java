@@ -2,15 +2,24 @@ package spoon.test.refactoring;
 
 import org.junit.Test;
 import spoon.Launcher;
+import spoon.refactoring.Refactoring;
 import spoon.reflect.code.BinaryOperatorKind;
+import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtInvocation;
 import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtField;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.AbstractFilter;
 import spoon.reflect.visitor.filter.AbstractReferenceFilter;
+import spoon.reflect.visitor.filter.DirectReferenceFilter;
+import spoon.reflect.visitor.filter.FieldReferenceFunction;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.util.ReferenceIndex;
 import spoon.test.refactoring.testclasses.AClass;
 
 import java.util.List;
@@ -110,4 +119,41 @@ public class RefactoringTest {
 		assertEquals("o", instanceofInvocation.getLeftHandOperand().toString());
 		assertEquals("spoon.test.refactoring.testclasses.AClassX", instanceofInvocation.getRightHandOperand().toString());
 	}
+
+	@Test
+	public void testReferenceIndex() throws Exception {
+		// contract: the index of the references finds the same references as a scan of the model, and is kept up to date
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("src/test/java/spoon/test/refactoring/testclasses");
+		launcher.getEnvironment().setReferenceIndexEnabled(true);
+		launcher.buildModel();
+		final Factory factory = launcher.getFactory();
+		final ReferenceIndex index = ReferenceIndex.of(factory);
+		assertNotNull(index);
+
+		final CtClass<?> aClass = factory.Class().get(AClass.class);
+		final CtField<?> field = aClass.getField("string");
+		final List<CtFieldReference<?>> fieldReferences = field.map(new FieldReferenceFunction()).list();
+		assertNotEquals(0, fieldReferences.size());
+		final List<CtFieldReference<?>> scannedReferences = factory.getModel().getElements(new DirectReferenceFilter<CtFieldReference<?>>(field.getReference()));
+		assertEquals(scannedReferences.size(), fieldReferences.size());
+		for (CtFieldReference<?> reference : scannedReferences) {
+			assertTrue(fieldReferences.stream().anyMatch(r -> r == reference));
+		}
+
+		final int typeReferences = index.getTypeReferences(aClass.getQualifiedName()).size();
+		assertNotEquals(0, typeReferences);
+		Refactoring.changeTypeName(aClass, "AClassX");
+		assertEquals(0, index.getTypeReferences("spoon.test.refactoring.testclasses.AClass").size());
+		assertEquals(typeReferences, index.getTypeReferences("spoon.test.refactoring.testclasses.AClassX").size());
+		assertEquals(fieldReferences.size(), field.map(new FieldReferenceFunction()).list().size());
+
+		// the references of the added and removed elements are indexed and removed
+		CtAssignment<String, String> assignment = factory.Code().createVariableAssignment((CtFieldReference<String>) field.getReference(), false, factory.Code().createLiteral(""));
+		CtMethod<?> method = aClass.getMethodsByName("isMySubclass").get(0);
+		method.getBody().insertBegin(assignment);
+		assertEquals(fieldReferences.size() + 1, field.map(new FieldReferenceFunction()).list().size());
+		method.getBody().removeStatement(assignment);
+		assertEquals(fieldReferences.size(), field.map(new FieldReferenceFunction()).list().size());
+	}
 }
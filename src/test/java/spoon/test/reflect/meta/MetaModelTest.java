@@ -35,6 +35,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public class MetaModelTest {
 
@@ -104,6 +105,22 @@ public class MetaModelTest {
 		assertTrue("There are unexpected RoleHandlers " + roleHandlersOfIFace + " for " + ifaceClass, roleHandlersOfIFace.isEmpty());
 	}
 	
+	@Test
+	public void testGetRoleHandlersFromManyThreads() throws Exception {
+		//contract: the role handlers of a class are the same when they are looked up by several threads at the same time
+		List<Class<? extends CtElement>> classes = new ArrayList<>();
+		for (CtType<?> spoonIface : Metamodel.getAllMetamodelInterfaces()) {
+			classes.add((Class<? extends CtElement>) spoonIface.getActualClass());
+		}
+		List<List<RoleHandler>> handlers = classes.parallelStream().map(RoleHandlerHelper::getRoleHandlers).collect(Collectors.toList());
+		for (int i = 0; i < classes.size(); i++) {
+			assertSame(handlers.get(i), RoleHandlerHelper.getRoleHandlers(classes.get(i)));
+			for (RoleHandler rh : handlers.get(i)) {
+				assertSame(rh, RoleHandlerHelper.getRoleHandler(classes.get(i), rh.getRole()));
+			}
+		}
+	}
+
 	@Test
 	public void testGetParentRoleHandler() {
 		Launcher launcher = new Launcher();
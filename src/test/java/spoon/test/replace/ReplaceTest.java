@@ -5,6 +5,7 @@ import org.junit.Before;
 import org.junit.Test;
 import spoon.Launcher;
 import spoon.compiler.SpoonResourceHelper;
+import spoon.experimental.modelobs.EmptyModelChangeListener;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtConstructorCall;
@@ -22,6 +23,7 @@ import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.CtVariable;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.path.CtRole;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.reference.CtParameterReference;
@@ -30,6 +32,7 @@ import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.NamedElementFilter;
 import spoon.reflect.visitor.filter.ReferenceTypeFilter;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.visitor.replace.BatchEditor;
 import spoon.support.visitor.replace.InvalidReplaceException;
 import spoon.test.replace.testclasses.Mole;
 import spoon.test.replace.testclasses.Tacos;
@@ -37,6 +40,7 @@ import spoon.test.replace.testclasses.Tacos;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -419,4 +423,66 @@ public class ReplaceTest {
 		ctTry.getBody().replace(newBlock);
 		assertEquals(newBlock, ctTry.getBody());
 	}
+
+	@Test
+	public void testBatchEditor() throws Exception {
+		// contract: the edits collected by a BatchEditor are applied at once, grouped by parent and role
+		CtClass<?> klass = Launcher.parseClass("class A { void m() { int a = 1; int b = 2; int c = 3; int d = 4; } int f = 0; }");
+		Factory factory = klass.getFactory();
+		CtBlock<?> body = klass.getMethodsByName("m").get(0).getBody();
+		List<CtStatement> statements = new ArrayList<>(body.getStatements());
+		CtExpression<?> fieldValue = klass.getField("f").getDefaultExpression();
+
+		BatchEditor editor = new BatchEditor();
+		editor.replace(statements.get(0), factory.Code().createCodeSnippetStatement("int x = 0"));
+		editor.delete(statements.get(1));
+		editor.replace(statements.get(3), Arrays.asList(factory.Code().createCodeSnippetStatement("int y = 0"), factory.Code().createCodeSnippetStatement("int z = 0")));
+		editor.replace(fieldValue, factory.Code().createLiteral(42));
+		assertEquals(4, editor.size());
+		// the model is changed by apply only
+		assertEquals(4, body.getStatements().size());
+
+		editor.apply();
+		assertEquals(0, editor.size());
+		assertEquals(Arrays.asList("int x = 0", "int c = 3", "int y = 0", "int z = 0"),
+				body.getStatements().stream().map(Object::toString).collect(Collectors.toList()));
+		for (CtStatement statement : body.getStatements()) {
+			assertSame(body, statement.getParent());
+		}
+		assertEquals("42", klass.getField("f").getDefaultExpression().toString());
+
+		// a single value cannot be replaced by several elements
+		editor.replace(klass.getField("f").getDefaultExpression(), Arrays.asList(factory.Code().createLiteral(1), factory.Code().createLiteral(2)));
+		try {
+			editor.apply();
+			fail();
+		} catch (InvalidReplaceException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBatchEditorDeletesAllStatements() throws Exception {
+		// contract: the deletion of all the statements of a block by a BatchEditor is notified to the model change listener
+		CtClass<?> klass = Launcher.parseClass("class A { void m() { int a = 1; int b = 2; } }");
+		CtBlock<?> body = klass.getMethodsByName("m").get(0).getBody();
+		List<CtStatement> statements = new ArrayList<>(body.getStatements());
+		List<CtElement> deleted = new ArrayList<>();
+		klass.getFactory().getEnvironment().setModelChangeListener(new EmptyModelChangeListener() {
+			@Override
+			public void onListDeleteAll(CtElement currentElement, CtRole role, List field, List oldValue) {
+				assertSame(body, currentElement);
+				assertEquals(CtRole.STATEMENT, role);
+				deleted.addAll(oldValue);
+			}
+		});
+		BatchEditor editor = new BatchEditor();
+		for (CtStatement statement : statements) {
+			editor.delete(statement);
+		}
+		editor.apply();
+
+		assertEquals(0, body.getStatements().size());
+		assertEquals(statements, deleted);
+	}
 }
@@ -1,23 +1,35 @@
 package spoon.test.serializable;
 
 import org.junit.Test;
+import spoon.Launcher;
+import spoon.SpoonException;
 import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.FactoryImpl;
+import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.BinaryModelStreamer;
 import spoon.support.DefaultCoreFactory;
+import spoon.support.MappedModelStore;
 import spoon.support.SerializationModelStreamer;
 import spoon.support.StandardEnvironment;
 import spoon.support.util.ByteSerialization;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static spoon.testing.utils.ModelUtils.build;
 
 public class SerializableTest {
@@ -82,4 +94,89 @@ public class SerializableTest {
 		assertFalse(loadedFactory.Type().getAll().isEmpty());
 		assertEquals(factory.getModel().getRootPackage(), loadedFactory.getModel().getRootPackage());
 	}
+
+	@Test
+	public void testBinaryModelStreamer() throws Exception {
+		// contract: the binary model streamer loads a model equal to the saved one, attached to the new factory
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/annotation/testclasses");
+		launcher.getEnvironment().setCommentEnabled(true);
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		new BinaryModelStreamer().save(factory, binary);
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+		new SerializationModelStreamer().save(factory, serialized);
+		assertTrue(binary.size() < serialized.size());
+
+		Factory loadedFactory = new BinaryModelStreamer().load(new ByteArrayInputStream(binary.toByteArray()));
+
+		assertEquals(factory.getModel().getRootPackage(), loadedFactory.getModel().getRootPackage());
+		assertEquals(factory.CompilationUnit().getMap().keySet(), loadedFactory.CompilationUnit().getMap().keySet());
+		assertTrue(loadedFactory.getEnvironment().isCommentsEnabled());
+		for (CtType<?> type : factory.Type().getAll()) {
+			CtType<?> loadedType = loadedFactory.Type().get(type.getQualifiedName());
+			assertNotNull(loadedType);
+			assertEquals(type.toString(), loadedType.toString());
+			assertEquals(type.getPosition().getLine(), loadedType.getPosition().getLine());
+			assertEquals(type.getPosition().getFile(), loadedType.getPosition().getFile());
+			assertTrue(loadedType.getPosition().getCompilationUnit().getDeclaredTypes().contains(loadedType));
+		}
+		List<CtElement> elements = loadedFactory.getModel().getElements(new TypeFilter<>(CtElement.class));
+		assertEquals(factory.getModel().getElements(new TypeFilter<>(CtElement.class)).size(), elements.size());
+		for (CtElement element : elements) {
+			assertSame(loadedFactory, element.getFactory());
+		}
+	}
+
+	@Test
+	public void testMappedModelStore() throws Exception {
+		// contract: the types of a mapped model store are loaded when accessed, and evicted when there are too many
+		Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/annotation/testclasses");
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+
+		File file = File.createTempFile("spoon", ".model");
+		file.deleteOnExit();
+		MappedModelStore.save(factory, file);
+
+		try (MappedModelStore store = MappedModelStore.open(file)) {
+			store.setMaxLoadedTypes(2);
+			Factory loadedFactory = store.getFactory();
+			assertEquals(0, store.getLoadedTypeCount());
+
+			CtType<?> type = factory.Type().getAll().get(0);
+			CtType<?> loadedType = loadedFactory.Type().get(type.getQualifiedName());
+			assertEquals(type, loadedType);
+			assertEquals(1, store.getLoadedTypeCount());
+
+			for (CtType<?> t : factory.Type().getAll()) {
+				assertEquals(t.toString(), loadedFactory.Type().get(t.getQualifiedName()).toString());
+				assertTrue(store.getLoadedTypeCount() <= 2);
+			}
+
+			// an evicted type is not returned anymore by the lookups, it is read again
+			CtType<?> reloadedType = loadedFactory.Type().get(type.getQualifiedName());
+			assertNotSame(loadedType, reloadedType);
+			assertSame(reloadedType, reloadedType.getPackage().getType(type.getSimpleName()));
+
+			// a package always gives all its types
+			CtPackage pack = type.getPackage();
+			assertEquals(pack.getTypes().size(), loadedFactory.Package().get(pack.getQualifiedName()).getTypes().size());
+		}
+
+		// contract: the types cannot be read anymore once the store is closed
+		MappedModelStore closedStore = MappedModelStore.open(file);
+		closedStore.close();
+		try {
+			closedStore.getFactory().Type().get(factory.Type().getAll().get(0).getQualifiedName());
+			fail();
+		} catch (SpoonException e) {
+			// expected
+		}
+	}
 }
@@ -4,9 +4,12 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -332,4 +335,41 @@ public class SignatureTest {
 		assertNotEquals(method, method2);
 
 	}
+
+	@Test
+	public void testCachedSignatureIsUpdated() throws Exception {
+		// contract: the signature of a method and the methods of its type are updated when the method changes
+		CtClass<?> aClass = Launcher.parseClass("class A { void m(int i) {} void n() {} }");
+		Factory factory = aClass.getFactory();
+		CtMethod<?> method = aClass.getMethodsByName("m").get(0);
+		assertEquals("m(int)", method.getSignature());
+		assertEquals(2, aClass.getMethods().size());
+		assertTrue(aClass.hasMethod(method));
+
+		method.setSimpleName("p");
+		assertEquals("p(int)", method.getSignature());
+		assertTrue(aClass.getMethodsByName("m").isEmpty());
+		assertSame(method, aClass.getMethod("p", factory.Type().INTEGER_PRIMITIVE));
+
+		method.getParameters().get(0).getType().setSimpleName("long");
+		assertEquals("p(long)", method.getSignature());
+		assertNull(aClass.getMethod("p", factory.Type().INTEGER_PRIMITIVE));
+		assertSame(method, aClass.getMethod("p", factory.Type().LONG_PRIMITIVE));
+
+		method.setParameters(Collections.emptyList());
+		assertEquals("p()", method.getSignature());
+		assertNull(aClass.getMethod("p", factory.Type().LONG_PRIMITIVE));
+		assertSame(method, aClass.getMethod("p"));
+
+		CtMethod<?> clone = aClass.getMethodsByName("n").get(0).clone();
+		clone.setSimpleName("q");
+		aClass.addMethod(clone);
+		assertEquals(3, aClass.getMethods().size());
+		assertTrue(aClass.hasMethod(clone));
+
+		// a method with the same signature as another one is returned once
+		clone.setSimpleName("n");
+		assertEquals(2, aClass.getMethods().size());
+		assertEquals(2, aClass.getMethodsByName("n").size());
+	}
 }
@@ -2,20 +2,38 @@ package spoon.test.snippets;
 
 import org.junit.Test;
 import spoon.Launcher;
+import spoon.compiler.ModelBuildingException;
 import spoon.compiler.SpoonResource;
+import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtCodeSnippetExpression;
+import spoon.reflect.code.CtCodeSnippetStatement;
 import spoon.reflect.code.CtExpression;
+import spoon.reflect.code.CtFieldRead;
+import spoon.reflect.code.CtFieldWrite;
+import spoon.reflect.code.CtInvocation;
+import spoon.reflect.code.CtLocalVariable;
 import spoon.reflect.code.CtReturn;
+import spoon.reflect.code.CtVariableRead;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.declaration.ModifierKind;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.compiler.SnippetCompilationError;
 import spoon.support.compiler.SnippetCompilationHelper;
+import spoon.support.compiler.SnippetCompilationResult;
 import spoon.support.compiler.VirtualFile;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static spoon.testing.utils.ModelUtils.createFactory;
@@ -105,4 +123,85 @@ public class SnippetTest {
 		spoon.buildModel();
 		assertEquals("foo.bar", spoon.getFactory().Type().get("foo.bar.X").getPackage().getQualifiedName());
 	}
+
+	@Test
+	public void testCompileSnippetsInBatch() throws Exception {
+		// contract: several snippets are compiled together, and the result and the errors are given per snippet
+		final Factory factory = createFactory();
+		CtCodeSnippetStatement statement = factory.Code().createCodeSnippetStatement("int i = 1; i++");
+		CtCodeSnippetExpression<Object> expression = factory.Code().createCodeSnippetExpression("1 > 2");
+		CtCodeSnippetExpression<Object> wrongExpression = factory.Code().createCodeSnippetExpression("1 >");
+
+		SnippetCompilationResult result = SnippetCompilationHelper.compileSnippets(Arrays.asList(statement, expression, wrongExpression));
+
+		assertTrue(result.hasProblems());
+		assertEquals(2, result.getCompiledElements(0).size());
+		assertTrue(result.getCompiledElements(0).get(0) instanceof CtLocalVariable);
+		assertEquals("i++", result.getCompiledElement(0).toString());
+		assertTrue(result.getProblems(0).isEmpty());
+		assertTrue(result.getCompiledElement(1) instanceof CtBinaryOperator);
+		assertEquals("1 > 2", result.getCompiledElement(1).toString());
+		assertTrue(result.getProblems(1).isEmpty());
+		assertNull(result.getCompiledElement(2));
+		assertFalse(result.getProblems(2).isEmpty());
+
+		// the wrappers are removed from the model
+		assertEquals(0, factory.getModel().getAllTypes().size());
+	}
+
+	@Test
+	public void testCompileAndReplaceSnippets() throws Exception {
+		// contract: the snippets of a type are replaced by the compiled elements
+		final Factory factory = createFactory();
+		CtClass<?> aClass = factory.Class().create("AClass");
+		CtMethod<?> method = factory.Method().create(aClass, EnumSet.of(ModifierKind.PUBLIC), factory.Type().VOID_PRIMITIVE, "m",
+				Collections.emptyList(), Collections.emptySet(), factory.Core().createBlock());
+		method.getBody().addStatement(factory.Code().createCodeSnippetStatement("int i = 1; i++"));
+		method.getBody().addStatement(factory.Code().createCodeSnippetStatement("System.out.println(1)"));
+
+		aClass.compileAndReplaceSnippets();
+
+		assertEquals(3, method.getBody().getStatements().size());
+		assertTrue(method.getBody().getStatement(0) instanceof CtLocalVariable);
+		assertEquals("i++", method.getBody().getStatement(1).toString());
+		assertTrue(method.getBody().getStatement(2) instanceof CtInvocation);
+		assertEquals(1, factory.getModel().getAllTypes().size());
+
+		// a snippet which cannot be compiled is reported
+		method.getBody().addStatement(factory.Code().createCodeSnippetStatement("int j = "));
+		try {
+			aClass.compileAndReplaceSnippets();
+			fail();
+		} catch (ModelBuildingException e) {
+			assertTrue(e.getCause() instanceof SnippetCompilationError);
+			assertFalse(((SnippetCompilationError) e.getCause()).problems.isEmpty());
+			assertTrue(e.getMessage().contains(e.getCause().getMessage()));
+		}
+	}
+
+	@Test
+	public void testCompileAndReplaceSnippetsInContext() throws Exception {
+		// contract: the snippets of a type are compiled in the context of the type, so they can use its fields and the parameters
+		CtClass<?> aClass = Launcher.parseClass("public class AClass { int f; void m(int p) { } int n(int p) { return 0; } }");
+		CtMethod<?> m = aClass.getMethodsByName("m").get(0);
+		m.getBody().addStatement(aClass.getFactory().Code().createCodeSnippetStatement("f = p + 1"));
+		CtMethod<?> n = aClass.getMethodsByName("n").get(0);
+		CtReturn<Integer> ret = n.getBody().getStatement(0);
+		ret.setReturnedExpression(aClass.getFactory().Code().createCodeSnippetExpression("p * f"));
+
+		aClass.compileAndReplaceSnippets();
+
+		assertEquals(1, m.getBody().getStatements().size());
+		CtAssignment<?, ?> assignment = m.getBody().getStatement(0);
+		assertTrue(assignment.getAssigned() instanceof CtFieldWrite);
+		assertEquals("f = p + 1", assignment.toString());
+		assertTrue(ret.getReturnedExpression() instanceof CtBinaryOperator);
+		CtBinaryOperator<?> product = (CtBinaryOperator<?>) ret.getReturnedExpression();
+		assertTrue(product.getLeftHandOperand() instanceof CtVariableRead);
+		assertFalse(product.getLeftHandOperand() instanceof CtFieldRead);
+		assertTrue(product.getRightHandOperand() instanceof CtFieldRead);
+		assertEquals("p * f", product.toString());
+		assertTrue(aClass.hasModifier(ModifierKind.PUBLIC));
+		assertTrue(aClass.getElements(new TypeFilter<>(CtCodeSnippetExpression.class)).isEmpty());
+	}
 }